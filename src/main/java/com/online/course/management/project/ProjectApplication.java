@@ -1,13 +1,18 @@
 package com.online.course.management.project;
 
 import org.springframework.boot.SpringApplication;
+import com.online.course.management.project.config.ProgressProperties;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching
 @EnableAspectJAutoProxy
+@EnableScheduling
+@EnableConfigurationProperties(ProgressProperties.class)
 public class ProjectApplication {
 
     public static void main(String[] args) {
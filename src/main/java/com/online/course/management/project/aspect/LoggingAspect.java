@@ -1,53 +1,126 @@
 package com.online.course.management.project.aspect;
 
-import jakarta.servlet.http.HttpServletRequest;
-import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every controller and service method into a latency histogram (p50/p95/p99) and counts failures
+ * by exception type. Entry/exit logging is opt-in and sampled with metrics.method-calls.log-sample-rate.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
+    public static final String DURATION_METRIC = "app.method.duration";
+    public static final String ERRORS_METRIC = "app.method.errors";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<ErrorKey, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    // Share of calls logged at INFO on entry and exit, 0 disables call logging
+    @Value("${metrics.method-calls.log-sample-rate:0}")
+    private double logSampleRate;
+
+    @Autowired
+    public LoggingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Pointcut("execution(* com.online.course.management.project.controller.*.*(..))")
     public void controllerMethods() {
     }
 
-    @Pointcut("execution(* com.online.course.management.project.service.*.*(..))")
+    @Pointcut("execution(* com.online.course.management.project.service.impl.*.*(..))")
     public void serviceMethods() {
     }
 
     @Around("controllerMethods() || serviceMethods()")
     public Object logMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
         String className = joinPoint.getSignature().getDeclaringTypeName();
-        String methodName = joinPoint.getSignature().getName();
+        String methodName = method.getName();
 
+        String previousClass = MDC.get("class");
+        String previousMethod = MDC.get("method");
         MDC.put("class", className);
         MDC.put("method", methodName);
 
-        logger.info("Entering: classname={}, method={}", className, methodName);
+        boolean sampled = logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate;
+        if (sampled) {
+            logger.info("Entering: classname={}, method={}", className, methodName);
+        }
 
-        long startTime = System.currentTimeMillis();
-        Object result = null;
+        long startTime = System.nanoTime();
         try {
-            result = joinPoint.proceed();
-            return result;
+            return joinPoint.proceed();
         } catch (Exception e) {
+            errorCounter(joinPoint, method, e).increment();
             logger.error("Exception in {}.{}: {}", className, methodName, e.getMessage());
             throw e;
         } finally {
-            long endTime = System.currentTimeMillis();
-            logger.info("Exiting: {}.{}. Execution time: {} ms", className, methodName, (endTime - startTime));
-            MDC.clear();
+            long elapsedNanos = System.nanoTime() - startTime;
+            timer(joinPoint, method).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (sampled) {
+                logger.info("Exiting: {}.{}. Execution time: {} ms", className, methodName, elapsedNanos / 1_000_000.0);
+            }
+            restoreMdc("class", previousClass);
+            restoreMdc("method", previousMethod);
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, Method method) {
+        return timers.computeIfAbsent(method, m -> Timer.builder(DURATION_METRIC)
+                .description("Execution time of controller and service methods")
+                .tag("layer", layerOf(joinPoint))
+                .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", m.getName())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter errorCounter(ProceedingJoinPoint joinPoint, Method method, Exception e) {
+        return errorCounters.computeIfAbsent(new ErrorKey(method, e.getClass()), key -> Counter.builder(ERRORS_METRIC)
+                .description("Exceptions thrown by controller and service methods")
+                .tag("layer", layerOf(joinPoint))
+                .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", e.getClass().getSimpleName())
+                .register(meterRegistry));
+    }
+
+    private static String layerOf(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature().getDeclaringTypeName().contains(".controller.") ? "controller" : "service";
+    }
+
+    private static void restoreMdc(String key, String previousValue) {
+        if (previousValue != null) {
+            MDC.put(key, previousValue);
+        } else {
+            MDC.remove(key);
         }
     }
+
+    private record ErrorKey(Method method, Class<?> exceptionType) {
+    }
 }
@@ -3,18 +3,21 @@ package com.online.course.management.project.aspect;
 import com.online.course.management.project.exception.business.ForbiddenException;
 import com.online.course.management.project.exception.business.UnauthorizedException;
 import com.online.course.management.project.security.RequiredRole;
+import com.online.course.management.project.security.RoleMask;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
@@ -22,6 +25,9 @@ public class RoleAuthorizationAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(RoleAuthorizationAspect.class);
 
+    // @RequiredRole of each protected method resolved once into a role mask
+    private final Map<Method, Integer> requiredMasks = new ConcurrentHashMap<>();
+
     @Around("@annotation(requiredRole)")
     public Object authorizeRole(ProceedingJoinPoint joinPoint, RequiredRole requiredRole) throws Throwable {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -32,18 +38,8 @@ public class RoleAuthorizationAspect {
             throw new UnauthorizedException("User is not authenticated");
         }
 
-        logger.info("Required roles: {}", Arrays.toString(requiredRole.value()));
-        logger.info("User authorities: {}", authentication.getAuthorities());
-
-        // Get authorities and strip "ROLE_" prefix if present
-        Set<String> userRoles = authentication.getAuthorities().stream()
-                .map(a -> a.getAuthority().replace("ROLE_", ""))
-                .collect(Collectors.toSet());
-
-        boolean hasRequiredRole = Arrays.stream(requiredRole.value())
-                .anyMatch(userRoles::contains);
-
-        if (!hasRequiredRole) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (!hasRequiredRole(method, requiredRole, authentication)) {
             logger.warn("Forbidden access attempt: User {} does not have any of the required roles: {}",
                     authentication.getName(), Arrays.toString(requiredRole.value()));
             throw new ForbiddenException("User does not have the required role");
@@ -51,4 +47,19 @@ public class RoleAuthorizationAspect {
 
         return joinPoint.proceed();
     }
+
+    /**
+     * Whether the authenticated user holds any of the roles required by the method.
+     */
+    public boolean hasRequiredRole(Method method, RequiredRole requiredRole, Authentication authentication) {
+        int requiredMask = requiredMasks.computeIfAbsent(method, m -> RoleMask.of(requiredRole.value()));
+        int userMask = RoleMask.ofAuthentication(authentication);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Required roles: {}, user authorities: {}",
+                    Arrays.toString(requiredRole.value()), authentication.getAuthorities());
+        }
+
+        return (requiredMask & userMask) != 0;
+    }
 }
@@ -1,30 +1,118 @@
 package com.online.course.management.project.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import org.springframework.cache.CacheManager;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.online.course.management.project.utils.cache.CacheInvalidationOutbox;
+import com.online.course.management.project.utils.cache.CacheReloader;
+import com.online.course.management.project.utils.cache.EarlyRefreshCaffeineCache;
+import com.online.course.management.project.utils.cache.SerializedSizeWeigher;
+import com.online.course.management.project.utils.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Builds one Caffeine cache per entry of cache.specs, each with its own size or byte budget, expiry and
+ * optional refresh. Statistics are always recorded so hits, misses, evictions and load times reach the
+ * cache.* metrics. The local caches are wrapped in a {@link TwoLevelCacheManager} so evictions reach
+ * every node.
+ * <p>
+ * Loads through Cache.get(key, loader), as used by {@code @Cacheable(sync = true)}, are single-flight: Caffeine
+ * runs one load per key and concurrent misses wait for it. refresh-after-write and early-refresh-beta reload
+ * entries in the background so hot keys rarely miss at all.
+ */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheSpecProperties.class)
 public class CacheConfig {
 
     @Bean
-    public Caffeine caffeineConfig() {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(60, TimeUnit.MINUTES)
-                .initialCapacity(100)
-                .maximumSize(500);
+    public TwoLevelCacheManager cacheManager(CacheSpecProperties cacheSpecProperties,
+                                             ObjectMapper objectMapper,
+                                             ObjectProvider<CacheReloader> cacheReloaders,
+                                             CacheInvalidationOutbox cacheInvalidationOutbox) {
+        return new TwoLevelCacheManager(
+                localCacheManager(cacheSpecProperties, objectMapper, cacheReloaders), cacheInvalidationOutbox);
     }
 
+    /**
+     * Binds the statistics of the local Caffeine caches behind the two-level caches to the cache.* metrics.
+     */
     @Bean
-    public CacheManager cacheManager(Caffeine caffeine) {
-        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
-        caffeineCacheManager.setCaffeine(caffeine);
+    public CacheMeterBinderProvider<TwoLevelCacheManager.OutboxEvictingCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> cache.getLocalCache() instanceof CaffeineCache caffeineCache
+                ? new CaffeineCacheMetrics<>(caffeineCache.getNativeCache(), cache.getName(), tags)
+                : null;
+    }
+
+    CaffeineCacheManager localCacheManager(CacheSpecProperties cacheSpecProperties,
+                                           ObjectMapper objectMapper,
+                                           ObjectProvider<CacheReloader> cacheReloaders) {
+        SerializedSizeWeigher weigher = new SerializedSizeWeigher(objectMapper);
+        Map<String, CacheReloader> reloadersByCache = cacheReloaders.orderedStream()
+                .collect(Collectors.toMap(CacheReloader::getCacheName, Function.identity()));
+
+        Map<String, CacheSpecProperties.Spec> specs = cacheSpecProperties.getSpecs();
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                CacheSpecProperties.Spec spec = specs.get(name);
+                if (spec != null && spec.getEarlyRefreshBeta() != null) {
+                    return new EarlyRefreshCaffeineCache(name, (LoadingCache<Object, Object>) cache,
+                            isAllowNullValues(), spec.getExpireAfterWrite(), spec.getEarlyRefreshBeta());
+                }
+                return super.adaptCaffeineCache(name, cache);
+            }
+        };
+        // Caches not listed in cache.specs are still created on demand with the defaults
+        caffeineCacheManager.setCaffeine(caffeineBuilder(cacheSpecProperties.getDefaults(), weigher));
+
+        specs.forEach((name, spec) -> {
+            Caffeine<Object, Object> builder = caffeineBuilder(spec, weigher);
+            if (spec.getRefreshAfterWrite() == null && spec.getEarlyRefreshBeta() == null) {
+                caffeineCacheManager.registerCustomCache(name, builder.build());
+                return;
+            }
+            CacheReloader reloader = reloadersByCache.get(name);
+            if (reloader == null) {
+                throw new IllegalStateException("Cache '" + name + "' refreshes entries but has no CacheReloader");
+            }
+            if (spec.getEarlyRefreshBeta() != null && spec.getExpireAfterWrite() == null) {
+                throw new IllegalStateException("Cache '" + name + "' sets early-refresh-beta without expire-after-write");
+            }
+            if (spec.getRefreshAfterWrite() != null) {
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+            }
+            caffeineCacheManager.registerCustomCache(name, builder.build(reloader::reload));
+        });
         return caffeineCacheManager;
     }
+
+    static Caffeine<Object, Object> caffeineBuilder(CacheSpecProperties.Spec spec, SerializedSizeWeigher weigher) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight().toBytes()).weigher(weigher);
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
+    }
 }
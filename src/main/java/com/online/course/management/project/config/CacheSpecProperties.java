@@ -0,0 +1,33 @@
+package com.online.course.management.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caffeine settings per cache name, bound from cache.specs[name].*. Caches without an entry use cache.defaults.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class CacheSpecProperties {
+
+    private Spec defaults = new Spec();
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    @Data
+    public static class Spec {
+        // Budget in bytes of serialized values; takes precedence over maximumSize when both are set
+        private DataSize maximumWeight;
+        private Long maximumSize = 500L;
+        private Duration expireAfterWrite = Duration.ofMinutes(60);
+        private Duration expireAfterAccess;
+        // Serves the old value while the CacheReloader of the cache reloads it in the background
+        private Duration refreshAfterWrite;
+        // XFetch early refresh before expireAfterWrite; 1.0 is the usual value. Requires a CacheReloader
+        private Double earlyRefreshBeta;
+    }
+}
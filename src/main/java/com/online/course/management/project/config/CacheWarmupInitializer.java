@@ -0,0 +1,58 @@
+package com.online.course.management.project.config;
+
+import com.online.course.management.project.utils.cache.CacheWarmer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/**
+ * Warms the caches once the database is migrated and the roles and admin exist. Spring Boot only reports the
+ * application as ready (readinessState ACCEPTING_TRAFFIC) after every runner has returned, so a node is kept out
+ * of rotation until the warm-up finishes or cache.warmup.timeout passes, whichever comes first.
+ */
+@Component
+@Order(3)
+@Slf4j
+public class CacheWarmupInitializer implements CommandLineRunner {
+
+    private final CacheWarmer cacheWarmer;
+    private final boolean enabled;
+    private final Duration timeout;
+
+    @Autowired
+    public CacheWarmupInitializer(CacheWarmer cacheWarmer,
+                                  @Value("${cache.warmup.enabled:true}") boolean enabled,
+                                  @Value("${cache.warmup.timeout:30s}") Duration timeout) {
+        this.cacheWarmer = cacheWarmer;
+        this.enabled = enabled;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "cache-warmup"));
+        Future<?> warmUp = executor.submit(cacheWarmer::warmUp);
+        try {
+            warmUp.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Whatever was loaded stays cached; the rest is loaded on demand
+            log.warn("Cache warm-up did not finish within {}, continuing without it", timeout);
+            warmUp.cancel(true);
+        } catch (ExecutionException e) {
+            log.warn("Cache warm-up failed, continuing with cold caches", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.online.course.management.project.config;
+
+import com.online.course.management.project.enums.ProgressStore;
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Registers a bean only when progress.store, as bound by {@link ProgressProperties}, selects the given store.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Conditional(OnProgressStoreCondition.class)
+public @interface ConditionalOnProgressStore {
+
+    ProgressStore value();
+}
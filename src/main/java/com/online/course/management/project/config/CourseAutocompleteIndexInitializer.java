@@ -0,0 +1,41 @@
+package com.online.course.management.project.config;
+
+import com.online.course.management.project.utils.course.CourseAutocompleteIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the course autocomplete index before the application reports ready, as it suggests nothing until then,
+ * and reloads it on search.course-autocomplete.rebuild-cron to re-rank by new enrollments; changes reach it
+ * through the SearchIndexRefresher.
+ */
+@Component
+@Order(6)
+@Slf4j
+public class CourseAutocompleteIndexInitializer implements CommandLineRunner {
+
+    private final CourseAutocompleteIndex courseAutocompleteIndex;
+
+    @Autowired
+    public CourseAutocompleteIndexInitializer(CourseAutocompleteIndex courseAutocompleteIndex) {
+        this.courseAutocompleteIndex = courseAutocompleteIndex;
+    }
+
+    @Override
+    public void run(String... args) {
+        courseAutocompleteIndex.rebuild();
+    }
+
+    @Scheduled(cron = "${search.course-autocomplete.rebuild-cron:-}")
+    public void rebuild() {
+        try {
+            courseAutocompleteIndex.rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Course autocomplete index rebuild failed, keeping the previous index", e);
+        }
+    }
+}
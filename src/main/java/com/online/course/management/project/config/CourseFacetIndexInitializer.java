@@ -0,0 +1,41 @@
+package com.online.course.management.project.config;
+
+import com.online.course.management.project.utils.course.CourseFacetIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the course facet index before the application reports ready, as faceted searches find nothing until
+ * then; changes reach it through the SearchIndexRefresher. search.course-facets.rebuild-cron, off by default,
+ * reloads it.
+ */
+@Component
+@Order(5)
+@Slf4j
+public class CourseFacetIndexInitializer implements CommandLineRunner {
+
+    private final CourseFacetIndex courseFacetIndex;
+
+    @Autowired
+    public CourseFacetIndexInitializer(CourseFacetIndex courseFacetIndex) {
+        this.courseFacetIndex = courseFacetIndex;
+    }
+
+    @Override
+    public void run(String... args) {
+        courseFacetIndex.rebuild();
+    }
+
+    @Scheduled(cron = "${search.course-facets.rebuild-cron:-}")
+    public void rebuild() {
+        try {
+            courseFacetIndex.rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Course facet index rebuild failed, keeping the previous index", e);
+        }
+    }
+}
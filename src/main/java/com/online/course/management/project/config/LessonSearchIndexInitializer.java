@@ -0,0 +1,88 @@
+package com.online.course.management.project.config;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.utils.cache.CacheInvalidationOutbox;
+import com.online.course.management.project.utils.lesson.LessonSearchIndex;
+import com.online.course.management.project.utils.search.SearchIndexRefresher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Catches the lesson search index up at startup with the outbox rows written since its last commit, less
+ * search.lesson-index.replay-margin for changes applied late. It is rebuilt from the database instead when it is
+ * empty, when the rows it missed may already be deleted, or always with search.lesson-index.rebuild-on-startup;
+ * and on search.lesson-index.rebuild-cron, which is off by default. The startup build runs in the background:
+ * until it commits, lesson searches with a query find nothing, and other searches are unaffected.
+ */
+@Component
+@Order(4)
+@Slf4j
+public class LessonSearchIndexInitializer implements CommandLineRunner {
+
+    private final LessonSearchIndex lessonSearchIndex;
+    private final SearchIndexRefresher searchIndexRefresher;
+    private final CacheInvalidationOutbox outbox;
+    private final boolean rebuildOnStartup;
+    private final Duration replayMargin;
+    private final Duration retention;
+
+    @Autowired
+    public LessonSearchIndexInitializer(LessonSearchIndex lessonSearchIndex,
+                                        SearchIndexRefresher searchIndexRefresher,
+                                        CacheInvalidationOutbox outbox,
+                                        @Value("${search.lesson-index.rebuild-on-startup:false}") boolean rebuildOnStartup,
+                                        @Value("${search.lesson-index.replay-margin:5m}") Duration replayMargin,
+                                        @Value("${cache.invalidation.retention:1h}") Duration retention) {
+        this.lessonSearchIndex = lessonSearchIndex;
+        this.searchIndexRefresher = searchIndexRefresher;
+        this.outbox = outbox;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.replayMargin = replayMargin;
+        this.retention = retention;
+    }
+
+    @Override
+    public void run(String... args) {
+        Instant replayFrom = rebuildOnStartup || lessonSearchIndex.isEmpty() ? null : replayFrom();
+        if (replayFrom == null) {
+            Thread rebuild = new Thread(this::rebuild, "lesson-index-rebuild");
+            rebuild.setDaemon(true);
+            rebuild.start();
+            return;
+        }
+        List<CacheInvalidationOutbox.Invalidation> changes =
+                outbox.findCreatedSince(CacheConstants.SEARCH_INDEXES, Timestamp.from(replayFrom));
+        changes.forEach(change -> searchIndexRefresher.reindexLessons(change.getKey()));
+        log.info("Replaying {} lesson search index changes since {}", changes.size(), replayFrom);
+    }
+
+    @Scheduled(cron = "${search.lesson-index.rebuild-cron:-}")
+    public void rebuild() {
+        try {
+            lessonSearchIndex.rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Lesson search index rebuild failed, keeping the previous index", e);
+        }
+    }
+
+    // Null when the outbox can no longer hold every change since the last commit
+    private Instant replayFrom() {
+        Instant committedAt = lessonSearchIndex.getCommittedAt();
+        if (committedAt == null) {
+            return null;
+        }
+        Instant replayFrom = committedAt.minus(replayMargin);
+        Instant oldestRow = outbox.currentTime().toInstant().minus(retention);
+        return replayFrom.isAfter(oldestRow) ? replayFrom : null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.online.course.management.project.config;
+
+import com.online.course.management.project.enums.ProgressStore;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+
+// Binds ProgressProperties itself, so the condition and the services read the same value and default
+class OnProgressStoreCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnProgressStore.class.getName());
+        ProgressStore store = Binder.get(context.getEnvironment())
+                .bind("progress", ProgressProperties.class)
+                .orElseGet(ProgressProperties::new)
+                .getStore();
+        return attributes != null && store == attributes.get("value");
+    }
+}
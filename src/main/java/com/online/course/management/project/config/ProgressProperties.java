@@ -0,0 +1,15 @@
+package com.online.course.management.project.config;
+
+import com.online.course.management.project.enums.ProgressStore;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Lesson progress settings, bound from progress.*.
+ */
+@Data
+@ConfigurationProperties(prefix = "progress")
+public class ProgressProperties {
+
+    private ProgressStore store = ProgressStore.ROWS;
+}
@@ -73,6 +73,7 @@ public class SecurityConfig {
                                 "/api/v1/users/login",
                                 "/error",
                                 "/api/v1/courses/*",
+                                "/api/v1/courses/autocomplete",
                                 "/v3/api-docs",
                                 "/v3/api-docs.yaml",
                                 "/v3/api-docs/**",
@@ -82,8 +83,12 @@ public class SecurityConfig {
                                 "/swagger-resources/**",
                                 "/configuration/ui",
                                 "/configuration/security",
-                                "/webjars/**"
+                                "/webjars/**",
+                                "/actuator/health",
+                                "/actuator/health/**"
                         ).permitAll()
+                        // Metrics describe the deployment and its load, so scrapers authenticate as an admin
+                        .requestMatchers("/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .userDetailsService(userDetailsService)
@@ -0,0 +1,60 @@
+package com.online.course.management.project.config;
+
+import com.online.course.management.project.filter.SqlStatementAccountingFilter;
+import com.online.course.management.project.utils.sql.SqlStatementRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source in a proxy that reports statements and fetched rows to the
+ * {@link SqlStatementRecorder}, and registers the filter that accounts them per request.
+ */
+@Configuration
+public class SqlAccountingConfig {
+
+    @Bean
+    public SqlStatementRecorder sqlStatementRecorder() {
+        return new SqlStatementRecorder();
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlAccountingDataSourcePostProcessor(ObjectProvider<SqlStatementRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    SqlStatementRecorder listener = recorder.getObject();
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener)
+                            .proxyResultSet()
+                            .methodListener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementAccountingFilter> sqlStatementAccountingFilter(
+            SqlStatementRecorder recorder,
+            MeterRegistry meterRegistry,
+            @Value("${sql.accounting.response-headers:false}") boolean responseHeaders,
+            @Value("${sql.accounting.repeated-statement-threshold:10}") int repeatedStatementThreshold) {
+        FilterRegistrationBean<SqlStatementAccountingFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementAccountingFilter(recorder, meterRegistry, responseHeaders, repeatedStatementThreshold));
+        // Ahead of the security chain so token checks that hit the database are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
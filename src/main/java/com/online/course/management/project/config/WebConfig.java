@@ -1,8 +1,14 @@
 package com.online.course.management.project.config;
 
+import com.online.course.management.project.constants.ChapterConstants;
+import com.online.course.management.project.constants.CourseConstants;
+import com.online.course.management.project.constants.LessonConstants;
 import com.online.course.management.project.converter.StringToLocalDateTimeConverter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -12,4 +18,21 @@ public class WebConfig implements WebMvcConfigurer {
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new StringToLocalDateTimeConverter());
     }
+
+    /**
+     * ETags for the GET search endpoints, hashed from the response body. Searches have no cheap content version,
+     * so the query still runs, but an unchanged result is answered with an empty 304.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> searchEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns(
+                CourseConstants.BASE_PATH + CourseConstants.SEARCH_PATH,
+                CourseConstants.BASE_PATH + CourseConstants.SEARCH_COURSE_INSTRUCTOR_PATH,
+                CourseConstants.BASE_PATH + CourseConstants.SEARCH_COURSE_STATUS_PATH,
+                CourseConstants.BASE_PATH + CourseConstants.SEARCH_LATEST_COURSES_PATH,
+                ChapterConstants.BASE_PATH + ChapterConstants.SEARCH_CHAPTERS_PATH,
+                LessonConstants.BASE_PATH + LessonConstants.SEARCH_PATH);
+        return registration;
+    }
 }
@@ -0,0 +1,29 @@
+package com.online.course.management.project.constants;
+
+public class CacheConstants {
+    public static final String COURSES = "courses";
+    public static final String LATEST_COURSES = "latestCourses";
+    public static final String CHAPTERS = "chapters";
+    // Prefix of the chapters key used by ChapterServiceImpl.getChapterWithLessons
+    public static final String CHAPTER_DETAIL_KEY_PREFIX = "detail-";
+    public static final String USERS = "users";
+    public static final String CATEGORIES = "categories";
+    // Immutable CourseOutline snapshots keyed by course id
+    public static final String COURSE_OUTLINES = "courseOutlines";
+    // Serialized getCourseById response bodies keyed by course id
+    public static final String COURSE_RESPONSES = "courseResponses";
+    // Serialized chapter read responses, keyed like the chapters cache
+    public static final String CHAPTER_RESPONSES = "chapterResponses";
+    // Prefix of the chapterResponses key holding the chapter list of a course
+    public static final String COURSE_CHAPTERS_KEY_PREFIX = "course-";
+    // Exact search totals keyed by normalized filters, one cache per searched table so a write clears only its own
+    public static final String COURSE_COUNTS = "courseCounts";
+    public static final String CHAPTER_COUNTS = "chapterCounts";
+    public static final String LESSON_COUNTS = "lessonCounts";
+    public static final String ENROLLMENT_COUNTS = "enrollmentCounts";
+    public static final String RATING_COUNTS = "ratingCounts";
+    public static final String USER_COUNTS = "userCounts";
+    // Outbox names of in-memory state that is not a cache, see RemoteInvalidationHandler
+    public static final String TOKEN_VERSIONS = "tokenVersions";
+    public static final String SEARCH_INDEXES = "searchIndexes";
+}
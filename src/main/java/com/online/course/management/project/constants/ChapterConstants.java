@@ -14,5 +14,6 @@ public class ChapterConstants {
     public static final String GET_DETAILS_WITH_LESSONS_PATH = "/{id}/details-with-lessons";
     public static final String GET_CHAPTERS_BY_COURSE_PATH = "{courseId}/list";
     public static final String SEARCH_CHAPTERS_PATH = "/search";
+    public static final String SEARCH_SCROLL_PATH = "/search-scroll";
     public static final String CHAPTER_REORDERED_PATH = "/{id}/reorder";
 }
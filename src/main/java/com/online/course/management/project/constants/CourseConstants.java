@@ -7,6 +7,9 @@ public class CourseConstants {
     public static final String ARCHIVE_PATH = "{id}/archive";
     public static final String UNARCHIVE_PATH = "{id}/unarchive";
     public static final String SEARCH_PATH = "/search";
+    public static final String SEARCH_SCROLL_PATH = "/search-scroll";
+    public static final String SEARCH_FACETED_PATH = "/search-faceted";
+    public static final String AUTOCOMPLETE_PATH = "/autocomplete";
     public static final String SEARCH_COURSE_INSTRUCTOR_PATH = "/search-instructor";
     public static final String SEARCH_COURSE_STATUS_PATH = "/search-status";
     public static final String SEARCH_LATEST_COURSES_PATH = "/search-latest";
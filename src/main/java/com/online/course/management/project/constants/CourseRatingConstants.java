@@ -5,6 +5,7 @@ public class CourseRatingConstants {
     public static final String CREATE_PATH = "/create";
     public static final String UPDATE_PATH = "/update";
     public static final String SEARCH_PATH = "/search";
+    public static final String SEARCH_SCROLL_PATH = "/search-scroll";
     public static final String DELETE_PATH = "/delete/{id}";
     public static final String GET_DISTRIBUTION_PATH = "/get-rating-distribution/{id}";
 }
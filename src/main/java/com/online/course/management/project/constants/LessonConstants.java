@@ -11,5 +11,6 @@ public class LessonConstants {
     public static final String RESTORE_PATH = "{id}/restore";
     public static final String BULK_RESTORE_PATH = "/bulk-restore";
     public static final String SEARCH_PATH = "/search";
+    public static final String SEARCH_SCROLL_PATH = "/search-scroll";
     public static final String REORDER_PATH = "{id}/reorder";
 }
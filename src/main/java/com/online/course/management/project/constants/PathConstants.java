@@ -30,7 +30,9 @@ public class PathConstants {
             "/api/v1/courses/search-instructor",
             "/api/v1/courses/search-status",
             "/api/v1/courses/search-latest",
+            "/api/v1/courses/autocomplete",
             "/api/v1/course-ratings/search",
-            "/api/v1/course-ratings/get-rating-distribution/{id}"
+            "/api/v1/course-ratings/get-rating-distribution/{id}",
+            "/actuator/health"
     );
 }
@@ -5,6 +5,7 @@ public class UserCourseConstants {
     public static final String ENROLL_PATH = "/enroll";
     public static final String ENROLLMENT_DETAILS_PATH = "/enrollment-details";
     public static final String SEARCH_PATH = "/search";
+    public static final String SEARCH_SCROLL_PATH = "/search-scroll";
     public static final String DROP_PATH = "/drop";
     public static final String RESUME_PATH = "/resume";
 }
@@ -4,4 +4,5 @@ public class UserLessonProgressConstants {
     public static final String BASE_PATH = "/api/v1/user-lesson-progress";
     public static final String START_LEARNING_PATH = "/start-learning";
     public static final String COMPLETE_LEARNING_PATH = "/complete-learning";
+    public static final String COURSE_PROGRESS_PATH = "/course-progress/{courseId}";
 }
@@ -5,8 +5,10 @@ import com.online.course.management.project.dto.ChapterDTOs;
 import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.security.RequiredRole;
 import com.online.course.management.project.service.interfaces.IChapterService;
+import com.online.course.management.project.utils.chapter.ChapterResponseCache;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -18,11 +20,16 @@ import java.util.List;
 @RequestMapping(ChapterConstants.BASE_PATH)
 public class ChapterController {
 
+    // Chapters need a login, so only the client may keep responses, and it must revalidate them
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final IChapterService chapterService;
+    private final ChapterResponseCache chapterResponseCache;
 
     @Autowired
-    public ChapterController(IChapterService chapterService) {
+    public ChapterController(IChapterService chapterService, ChapterResponseCache chapterResponseCache) {
         this.chapterService = chapterService;
+        this.chapterResponseCache = chapterResponseCache;
     }
 
     @PostMapping(ChapterConstants.CREATE_PATH)
@@ -105,21 +112,49 @@ public class ChapterController {
         return ResponseEntity.ok(response);
     }
 
+    /*
+     * GET equivalents of the chapter reads, answering 304 from the cached ETag or Last-Modified
+     * without loading the chapters.
+     */
+
+    @GetMapping(ChapterConstants.GET_DETAILS_PATH)
+    public ResponseEntity<byte[]> getChapterDetails(@PathVariable @Valid long id) {
+        return chapterResponseCache.getChapter(id).toResponseEntity(REVALIDATE);
+    }
+
+    @GetMapping(ChapterConstants.GET_DETAILS_WITH_LESSONS_PATH)
+    public ResponseEntity<byte[]> getChapterDetailsWithLessons(@PathVariable @Valid long id) {
+        return chapterResponseCache.getChapterWithLessons(id).toResponseEntity(REVALIDATE);
+    }
+
+    @GetMapping(ChapterConstants.GET_CHAPTERS_BY_COURSE_PATH)
+    public ResponseEntity<byte[]> getCourseChapters(@PathVariable @Valid long courseId) {
+        return chapterResponseCache.getCourseChapters(courseId).toResponseEntity(REVALIDATE);
+    }
+
     @PostMapping(ChapterConstants.SEARCH_CHAPTERS_PATH)
     public ResponseEntity<PaginationDto.PaginationResponseDto<ChapterDTOs.ChapterResponseDto>> searchChapters(
             @Valid @RequestBody ChapterDTOs.ChapterSearchDTO searchRequest) {
 
         var chaptersPage = chapterService.searchChapters(searchRequest, searchRequest.toPageable());
 
-        var response = new PaginationDto.PaginationResponseDto<>(
-                chaptersPage.getContent(),
-                chaptersPage.getNumber() + 1,
-                chaptersPage.getSize(),
-                chaptersPage.getTotalElements());
+        var response = PaginationDto.PaginationResponseDto.of(chaptersPage);
 
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(ChapterConstants.SEARCH_SCROLL_PATH)
+    public ResponseEntity<PaginationDto.CursorResponseDto<ChapterDTOs.ChapterResponseDto>> scrollChapters(
+            @Valid @RequestBody ChapterDTOs.ChapterSearchDTO searchRequest) {
+        return ResponseEntity.ok(chapterService.scrollChapters(searchRequest));
+    }
+
+    @GetMapping(ChapterConstants.SEARCH_CHAPTERS_PATH)
+    public ResponseEntity<PaginationDto.PaginationResponseDto<ChapterDTOs.ChapterResponseDto>> searchChaptersByQuery(
+            @Valid ChapterDTOs.ChapterSearchDTO searchRequest) {
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(searchChapters(searchRequest).getBody());
+    }
+
     @PostMapping(ChapterConstants.CHAPTER_REORDERED_PATH)
     @RequiredRole({"ADMIN", "INSTRUCTOR"})
     public ResponseEntity<String> reorderChapters(@PathVariable @Valid long id) {
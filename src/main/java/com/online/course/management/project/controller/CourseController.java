@@ -6,10 +6,14 @@ import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.enums.CourseStatus;
 import com.online.course.management.project.security.RequiredRole;
 import com.online.course.management.project.service.interfaces.ICourseService;
+import com.online.course.management.project.utils.cache.SerializedResponse;
+import com.online.course.management.project.utils.course.CourseResponseCache;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,11 +24,16 @@ import java.util.List;
 @Slf4j
 public class CourseController {
 
+    // Courses are public; clients and shared caches may keep responses but must revalidate them
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
     private final ICourseService courseService;
+    private final CourseResponseCache courseResponseCache;
 
     @Autowired
-    public CourseController(ICourseService courseService) {
+    public CourseController(ICourseService courseService, CourseResponseCache courseResponseCache) {
         this.courseService = courseService;
+        this.courseResponseCache = courseResponseCache;
     }
 
     @PostMapping(CourseConstants.CREATE_PATH)
@@ -57,12 +66,28 @@ public class CourseController {
     }
 
     @PostMapping(CourseConstants.PATH_VARIABLE_PATH)
-    public ResponseEntity<CourseDTOS.CourseDetailsResponseDto> getCourseById(@PathVariable @Valid long id) {
+    public ResponseEntity<?> getCourseById(@PathVariable @Valid long id) {
         log.info("Fetching course with id: {}", id);
+        if (courseResponseCache.isEnabled()) {
+            // Cached JSON bytes are written as they are by the byte array converter
+            SerializedResponse cached = courseResponseCache.get(id);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(cached.getETag())
+                    .body(cached.getBody());
+        }
         CourseDTOS.CourseDetailsResponseDto response = courseService.getCourseById(id);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET equivalent of getCourseById answering 304 from the cached ETag or Last-Modified, without loading the course.
+     */
+    @GetMapping(CourseConstants.PATH_VARIABLE_PATH)
+    public ResponseEntity<byte[]> getCourse(@PathVariable @Valid long id) {
+        return courseResponseCache.get(id).toResponseEntity(REVALIDATE);
+    }
+
     @PostMapping(CourseConstants.SEARCH_COURSE_INSTRUCTOR_PATH)
     public ResponseEntity<PaginationDto.PaginationResponseDto<CourseDTOS.CourseDetailsResponseDto>> searchCoursesByInstructor(
             @Valid @RequestBody CourseDTOS.SearchInstructorCourseRequestDTO searchRequest) {
@@ -115,13 +140,56 @@ public class CourseController {
 
         var coursesPage = courseService.searchCourses(searchRequest, searchRequest.toPageable());
 
-        var response = new PaginationDto.PaginationResponseDto<>(
-                coursesPage.getContent(),
-                coursesPage.getNumber() + 1,
-                coursesPage.getSize(),
-                coursesPage.getTotalElements()
-        );
+        var response = PaginationDto.PaginationResponseDto.of(coursesPage);
 
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping(CourseConstants.SEARCH_FACETED_PATH)
+    public ResponseEntity<CourseDTOS.FacetedSearchCourseResponseDTO> searchCoursesFaceted(
+            @Valid @RequestBody CourseDTOS.FacetedSearchCourseRequestDTO searchRequest) {
+        return ResponseEntity.ok(courseService.searchCoursesFaceted(searchRequest));
+    }
+
+    @PostMapping(CourseConstants.SEARCH_SCROLL_PATH)
+    public ResponseEntity<PaginationDto.CursorResponseDto<CourseDTOS.CourseDetailsResponseDto>> scrollCourses(
+            @Valid @RequestBody CourseDTOS.SearchCourseRequestDTO searchRequest) {
+        return ResponseEntity.ok(courseService.scrollCourses(searchRequest));
+    }
+
+    @GetMapping(CourseConstants.SEARCH_PATH)
+    public ResponseEntity<PaginationDto.PaginationResponseDto<CourseDTOS.CourseDetailsResponseDto>> searchCoursesByQuery(
+            @Valid CourseDTOS.SearchCourseRequestDTO searchRequest) {
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(searchCourses(searchRequest).getBody());
+    }
+
+    @GetMapping(CourseConstants.SEARCH_FACETED_PATH)
+    public ResponseEntity<CourseDTOS.FacetedSearchCourseResponseDTO> searchCoursesFacetedByQuery(
+            @Valid CourseDTOS.FacetedSearchCourseRequestDTO searchRequest) {
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(courseService.searchCoursesFaceted(searchRequest));
+    }
+
+    @GetMapping(CourseConstants.AUTOCOMPLETE_PATH)
+    public ResponseEntity<CourseDTOS.AutocompleteResponseDTO> autocomplete(
+            @Valid CourseDTOS.AutocompleteRequestDTO request) {
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(courseService.autocomplete(request));
+    }
+
+    @GetMapping(CourseConstants.SEARCH_COURSE_INSTRUCTOR_PATH)
+    public ResponseEntity<PaginationDto.PaginationResponseDto<CourseDTOS.CourseDetailsResponseDto>> searchCoursesByInstructorQuery(
+            @Valid CourseDTOS.SearchInstructorCourseRequestDTO searchRequest) {
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(searchCoursesByInstructor(searchRequest).getBody());
+    }
+
+    @GetMapping(CourseConstants.SEARCH_COURSE_STATUS_PATH)
+    public ResponseEntity<PaginationDto.PaginationResponseDto<CourseDTOS.CourseDetailsResponseDto>> searchCoursesByStatusQuery(
+            @Valid CourseDTOS.SearchStatusRequestDTO searchRequest) {
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(searchCoursesByStatus(searchRequest).getBody());
+    }
+
+    @GetMapping(CourseConstants.SEARCH_LATEST_COURSES_PATH)
+    public ResponseEntity<List<CourseDTOS.CourseDetailsResponseDto>> searchLatestCoursesByQuery(
+            @Valid CourseDTOS.SearchLatestCoursesRequestDTO searchRequest) {
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(searchLatestCourses(searchRequest).getBody());
+    }
 }
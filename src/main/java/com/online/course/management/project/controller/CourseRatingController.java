@@ -45,16 +45,16 @@ public class CourseRatingController {
         var response = courseRatingService.getCourseRatings(request);
 
         PaginationDto.PaginationResponseDto<CourseRatingDTOs.CourseRatingResponseDTO> pageResponseDto =
-                new PaginationDto.PaginationResponseDto<>(
-                        response.getContent(),
-                        response.getNumber() + 1,
-                        response.getSize(),
-                        response.getTotalElements()
-                );
+                PaginationDto.PaginationResponseDto.of(response);
 
         return ResponseEntity.ok(pageResponseDto);
     }
 
+    @PostMapping(CourseRatingConstants.SEARCH_SCROLL_PATH)
+    public ResponseEntity<PaginationDto.CursorResponseDto<CourseRatingDTOs.CourseRatingResponseDTO>> scrollCourseRatings(@Valid @RequestBody CourseRatingDTOs.CourseRatingSearchDTO request) {
+        return ResponseEntity.ok(courseRatingService.scrollCourseRatings(request));
+    }
+
     @DeleteMapping(CourseRatingConstants.DELETE_PATH)
     public ResponseEntity<String> deleteCourseRating(@Valid @PathVariable long id) {
 
@@ -7,6 +7,7 @@ import com.online.course.management.project.security.RequiredRole;
 import com.online.course.management.project.service.interfaces.ILessonService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -88,16 +89,25 @@ public class LessonController {
 
         var lessonsPage = lessonService.searchLessons(searchRequest);
 
-        var response = new PaginationDto.PaginationResponseDto<>(
-                lessonsPage.getContent(),
-                lessonsPage.getNumber() + 1,
-                lessonsPage.getSize(),
-                lessonsPage.getTotalElements()
-        );
+        var response = PaginationDto.PaginationResponseDto.of(lessonsPage);
 
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(LessonConstants.SEARCH_SCROLL_PATH)
+    public ResponseEntity<PaginationDto.CursorResponseDto<LessonDTOs.LessonDetailResponseDto>> scrollLessons(
+            @Valid @RequestBody LessonDTOs.LessonSearchDTO searchRequest) {
+        return ResponseEntity.ok(lessonService.scrollLessons(searchRequest));
+    }
+
+    @GetMapping(LessonConstants.SEARCH_PATH)
+    public ResponseEntity<PaginationDto.PaginationResponseDto<LessonDTOs.LessonDetailResponseDto>> searchLessonsByQuery(
+            @Valid LessonDTOs.LessonSearchDTO searchRequest) {
+        // Lessons need a login, so only the client may keep results, and it must revalidate them
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate())
+                .body(searchLessons(searchRequest).getBody());
+    }
+
     @PostMapping(LessonConstants.REORDER_PATH)
     @RequiredRole({"ADMIN", "INSTRUCTOR"})
     public ResponseEntity<String> reorderLessons(@PathVariable @Valid long id) {
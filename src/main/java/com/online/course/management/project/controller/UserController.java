@@ -14,15 +14,12 @@ import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
 import java.util.Set;
 
 @RestController
@@ -107,16 +104,10 @@ public class UserController {
         log.info("Fetching all users with roles, page: {}, limit: {}", page, limit);
 
 
-        Pageable pageable = PageRequest.of(page - 1, limit);
-        Page<UserDTOs.UserWithRolesResponseDto> users = userService.getAllUsers(paginationRequestDto.toPageable());
-        long totalUsers = userService.countUsers(Optional.empty());
+        Page<UserDTOs.UserWithRolesResponseDto> users = userService.getAllUsers(
+                paginationRequestDto.toPageable(), paginationRequestDto.getCountMode());
 
-        PaginationDto.PaginationResponseDto<UserDTOs.UserWithRolesResponseDto> response = new PaginationDto.PaginationResponseDto<>(
-                users.getContent(),
-                users.getNumber() + 1,
-                users.getSize(),
-                totalUsers
-        );
+        PaginationDto.PaginationResponseDto<UserDTOs.UserWithRolesResponseDto> response = PaginationDto.PaginationResponseDto.of(users);
 
         return ResponseEntity.ok().body(response);
     }
@@ -131,15 +122,9 @@ public class UserController {
                 searchRequest, paginationRequest.getPage(), paginationRequest.getLimit());
 
         Page<UserDTOs.UserWithRolesResponseDto> usersPage = userService.searchUsers(
-                searchRequest, paginationRequest.toPageable());
-        long totalSearchedUsers = userService.countUsers(Optional.of(searchRequest));
-
-        PaginationDto.PaginationResponseDto<UserDTOs.UserWithRolesResponseDto> response = new PaginationDto.PaginationResponseDto<>(
-                usersPage.getContent(),
-                usersPage.getNumber() + 1,
-                usersPage.getSize(),
-                totalSearchedUsers
-        );
+                searchRequest, paginationRequest.toPageable(), paginationRequest.getCountMode());
+
+        PaginationDto.PaginationResponseDto<UserDTOs.UserWithRolesResponseDto> response = PaginationDto.PaginationResponseDto.of(usersPage);
 
         return ResponseEntity.ok(response);
     }
@@ -46,16 +46,17 @@ public class UserCourseController {
 
         var searchUserEnrollmentsPage = userCourseService.searchUserEnrollments(request);
 
-        var response = new PaginationDto.PaginationResponseDto<>(
-                searchUserEnrollmentsPage.getContent(),
-                searchUserEnrollmentsPage.getNumber() + 1,
-                searchUserEnrollmentsPage.getSize(),
-                searchUserEnrollmentsPage.getTotalElements()
-        );
+        var response = PaginationDto.PaginationResponseDto.of(searchUserEnrollmentsPage);
 
         return ResponseEntity.ok(response);
     }
 
+    @RequiredRole({"ADMIN", "INSTRUCTOR", "USER"})
+    @PostMapping(UserCourseConstants.SEARCH_SCROLL_PATH)
+    public ResponseEntity<PaginationDto.CursorResponseDto<UserCourseDTOs.UserCourseResponseDto>> scrollUserEnrollments(@Valid @RequestBody UserCourseDTOs.UserCourseSearchDTO request) {
+        return ResponseEntity.ok(userCourseService.scrollUserEnrollments(request));
+    }
+
     @RequiredRole({"ADMIN", "INSTRUCTOR", "USER"})
     @PutMapping(UserCourseConstants.DROP_PATH)
     public ResponseEntity<String> dropEnrollment(@Valid @RequestBody UserCourseDTOs.UserCourseRequestDTO request) {
@@ -8,6 +8,7 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -40,4 +41,13 @@ public class UserLessonProgressController {
 
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping(UserLessonProgressConstants.COURSE_PROGRESS_PATH)
+    @RequiredRole({"ADMIN", "INSTRUCTOR", "USER"})
+    public ResponseEntity<UserLessonProgressDtos.CourseProgressResponseDTO> getCourseProgress(@PathVariable Long courseId) {
+
+        var response = userLessonProgressService.getCourseProgress(courseId);
+
+        return ResponseEntity.ok(response);
+    }
 }
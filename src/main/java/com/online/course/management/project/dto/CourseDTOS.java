@@ -1,12 +1,15 @@
 package com.online.course.management.project.dto;
 
 import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.enums.TextSearchMode;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -87,6 +90,9 @@ public class CourseDTOS {
         private Set<Long> categoryIds;
         private Boolean includeArchived;
 
+        // How title and instructorName are matched; CONTAINS (substring LIKE) when absent
+        private TextSearchMode searchMode;
+
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
         private LocalDateTime fromDate;
 
@@ -132,6 +138,86 @@ public class CourseDTOS {
         private String status;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @EqualsAndHashCode(callSuper = true)
+    public static class FacetedSearchCourseRequestDTO extends PaginationDto.PaginationRequestDto {
+        // Values of one facet are ORed, facets are ANDed; an absent facet does not filter
+        private Set<Long> categoryIds;
+        private Set<CourseStatus> statuses;
+        private Set<Long> instructorIds;
+        private Set<YearMonth> createdMonths;
+        private Boolean includeArchived;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetedSearchCourseResponseDTO {
+        private PaginationDto.PaginationResponseDto<CourseDetailsResponseDto> results;
+        private CourseFacetsDTO facets;
+    }
+
+    /**
+     * Matching courses per facet value, each counted with the filters of every other facet, so a count is what
+     * the results would hold with that value selected as well.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CourseFacetsDTO {
+        private List<FacetCountDTO> categories;
+        private List<FacetCountDTO> statuses;
+        private List<FacetCountDTO> instructors;
+        private List<FacetCountDTO> createdMonths;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCountDTO {
+        private String value;
+        private String label;
+        private long count;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AutocompleteRequestDTO {
+        @NotBlank(message = "Query is required")
+        @Size(max = 100, message = "Query must be at most 100 characters")
+        private String query;
+
+        @Min(value = 1, message = "Limit must be greater than or equal to 1")
+        @Max(value = 10, message = "Limit must be less than or equal to 10")
+        private int limit = 5;
+    }
+
+    /**
+     * Completions of each kind, most popular first: courses by their enrollments, categories and instructors by
+     * those of their courses.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AutocompleteResponseDTO {
+        private List<AutocompleteSuggestionDTO> courses;
+        private List<AutocompleteSuggestionDTO> categories;
+        private List<AutocompleteSuggestionDTO> instructors;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AutocompleteSuggestionDTO {
+        private Long id;
+        private String label;
+        private long popularity;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
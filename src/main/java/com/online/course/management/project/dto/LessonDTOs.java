@@ -106,6 +106,9 @@ public class LessonDTOs {
     @EqualsAndHashCode(callSuper = true)
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class LessonSearchDTO extends PaginationDto.PaginationRequestDto {
+        // Words to find in lesson titles and content and in chapter and course titles, served by
+        // LessonSearchIndex with results ordered by relevance; title then matches words rather than a substring
+        private String query;
         private String title;
         private CourseStatus status;
         private List<Long> courseIds;
@@ -1,9 +1,12 @@
 package com.online.course.management.project.dto;
 
+import com.online.course.management.project.enums.CountMode;
+import com.online.course.management.project.utils.pagination.CountedPage;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -22,6 +25,12 @@ public class PaginationDto {
         @Max(value = 50, message = "Limit must be less than or equal to 50")
         private int limit = 10;
 
+        // Continuation token of the scroll endpoints, absent for the first window; page is ignored there
+        private String cursor;
+
+        // How the search total is computed, see SearchCounter; search.count.default-mode when absent
+        private CountMode countMode;
+
         public Pageable toPageable() {
             return PageRequest.of(page - 1, limit);
         }
@@ -35,5 +44,33 @@ public class PaginationDto {
         private int currentPage;
         private int limit;
         private long total;
+        // True when total is the estimate threshold and more items match
+        private boolean totalCapped;
+
+        public PaginationResponseDto(List<T> data, int currentPage, int limit, long total) {
+            this(data, currentPage, limit, total, false);
+        }
+
+        public static <T> PaginationResponseDto<T> of(Page<T> page) {
+            return new PaginationResponseDto<>(
+                    page.getContent(),
+                    page.getNumber() + 1,
+                    page.getSize(),
+                    page.getTotalElements(),
+                    page instanceof CountedPage<T> countedPage && countedPage.isTotalCapped());
+        }
+    }
+
+    /**
+     * A window of a keyset-paginated search. nextCursor continues after the last item and is null on the last
+     * window; there is no total, as counting would cost as much as the search itself.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class CursorResponseDto<T> {
+        private List<T> data;
+        private int limit;
+        private String nextCursor;
+        private boolean hasMore;
     }
 }
@@ -97,4 +97,16 @@ public class UserCourseDTOs {
         private Double averageCompletionTime;  // in days
         private Double completionRate;  // percentage
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EnrollmentStatisticsDTO {
+        private int processingLessons;
+        private int completedLessons;
+        private int trackedLessons;  // lessons tracked by the enrollment counters
+        private int totalLessons;
+        private double averageRating;
+    }
 }
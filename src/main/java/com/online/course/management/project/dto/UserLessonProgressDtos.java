@@ -1,11 +1,13 @@
 package com.online.course.management.project.dto;
 
-import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.AssertTrue;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 public class UserLessonProgressDtos {
 
     @Data
@@ -13,8 +15,15 @@ public class UserLessonProgressDtos {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class UpdateStatusLessonProgressDTO {
-        @NotNull(message = "Lesson progress ID is required")
         private Long id;
+
+        // Lessons that were never opened have no progress row yet, so they are addressed by lesson ID
+        private Long lessonId;
+
+        @AssertTrue(message = "Either lesson progress ID or lesson ID is required")
+        private boolean isProgressReferenceValid() {
+            return id != null || lessonId != null;
+        }
     }
 
     @Data
@@ -30,4 +39,31 @@ public class UserLessonProgressDtos {
         private String lastAccessedAt;
         private String completionDate;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CourseProgressResponseDTO {
+        private Long courseId;
+        private Integer totalLessons;
+        private Integer notStartedLessons;
+        private Integer inProgressLessons;
+        private Integer completedLessons;
+        private Double completionPercentage;
+        private Long nextLessonId;
+        private List<ChapterProgressDTO> chapters;
+        private List<LessonProgressResponseDTO> lessons;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChapterProgressDTO {
+        private Long chapterId;
+        private Integer totalLessons;
+        private Integer completedLessons;
+        private Double completionPercentage;
+    }
 }
@@ -60,6 +60,10 @@ public class User {
     @Column(nullable = false)
     private UserStatus status = UserStatus.ACTIVE;
 
+    // Tokens issued with an older version are rejected, see TokenRevocationRegistry
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<UserRole> userRoles = new HashSet<>();
 
@@ -44,6 +44,23 @@ public class UserCourse {
     @Column(nullable = false, length = 20)
     private EnrollmentStatus status = EnrollmentStatus.ENROLLED;
 
+    // Progress counters are maintained by delta updates in IUserCourseRepository, never by entity writes
+    @Column(name = "completed_count", nullable = false, updatable = false)
+    private int completedCount;
+
+    @Column(name = "in_progress_count", nullable = false, updatable = false)
+    private int inProgressCount;
+
+    @Column(name = "total_lessons", nullable = false, updatable = false)
+    private int totalLessons;
+
+    // Lesson slot bitsets of the bitmap progress store, written only by IUserCourseRepository.applyProgressBitmaps
+    @Column(name = "completed_lessons_bitmap", length = 2048, insertable = false, updatable = false)
+    private byte[] completedLessonsBitmap;
+
+    @Column(name = "in_progress_lessons_bitmap", length = 2048, insertable = false, updatable = false)
+    private byte[] inProgressLessonsBitmap;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,7 @@
+package com.online.course.management.project.enums;
+
+public enum CountMode {
+    EXACT,
+    CACHED,
+    ESTIMATED
+}
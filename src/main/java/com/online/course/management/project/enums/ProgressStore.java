@@ -0,0 +1,11 @@
+package com.online.course.management.project.enums;
+
+/**
+ * Where lesson progress is kept, selected with progress.store.
+ */
+public enum ProgressStore {
+    // One user_lesson_progress row per touched lesson
+    ROWS,
+    // A completed and an in-progress bitset per enrollment on user_courses
+    BITMAP
+}
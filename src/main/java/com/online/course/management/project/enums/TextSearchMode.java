@@ -0,0 +1,6 @@
+package com.online.course.management.project.enums;
+
+public enum TextSearchMode {
+    CONTAINS,
+    FULLTEXT
+}
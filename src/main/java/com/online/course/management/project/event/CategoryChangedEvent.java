@@ -0,0 +1,13 @@
+package com.online.course.management.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A category was created, renamed, deleted or restored.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+    private final Long categoryId;
+}
@@ -0,0 +1,21 @@
+package com.online.course.management.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Chapters of a course changed. An empty chapterIds means every chapter of the course, as after a reorder.
+ */
+@Getter
+@AllArgsConstructor
+public class ChapterChangedEvent {
+    private final Long courseId;
+    private final Collection<Long> chapterIds;
+
+    public static ChapterChangedEvent allOf(Long courseId) {
+        return new ChapterChangedEvent(courseId, List.of());
+    }
+}
@@ -0,0 +1,13 @@
+package com.online.course.management.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A course was created, updated, archived or restored.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseChangedEvent {
+    private final Long courseId;
+}
@@ -0,0 +1,15 @@
+package com.online.course.management.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * Lessons changed in the given chapters, whose cached views embed them.
+ */
+@Getter
+@AllArgsConstructor
+public class LessonChangedEvent {
+    private final Collection<Long> chapterIds;
+}
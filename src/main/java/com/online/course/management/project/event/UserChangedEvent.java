@@ -0,0 +1,13 @@
+package com.online.course.management.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A user's profile or roles were updated, or the user was deleted. Course views embed their instructor.
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final Long userId;
+}
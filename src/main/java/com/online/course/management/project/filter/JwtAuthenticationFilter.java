@@ -3,14 +3,18 @@ package com.online.course.management.project.filter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.online.course.management.project.constants.PathConstants;
 import com.online.course.management.project.dto.ErrorResponseDTO;
+import com.online.course.management.project.security.CustomUserDetails;
 import com.online.course.management.project.security.CustomUserDetailsService;
 import com.online.course.management.project.security.JwtUtil;
+import com.online.course.management.project.security.TokenRevocationRegistry;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -29,12 +33,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
     private final ObjectMapper objectMapper;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    // When enabled, tokens carrying the principal claims are authenticated without loading the user
+    @Value("${jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, ObjectMapper objectMapper) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, ObjectMapper objectMapper, TokenRevocationRegistry tokenRevocationRegistry) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
         this.objectMapper = objectMapper;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
     }
 
 
@@ -68,30 +78,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // Validate token and set up authentication
-            if (jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                filterChain.doFilter(request, response);
-            } else {
-                handleAuthenticationError(response, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
+            // Verify token (at most once per token lifetime, see JwtUtil) and set up authentication
+            Claims claims = jwtUtil.verifyToken(jwt);
+            UserDetails userDetails = resolveUserDetails(claims);
+            if (userDetails == null) {
+                handleAuthenticationError(response, "Token has been revoked", HttpStatus.UNAUTHORIZED);
+                return;
             }
+
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            filterChain.doFilter(request, response);
         } catch (Exception e) {
             log.error("Authentication error: ", e);
             handleAuthenticationError(response, "Authentication failed: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         }
     }
 
+    /**
+     * Returns the principal of a verified token, or null when the token has been revoked.
+     * Tokens without principal claims, or any token when stateless mode is off, fall back to loading the user.
+     */
+    private UserDetails resolveUserDetails(Claims claims) {
+        CustomUserDetails claimsPrincipal = statelessPrincipal ? jwtUtil.toUserDetails(claims) : null;
+        if (claimsPrincipal == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        if (tokenRevocationRegistry.isRevoked(claimsPrincipal.getId(), claimsPrincipal.getTokenVersion())) {
+            log.debug("Rejected revoked token of user {}", claimsPrincipal.getId());
+            return null;
+        }
+        return claimsPrincipal;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,122 @@
+package com.online.course.management.project.filter;
+
+import com.online.course.management.project.utils.sql.SqlStatementRecorder;
+import com.online.course.management.project.utils.sql.SqlStatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the statements, rows and JDBC time of each request. The totals are published as metrics per
+ * endpoint, optionally written as response headers, and a request that runs the same statement
+ * repeatedly is logged as a likely N+1 load.
+ */
+public class SqlStatementAccountingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementAccountingFilter.class);
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+    public static final String JDBC_TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final SqlStatementRecorder recorder;
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final int repeatedStatementThreshold;
+
+    public SqlStatementAccountingFilter(SqlStatementRecorder recorder, MeterRegistry meterRegistry,
+                                        boolean responseHeaders, int repeatedStatementThreshold) {
+        this.recorder = recorder;
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = recorder.start();
+        StatsHeaderResponse headerResponse = responseHeaders ? new StatsHeaderResponse(response, stats) : null;
+        try {
+            filterChain.doFilter(request, headerResponse != null ? headerResponse : response);
+        } finally {
+            recorder.stop();
+            if (headerResponse != null && !response.isCommitted()) {
+                headerResponse.writeHeaders();
+            }
+            publish(request, stats);
+        }
+    }
+
+    private void publish(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("app.request.sql.statements")
+                .description("JDBC statements executed per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("app.request.sql.rows")
+                .description("Rows read or written per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("app.request.sql.time")
+                .description("Time spent in JDBC per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        Map.Entry<String, Integer> repeated = stats.getMostRepeatedStatement();
+        if (repeated != null && repeated.getValue() >= repeatedStatementThreshold) {
+            log.warn("Possible N+1 on {} {}: {} statements, {} executions of: {}",
+                    method, uri, stats.getStatements(), repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    /**
+     * Adds the stats headers just before the response is committed, when all SQL of the handler has run.
+     */
+    private static class StatsHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatementStats stats;
+        private boolean written;
+
+        StatsHeaderResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            if (written) {
+                return;
+            }
+            written = true;
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            response.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            response.setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+            response.setHeader(JDBC_TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getJdbcNanos() / 1_000_000.0));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.online.course.management.project.entity.Chapter;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.Lesson;
 import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.utils.course.CourseOutline;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -46,6 +47,21 @@ public interface ChapterMapper {
 
     List<ChapterDTOs.ChapterResponseDto> toDtoList(List<Chapter> chapters);
 
+    default ChapterDTOs.ChapterResponseDto toDto(CourseOutline outline, CourseOutline.ChapterNode chapter) {
+        return ChapterDTOs.ChapterResponseDto.builder()
+                .id(chapter.getId())
+                .courseId(outline.getCourseId())
+                .courseTitle(outline.getCourseTitle())
+                .title(chapter.getTitle())
+                .description(chapter.getDescription())
+                .order(chapter.getOrder())
+                .status(chapter.getStatus())
+                .totalLessons(chapter.getLessons().size())
+                .createdAt(chapter.getCreatedAt())
+                .updatedAt(chapter.getUpdatedAt())
+                .build();
+    }
+
     default void setCourse(Chapter chapter, Course course) {
         chapter.setCourse(course);
     }
@@ -4,18 +4,17 @@ import com.online.course.management.project.dto.UserCourseDTOs;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.User;
 import com.online.course.management.project.entity.UserCourse;
-import com.online.course.management.project.entity.UserLessonProgress;
-import com.online.course.management.project.enums.ProgressStatus;
-import com.online.course.management.project.repository.IUserLessonProgressRepository;
+import com.online.course.management.project.utils.usercourse.UserCourseStatisticsLoader;
 import lombok.extern.slf4j.Slf4j;
 import org.mapstruct.*;
 import org.springframework.beans.factory.annotation.Autowired;
-import com.online.course.management.project.repository.IUserCourseRepository;
 
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Mapper(componentModel = "spring",
         unmappedTargetPolicy = ReportingPolicy.IGNORE,
@@ -24,10 +23,7 @@ import java.util.List;
 public abstract class UserCourseMapper {
 
     @Autowired
-    protected IUserCourseRepository userCourseRepository;
-
-    @Autowired
-    protected IUserLessonProgressRepository userLessonProgressRepository;
+    protected UserCourseStatisticsLoader userCourseStatisticsLoader;
 
     @Mapping(target = "userId", source = "user.id")
     @Mapping(target = "courseId", source = "course.id")
@@ -46,60 +42,56 @@ public abstract class UserCourseMapper {
 
     // Add a non-abstract method to handle the full mapping including statistics
     public UserCourseDTOs.UserCourseResponseDto toDto(UserCourse userCourse) {
-        UserCourseDTOs.UserCourseResponseDto baseDto = toBaseDto(userCourse);
-        mapStatistics(userCourse, baseDto);
-        return baseDto;
+        return toDtoList(List.of(userCourse)).get(0);
     }
 
-    public void mapStatistics(UserCourse userCourse, @MappingTarget UserCourseDTOs.UserCourseResponseDto dto) {
-        System.out.println("AfterMapping is running for userCourse: " + userCourse.getId());
-
-        log.debug("Mapping statistics for userCourse: {}", userCourse.getId());
-
+    /**
+     * Maps a page of enrollments, loading their statistics in one batch instead of per row.
+     */
+    public List<UserCourseDTOs.UserCourseResponseDto> toDtoList(List<UserCourse> userCourses) {
+        Map<Long, UserCourseDTOs.EnrollmentStatisticsDTO> statistics;
         try {
-            // Get lesson progress statistics
-            List<UserLessonProgress> progressList = userLessonProgressRepository
-                    .findAllByUserIdAndCourseId(userCourse.getUser().getId(), userCourse.getCourse().getId());
-
-            // Count lessons by status
-            int processingCount = 0;
-            int completedCount = 0;
-            for (UserLessonProgress progress : progressList) {
-                if (progress.getStatus() == ProgressStatus.IN_PROGRESS) {
-                    processingCount++;
-                } else if (progress.getStatus() == ProgressStatus.COMPLETED) {
-                    completedCount++;
-                }
-            }
-
-            // Calculate total lessons in the course
-            int totalLessons = userCourseRepository.getTotalLessons(userCourse.getCourse().getId());
-
-            // Get average rating from course ratings
-            double avgRating = userCourseRepository.getAverageCourseRating(userCourse.getCourse().getId());
+            statistics = userCourseStatisticsLoader.load(userCourses);
+        } catch (Exception e) {
+            log.error("Error loading statistics for {} enrollments: {}", userCourses.size(), e.getMessage());
+            statistics = Map.of();
+        }
 
-            double avgCompletionTime = calculateAverageCompletionTime(userCourse);
-            double completionRate = calculateCompletionRate(userCourse);
+        List<UserCourseDTOs.UserCourseResponseDto> dtos = new ArrayList<>(userCourses.size());
+        for (UserCourse userCourse : userCourses) {
+            UserCourseDTOs.UserCourseResponseDto dto = toBaseDto(userCourse);
+            var userCourseStatistics = statistics.get(userCourse.getId());
+            if (userCourseStatistics != null) {
+                mapStatistics(userCourse, userCourseStatistics, dto);
+            } else {
+                // Set default values in case of error
+                dto.setProcessingLessons(0);
+                dto.setCompletedLessons(0);
+                dto.setTotalLessons(0);
+                dto.setAverageRating(0.0);
+                dto.setAverageCompletionTime(0.0);
+                dto.setCompletionRate(0.0);
+            }
+            dtos.add(dto);
+        }
+        return dtos;
+    }
 
-            // Set the statistics
-            dto.setProcessingLessons(processingCount);
-            dto.setCompletedLessons(completedCount);
-            dto.setTotalLessons(totalLessons);
-            dto.setAverageRating(avgRating);
-            dto.setAverageCompletionTime(avgCompletionTime);
-            dto.setCompletionRate(completionRate);
+    public void mapStatistics(UserCourse userCourse,
+                              UserCourseDTOs.EnrollmentStatisticsDTO statistics,
+                              @MappingTarget UserCourseDTOs.UserCourseResponseDto dto) {
+        log.debug("Mapping statistics for userCourse: {}", userCourse.getId());
 
-            log.debug("Statistics mapped - Processing: {}, Completed: {}, Total: {}, Rating: {}",
-                    processingCount, completedCount, totalLessons, avgRating);
+        dto.setProcessingLessons(statistics.getProcessingLessons());
+        dto.setCompletedLessons(statistics.getCompletedLessons());
+        dto.setTotalLessons(statistics.getTotalLessons());
+        dto.setAverageRating(statistics.getAverageRating());
+        dto.setAverageCompletionTime(calculateAverageCompletionTime(userCourse));
+        dto.setCompletionRate(calculateCompletionRate(statistics));
 
-        } catch (Exception e) {
-            log.error("Error mapping statistics for userCourse {}: {}", userCourse.getId(), e.getMessage());
-            // Set default values in case of error
-            dto.setProcessingLessons(0);
-            dto.setCompletedLessons(0);
-            dto.setTotalLessons(0);
-            dto.setAverageRating(0.0);
-        }
+        log.debug("Statistics mapped - Processing: {}, Completed: {}, Total: {}, Rating: {}",
+                statistics.getProcessingLessons(), statistics.getCompletedLessons(),
+                statistics.getTotalLessons(), statistics.getAverageRating());
     }
 
     @Mapping(target = "id", ignore = true)
@@ -120,21 +112,16 @@ public abstract class UserCourseMapper {
         );
     }
 
-    protected Double calculateCompletionRate(UserCourse userCourse) {
-
-        List<UserLessonProgress> userLessonProgresses = userLessonProgressRepository.findAllByUserIdAndCourseId(userCourse.getUser().getId(), userCourse.getCourse().getId());
-
-        var TotalCompletedLessons = userLessonProgresses.stream()
-                .filter(ulp -> ulp.getStatus() == ProgressStatus.COMPLETED)
-                .count();
+    protected Double calculateCompletionRate(UserCourseDTOs.EnrollmentStatisticsDTO statistics) {
+        if (statistics.getTrackedLessons() == 0) {
+            return 0.0;
+        }
 
-        var completionRate = ((double) TotalCompletedLessons / userLessonProgresses.size());
+        var completionRate = ((double) statistics.getCompletedLessons() / statistics.getTrackedLessons());
 
         DecimalFormat df = new DecimalFormat("#.##");
         df.setRoundingMode(RoundingMode.HALF_UP);
 
-        log.info("Completion rate: {}", completionRate * 100.0D);
-
         return Double.parseDouble(df.format(completionRate * 100.0D));
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.online.course.management.project.mapper;
 
 import com.online.course.management.project.dto.UserLessonProgressDtos;
 import com.online.course.management.project.entity.UserLessonProgress;
+import com.online.course.management.project.repository.IUserLessonProgressRepository;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
@@ -18,4 +19,6 @@ public interface UserLessonProgressMapper {
     @Mapping(target = "completionDate", source = "completionDate")
     @Mapping(target = "status", source = "status")
     UserLessonProgressDtos.LessonProgressResponseDTO toDto(UserLessonProgress userLessonProgress);
+
+    UserLessonProgressDtos.LessonProgressResponseDTO toDto(IUserLessonProgressRepository.LessonProgressView lessonProgressView);
 }
@@ -15,6 +15,7 @@ public interface UserMapper {
 
     @Mapping(target = "passwordHash", ignore = true)
     @Mapping(target = "userRoles", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     User toEntity(UserDTOs.UserRegistrationDto dto);
 
 
@@ -24,6 +25,7 @@ public interface UserMapper {
     UserDTOs.UserWithRolesResponseDto toUserWithRolesDto(User user);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "tokenVersion", ignore = true)
     void updateUserFromDto(UserDTOs.UpdateProfileDto dto, @MappingTarget User user);
 
     default Set<String> mapRoles(Set<UserRole> userRoles) {
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,6 +23,10 @@ public interface ICategoryRepository extends JpaRepository<Category, Long>, JpaS
     // Read operations
     Optional<Category> findById(Long id);
 
+    // Every category with the courses CategoryMapper.toDto counts, for warming the categories cache
+    @Query("SELECT DISTINCT c FROM Category c LEFT JOIN FETCH c.courses")
+    List<Category> findAllWithCourses();
+
     boolean existsByName(String name);
 
     @Query("""
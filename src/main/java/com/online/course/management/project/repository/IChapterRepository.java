@@ -1,8 +1,8 @@
 package com.online.course.management.project.repository;
 
 import com.online.course.management.project.entity.Chapter;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -32,18 +33,8 @@ public interface IChapterRepository extends JpaRepository<Chapter, Long>, JpaSpe
             AND (:toDate IS NULL OR ch.created_at <= :toDate)
             AND ch.deleted_at IS NULL
             """,
-            countQuery = """
-                    SELECT COUNT(*)
-                    FROM chapters ch
-                    WHERE (:title IS NULL OR LOWER(ch.title) LIKE LOWER(CONCAT('%', :title, '%')))
-                    AND (:status IS NULL OR ch.status = :status)
-                    AND (:courseId IS NULL OR ch.course_id = :courseId)
-                    AND (:fromDate IS NULL OR ch.created_at >= :fromDate)
-                    AND (:toDate IS NULL OR ch.created_at <= :toDate)
-                    AND ch.deleted_at IS NULL
-                    """,
             nativeQuery = true)
-    Page<Chapter> searchChapters(
+    Slice<Chapter> searchChapters(
             @Param("title") String title,
             @Param("status") String status,
             @Param("courseId") Long courseId,
@@ -52,6 +43,74 @@ public interface IChapterRepository extends JpaRepository<Chapter, Long>, JpaSpe
             Pageable pageable
     );
 
+    // Total of searchChapters
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM chapters ch
+            WHERE (:title IS NULL OR LOWER(ch.title) LIKE LOWER(CONCAT('%', :title, '%')))
+            AND (:status IS NULL OR ch.status = :status)
+            AND (:courseId IS NULL OR ch.course_id = :courseId)
+            AND (:fromDate IS NULL OR ch.created_at >= :fromDate)
+            AND (:toDate IS NULL OR ch.created_at <= :toDate)
+            AND ch.deleted_at IS NULL
+            """, nativeQuery = true)
+    long countChapters(
+            @Param("title") String title,
+            @Param("status") String status,
+            @Param("courseId") Long courseId,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate
+    );
+
+    // Total of searchChapters, stopping after :cap matches
+    @Query(value = """
+            SELECT COUNT(*) FROM (
+                SELECT 1
+                FROM chapters ch
+                WHERE (:title IS NULL OR LOWER(ch.title) LIKE LOWER(CONCAT('%', :title, '%')))
+                AND (:status IS NULL OR ch.status = :status)
+                AND (:courseId IS NULL OR ch.course_id = :courseId)
+                AND (:fromDate IS NULL OR ch.created_at >= :fromDate)
+                AND (:toDate IS NULL OR ch.created_at <= :toDate)
+                AND ch.deleted_at IS NULL
+                LIMIT :cap
+            ) capped
+            """, nativeQuery = true)
+    long countChaptersUpTo(
+            @Param("title") String title,
+            @Param("status") String status,
+            @Param("courseId") Long courseId,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("cap") long cap
+    );
+
+    // Keyset window of searchChapters in order_number order, continuing after (afterOrder, afterId) when given
+    @Query(value = """
+            SELECT ch.*
+            FROM chapters ch
+            WHERE (:title IS NULL OR LOWER(ch.title) LIKE LOWER(CONCAT('%', :title, '%')))
+            AND (:status IS NULL OR ch.status = :status)
+            AND (:courseId IS NULL OR ch.course_id = :courseId)
+            AND (:fromDate IS NULL OR ch.created_at >= :fromDate)
+            AND (:toDate IS NULL OR ch.created_at <= :toDate)
+            AND ch.deleted_at IS NULL
+            AND (:afterId IS NULL OR (ch.order_number >= :afterOrder
+                AND (ch.order_number > :afterOrder OR (ch.order_number = :afterOrder AND ch.id > :afterId))))
+            ORDER BY ch.order_number, ch.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Chapter> scrollChapters(
+            @Param("title") String title,
+            @Param("status") String status,
+            @Param("courseId") Long courseId,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("afterOrder") Integer afterOrder,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
     // Find all chapters by course ID
     @Query(value = """ 
             select *
@@ -64,6 +123,83 @@ public interface IChapterRepository extends JpaRepository<Chapter, Long>, JpaSpe
             nativeQuery = true)
     List<Chapter> findAllChaptersByCourseId(@Param("courseId") Long courseId);
 
+    // Ids of every chapter of a course, archived ones included, for cache invalidation
+    @Query(value = """
+            select ch.id
+            from chapters ch
+            where ch.course_id = :courseId
+            """,
+            nativeQuery = true)
+    List<Long> findChapterIdsByCourseId(@Param("courseId") Long courseId);
+
+    // Courses owning the given chapters, archived chapters included, for cache invalidation
+    @Query(value = """
+            select distinct ch.course_id
+            from chapters ch
+            where ch.id in :chapterIds
+            """,
+            nativeQuery = true)
+    List<Long> findCourseIdsByChapterIds(@Param("chapterIds") Collection<Long> chapterIds);
+
+    /**
+     * The whole outline of a course in one statement: one row per lesson, plus one row without lesson columns
+     * for every chapter that has no lessons, plus a single row without chapter columns when the course has no
+     * chapters. Archived chapters and lessons are included so lesson slots stay stable; rows are ordered by
+     * lesson id as {@link com.online.course.management.project.utils.userlessonprogress.CourseLessonIndex} expects.
+     * No rows means the course does not exist.
+     */
+    @Query(value = """
+            SELECT c.id AS courseId,
+                   c.title AS courseTitle,
+                   c.status AS courseStatus,
+                   ch.id AS chapterId,
+                   ch.title AS chapterTitle,
+                   ch.description AS chapterDescription,
+                   ch.order_number AS chapterOrder,
+                   ch.status AS chapterStatus,
+                   ch.created_at AS chapterCreatedAt,
+                   ch.updated_at AS chapterUpdatedAt,
+                   IF(ch.deleted_at IS NULL, 1, 0) AS chapterActive,
+                   l.id AS lessonId,
+                   l.title AS lessonTitle,
+                   l.order_number AS lessonOrder,
+                   l.type AS lessonType,
+                   l.status AS lessonStatus,
+                   IF(l.deleted_at IS NULL AND ch.deleted_at IS NULL, 1, 0) AS active
+            FROM courses c
+            LEFT JOIN chapters ch ON ch.course_id = c.id
+            LEFT JOIN lessons l ON l.chapter_id = ch.id
+            WHERE c.id = :courseId
+            ORDER BY l.id
+            """, nativeQuery = true)
+    List<CourseOutlineRow> findCourseOutlineRows(@Param("courseId") Long courseId);
+
+    interface CourseOutlineRow extends ILessonRepository.LessonSlotView {
+        Long getCourseId();
+
+        String getCourseTitle();
+
+        String getCourseStatus();
+
+        String getChapterTitle();
+
+        String getChapterDescription();
+
+        String getChapterStatus();
+
+        LocalDateTime getChapterCreatedAt();
+
+        LocalDateTime getChapterUpdatedAt();
+
+        Integer getChapterActive();
+
+        String getLessonTitle();
+
+        String getLessonType();
+
+        String getLessonStatus();
+    }
+
 
     // Batch soft delete chapters and their lessons
     @Modifying
@@ -1,8 +1,8 @@
 package com.online.course.management.project.repository;
 
 import com.online.course.management.project.entity.CourseRating;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -57,23 +57,74 @@ public interface ICourseRatingRepository extends JpaRepository<CourseRating, Lon
             AND (:minRating IS NULL OR (SELECT AVG(cr.rating) FROM course_ratings cr2 WHERE cr2.course_id = :courseId and cr2.deleted_at IS NULL) >= :minRating)
             AND (:maxRating IS NULL OR (SELECT AVG(cr.rating) FROM course_ratings cr2 WHERE cr2.course_id = :courseId and cr2.deleted_at IS NULL) <= :maxRating)
             AND cr.deleted_at IS NULL
-            """,
-            countQuery = """
-                    SELECT COUNT(*)
-                    FROM course_ratings cr
-                    WHERE  cr.course_id = :courseId
-                    AND (:minRating IS NULL OR (SELECT AVG(cr.rating) FROM course_ratings cr2 WHERE cr2.course_id = :courseId and cr2.deleted_at IS NULL) >= :minRating)
-                    AND (:maxRating IS NULL OR (SELECT AVG(cr.rating) FROM course_ratings cr2 WHERE cr2.course_id = :courseId and cr2.deleted_at IS NULL) <= :maxRating)
-                    AND cr.deleted_at IS NULL
-                    """,
-            nativeQuery = true)
-    Page<CourseRating> searchRatings(
+            """, nativeQuery = true)
+    Slice<CourseRating> searchRatings(
             @Param("courseId") Long courseId,
             @Param("minRating") Integer minRating,
             @Param("maxRating") Integer maxRating,
             Pageable pageable
     );
 
+    // Total of searchRatings
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM course_ratings cr
+            WHERE  cr.course_id = :courseId
+            AND (:minRating IS NULL OR (SELECT AVG(cr.rating) FROM course_ratings cr2 WHERE cr2.course_id = :courseId and cr2.deleted_at IS NULL) >= :minRating)
+            AND (:maxRating IS NULL OR (SELECT AVG(cr.rating) FROM course_ratings cr2 WHERE cr2.course_id = :courseId and cr2.deleted_at IS NULL) <= :maxRating)
+            AND cr.deleted_at IS NULL
+            """, nativeQuery = true)
+    long countRatings(
+            @Param("courseId") Long courseId,
+            @Param("minRating") Integer minRating,
+            @Param("maxRating") Integer maxRating
+    );
+
+    // Total of searchRatings, stopping after :cap matches
+    @Query(value = """
+            SELECT COUNT(*) FROM (
+                SELECT 1
+                FROM course_ratings cr
+                WHERE  cr.course_id = :courseId
+                AND (:minRating IS NULL OR (SELECT AVG(cr.rating) FROM course_ratings cr2 WHERE cr2.course_id = :courseId and cr2.deleted_at IS NULL) >= :minRating)
+                AND (:maxRating IS NULL OR (SELECT AVG(cr.rating) FROM course_ratings cr2 WHERE cr2.course_id = :courseId and cr2.deleted_at IS NULL) <= :maxRating)
+                AND cr.deleted_at IS NULL
+                LIMIT :cap
+            ) capped
+            """, nativeQuery = true)
+    long countRatingsUpTo(
+            @Param("courseId") Long courseId,
+            @Param("minRating") Integer minRating,
+            @Param("maxRating") Integer maxRating,
+            @Param("cap") long cap
+    );
+
+    /**
+     * Keyset window of searchRatings, lowest rating first, continuing after (afterRating, afterId) when given
+     */
+    @Query(value = """
+            SELECT cr.*, u.real_name as reviewer_name
+            FROM course_ratings cr
+            INNER JOIN courses c ON cr.course_id = c.id
+            LEFT JOIN users u ON cr.user_id = u.id
+            WHERE cr.course_id = :courseId
+            AND (:minRating IS NULL OR (SELECT AVG(cr.rating) FROM course_ratings cr2 WHERE cr2.course_id = :courseId and cr2.deleted_at IS NULL) >= :minRating)
+            AND (:maxRating IS NULL OR (SELECT AVG(cr.rating) FROM course_ratings cr2 WHERE cr2.course_id = :courseId and cr2.deleted_at IS NULL) <= :maxRating)
+            AND cr.deleted_at IS NULL
+            AND (:afterId IS NULL OR (cr.rating >= :afterRating
+                AND (cr.rating > :afterRating OR (cr.rating = :afterRating AND cr.id > :afterId))))
+            ORDER BY cr.rating, cr.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<CourseRating> scrollRatings(
+            @Param("courseId") Long courseId,
+            @Param("minRating") Integer minRating,
+            @Param("maxRating") Integer maxRating,
+            @Param("afterRating") Integer afterRating,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
     /**
      * Get count of ratings by star value (1-5) for a course
      */
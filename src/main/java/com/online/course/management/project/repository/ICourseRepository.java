@@ -4,6 +4,7 @@ import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.enums.CourseStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -12,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -56,6 +58,52 @@ public interface ICourseRepository extends JpaRepository<Course, Long>, JpaSpeci
             Pageable pageable
     );
 
+    // Keyset window of searchCourses, newest first, continuing after (afterCreatedAt, afterId) when given
+    @Query(value = """
+            SELECT DISTINCT
+                        c.*,
+                        u.username as instructor_username,
+                        u.email as instructor_email,
+                        u.real_name as instructor_name,
+                        GROUP_CONCAT(DISTINCT cat.name ORDER BY cat.name) as category_names
+                    FROM courses c
+                    LEFT JOIN users u ON c.instructor_id = u.id
+                    LEFT JOIN course_categories cc ON c.id = cc.course_id
+                    LEFT JOIN categories cat ON cc.category_id = cat.id
+                    WHERE (:title IS NULL OR LOWER(c.title) LIKE CONCAT('%', LOWER(:title), '%'))
+                    AND (IF(:includeArchived = true, true, c.status != 'ARCHIVED'))
+                    AND (:status IS NULL OR c.status = :status)
+                    AND (:instructorName IS NULL OR LOWER(u.real_name) LIKE CONCAT('%', LOWER(:instructorName), '%'))
+                    AND (:fromDate IS NULL OR c.created_at >= :fromDate)
+                    AND (:toDate IS NULL OR c.created_at <= :toDate)
+                    AND cc.category_id IN (:categoryIds)
+                    AND (:afterId IS NULL OR (c.created_at <= :afterCreatedAt
+                        AND (c.created_at < :afterCreatedAt OR (c.created_at = :afterCreatedAt AND c.id < :afterId))))
+                    GROUP BY\s
+                        c.id,
+                        u.id,
+                        u.username,
+                        u.email,
+                        u.real_name,
+                        c.status,
+                        c.updated_at,
+                        c.created_at
+                    ORDER BY c.created_at DESC, c.id DESC
+                    LIMIT :limit
+            """, nativeQuery = true)
+    List<Course> scrollCourses(
+            @Param("title") String title,
+            @Param("status") String status,
+            @Param("instructorName") String instructorName,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("categoryIds") Set<Long> categoryIds,
+            @Param("includeArchived") Boolean includeArchived,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
     @Query(value = """
             SELECT DISTINCT c.*,
                 u.username as instructor_username,
@@ -72,6 +120,17 @@ public interface ICourseRepository extends JpaRepository<Course, Long>, JpaSpeci
             """, nativeQuery = true)
     Optional<Course> findByIdWithDetails(@Param("id") Long id);
 
+    // Courses with everything CourseMapper.toDto reads, for warming the courses cache in one statement
+    @Query("""
+            SELECT DISTINCT c FROM Course c
+            LEFT JOIN FETCH c.instructor i
+            LEFT JOIN FETCH i.userRoles ur
+            LEFT JOIN FETCH ur.role
+            LEFT JOIN FETCH c.categories
+            WHERE c.id IN :ids
+            """)
+    List<Course> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query(value = """
             SELECT DISTINCT
                 c.*,
@@ -143,22 +202,8 @@ public interface ICourseRepository extends JpaRepository<Course, Long>, JpaSpeci
                         c.status,
                         c.updated_at,
                         c.created_at
-            """,
-            countQuery = """
-                    SELECT COUNT(c.id)
-                        FROM courses c
-                        JOIN course_categories cc ON c.id = cc.course_id
-                        LEFT JOIN users u ON c.instructor_id = u.id
-                        WHERE (:title IS NULL OR LOWER(c.title) LIKE CONCAT('%', LOWER(:title), '%'))
-                        AND (IF(:includeArchived = true, true, c.status != 'ARCHIVED'))
-                        AND (:status IS NULL OR c.status = :status)
-                        AND (:instructorName IS NULL OR LOWER(u.real_name) LIKE CONCAT('%', LOWER(:instructorName), '%'))
-                        AND (:fromDate IS NULL OR c.created_at >= :fromDate)
-                        AND (:toDate IS NULL OR c.created_at <= :toDate)
-                        AND cc.category_id IN (:categoryIds)
-                    """,
-            nativeQuery = true)
-    Page<Course> searchCourses(
+            """, nativeQuery = true)
+    Slice<Course> searchCourses(
             @Param("title") String title,
             @Param("status") String status,
             @Param("instructorName") String instructorName,
@@ -169,6 +214,247 @@ public interface ICourseRepository extends JpaRepository<Course, Long>, JpaSpeci
             Pageable pageable
     );
 
+    // Total of searchCourses; a course with several matching categories counts once
+    @Query(value = """
+            SELECT COUNT(DISTINCT c.id)
+            FROM courses c
+            JOIN course_categories cc ON c.id = cc.course_id
+            LEFT JOIN users u ON c.instructor_id = u.id
+            WHERE (:title IS NULL OR LOWER(c.title) LIKE CONCAT('%', LOWER(:title), '%'))
+            AND (IF(:includeArchived = true, true, c.status != 'ARCHIVED'))
+            AND (:status IS NULL OR c.status = :status)
+            AND (:instructorName IS NULL OR LOWER(u.real_name) LIKE CONCAT('%', LOWER(:instructorName), '%'))
+            AND (:fromDate IS NULL OR c.created_at >= :fromDate)
+            AND (:toDate IS NULL OR c.created_at <= :toDate)
+            AND cc.category_id IN (:categoryIds)
+            """, nativeQuery = true)
+    long countCourses(
+            @Param("title") String title,
+            @Param("status") String status,
+            @Param("instructorName") String instructorName,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("categoryIds") Set<Long> categoryIds,
+            @Param("includeArchived") Boolean includeArchived
+    );
+
+    // Total of searchCourses, stopping after :cap matches
+    @Query(value = """
+            SELECT COUNT(*) FROM (
+                SELECT DISTINCT c.id
+                FROM courses c
+                JOIN course_categories cc ON c.id = cc.course_id
+                LEFT JOIN users u ON c.instructor_id = u.id
+                WHERE (:title IS NULL OR LOWER(c.title) LIKE CONCAT('%', LOWER(:title), '%'))
+                AND (IF(:includeArchived = true, true, c.status != 'ARCHIVED'))
+                AND (:status IS NULL OR c.status = :status)
+                AND (:instructorName IS NULL OR LOWER(u.real_name) LIKE CONCAT('%', LOWER(:instructorName), '%'))
+                AND (:fromDate IS NULL OR c.created_at >= :fromDate)
+                AND (:toDate IS NULL OR c.created_at <= :toDate)
+                AND cc.category_id IN (:categoryIds)
+                LIMIT :cap
+            ) capped
+            """, nativeQuery = true)
+    long countCoursesUpTo(
+            @Param("title") String title,
+            @Param("status") String status,
+            @Param("instructorName") String instructorName,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("categoryIds") Set<Long> categoryIds,
+            @Param("includeArchived") Boolean includeArchived,
+            @Param("cap") long cap
+    );
+
+    // searchCourses with the title and instructor terms matched by the FULLTEXT indexes of V27 in boolean mode.
+    // An unused term is bound as '' and a term too short to be indexed goes to the *Like fallback instead; the
+    // driver inlines parameters, so the guards fold away and MATCH is left for the optimizer to drive the search.
+    // A course without an instructor scores on its title alone.
+    @Query(value = """
+            SELECT DISTINCT
+                c.*,
+                u.username as instructor_username,
+                u.email as instructor_email,
+                u.real_name as instructor_name,
+                MATCH(c.title, c.description) AGAINST (:titleMatch IN BOOLEAN MODE)
+                    + COALESCE(MATCH(u.real_name) AGAINST (:instructorMatch IN BOOLEAN MODE), 0) as relevance,
+                GROUP_CONCAT(DISTINCT cat.name ORDER BY cat.name) as category_names
+            FROM courses c
+            LEFT JOIN users u ON c.instructor_id = u.id
+            LEFT JOIN course_categories cc ON c.id = cc.course_id
+            LEFT JOIN categories cat ON cc.category_id = cat.id
+            WHERE (:titleMatch = '' OR MATCH(c.title, c.description) AGAINST (:titleMatch IN BOOLEAN MODE))
+            AND (:titleLike IS NULL OR LOWER(c.title) LIKE CONCAT('%', LOWER(:titleLike), '%'))
+            AND (IF(:includeArchived = true, true, c.status != 'ARCHIVED'))
+            AND (:status IS NULL OR c.status = :status)
+            AND (:instructorMatch = '' OR MATCH(u.real_name) AGAINST (:instructorMatch IN BOOLEAN MODE))
+            AND (:instructorLike IS NULL OR LOWER(u.real_name) LIKE CONCAT('%', LOWER(:instructorLike), '%'))
+            AND (:fromDate IS NULL OR c.created_at >= :fromDate)
+            AND (:toDate IS NULL OR c.created_at <= :toDate)
+            AND cc.category_id IN (:categoryIds)
+            GROUP BY c.id, u.id, u.username, u.email, u.real_name
+            """, nativeQuery = true)
+    Slice<Course> searchCoursesFullText(
+            @Param("titleMatch") String titleMatch,
+            @Param("titleLike") String titleLike,
+            @Param("status") String status,
+            @Param("instructorMatch") String instructorMatch,
+            @Param("instructorLike") String instructorLike,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("categoryIds") Set<Long> categoryIds,
+            @Param("includeArchived") Boolean includeArchived,
+            Pageable pageable
+    );
+
+    // Total of searchCoursesFullText
+    @Query(value = """
+            SELECT COUNT(DISTINCT c.id)
+            FROM courses c
+            JOIN course_categories cc ON c.id = cc.course_id
+            LEFT JOIN users u ON c.instructor_id = u.id
+            WHERE (:titleMatch = '' OR MATCH(c.title, c.description) AGAINST (:titleMatch IN BOOLEAN MODE))
+            AND (:titleLike IS NULL OR LOWER(c.title) LIKE CONCAT('%', LOWER(:titleLike), '%'))
+            AND (IF(:includeArchived = true, true, c.status != 'ARCHIVED'))
+            AND (:status IS NULL OR c.status = :status)
+            AND (:instructorMatch = '' OR MATCH(u.real_name) AGAINST (:instructorMatch IN BOOLEAN MODE))
+            AND (:instructorLike IS NULL OR LOWER(u.real_name) LIKE CONCAT('%', LOWER(:instructorLike), '%'))
+            AND (:fromDate IS NULL OR c.created_at >= :fromDate)
+            AND (:toDate IS NULL OR c.created_at <= :toDate)
+            AND cc.category_id IN (:categoryIds)
+            """, nativeQuery = true)
+    long countCoursesFullText(
+            @Param("titleMatch") String titleMatch,
+            @Param("titleLike") String titleLike,
+            @Param("status") String status,
+            @Param("instructorMatch") String instructorMatch,
+            @Param("instructorLike") String instructorLike,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("categoryIds") Set<Long> categoryIds,
+            @Param("includeArchived") Boolean includeArchived
+    );
+
+    // Total of searchCoursesFullText, stopping after :cap matches
+    @Query(value = """
+            SELECT COUNT(*) FROM (
+                SELECT DISTINCT c.id
+                FROM courses c
+                JOIN course_categories cc ON c.id = cc.course_id
+                LEFT JOIN users u ON c.instructor_id = u.id
+                WHERE (:titleMatch = '' OR MATCH(c.title, c.description) AGAINST (:titleMatch IN BOOLEAN MODE))
+                AND (:titleLike IS NULL OR LOWER(c.title) LIKE CONCAT('%', LOWER(:titleLike), '%'))
+                AND (IF(:includeArchived = true, true, c.status != 'ARCHIVED'))
+                AND (:status IS NULL OR c.status = :status)
+                AND (:instructorMatch = '' OR MATCH(u.real_name) AGAINST (:instructorMatch IN BOOLEAN MODE))
+                AND (:instructorLike IS NULL OR LOWER(u.real_name) LIKE CONCAT('%', LOWER(:instructorLike), '%'))
+                AND (:fromDate IS NULL OR c.created_at >= :fromDate)
+                AND (:toDate IS NULL OR c.created_at <= :toDate)
+                AND cc.category_id IN (:categoryIds)
+                LIMIT :cap
+            ) capped
+            """, nativeQuery = true)
+    long countCoursesFullTextUpTo(
+            @Param("titleMatch") String titleMatch,
+            @Param("titleLike") String titleLike,
+            @Param("status") String status,
+            @Param("instructorMatch") String instructorMatch,
+            @Param("instructorLike") String instructorLike,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("categoryIds") Set<Long> categoryIds,
+            @Param("includeArchived") Boolean includeArchived,
+            @Param("cap") long cap
+    );
+
+    // Facet values of every course for the facet index, one row per course and category
+    @Query(value = """
+            SELECT c.id AS courseId,
+                   c.status AS status,
+                   c.instructor_id AS instructorId,
+                   u.real_name AS instructorName,
+                   c.created_at AS createdAt,
+                   cat.id AS categoryId,
+                   cat.name AS categoryName
+            FROM courses c
+            LEFT JOIN users u ON c.instructor_id = u.id
+            LEFT JOIN course_categories cc ON c.id = cc.course_id
+            LEFT JOIN categories cat ON cc.category_id = cat.id
+            """, nativeQuery = true)
+    List<CourseFacetRow> findCourseFacetRows();
+
+    // The rows of findCourseFacetRows for the given courses
+    @Query(value = """
+            SELECT c.id AS courseId,
+                   c.status AS status,
+                   c.instructor_id AS instructorId,
+                   u.real_name AS instructorName,
+                   c.created_at AS createdAt,
+                   cat.id AS categoryId,
+                   cat.name AS categoryName
+            FROM courses c
+            LEFT JOIN users u ON c.instructor_id = u.id
+            LEFT JOIN course_categories cc ON c.id = cc.course_id
+            LEFT JOIN categories cat ON cc.category_id = cat.id
+            WHERE c.id IN (:courseIds)
+            """, nativeQuery = true)
+    List<CourseFacetRow> findCourseFacetRowsByIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    // Autocomplete labels of every course that is not archived, one row per course and category, with the
+    // enrollments that have not been dropped as its popularity. Deleted categories and instructors come back as
+    // nulls, so they are not suggested
+    @Query(value = """
+            SELECT c.id AS courseId,
+                   c.title AS title,
+                   u.id AS instructorId,
+                   u.real_name AS instructorName,
+                   cat.id AS categoryId,
+                   cat.name AS categoryName,
+                   (SELECT COUNT(*) FROM user_courses uc
+                    WHERE uc.course_id = c.id AND uc.status <> 'DROPPED') AS enrollments
+            FROM courses c
+            LEFT JOIN users u ON c.instructor_id = u.id AND u.deleted_at IS NULL
+            LEFT JOIN course_categories cc ON c.id = cc.course_id
+            LEFT JOIN categories cat ON cc.category_id = cat.id AND cat.deleted_at IS NULL
+            WHERE c.status <> 'ARCHIVED'
+            """, nativeQuery = true)
+    List<CourseAutocompleteRow> findCourseAutocompleteRows();
+
+    // The rows of findCourseAutocompleteRows for the given courses
+    @Query(value = """
+            SELECT c.id AS courseId,
+                   c.title AS title,
+                   u.id AS instructorId,
+                   u.real_name AS instructorName,
+                   cat.id AS categoryId,
+                   cat.name AS categoryName,
+                   (SELECT COUNT(*) FROM user_courses uc
+                    WHERE uc.course_id = c.id AND uc.status <> 'DROPPED') AS enrollments
+            FROM courses c
+            LEFT JOIN users u ON c.instructor_id = u.id AND u.deleted_at IS NULL
+            LEFT JOIN course_categories cc ON c.id = cc.course_id
+            LEFT JOIN categories cat ON cc.category_id = cat.id AND cat.deleted_at IS NULL
+            WHERE c.status <> 'ARCHIVED'
+            AND c.id IN (:courseIds)
+            """, nativeQuery = true)
+    List<CourseAutocompleteRow> findCourseAutocompleteRowsByIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    // Courses taught by a user, archived ones included
+    @Query(value = """
+            SELECT c.id
+            FROM courses c
+            WHERE c.instructor_id = :instructorId
+            """, nativeQuery = true)
+    List<Long> findCourseIdsByInstructorId(@Param("instructorId") Long instructorId);
+
+    // Courses linked to a category, whether the category is deleted or not
+    @Query(value = """
+            SELECT cc.course_id
+            FROM course_categories cc
+            WHERE cc.category_id = :categoryId
+            """, nativeQuery = true)
+    List<Long> findCourseIdsByCategoryId(@Param("categoryId") Long categoryId);
+
     // Archive operation (special form of soft delete)
     @Modifying
     @Query(value = """
@@ -248,4 +534,35 @@ public interface ICourseRepository extends JpaRepository<Course, Long>, JpaSpeci
             @Param("categoryId") Long categoryId
     );
 
+    interface CourseFacetRow {
+        Long getCourseId();
+
+        String getStatus();
+
+        Long getInstructorId();
+
+        String getInstructorName();
+
+        LocalDateTime getCreatedAt();
+
+        Long getCategoryId();
+
+        String getCategoryName();
+    }
+
+    interface CourseAutocompleteRow {
+        Long getCourseId();
+
+        String getTitle();
+
+        Long getInstructorId();
+
+        String getInstructorName();
+
+        Long getCategoryId();
+
+        String getCategoryName();
+
+        Long getEnrollments();
+    }
 }
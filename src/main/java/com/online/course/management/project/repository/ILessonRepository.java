@@ -1,19 +1,24 @@
 package com.online.course.management.project.repository;
 
 import com.online.course.management.project.entity.Lesson;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.query.Procedure;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ILessonRepository extends JpaRepository<Lesson, Long>, JpaSpecificationExecutor<Lesson> {
@@ -57,29 +62,8 @@ public interface ILessonRepository extends JpaRepository<Lesson, Long>, JpaSpeci
             AND (:fromDate IS NULL OR l.created_at >= :fromDate)
             AND (:toDate IS NULL OR l.created_at <= :toDate)
             AND l.deleted_at IS NULL
-            """,
-            countQuery = """
-                    SELECT COUNT(l.id)
-                    FROM lessons l
-                    LEFT JOIN chapters ch ON l.chapter_id = ch.id
-                    LEFT JOIN courses c ON ch.course_id = c.id
-                    WHERE (:title IS NULL OR LOWER(l.title) LIKE LOWER(CONCAT('%', :title, '%')))
-                    AND (:status IS NULL OR l.status = :status)
-                    AND (
-                        :#{#courseIds.size()} = 0\s
-                        OR c.id IN (:courseIds)
-                    )
-                    AND (
-                        :#{#chapterIds.size()} = 0\s
-                        OR ch.id IN (:chapterIds)
-                    )
-                    AND (:type IS NULL OR l.type = :type)
-                    AND (:fromDate IS NULL OR l.created_at >= :fromDate)
-                    AND (:toDate IS NULL OR l.created_at <= :toDate)
-                    AND l.deleted_at IS NULL
-                    """,
-            nativeQuery = true)
-    Page<Lesson> searchLessons(
+            """, nativeQuery = true)
+    Slice<Lesson> searchLessons(
             @Param("title") String title,
             @Param("status") String status,
             @Param("courseIds") List<Long> courseIds,
@@ -90,6 +74,112 @@ public interface ILessonRepository extends JpaRepository<Lesson, Long>, JpaSpeci
             Pageable pageable
     );
 
+    // Total of searchLessons
+    @Query(value = """
+            SELECT COUNT(l.id)
+            FROM lessons l
+            LEFT JOIN chapters ch ON l.chapter_id = ch.id
+            LEFT JOIN courses c ON ch.course_id = c.id
+            WHERE (:title IS NULL OR LOWER(l.title) LIKE LOWER(CONCAT('%', :title, '%')))
+            AND (:status IS NULL OR l.status = :status)
+            AND (
+                :#{#courseIds.size()} = 0\s
+                OR c.id IN (:courseIds)
+            )
+            AND (
+                :#{#chapterIds.size()} = 0\s
+                OR ch.id IN (:chapterIds)
+            )
+            AND (:type IS NULL OR l.type = :type)
+            AND (:fromDate IS NULL OR l.created_at >= :fromDate)
+            AND (:toDate IS NULL OR l.created_at <= :toDate)
+            AND l.deleted_at IS NULL
+            """, nativeQuery = true)
+    long countLessons(
+            @Param("title") String title,
+            @Param("status") String status,
+            @Param("courseIds") List<Long> courseIds,
+            @Param("chapterIds") List<Long> chapterIds,
+            @Param("type") String type,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate
+    );
+
+    // Total of searchLessons, stopping after :cap matches
+    @Query(value = """
+            SELECT COUNT(*) FROM (
+                SELECT 1
+                FROM lessons l
+                LEFT JOIN chapters ch ON l.chapter_id = ch.id
+                LEFT JOIN courses c ON ch.course_id = c.id
+                WHERE (:title IS NULL OR LOWER(l.title) LIKE LOWER(CONCAT('%', :title, '%')))
+                AND (:status IS NULL OR l.status = :status)
+                AND (
+                    :#{#courseIds.size()} = 0\s
+                    OR c.id IN (:courseIds)
+                )
+                AND (
+                    :#{#chapterIds.size()} = 0\s
+                    OR ch.id IN (:chapterIds)
+                )
+                AND (:type IS NULL OR l.type = :type)
+                AND (:fromDate IS NULL OR l.created_at >= :fromDate)
+                AND (:toDate IS NULL OR l.created_at <= :toDate)
+                AND l.deleted_at IS NULL
+                LIMIT :cap
+            ) capped
+            """, nativeQuery = true)
+    long countLessonsUpTo(
+            @Param("title") String title,
+            @Param("status") String status,
+            @Param("courseIds") List<Long> courseIds,
+            @Param("chapterIds") List<Long> chapterIds,
+            @Param("type") String type,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("cap") long cap
+    );
+
+    // Keyset window of searchLessons, newest first, continuing after (afterCreatedAt, afterId) when given
+    @Query(value = """
+            SELECT l.*,
+                   c.id as courseId,
+                   ch.id as chapterId
+            FROM lessons l
+            LEFT JOIN chapters ch ON l.chapter_id = ch.id
+            LEFT JOIN courses c ON ch.course_id = c.id
+            WHERE (:title IS NULL OR LOWER(l.title) LIKE LOWER(CONCAT('%', :title, '%')))
+            AND (:status IS NULL OR l.status = :status)
+            AND (
+                :#{#courseIds.size()} = 0\s
+                OR c.id IN (:courseIds)
+            )
+            AND (
+                :#{#chapterIds.size()} = 0\s
+                OR ch.id IN (:chapterIds)
+            )
+            AND (:type IS NULL OR l.type = :type)
+            AND (:fromDate IS NULL OR l.created_at >= :fromDate)
+            AND (:toDate IS NULL OR l.created_at <= :toDate)
+            AND l.deleted_at IS NULL
+            AND (:afterId IS NULL OR (l.created_at <= :afterCreatedAt
+                AND (l.created_at < :afterCreatedAt OR (l.created_at = :afterCreatedAt AND l.id < :afterId))))
+            ORDER BY l.created_at DESC, l.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Lesson> scrollLessons(
+            @Param("title") String title,
+            @Param("status") String status,
+            @Param("courseIds") List<Long> courseIds,
+            @Param("chapterIds") List<Long> chapterIds,
+            @Param("type") String type,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
     // Remove soft deleted lessons
     @Modifying
     @Query(value = """
@@ -139,4 +229,128 @@ public interface ILessonRepository extends JpaRepository<Lesson, Long>, JpaSpeci
     // Call stored procedure to reorder lessons
     @Procedure(procedureName = "sp_reorder_lessons")
     void reorderLessons(@Param("p_chapter_id") Long chapterId);
+
+    /**
+     * Every lesson ever created in a course, ordered by id so that the position of a row is the
+     * lesson's stable slot in the bitmap progress store. Soft deleted lessons keep their slot.
+     */
+    @Query(value = """
+            SELECT l.id AS lessonId,
+                   ch.id AS chapterId,
+                   ch.order_number AS chapterOrder,
+                   l.order_number AS lessonOrder,
+                   IF(l.deleted_at IS NULL AND ch.deleted_at IS NULL, 1, 0) AS active
+            FROM lessons l
+            JOIN chapters ch ON l.chapter_id = ch.id
+            WHERE ch.course_id = :courseId
+            ORDER BY l.id
+            """, nativeQuery = true)
+    List<LessonSlotView> findCourseLessonSlots(@Param("courseId") Long courseId);
+
+    interface LessonSlotView {
+        Long getLessonId();
+
+        Long getChapterId();
+
+        Integer getChapterOrder();
+
+        Integer getLessonOrder();
+
+        Integer getActive();
+    }
+
+    // Every lesson searchLessons can return, for a bulk rebuild of the lesson search index. MySQL only streams
+    // the result set row by row with a fetch size of Integer.MIN_VALUE; the caller has to close the stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(value = """
+            SELECT l.id AS lessonId,
+                   ch.id AS chapterId,
+                   c.id AS courseId,
+                   l.title AS title,
+                   l.content AS content,
+                   ch.title AS chapterTitle,
+                   c.title AS courseTitle,
+                   l.status AS status,
+                   l.type AS type,
+                   l.created_at AS createdAt
+            FROM lessons l
+            JOIN chapters ch ON l.chapter_id = ch.id
+            JOIN courses c ON ch.course_id = c.id
+            WHERE l.deleted_at IS NULL
+            """, nativeQuery = true)
+    Stream<LessonIndexRow> streamLessonIndexRows();
+
+    // The rows of streamLessonIndexRows in the given chapters, to update the index after they changed
+    @Query(value = """
+            SELECT l.id AS lessonId,
+                   ch.id AS chapterId,
+                   c.id AS courseId,
+                   l.title AS title,
+                   l.content AS content,
+                   ch.title AS chapterTitle,
+                   c.title AS courseTitle,
+                   l.status AS status,
+                   l.type AS type,
+                   l.created_at AS createdAt
+            FROM lessons l
+            JOIN chapters ch ON l.chapter_id = ch.id
+            JOIN courses c ON ch.course_id = c.id
+            WHERE l.deleted_at IS NULL
+            AND ch.id IN (:chapterIds)
+            """, nativeQuery = true)
+    List<LessonIndexRow> findLessonIndexRowsByChapterIds(@Param("chapterIds") Collection<Long> chapterIds);
+
+    // The rows of streamLessonIndexRows in the given courses
+    @Query(value = """
+            SELECT l.id AS lessonId,
+                   ch.id AS chapterId,
+                   c.id AS courseId,
+                   l.title AS title,
+                   l.content AS content,
+                   ch.title AS chapterTitle,
+                   c.title AS courseTitle,
+                   l.status AS status,
+                   l.type AS type,
+                   l.created_at AS createdAt
+            FROM lessons l
+            JOIN chapters ch ON l.chapter_id = ch.id
+            JOIN courses c ON ch.course_id = c.id
+            WHERE l.deleted_at IS NULL
+            AND c.id IN (:courseIds)
+            """, nativeQuery = true)
+    List<LessonIndexRow> findLessonIndexRowsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    // Lessons with what LessonMapper.toDetailDto reads, in no particular order. The index can lag behind, so
+    // lessons deleted or in archived courses since it was last updated are left out here
+    @Query("""
+            SELECT l FROM Lesson l
+            JOIN FETCH l.chapter ch
+            JOIN FETCH ch.course c
+            WHERE l.id IN :ids
+            AND l.deletedAt IS NULL
+            AND c.status <> com.online.course.management.project.enums.CourseStatus.ARCHIVED
+            """)
+    List<Lesson> findAllWithChapterAndCourseByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface LessonIndexRow {
+        Long getLessonId();
+
+        Long getChapterId();
+
+        Long getCourseId();
+
+        String getTitle();
+
+        String getContent();
+
+        String getChapterTitle();
+
+        String getCourseTitle();
+
+        String getStatus();
+
+        String getType();
+
+        LocalDateTime getCreatedAt();
+    }
 }
@@ -1,8 +1,8 @@
 package com.online.course.management.project.repository;
 
 import com.online.course.management.project.entity.UserCourse;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -11,6 +11,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -66,37 +68,8 @@ public interface IUserCourseRepository extends JpaRepository<UserCourse, Long>,
                  WHERE ch.course_id = uc.course_id 
                  AND l.deleted_at IS NULL) = :totalLessons)
             GROUP BY uc.id, uc.course_id, c.id, u.id
-            """,
-            countQuery = """
-                        SELECT COUNT(DISTINCT uc.id)
-                        FROM user_courses uc
-                        INNER JOIN courses c ON uc.course_id = c.id
-                        LEFT JOIN users u ON c.instructor_id = u.id
-                        WHERE uc.user_id = :userId
-                        AND (:name IS NULL OR LOWER(c.title) LIKE LOWER(CONCAT('%', :name, '%')))
-                        AND (:status IS NULL OR uc.status = :status)
-                        AND (:instructorName IS NULL OR LOWER(u.real_name) LIKE LOWER(CONCAT('%', :instructorName, '%')))
-                        AND (:fromDate IS NULL OR uc.enrollment_date >= :fromDate)
-                        AND (:toDate IS NULL OR uc.enrollment_date <= :toDate)
-                        AND (:minRating IS NULL OR 
-                            (SELECT COALESCE(AVG(cr.rating), 0)
-                             FROM course_ratings cr 
-                             WHERE cr.course_id = uc.course_id 
-                             AND cr.deleted_at IS NULL) >= :minRating)
-                        AND (:maxRating IS NULL OR 
-                            (SELECT COALESCE(AVG(cr.rating), 0)
-                             FROM course_ratings cr 
-                             WHERE cr.course_id = uc.course_id 
-                             AND cr.deleted_at IS NULL) <= :maxRating)
-                        AND (:totalLessons IS NULL OR
-                            (SELECT COUNT(DISTINCT l.id)
-                             FROM lessons l 
-                             JOIN chapters ch ON l.chapter_id = ch.id 
-                             WHERE ch.course_id = uc.course_id 
-                             AND l.deleted_at IS NULL) = :totalLessons)
-                    """,
-            nativeQuery = true)
-    Page<UserCourse> searchUserEnrollments(
+            """, nativeQuery = true)
+    Slice<UserCourse> searchUserEnrollments(
             @Param("userId") Long userId,
             @Param("name") String name,
             @Param("status") String status,
@@ -109,6 +82,145 @@ public interface IUserCourseRepository extends JpaRepository<UserCourse, Long>,
             Pageable pageable
     );
 
+    // Total of searchUserEnrollments
+    @Query(value = """
+            SELECT COUNT(DISTINCT uc.id)
+            FROM user_courses uc
+            INNER JOIN courses c ON uc.course_id = c.id
+            LEFT JOIN users u ON c.instructor_id = u.id
+            WHERE uc.user_id = :userId
+            AND (:name IS NULL OR LOWER(c.title) LIKE LOWER(CONCAT('%', :name, '%')))
+            AND (:status IS NULL OR uc.status = :status)
+            AND (:instructorName IS NULL OR LOWER(u.real_name) LIKE LOWER(CONCAT('%', :instructorName, '%')))
+            AND (:fromDate IS NULL OR uc.enrollment_date >= :fromDate)
+            AND (:toDate IS NULL OR uc.enrollment_date <= :toDate)
+            AND (:minRating IS NULL OR
+                (SELECT COALESCE(AVG(cr.rating), 0)
+                 FROM course_ratings cr
+                 WHERE cr.course_id = uc.course_id
+                 AND cr.deleted_at IS NULL) >= :minRating)
+            AND (:maxRating IS NULL OR
+                (SELECT COALESCE(AVG(cr.rating), 0)
+                 FROM course_ratings cr
+                 WHERE cr.course_id = uc.course_id
+                 AND cr.deleted_at IS NULL) <= :maxRating)
+            AND (:totalLessons IS NULL OR
+                (SELECT COUNT(DISTINCT l.id)
+                 FROM lessons l
+                 JOIN chapters ch ON l.chapter_id = ch.id
+                 WHERE ch.course_id = uc.course_id
+                 AND l.deleted_at IS NULL) = :totalLessons)
+            """, nativeQuery = true)
+    long countUserEnrollments(
+            @Param("userId") Long userId,
+            @Param("name") String name,
+            @Param("status") String status,
+            @Param("instructorName") String instructorName,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("minRating") Double minRating,
+            @Param("maxRating") Double maxRating,
+            @Param("totalLessons") Integer totalLessons
+    );
+
+    // Total of searchUserEnrollments, stopping after :cap matches
+    @Query(value = """
+            SELECT COUNT(*) FROM (
+                SELECT DISTINCT uc.id
+                FROM user_courses uc
+                INNER JOIN courses c ON uc.course_id = c.id
+                LEFT JOIN users u ON c.instructor_id = u.id
+                WHERE uc.user_id = :userId
+                AND (:name IS NULL OR LOWER(c.title) LIKE LOWER(CONCAT('%', :name, '%')))
+                AND (:status IS NULL OR uc.status = :status)
+                AND (:instructorName IS NULL OR LOWER(u.real_name) LIKE LOWER(CONCAT('%', :instructorName, '%')))
+                AND (:fromDate IS NULL OR uc.enrollment_date >= :fromDate)
+                AND (:toDate IS NULL OR uc.enrollment_date <= :toDate)
+                AND (:minRating IS NULL OR
+                    (SELECT COALESCE(AVG(cr.rating), 0)
+                     FROM course_ratings cr
+                     WHERE cr.course_id = uc.course_id
+                     AND cr.deleted_at IS NULL) >= :minRating)
+                AND (:maxRating IS NULL OR
+                    (SELECT COALESCE(AVG(cr.rating), 0)
+                     FROM course_ratings cr
+                     WHERE cr.course_id = uc.course_id
+                     AND cr.deleted_at IS NULL) <= :maxRating)
+                AND (:totalLessons IS NULL OR
+                    (SELECT COUNT(DISTINCT l.id)
+                     FROM lessons l
+                     JOIN chapters ch ON l.chapter_id = ch.id
+                     WHERE ch.course_id = uc.course_id
+                     AND l.deleted_at IS NULL) = :totalLessons)
+                LIMIT :cap
+            ) capped
+            """, nativeQuery = true)
+    long countUserEnrollmentsUpTo(
+            @Param("userId") Long userId,
+            @Param("name") String name,
+            @Param("status") String status,
+            @Param("instructorName") String instructorName,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("minRating") Double minRating,
+            @Param("maxRating") Double maxRating,
+            @Param("totalLessons") Integer totalLessons,
+            @Param("cap") long cap
+    );
+
+    /**
+     * Keyset window of searchUserEnrollments, latest enrollment first, continuing after (afterEnrollmentDate, afterId)
+     * when given. No filter reads lesson progress, so unlike the page query it does not join it.
+     */
+    @Query(value = """
+            SELECT 
+                uc.*
+            FROM user_courses uc
+            INNER JOIN courses c ON uc.course_id = c.id
+            LEFT JOIN users u ON c.instructor_id = u.id
+            WHERE uc.user_id = :userId
+            AND (:name IS NULL OR LOWER(c.title) LIKE LOWER(CONCAT('%', :name, '%')))
+            AND (:status IS NULL OR uc.status = :status)
+            AND (:instructorName IS NULL OR LOWER(u.real_name) LIKE LOWER(CONCAT('%', :instructorName, '%')))
+            AND (:fromDate IS NULL OR uc.enrollment_date >= :fromDate)
+            AND (:toDate IS NULL OR uc.enrollment_date <= :toDate)
+            AND (:minRating IS NULL OR 
+                (SELECT COALESCE(AVG(cr.rating), 0)
+                 FROM course_ratings cr 
+                 WHERE cr.course_id = uc.course_id 
+                 AND cr.deleted_at IS NULL) >= :minRating)
+            AND (:maxRating IS NULL OR 
+                (SELECT COALESCE(AVG(cr.rating), 0)
+                 FROM course_ratings cr 
+                 WHERE cr.course_id = uc.course_id 
+                 AND cr.deleted_at IS NULL) <= :maxRating)
+            AND (:totalLessons IS NULL OR
+                (SELECT COUNT(DISTINCT l.id)
+                 FROM lessons l 
+                 JOIN chapters ch ON l.chapter_id = ch.id 
+                 WHERE ch.course_id = uc.course_id 
+                 AND l.deleted_at IS NULL) = :totalLessons)
+            AND (:afterId IS NULL OR (uc.enrollment_date <= :afterEnrollmentDate
+                AND (uc.enrollment_date < :afterEnrollmentDate
+                    OR (uc.enrollment_date = :afterEnrollmentDate AND uc.id < :afterId))))
+            ORDER BY uc.enrollment_date DESC, uc.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UserCourse> scrollUserEnrollments(
+            @Param("userId") Long userId,
+            @Param("name") String name,
+            @Param("status") String status,
+            @Param("instructorName") String instructorName,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("minRating") Double minRating,
+            @Param("maxRating") Double maxRating,
+            @Param("totalLessons") Integer totalLessons,
+            @Param("afterEnrollmentDate") LocalDateTime afterEnrollmentDate,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
     /**
      * Get detailed enrollment information for a specific user-course combination
      */
@@ -141,6 +253,27 @@ public interface IUserCourseRepository extends JpaRepository<UserCourse, Long>,
             """, nativeQuery = true)
     Double getAverageCourseRating(@Param("courseId") Long courseId);
 
+    // Get total lessons for a batch of courses
+    @Query(value = """
+            SELECT ch.course_id AS courseId, COUNT(DISTINCT l.id) AS totalLessons
+            FROM lessons l
+            JOIN chapters ch ON l.chapter_id = ch.id
+            WHERE ch.course_id IN (:courseIds)
+            AND l.deleted_at IS NULL
+            GROUP BY ch.course_id
+            """, nativeQuery = true)
+    List<CourseLessonTotal> getTotalLessonsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    // Get average rating for a batch of courses
+    @Query(value = """
+            SELECT cr.course_id AS courseId, COALESCE(AVG(cr.rating), 0.0) AS averageRating
+            FROM course_ratings cr
+            WHERE cr.course_id IN (:courseIds)
+            AND cr.deleted_at IS NULL
+            GROUP BY cr.course_id
+            """, nativeQuery = true)
+    List<CourseAverageRating> getAverageRatingsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
     @Modifying(flushAutomatically = true)
     @Query(value = """
             UPDATE user_lesson_progress
@@ -161,6 +294,259 @@ public interface IUserCourseRepository extends JpaRepository<UserCourse, Long>,
             """, nativeQuery = true)
     void resumeRelevantProgress(@Param("userId") Long userId, @Param("courseId") Long courseId);
 
+    /**
+     * Apply a lesson status change to the enrollment counters and derive the enrollment status from them.
+     * MySQL evaluates the SET list left to right, so status and completion date see the updated counters.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE user_courses
+            SET in_progress_count = in_progress_count + :inProgressDelta,
+            completed_count = completed_count + :completedDelta,
+            status = CASE
+                WHEN total_lessons > 0 AND completed_count >= total_lessons THEN 'COMPLETED'
+                WHEN completed_count > 0 OR in_progress_count > 0 THEN 'IN_PROGRESS'
+                WHEN status = 'DROPPED' THEN 'DROPPED'
+                ELSE 'ENROLLED'
+            END,
+            completion_date = IF(status = 'COMPLETED', COALESCE(completion_date, CURRENT_TIMESTAMP), NULL)
+            WHERE user_id = :userId
+            AND course_id = :courseId
+            """, nativeQuery = true)
+    void applyProgressDelta(
+            @Param("userId") Long userId,
+            @Param("courseId") Long courseId,
+            @Param("inProgressDelta") int inProgressDelta,
+            @Param("completedDelta") int completedDelta);
+
+    // Mirrors dropRelevantProgress: every progress row is DROPPED, so nothing counts as started or completed
+    @Modifying
+    @Query(value = """
+            UPDATE user_courses
+            SET in_progress_count = 0,
+            completed_count = 0,
+            status = 'DROPPED',
+            completion_date = NULL
+            WHERE user_id = :userId
+            AND course_id = :courseId
+            """, nativeQuery = true)
+    void dropEnrollmentCounters(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    // Mirrors resumeRelevantProgress: every recorded progress row is back IN_PROGRESS
+    @Modifying
+    @Query(value = """
+            UPDATE user_courses uc
+            SET uc.in_progress_count = (
+                SELECT COUNT(*)
+                FROM user_lesson_progress ulp
+                WHERE ulp.user_id = uc.user_id
+                AND ulp.course_id = uc.course_id
+            ),
+            uc.completed_count = 0,
+            uc.status = IF(uc.in_progress_count > 0, 'IN_PROGRESS', 'ENROLLED'),
+            uc.completion_date = NULL
+            WHERE uc.user_id = :userId
+            AND uc.course_id = :courseId
+            """, nativeQuery = true)
+    void resumeEnrollmentCounters(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    // Resume for the bitmap progress store, which keeps its bitsets while dropped: the counters are re-derived from them
+    @Modifying
+    @Query(value = """
+            UPDATE user_courses
+            SET in_progress_count = :inProgressCount,
+            completed_count = :completedCount,
+            status = CASE
+                WHEN total_lessons > 0 AND completed_count >= total_lessons THEN 'COMPLETED'
+                WHEN completed_count > 0 OR in_progress_count > 0 THEN 'IN_PROGRESS'
+                ELSE 'ENROLLED'
+            END,
+            completion_date = IF(status = 'COMPLETED', CURRENT_TIMESTAMP, NULL)
+            WHERE user_id = :userId
+            AND course_id = :courseId
+            """, nativeQuery = true)
+    void resumeEnrollmentCountersFromBitmaps(
+            @Param("userId") Long userId,
+            @Param("courseId") Long courseId,
+            @Param("inProgressCount") int inProgressCount,
+            @Param("completedCount") int completedCount);
+
+    /**
+     * Lock the enrollment that owns a lesson, so concurrent bitmap updates of one learner do not overwrite each other.
+     */
+    @Query(value = """
+            SELECT uc.*
+            FROM user_courses uc
+            JOIN chapters ch ON ch.course_id = uc.course_id
+            JOIN lessons l ON l.chapter_id = ch.id
+            WHERE uc.user_id = :userId
+            AND l.id = :lessonId
+            FOR UPDATE OF uc
+            """, nativeQuery = true)
+    Optional<UserCourse> findByUserIdAndLessonIdForUpdate(@Param("userId") Long userId, @Param("lessonId") Long lessonId);
+
+    /**
+     * Store the progress bitsets of an enrollment together with the counters derived from them.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE user_courses
+            SET completed_lessons_bitmap = :completedBitmap,
+            in_progress_lessons_bitmap = :inProgressBitmap,
+            in_progress_count = :inProgressCount,
+            completed_count = :completedCount,
+            status = CASE
+                WHEN total_lessons > 0 AND completed_count >= total_lessons THEN 'COMPLETED'
+                WHEN completed_count > 0 OR in_progress_count > 0 THEN 'IN_PROGRESS'
+                WHEN status = 'DROPPED' THEN 'DROPPED'
+                ELSE 'ENROLLED'
+            END,
+            completion_date = IF(status = 'COMPLETED', COALESCE(completion_date, CURRENT_TIMESTAMP), NULL)
+            WHERE id = :userCourseId
+            """, nativeQuery = true)
+    void applyProgressBitmaps(
+            @Param("userCourseId") Long userCourseId,
+            @Param("completedBitmap") byte[] completedBitmap,
+            @Param("inProgressBitmap") byte[] inProgressBitmap,
+            @Param("inProgressCount") int inProgressCount,
+            @Param("completedCount") int completedCount);
+
+    /**
+     * Set the lesson total of every enrollment of a course whose total differs, re-deriving its status against it.
+     * Counters are left alone: added lessons have no progress yet, and the recounts below handle deleted and
+     * restored ones.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE user_courses uc
+            SET uc.total_lessons = :totalLessons,
+            uc.status = CASE
+                WHEN uc.total_lessons > 0 AND uc.completed_count >= uc.total_lessons THEN 'COMPLETED'
+                WHEN uc.completed_count > 0 OR uc.in_progress_count > 0 THEN 'IN_PROGRESS'
+                WHEN uc.status = 'DROPPED' THEN 'DROPPED'
+                ELSE 'ENROLLED'
+            END,
+            uc.completion_date = IF(uc.status = 'COMPLETED', COALESCE(uc.completion_date, CURRENT_TIMESTAMP), NULL)
+            WHERE uc.course_id = :courseId
+            AND uc.total_lessons <> :totalLessons
+            """, nativeQuery = true)
+    void updateTotalLessons(@Param("courseId") Long courseId, @Param("totalLessons") int totalLessons);
+
+    /**
+     * Re-derive the counters and status of the enrollments that have started or completed one of the given lessons,
+     * after the lessons were deleted or restored; no other enrollment counts them. Dropped enrollments have no
+     * IN_PROGRESS or COMPLETED rows, so they are never touched.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE user_courses uc
+            JOIN (
+                SELECT DISTINCT ulp.user_id, ulp.course_id
+                FROM user_lesson_progress ulp
+                WHERE ulp.lesson_id IN (:lessonIds)
+                AND ulp.status IN ('IN_PROGRESS', 'COMPLETED')
+            ) affected ON affected.user_id = uc.user_id AND affected.course_id = uc.course_id
+            SET uc.in_progress_count = (
+                SELECT COUNT(*)
+                FROM user_lesson_progress ulp
+                JOIN lessons l ON ulp.lesson_id = l.id
+                JOIN chapters ch ON l.chapter_id = ch.id
+                WHERE ulp.user_id = uc.user_id
+                AND ulp.course_id = uc.course_id
+                AND ulp.status = 'IN_PROGRESS'
+                AND l.deleted_at IS NULL
+                AND ch.deleted_at IS NULL
+            ),
+            uc.completed_count = (
+                SELECT COUNT(*)
+                FROM user_lesson_progress ulp
+                JOIN lessons l ON ulp.lesson_id = l.id
+                JOIN chapters ch ON l.chapter_id = ch.id
+                WHERE ulp.user_id = uc.user_id
+                AND ulp.course_id = uc.course_id
+                AND ulp.status = 'COMPLETED'
+                AND l.deleted_at IS NULL
+                AND ch.deleted_at IS NULL
+            ),
+            uc.status = CASE
+                WHEN uc.total_lessons > 0 AND uc.completed_count >= uc.total_lessons THEN 'COMPLETED'
+                WHEN uc.completed_count > 0 OR uc.in_progress_count > 0 THEN 'IN_PROGRESS'
+                WHEN uc.status = 'DROPPED' THEN 'DROPPED'
+                ELSE 'ENROLLED'
+            END,
+            uc.completion_date = IF(uc.status = 'COMPLETED', COALESCE(uc.completion_date, CURRENT_TIMESTAMP), NULL)
+            """, nativeQuery = true)
+    void recountProgressOnLessons(@Param("lessonIds") Collection<Long> lessonIds);
+
+    /**
+     * Same as recountProgressOnLessons, for every lesson of the given chapters.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE user_courses uc
+            JOIN (
+                SELECT DISTINCT ulp.user_id, ulp.course_id
+                FROM user_lesson_progress ulp
+                JOIN lessons l ON ulp.lesson_id = l.id
+                WHERE l.chapter_id IN (:chapterIds)
+                AND ulp.status IN ('IN_PROGRESS', 'COMPLETED')
+            ) affected ON affected.user_id = uc.user_id AND affected.course_id = uc.course_id
+            SET uc.in_progress_count = (
+                SELECT COUNT(*)
+                FROM user_lesson_progress ulp
+                JOIN lessons l ON ulp.lesson_id = l.id
+                JOIN chapters ch ON l.chapter_id = ch.id
+                WHERE ulp.user_id = uc.user_id
+                AND ulp.course_id = uc.course_id
+                AND ulp.status = 'IN_PROGRESS'
+                AND l.deleted_at IS NULL
+                AND ch.deleted_at IS NULL
+            ),
+            uc.completed_count = (
+                SELECT COUNT(*)
+                FROM user_lesson_progress ulp
+                JOIN lessons l ON ulp.lesson_id = l.id
+                JOIN chapters ch ON l.chapter_id = ch.id
+                WHERE ulp.user_id = uc.user_id
+                AND ulp.course_id = uc.course_id
+                AND ulp.status = 'COMPLETED'
+                AND l.deleted_at IS NULL
+                AND ch.deleted_at IS NULL
+            ),
+            uc.status = CASE
+                WHEN uc.total_lessons > 0 AND uc.completed_count >= uc.total_lessons THEN 'COMPLETED'
+                WHEN uc.completed_count > 0 OR uc.in_progress_count > 0 THEN 'IN_PROGRESS'
+                WHEN uc.status = 'DROPPED' THEN 'DROPPED'
+                ELSE 'ENROLLED'
+            END,
+            uc.completion_date = IF(uc.status = 'COMPLETED', COALESCE(uc.completion_date, CURRENT_TIMESTAMP), NULL)
+            """, nativeQuery = true)
+    void recountProgressOnChapters(@Param("chapterIds") Collection<Long> chapterIds);
+
+    /**
+     * Lock the enrollments of the given courses that are not dropped, so their bitsets can be recounted without
+     * racing lesson progress updates.
+     */
+    @Query(value = """
+            SELECT uc.*
+            FROM user_courses uc
+            WHERE uc.course_id IN (:courseIds)
+            AND uc.status <> 'DROPPED'
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<UserCourse> findActiveByCourseIdInForUpdate(@Param("courseIds") Collection<Long> courseIds);
+
+    // Lessons that receive a progress row on enrollment
+    @Query(value = """
+            SELECT COUNT(l.id)
+            FROM lessons l
+            JOIN chapters ch ON l.chapter_id = ch.id
+            WHERE ch.course_id = :courseId
+            AND l.deleted_at IS NULL
+            AND ch.deleted_at IS NULL
+            """, nativeQuery = true)
+    int countEnrollableLessons(@Param("courseId") Long courseId);
+
     @Query(value = """
             WITH enrollment_check AS (
                 SELECT 
@@ -190,4 +576,16 @@ public interface IUserCourseRepository extends JpaRepository<UserCourse, Long>,
             @Param("userId") Long userId,
             @Param("courseId") Long courseId
     );
-}
\ No newline at end of file
+
+    interface CourseLessonTotal {
+        Long getCourseId();
+
+        Integer getTotalLessons();
+    }
+
+    interface CourseAverageRating {
+        Long getCourseId();
+
+        Double getAverageRating();
+    }
+}
@@ -7,7 +7,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface IUserLessonProgressRepository extends JpaRepository<UserLessonProgress, Long> {
@@ -21,4 +24,117 @@ public interface IUserLessonProgressRepository extends JpaRepository<UserLessonP
             AND ulp.course_id = :courseId
             """, nativeQuery = true)
     List<UserLessonProgress> findAllByUserIdAndCourseId(@Param("userId") Long userId, @Param("courseId") Long courseId);
-}
\ No newline at end of file
+
+    @Query(value = """
+            SELECT ulp.*
+            FROM user_lesson_progress ulp
+            WHERE ulp.user_id = :userId
+            AND ulp.lesson_id = :lessonId
+            """, nativeQuery = true)
+    Optional<UserLessonProgress> findByUserIdAndLessonId(@Param("userId") Long userId, @Param("lessonId") Long lessonId);
+
+    /**
+     * Materialize the progress row of a lesson the learner opens for the first time.
+     * Inserts nothing when the lesson is not part of an active (not dropped) enrollment of the user.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_lesson_progress
+                (user_id, course_id, chapter_id, lesson_id, status, last_accessed_at)
+            SELECT uc.user_id, ch.course_id, ch.id, l.id, 'IN_PROGRESS', CURRENT_TIMESTAMP
+            FROM lessons l
+            JOIN chapters ch ON l.chapter_id = ch.id
+            JOIN user_courses uc ON uc.course_id = ch.course_id
+            WHERE l.id = :lessonId
+            AND uc.user_id = :userId
+            AND uc.status <> 'DROPPED'
+            AND l.deleted_at IS NULL
+            AND ch.deleted_at IS NULL
+            """, nativeQuery = true)
+    int insertStartedProgress(@Param("userId") Long userId, @Param("lessonId") Long lessonId);
+
+    /**
+     * Eager materialization: one NOT_STARTED row per active lesson of the course, in a single statement.
+     * Chapter and course ids come from the join itself, so the rows are consistent by construction.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_lesson_progress
+                (user_id, course_id, chapter_id, lesson_id, status)
+            SELECT :userId, ch.course_id, ch.id, l.id, 'NOT_STARTED'
+            FROM lessons l
+            JOIN chapters ch ON l.chapter_id = ch.id
+            WHERE ch.course_id = :courseId
+            AND l.deleted_at IS NULL
+            AND ch.deleted_at IS NULL
+            """, nativeQuery = true)
+    int insertNotStartedProgress(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    /**
+     * Consistency check of a batch of lessons a learner wants to track, in one join query.
+     * Returns one row per existing lesson with its chapter and course, whether the lesson is still active
+     * and whether the learner holds an active (not dropped) enrollment in its course.
+     */
+    @Query(value = """
+            SELECT
+                l.id AS lessonId,
+                ch.id AS chapterId,
+                ch.course_id AS courseId,
+                IF(l.deleted_at IS NULL AND ch.deleted_at IS NULL, 1, 0) AS active,
+                IF(uc.id IS NULL, 0, 1) AS enrolled
+            FROM lessons l
+            JOIN chapters ch ON l.chapter_id = ch.id
+            LEFT JOIN user_courses uc ON uc.course_id = ch.course_id
+                AND uc.user_id = :userId
+                AND uc.status <> 'DROPPED'
+            WHERE l.id IN (:lessonIds)
+            """, nativeQuery = true)
+    List<LessonTrackingView> findLessonTracking(@Param("userId") Long userId, @Param("lessonIds") Collection<Long> lessonIds);
+
+    /**
+     * Progress rows of a user in a course, in no particular order. Lessons without a row are NOT_STARTED;
+     * the course outline tells which lessons are active and their order.
+     */
+    @Query(value = """
+            SELECT
+                ulp.id AS id,
+                ulp.course_id AS courseId,
+                ulp.chapter_id AS chapterId,
+                ulp.lesson_id AS lessonId,
+                ulp.status AS status,
+                ulp.last_accessed_at AS lastAccessedAt,
+                ulp.completion_date AS completionDate
+            FROM user_lesson_progress ulp
+            WHERE ulp.user_id = :userId
+            AND ulp.course_id = :courseId
+            """, nativeQuery = true)
+    List<LessonProgressView> findCourseLessonProgress(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    interface LessonProgressView {
+        Long getId();
+
+        Long getCourseId();
+
+        Long getChapterId();
+
+        Long getLessonId();
+
+        String getStatus();
+
+        LocalDateTime getLastAccessedAt();
+
+        LocalDateTime getCompletionDate();
+    }
+
+    interface LessonTrackingView {
+        Long getLessonId();
+
+        Long getChapterId();
+
+        Long getCourseId();
+
+        Integer getActive();
+
+        Integer getEnrolled();
+    }
+}
@@ -1,13 +1,16 @@
 package com.online.course.management.project.repository;
 
 import com.online.course.management.project.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -25,4 +28,69 @@ public interface IUserRepository extends JpaRepository<User, Long>, JpaSpecifica
 
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.userRoles WHERE u.username = :username OR u.email = :email")
     Optional<User> findByUsernameOrEmailWithRoles(@Param("username") String username, @Param("email") String email);
+
+    // Search users with the filters of UserServiceUtils.createSpecification, without counting them
+    @Query(value = """
+            SELECT u.*
+            FROM users u
+            WHERE (:username IS NULL OR LOWER(u.username) LIKE CONCAT('%', LOWER(:username), '%'))
+            AND (:email IS NULL OR LOWER(u.email) LIKE CONCAT('%', LOWER(:email), '%'))
+            AND (:realName IS NULL OR LOWER(u.real_name) LIKE CONCAT('%', LOWER(:realName), '%'))
+            AND (:status IS NULL OR u.status = :status)
+            AND (:fromDate IS NULL OR u.created_at >= :fromDate)
+            AND (:toDate IS NULL OR u.created_at <= :toDate)
+            ORDER BY u.id
+            """, nativeQuery = true)
+    Slice<User> searchUsers(
+            @Param("username") String username,
+            @Param("email") String email,
+            @Param("realName") String realName,
+            @Param("status") String status,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            Pageable pageable
+    );
+
+    // Total of searchUsers, stopping after :cap matches
+    @Query(value = """
+            SELECT COUNT(*) FROM (
+                SELECT 1
+                FROM users u
+                WHERE (:username IS NULL OR LOWER(u.username) LIKE CONCAT('%', LOWER(:username), '%'))
+                AND (:email IS NULL OR LOWER(u.email) LIKE CONCAT('%', LOWER(:email), '%'))
+                AND (:realName IS NULL OR LOWER(u.real_name) LIKE CONCAT('%', LOWER(:realName), '%'))
+                AND (:status IS NULL OR u.status = :status)
+                AND (:fromDate IS NULL OR u.created_at >= :fromDate)
+                AND (:toDate IS NULL OR u.created_at <= :toDate)
+                LIMIT :cap
+            ) capped
+            """, nativeQuery = true)
+    long countUsersUpTo(
+            @Param("username") String username,
+            @Param("email") String email,
+            @Param("realName") String realName,
+            @Param("status") String status,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("cap") long cap
+    );
+
+    /**
+     * Users whose tokens have been revoked at least once, used to seed the in-memory revocation map on startup.
+     */
+    @Query(value = """
+            SELECT u.id AS userId, u.token_version AS tokenVersion
+            FROM users u
+            WHERE u.token_version > 0
+            """, nativeQuery = true)
+    List<UserTokenVersion> findRevokedTokenVersions();
+
+    @Query(value = "SELECT u.token_version FROM users u WHERE u.id = :userId", nativeQuery = true)
+    Optional<Integer> findTokenVersionById(@Param("userId") Long userId);
+
+    interface UserTokenVersion {
+        Long getUserId();
+
+        Integer getTokenVersion();
+    }
 }
@@ -1,36 +1,68 @@
 package com.online.course.management.project.security;
 
 import com.online.course.management.project.entity.User;
+import com.online.course.management.project.enums.UserStatus;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class CustomUserDetails implements UserDetails {
 
+    // Null when the principal was built from token claims
     private final User user;
+    private final Long id;
+    private final String username;
+    private final UserStatus status;
+    private final Set<String> roles;
+    private final int tokenVersion;
+    private final Set<GrantedAuthority> authorities;
+    private final int roleMask;
 
     public CustomUserDetails(User user) {
+        this(user, user.getId(), user.getUsername(), user.getStatus(),
+                user.getUserRoles().stream()
+                        .map(userRole -> userRole.getRole().getName().name())
+                        .collect(Collectors.toSet()),
+                user.getTokenVersion());
+    }
+
+    /**
+     * Principal of a stateless request, built from the claims of a verified token without loading the user.
+     */
+    public CustomUserDetails(Long id, String username, UserStatus status, Set<String> roles, int tokenVersion) {
+        this(null, id, username, status, roles, tokenVersion);
+    }
+
+    private CustomUserDetails(User user, Long id, String username, UserStatus status, Set<String> roles, int tokenVersion) {
         this.user = user;
+        this.id = id;
+        this.username = username;
+        this.status = status;
+        this.roles = Set.copyOf(roles);
+        this.tokenVersion = tokenVersion;
+        this.authorities = this.roles.stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .collect(Collectors.toUnmodifiableSet());
+        this.roleMask = RoleMask.of(this.roles);
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getUserRoles().stream()
-                .map(userRole -> new SimpleGrantedAuthority("ROLE_" + userRole.getRole().getName().name()))
-                .collect(Collectors.toSet());
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return user != null ? user.getPasswordHash() : null;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
@@ -50,22 +82,44 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.getDeletedAt() == null;
+        // Deleting a user revokes their tokens, so a claims principal is always an active account
+        return user == null || user.getDeletedAt() == null;
     }
 
     public Long getId() {
-        return user.getId();
+        return id;
     }
 
     public String getEmail() {
-        return user.getEmail();
+        return user != null ? user.getEmail() : null;
     }
 
     public String getRealName() {
-        return user.getRealName();
+        return user != null ? user.getRealName() : null;
+    }
+
+    public UserStatus getStatus() {
+        return status;
     }
 
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * Roles as a {@link RoleMask}, computed once when the principal is built.
+     */
+    public int getRoleMask() {
+        return roleMask;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
 
+    /**
+     * The loaded user entity, or null for a principal built from token claims.
+     */
     public User getUser() {
         return user;
     }
@@ -1,24 +1,79 @@
 package com.online.course.management.project.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.online.course.management.project.enums.UserStatus;
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
 
+    // Claims that let a request be authenticated without loading the user
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String STATUS_CLAIM = "status";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.claims-cache.maximum-size:10000}")
+    private long claimsCacheMaximumSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Verified claims keyed by the SHA-256 digest of the token, each entry expires together with its token
+    private Cache<String, Claims> verifiedClaims;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaximumSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return remainingLifetimeNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return remainingLifetimeNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -28,12 +83,26 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verifyToken(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+    /**
+     * Returns the claims of a token whose signature and expiration have been verified.
+     * A token is verified once per lifetime, later calls are served from the claims cache.
+     *
+     * @throws JwtException if the token is malformed, has an invalid signature or is expired
+     */
+    public Claims verifyToken(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedClaims.getIfPresent(digest);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = parser.parseClaimsJws(token).getBody();
+        verifiedClaims.put(digest, claims);
+        return claims;
     }
 
     public Boolean isTokenExpired(String token) {
@@ -42,18 +111,60 @@ public class JwtUtil {
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof CustomUserDetails customUserDetails) {
+            claims.put(USER_ID_CLAIM, customUserDetails.getId());
+            claims.put(STATUS_CLAIM, customUserDetails.getStatus().name());
+            claims.put(ROLES_CLAIM, List.copyOf(customUserDetails.getRoles()));
+            claims.put(TOKEN_VERSION_CLAIM, customUserDetails.getTokenVersion());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Builds the principal from the claims of a verified token, or returns null for tokens
+     * issued before the principal claims were added.
+     */
+    public CustomUserDetails toUserDetails(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        if (userId == null) {
+            return null;
+        }
+
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        Number tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        return new CustomUserDetails(
+                userId.longValue(),
+                claims.getSubject(),
+                UserStatus.valueOf(claims.get(STATUS_CLAIM, String.class)),
+                roles.stream().map(String::valueOf).collect(Collectors.toSet()),
+                tokenVersion != null ? tokenVersion.intValue() : 0);
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder().setClaims(claims).setSubject(subject).setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration * 1000))
-                .signWith(SignatureAlgorithm.HS256, secret).compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256).compact();
     }
 
     // New method to validate token without UserDetails
     public Boolean validateToken(String token) {
-        Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
         return !isTokenExpired(token);
     }
+
+    private long remainingLifetimeNanos(Claims claims) {
+        if (claims.getExpiration() == null) {
+            return TimeUnit.SECONDS.toNanos(expiration);
+        }
+        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
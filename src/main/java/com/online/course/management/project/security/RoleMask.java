@@ -0,0 +1,76 @@
+package com.online.course.management.project.security;
+
+import com.online.course.management.project.enums.RoleType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Roles as a bitmask, one bit per {@link RoleType}, so "has any of these roles" is a single AND.
+ * Unknown role names are ignored.
+ */
+public final class RoleMask {
+
+    public static final int NONE = 0;
+    public static final int ADMIN = bit(RoleType.ADMIN);
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private RoleMask() {
+    }
+
+    public static int bit(RoleType roleType) {
+        return 1 << roleType.ordinal();
+    }
+
+    /**
+     * Mask of role names, with or without the "ROLE_" prefix.
+     */
+    public static int of(String... roleNames) {
+        int mask = NONE;
+        for (String roleName : roleNames) {
+            mask |= ofName(roleName);
+        }
+        return mask;
+    }
+
+    public static int of(Collection<String> roleNames) {
+        int mask = NONE;
+        for (String roleName : roleNames) {
+            mask |= ofName(roleName);
+        }
+        return mask;
+    }
+
+    public static int ofAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        int mask = NONE;
+        for (GrantedAuthority authority : authorities) {
+            mask |= ofName(authority.getAuthority());
+        }
+        return mask;
+    }
+
+    /**
+     * Mask of an authentication, taken from the principal when it carries one and from the authorities otherwise.
+     */
+    public static int ofAuthentication(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof CustomUserDetails userDetails && userDetails.getRoleMask() != NONE) {
+            return userDetails.getRoleMask();
+        }
+        return ofAuthorities(authentication.getAuthorities());
+    }
+
+    private static int ofName(String roleName) {
+        if (roleName == null) {
+            return NONE;
+        }
+        String name = roleName.startsWith(ROLE_PREFIX) ? roleName.substring(ROLE_PREFIX.length()) : roleName;
+        for (RoleType roleType : RoleType.values()) {
+            if (roleType.name().equals(name)) {
+                return bit(roleType);
+            }
+        }
+        return NONE;
+    }
+}
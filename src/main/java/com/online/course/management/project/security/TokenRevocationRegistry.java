@@ -0,0 +1,87 @@
+package com.online.course.management.project.security;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.repository.IUserRepository;
+import com.online.course.management.project.utils.cache.CacheInvalidationOutbox;
+import com.online.course.management.project.utils.cache.RemoteInvalidationHandler;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map of the current token version of every user whose tokens have been revoked.
+ * Users that never had a role or status change are absent, so the map stays small.
+ * <p>
+ * The map is seeded from users.token_version on startup and updated by the node that performs the change. The
+ * change is also written to the {@link CacheInvalidationOutbox} in its transaction, and the other nodes re-read the
+ * user's version when they poll it, within cache.invalidation.poll-interval.
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry implements RemoteInvalidationHandler {
+
+    private final IUserRepository userRepository;
+    private final CacheInvalidationOutbox outbox;
+    private final Map<Long, Integer> tokenVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenRevocationRegistry(IUserRepository userRepository, CacheInvalidationOutbox outbox) {
+        this.userRepository = userRepository;
+        this.outbox = outbox;
+    }
+
+    @PostConstruct
+    public void load() {
+        for (var revoked : userRepository.findRevokedTokenVersions()) {
+            tokenVersions.put(revoked.getUserId(), revoked.getTokenVersion());
+        }
+        log.info("Loaded token versions of {} users", tokenVersions.size());
+    }
+
+    public boolean isRevoked(Long userId, int tokenVersion) {
+        return tokenVersion < tokenVersions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Rejects every token of the user issued before the given version.
+     * Inside a transaction the change only takes effect once it commits, so a rollback does not lock the user out.
+     */
+    public void revoke(Long userId, int tokenVersion) {
+        outbox.append(CacheConstants.TOKEN_VERSIONS, userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tokenVersions.merge(userId, tokenVersion, Math::max);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokenVersions.merge(userId, tokenVersion, Math::max);
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return CacheConstants.TOKEN_VERSIONS;
+    }
+
+    /**
+     * Picks up a revocation made on another node.
+     */
+    @Override
+    public void invalidate(Object userId) {
+        if (userId == null) {
+            load();
+            return;
+        }
+        userRepository.findTokenVersionById((Long) userId)
+                .ifPresent(tokenVersion -> tokenVersions.merge((Long) userId, tokenVersion, Math::max));
+    }
+}
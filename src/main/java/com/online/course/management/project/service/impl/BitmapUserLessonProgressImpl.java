@@ -0,0 +1,181 @@
+package com.online.course.management.project.service.impl;
+
+import com.online.course.management.project.config.ConditionalOnProgressStore;
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.dto.UserLessonProgressDtos;
+import com.online.course.management.project.entity.UserCourse;
+import com.online.course.management.project.enums.EnrollmentStatus;
+import com.online.course.management.project.enums.ProgressStatus;
+import com.online.course.management.project.enums.ProgressStore;
+import com.online.course.management.project.exception.business.InvalidRequestException;
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
+import com.online.course.management.project.repository.ILessonRepository;
+import com.online.course.management.project.repository.IUserCourseRepository;
+import com.online.course.management.project.service.interfaces.IUserLessonProgressService;
+import com.online.course.management.project.utils.course.CourseOutlineSnapshots;
+import com.online.course.management.project.utils.pagination.SearchCounter;
+import com.online.course.management.project.utils.user.UserSecurityUtils;
+import com.online.course.management.project.utils.userlessonprogress.CourseLessonIndex;
+import com.online.course.management.project.utils.userlessonprogress.CourseProgressRollups;
+import com.online.course.management.project.utils.userlessonprogress.LessonProgressBitmap;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress store that keeps a completed and an in-progress bitset per enrollment on user_courses
+ * instead of one user_lesson_progress row per lesson. Enabled with progress.store=bitmap.
+ * <p>
+ * Lessons are addressed by lesson id only, since there are no progress rows to reference. A course can hold at most
+ * {@link LessonProgressBitmap#MAX_SLOTS} lessons, soft-deleted ones included, as each keeps its slot.
+ * Dropping an enrollment keeps its bitsets; the enrollment counters are re-derived from them on resume.
+ */
+@Service
+@Slf4j
+@ConditionalOnProgressStore(ProgressStore.BITMAP)
+public class BitmapUserLessonProgressImpl implements IUserLessonProgressService {
+
+    private final IUserCourseRepository userCourseRepository;
+    private final ILessonRepository lessonRepository;
+    private final UserSecurityUtils userSecurityUtils;
+    private final CourseOutlineSnapshots courseOutlineSnapshots;
+    private final SearchCounter searchCounter;
+
+    @Autowired
+    public BitmapUserLessonProgressImpl(IUserCourseRepository userCourseRepository, ILessonRepository lessonRepository, UserSecurityUtils userSecurityUtils, CourseOutlineSnapshots courseOutlineSnapshots, SearchCounter searchCounter) {
+        this.userCourseRepository = userCourseRepository;
+        this.lessonRepository = lessonRepository;
+        this.userSecurityUtils = userSecurityUtils;
+        this.courseOutlineSnapshots = courseOutlineSnapshots;
+        this.searchCounter = searchCounter;
+    }
+
+    @Override
+    @Transactional
+    public UserLessonProgressDtos.LessonProgressResponseDTO startLearningLesson(UserLessonProgressDtos.UpdateStatusLessonProgressDTO request) {
+        var enrollment = lockEnrollment(request);
+        int slot = resolveSlot(enrollment, request.getLessonId());
+
+        ProgressStatus status = enrollment.getBitmap().statusOf(slot);
+        if (status == ProgressStatus.IN_PROGRESS) {
+            throw new InvalidRequestException("Lesson is already started");
+        }
+
+        if (status == ProgressStatus.COMPLETED) {
+            throw new InvalidRequestException("Lesson is already completed");
+        }
+
+        enrollment.getBitmap().markInProgress(slot);
+        saveBitmap(enrollment);
+
+        return toLessonDto(enrollment, slot, null);
+    }
+
+    @Override
+    @Transactional
+    public UserLessonProgressDtos.LessonProgressResponseDTO completeLearningLesson(UserLessonProgressDtos.UpdateStatusLessonProgressDTO request) {
+        var enrollment = lockEnrollment(request);
+        int slot = resolveSlot(enrollment, request.getLessonId());
+
+        ProgressStatus status = enrollment.getBitmap().statusOf(slot);
+        if (status == ProgressStatus.COMPLETED) {
+            throw new InvalidRequestException("Lesson is already completed");
+        }
+
+        if (status != ProgressStatus.IN_PROGRESS) {
+            throw new InvalidRequestException("You must start the lesson before completing it");
+        }
+
+        enrollment.getBitmap().markCompleted(slot);
+        saveBitmap(enrollment);
+
+        return toLessonDto(enrollment, slot, LocalDateTime.now().toString());
+    }
+
+    @Override
+    @Transactional
+    public UserLessonProgressDtos.CourseProgressResponseDTO getCourseProgress(Long courseId) {
+        UserCourse userCourse = userCourseRepository.findByUserIdAndCourseId(userSecurityUtils.getCurrentUserId(), courseId);
+
+        if (userCourse == null) {
+            throw new ResourceNotFoundException("User or course not found");
+        }
+
+        CourseLessonIndex index = courseOutlineSnapshots.get(courseId).getLessonIndex();
+        LessonProgressBitmap bitmap = LessonProgressBitmap.decode(
+                userCourse.getCompletedLessonsBitmap(), userCourse.getInProgressLessonsBitmap());
+
+        return CourseProgressRollups.fromBitmap(courseId, index, bitmap, true);
+    }
+
+    private LockedEnrollment lockEnrollment(UserLessonProgressDtos.UpdateStatusLessonProgressDTO request) {
+        if (request.getLessonId() == null) {
+            throw new InvalidRequestException("Lesson ID is required, lesson progress IDs are not used by the bitmap progress store");
+        }
+
+        Long currentUserId = userSecurityUtils.getCurrentUserId();
+        UserCourse userCourse = userCourseRepository.findByUserIdAndLessonIdForUpdate(currentUserId, request.getLessonId())
+                .orElseThrow(() -> new InvalidRequestException("User must be enrolled in the course before tracking progress"));
+
+        if (userCourse.getStatus() == EnrollmentStatus.DROPPED) {
+            throw new InvalidRequestException("User must be enrolled in the course before tracking progress");
+        }
+
+        // Updates re-read the slots instead of using the outline snapshot, which another node may not have evicted yet
+        CourseLessonIndex index = CourseLessonIndex.of(lessonRepository.findCourseLessonSlots(userCourse.getCourse().getId()));
+        LessonProgressBitmap bitmap = LessonProgressBitmap.decode(
+                userCourse.getCompletedLessonsBitmap(), userCourse.getInProgressLessonsBitmap());
+
+        return new LockedEnrollment(userCourse, index, bitmap);
+    }
+
+    private int resolveSlot(LockedEnrollment enrollment, Long lessonId) {
+        int slot = enrollment.getIndex().slotOf(lessonId);
+        if (slot < 0 || !enrollment.getIndex().isActive(slot)) {
+            throw new ResourceNotFoundException("Lesson not found");
+        }
+        if (slot >= LessonProgressBitmap.MAX_SLOTS) {
+            throw new InvalidRequestException("Progress of courses with more than " + LessonProgressBitmap.MAX_SLOTS
+                    + " lessons, deleted ones included, cannot be tracked by the bitmap progress store");
+        }
+        return slot;
+    }
+
+    private void saveBitmap(LockedEnrollment enrollment) {
+        LessonProgressBitmap bitmap = enrollment.getBitmap();
+        userCourseRepository.applyProgressBitmaps(
+                enrollment.getUserCourse().getId(),
+                bitmap.encodeCompleted(),
+                bitmap.encodeInProgress(),
+                enrollment.getIndex().countActive(bitmap.inProgress()),
+                enrollment.getIndex().countActive(bitmap.completed()));
+        // Enrollment searches only match the user's own enrollments, so only their counts can change
+        searchCounter.evictScope(CacheConstants.ENROLLMENT_COUNTS, enrollment.getUserCourse().getUser().getId());
+
+        log.debug("Saved progress bitmap of enrollment {}", enrollment.getUserCourse().getId());
+    }
+
+    private UserLessonProgressDtos.LessonProgressResponseDTO toLessonDto(LockedEnrollment enrollment, int slot, String completionDate) {
+        return UserLessonProgressDtos.LessonProgressResponseDTO.builder()
+                .courseId(enrollment.getUserCourse().getCourse().getId().intValue())
+                .chapterId((int) enrollment.getIndex().chapterIdAt(slot))
+                .lessonId((int) enrollment.getIndex().lessonIdAt(slot))
+                .status(enrollment.getBitmap().statusOf(slot).name())
+                .lastAccessedAt(LocalDateTime.now().toString())
+                .completionDate(completionDate)
+                .build();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class LockedEnrollment {
+        private final UserCourse userCourse;
+        private final CourseLessonIndex index;
+        private final LessonProgressBitmap bitmap;
+    }
+}
@@ -1,7 +1,9 @@
 package com.online.course.management.project.service.impl;
 
+import com.online.course.management.project.constants.CacheConstants;
 import com.online.course.management.project.dto.CategoryDTOs;
 import com.online.course.management.project.entity.Category;
+import com.online.course.management.project.event.CategoryChangedEvent;
 import com.online.course.management.project.exception.business.ForbiddenException;
 import com.online.course.management.project.mapper.CategoryMapper;
 import com.online.course.management.project.repository.ICategoryRepository;
@@ -10,8 +12,8 @@ import com.online.course.management.project.utils.category.CategoryServiceUtils;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -26,12 +28,14 @@ public class CategoryServiceImpl implements ICategoryService {
     private final ICategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final CategoryServiceUtils categoryServiceUtils;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CategoryServiceImpl(ICategoryRepository categoryRepository, CategoryMapper categoryMapper, CategoryServiceUtils categoryServiceUtils) {
+    public CategoryServiceImpl(ICategoryRepository categoryRepository, CategoryMapper categoryMapper, CategoryServiceUtils categoryServiceUtils, ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
         this.categoryServiceUtils = categoryServiceUtils;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -68,13 +72,13 @@ public class CategoryServiceImpl implements ICategoryService {
         categoryMapper.updateCategoryFromDto(request, category);
 
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
 
         return categoryMapper.toDto(updatedCategory);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "categories", key = "#id")
     public void deleteCategory(Long id) {
         log.info("Soft deleting category with id: {}", id);
 
@@ -85,10 +89,11 @@ public class CategoryServiceImpl implements ICategoryService {
         }
 
         categoryRepository.softDeleteCategory(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 
     @Override
-    @Cacheable(value = "categories", key = "#id")
+    @Cacheable(value = CacheConstants.CATEGORIES, key = "#id", sync = true)
     public CategoryDTOs.CategoryResponseDto getCategoryById(Long id) {
         log.info("Fetching category with id: {}", id);
 
@@ -131,7 +136,6 @@ public class CategoryServiceImpl implements ICategoryService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "categories", key = "#id")
     public void restoreCategory(Long id) {
         log.info("Restoring category with id: {}", id);
 
@@ -142,5 +146,6 @@ public class CategoryServiceImpl implements ICategoryService {
         }
 
         categoryRepository.restoreCategory(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 }
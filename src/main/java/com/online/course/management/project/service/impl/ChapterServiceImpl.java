@@ -1,24 +1,33 @@
 package com.online.course.management.project.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.online.course.management.project.constants.CacheConstants;
 import com.online.course.management.project.dto.ChapterDTOs;
+import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.entity.Chapter;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.Lesson;
 import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.event.ChapterChangedEvent;
 import com.online.course.management.project.exception.business.InvalidRequestException;
 import com.online.course.management.project.mapper.ChapterMapper;
 import com.online.course.management.project.repository.IChapterRepository;
 import com.online.course.management.project.service.interfaces.IChapterService;
 import com.online.course.management.project.utils.chapter.ChapterServiceUtils;
+import com.online.course.management.project.utils.course.CourseOutline;
+import com.online.course.management.project.utils.course.CourseOutlineSnapshots;
 import com.online.course.management.project.utils.course.CourseServiceUtils;
+import com.online.course.management.project.utils.pagination.KeysetCursor;
+import com.online.course.management.project.utils.pagination.SearchCounter;
+import com.online.course.management.project.utils.usercourse.EnrollmentProgressRecounter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,17 +43,29 @@ public class ChapterServiceImpl implements IChapterService {
     private final ChapterMapper chapterMapper;
     private final ChapterServiceUtils chapterServiceUtils;
     private final CourseServiceUtils courseServiceUtils;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseOutlineSnapshots courseOutlineSnapshots;
+    private final SearchCounter searchCounter;
+    private final EnrollmentProgressRecounter enrollmentProgressRecounter;
 
     @Autowired
     public ChapterServiceImpl
             (IChapterRepository chapterRepository,
              ChapterMapper chapterMapper,
              ChapterServiceUtils chapterServiceUtils,
-             CourseServiceUtils courseServiceUtils) {
+             CourseServiceUtils courseServiceUtils,
+             ApplicationEventPublisher eventPublisher,
+             CourseOutlineSnapshots courseOutlineSnapshots,
+             SearchCounter searchCounter,
+             EnrollmentProgressRecounter enrollmentProgressRecounter) {
         this.chapterRepository = chapterRepository;
         this.chapterMapper = chapterMapper;
         this.chapterServiceUtils = chapterServiceUtils;
         this.courseServiceUtils = courseServiceUtils;
+        this.eventPublisher = eventPublisher;
+        this.courseOutlineSnapshots = courseOutlineSnapshots;
+        this.searchCounter = searchCounter;
+        this.enrollmentProgressRecounter = enrollmentProgressRecounter;
     }
 
     @Override
@@ -69,6 +90,7 @@ public class ChapterServiceImpl implements IChapterService {
         }
 
         Chapter savedChapter = chapterRepository.save(chapter);
+        enrollmentProgressRecounter.lessonsAdded(List.of(course.getId()));
 
         return chapterMapper.toDetailDto(savedChapter);
     }
@@ -97,6 +119,7 @@ public class ChapterServiceImpl implements IChapterService {
 
         // Save all chapters
         List<Chapter> savedChapters = chapterRepository.saveAll(chapters);
+        enrollmentProgressRecounter.lessonsAdded(List.of(course.getId()));
 
         log.info("Successfully created {} chapters with their lessons", savedChapters.size());
 
@@ -121,6 +144,7 @@ public class ChapterServiceImpl implements IChapterService {
         }
 
         Chapter savedChapter = chapterRepository.save(chapter);
+        eventPublisher.publishEvent(new ChapterChangedEvent(savedChapter.getCourse().getId(), List.of(id)));
         return chapterMapper.toDetailDto(savedChapter);
     }
 
@@ -218,6 +242,7 @@ public class ChapterServiceImpl implements IChapterService {
 
         // Build CASE statements
         List<Chapter> savedChapters = chapterRepository.saveAll(updatedChapters);
+        publishChaptersChanged(savedChapters);
 
         log.info("Successfully updated {} chapters", chapters.size());
         return savedChapters.stream().map(chapterMapper::toDto).collect(Collectors.toList());
@@ -237,6 +262,8 @@ public class ChapterServiceImpl implements IChapterService {
 
         chapterRepository.batchSoftDeleteChapters(List.of(id));
         chapterRepository.batchSoftDeleteLessonsChapters(List.of(id));
+        enrollmentProgressRecounter.chaptersRemovedOrRestored(List.of(chapter.getCourse().getId()), List.of(id));
+        eventPublisher.publishEvent(new ChapterChangedEvent(chapter.getCourse().getId(), List.of(id)));
 
         log.info("Chapter soft deleted successfully");
     }
@@ -256,6 +283,8 @@ public class ChapterServiceImpl implements IChapterService {
 
         chapterRepository.batchSoftDeleteChapters(ids);
         chapterRepository.batchSoftDeleteLessonsChapters(ids);
+        enrollmentProgressRecounter.chaptersRemovedOrRestored(courseIdsOf(chapters), ids);
+        publishChaptersChanged(chapters);
 
         log.info("Successfully deleted {} chapters", ids.size());
     }
@@ -274,6 +303,8 @@ public class ChapterServiceImpl implements IChapterService {
 
         chapterRepository.batchRestoreChapters(List.of(id));
         chapterRepository.batchRestoreLessonsChapters(List.of(id));
+        enrollmentProgressRecounter.chaptersRemovedOrRestored(List.of(chapter.getCourse().getId()), List.of(id));
+        eventPublisher.publishEvent(new ChapterChangedEvent(chapter.getCourse().getId(), List.of(id)));
 
         log.info("Chapter restored successfully");
     }
@@ -293,19 +324,21 @@ public class ChapterServiceImpl implements IChapterService {
 
         chapterRepository.batchRestoreChapters(ids);
         chapterRepository.batchRestoreLessonsChapters(ids);
+        enrollmentProgressRecounter.chaptersRemovedOrRestored(courseIdsOf(chapters), ids);
+        publishChaptersChanged(chapters);
 
         log.info("Successfully restored {} chapters", ids.size());
     }
 
     @Override
-    @Cacheable(value = "chapters", key = "#id")
+    @Cacheable(value = CacheConstants.CHAPTERS, key = "#id", sync = true)
     public ChapterDTOs.ChapterResponseDto getChapterById(Long id) {
         log.info("Fetching chapter with ID: {}", id);
         return chapterMapper.toDto(chapterServiceUtils.getChapterOrThrow(id));
     }
 
     @Override
-    @Cacheable(value = "chapters", key = "'detail-' + #id")
+    @Cacheable(value = CacheConstants.CHAPTERS, key = "'detail-' + #id", sync = true)
     public ChapterDTOs.ChapterDetailResponseDto getChapterWithLessons(Long id) {
         log.info("Fetching chapter details with lessons for ID: {}", id);
         return chapterMapper.toDetailDto(chapterServiceUtils.getChapterOrThrow(id));
@@ -315,10 +348,11 @@ public class ChapterServiceImpl implements IChapterService {
     public List<ChapterDTOs.ChapterResponseDto> getAllChaptersByCourseId(Long courseId) {
         log.info("Fetching all chapters for course ID: {}", courseId);
 
-        courseServiceUtils.GetCourseWithoutValidation(courseId);
-
-        List<Chapter> chapters = chapterRepository.findAllChaptersByCourseId(courseId);
-        return chapters.stream().map(chapterMapper::toDto).collect(Collectors.toList());
+        // Served from the outline snapshot, which also answers whether the course exists
+        CourseOutline outline = courseOutlineSnapshots.get(courseId);
+        return outline.getChapters().stream()
+                .map(chapter -> chapterMapper.toDto(outline, chapter))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -335,11 +369,40 @@ public class ChapterServiceImpl implements IChapterService {
 
         log.info(pageable.toString());
 
-        Page<Chapter> chaptersPage = chapterRepository.searchChapters(request.getTitle(), request.getStatus() != null ? request.getStatus().name() : null, request.getCourseId(), request.getFromDate(), request.getToDate(), pageable);
+        String title = request.getTitle();
+        String status = request.getStatus() != null ? request.getStatus().name() : null;
+        Long courseId = request.getCourseId();
+        LocalDateTime fromDate = request.getFromDate();
+        LocalDateTime toDate = request.getToDate();
+
+        Slice<ChapterDTOs.ChapterResponseDto> chapters = chapterRepository.searchChapters(title, status, courseId, fromDate, toDate, pageable)
+                .map(chapterMapper::toDto);
 
-        List<ChapterDTOs.ChapterResponseDto> chapterDtos = chaptersPage.getContent().stream().map(chapterMapper::toDto).collect(Collectors.toList());
+        return searchCounter.page(chapters, request.getCountMode(), CacheConstants.CHAPTER_COUNTS,
+                SearchCounter.key(title, status, courseId, fromDate, toDate),
+                () -> chapterRepository.countChapters(title, status, courseId, fromDate, toDate),
+                cap -> chapterRepository.countChaptersUpTo(title, status, courseId, fromDate, toDate, cap));
+    }
 
-        return new PageImpl<>(chapterDtos, pageable, chaptersPage.getTotalElements());
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationDto.CursorResponseDto<ChapterDTOs.ChapterResponseDto> scrollChapters(ChapterDTOs.ChapterSearchDTO request) {
+        log.info("Scrolling chapters with criteria: {}", request);
+        KeysetCursor.rejectCustomSort(request.getSort());
+        KeysetCursor after = KeysetCursor.decode(request.getCursor());
+
+        List<Chapter> chapters = chapterRepository.scrollChapters(
+                request.getTitle(),
+                request.getStatus() != null ? request.getStatus().name() : null,
+                request.getCourseId(),
+                request.getFromDate(),
+                request.getToDate(),
+                after != null ? after.intKey() : null,
+                after != null ? after.getId() : null,
+                request.getLimit() + 1
+        );
+        return KeysetCursor.window(chapters, request.getLimit(), Chapter::getOrder, Chapter::getId,
+                page -> page.stream().map(chapterMapper::toDto).toList());
     }
 
     @Override
@@ -350,10 +413,22 @@ public class ChapterServiceImpl implements IChapterService {
 
         // Update order numbers
         chapterRepository.reorderChapters(courseId);
+        eventPublisher.publishEvent(ChapterChangedEvent.allOf(courseId));
 
         log.info("Chapters reordered successfully");
     }
 
+    private void publishChaptersChanged(List<Chapter> chapters) {
+        chapters.stream()
+                .collect(Collectors.groupingBy(chapter -> chapter.getCourse().getId(),
+                        Collectors.mapping(Chapter::getId, Collectors.toList())))
+                .forEach((courseId, chapterIds) -> eventPublisher.publishEvent(new ChapterChangedEvent(courseId, chapterIds)));
+    }
+
+    private static List<Long> courseIdsOf(List<Chapter> chapters) {
+        return chapters.stream().map(chapter -> chapter.getCourse().getId()).distinct().toList();
+    }
+
     private void validateChapterOrder(Long courseId, Integer order) {
         var takenChapterOrder = chapterServiceUtils.validateChapterOrder(courseId, order);
         if (takenChapterOrder != null) {
@@ -1,6 +1,8 @@
 package com.online.course.management.project.service.impl;
 
+import com.online.course.management.project.constants.CacheConstants;
 import com.online.course.management.project.dto.CourseRatingDTOs;
+import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.CourseRating;
 import com.online.course.management.project.entity.User;
@@ -11,15 +13,21 @@ import com.online.course.management.project.repository.ICourseRatingRepository;
 import com.online.course.management.project.repository.ICourseRepository;
 import com.online.course.management.project.service.interfaces.ICourseRatingService;
 import com.online.course.management.project.utils.courserating.CourseRatingServiceUtils;
+import com.online.course.management.project.utils.pagination.KeysetCursor;
+import com.online.course.management.project.utils.pagination.SearchCounter;
 import com.online.course.management.project.utils.user.UserSecurityUtils;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @Slf4j
 public class CourseRatingServiceImpl implements ICourseRatingService {
@@ -29,6 +37,7 @@ public class CourseRatingServiceImpl implements ICourseRatingService {
     private final UserSecurityUtils userSecurityUtils;
     private final CourseRatingServiceUtils courseRatingServiceUtils;
     private final ICourseRepository courseRepository;
+    private final SearchCounter searchCounter;
 
     @Autowired
     public CourseRatingServiceImpl(
@@ -36,22 +45,26 @@ public class CourseRatingServiceImpl implements ICourseRatingService {
             CourseRatingMapper courseRatingMapper,
             UserSecurityUtils userSecurityUtils,
             CourseRatingServiceUtils courseRatingServiceUtils,
-            ICourseRepository courseRepository) {
+            ICourseRepository courseRepository,
+            SearchCounter searchCounter) {
         this.courseRatingRepository = courseRatingRepository;
         this.courseRatingMapper = courseRatingMapper;
         this.userSecurityUtils = userSecurityUtils;
         this.courseRatingServiceUtils = courseRatingServiceUtils;
         this.courseRepository = courseRepository;
+        this.searchCounter = searchCounter;
     }
 
     @Override
     @Transactional
+    // Enrollment searches filter on the average rating of the course
+    @CacheEvict(value = {CacheConstants.RATING_COUNTS, CacheConstants.ENROLLMENT_COUNTS}, allEntries = true)
     public CourseRatingDTOs.CourseRatingResponseDTO createCourseRating(CourseRatingDTOs.CourseRatingCreateDTO request) {
         log.info("Creating new course rating for course ID: {}", request.getCourseId());
 
-        var currentUser = userSecurityUtils.getCurrentUser();
+        Long currentUserId = userSecurityUtils.getCurrentUserId();
 
-        if (courseRatingRepository.existsByUserIdAndCourseId(currentUser.getId(), request.getCourseId())) {
+        if (courseRatingRepository.existsByUserIdAndCourseId(currentUserId, request.getCourseId())) {
             throw new IllegalArgumentException("User already rated this course");
         }
 
@@ -72,13 +85,14 @@ public class CourseRatingServiceImpl implements ICourseRatingService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {CacheConstants.RATING_COUNTS, CacheConstants.ENROLLMENT_COUNTS}, allEntries = true)
     public CourseRatingDTOs.CourseRatingResponseDTO updateCourseRating(CourseRatingDTOs.CourseRatingUpdateDTO request) {
         log.info("Updating course rating for course ID: {}", request.getCourseId());
 
-        var currentUser = userSecurityUtils.getCurrentUser();
+        Long currentUserId = userSecurityUtils.getCurrentUserId();
 
         CourseRating courseRating = courseRatingRepository
-                .findByUserIdAndCourseIdAndId(currentUser.getId(), request.getCourseId(), request.getId())
+                .findByUserIdAndCourseIdAndId(currentUserId, request.getCourseId(), request.getId())
                 .orElse(null);
 
         if (courseRating == null) {
@@ -112,18 +126,44 @@ public class CourseRatingServiceImpl implements ICourseRatingService {
                 courseRatingServiceUtils.createCourseRatingSort(request.getSort())
         );
 
-        return courseRatingRepository.searchRatings(
+        Long courseId = request.getCourseId();
+        Integer minRating = request.getMinRating();
+        Integer maxRating = request.getMaxRating();
+
+        Slice<CourseRatingDTOs.CourseRatingResponseDTO> ratings = courseRatingRepository.searchRatings(
+                courseId, minRating, maxRating, pageable
+        ).map(courseRatingMapper::toDto);
+
+        return searchCounter.page(ratings, request.getCountMode(), CacheConstants.RATING_COUNTS,
+                SearchCounter.key(courseId, minRating, maxRating),
+                () -> courseRatingRepository.countRatings(courseId, minRating, maxRating),
+                cap -> courseRatingRepository.countRatingsUpTo(courseId, minRating, maxRating, cap));
+    }
+
+    @Override
+    @Transactional
+    public PaginationDto.CursorResponseDto<CourseRatingDTOs.CourseRatingResponseDTO> scrollCourseRatings(
+            CourseRatingDTOs.CourseRatingSearchDTO request) {
+        KeysetCursor.rejectCustomSort(request.getSort());
+        KeysetCursor after = KeysetCursor.decode(request.getCursor());
+
+        List<CourseRating> ratings = courseRatingRepository.scrollRatings(
                 request.getCourseId(),
                 request.getMinRating(),
                 request.getMaxRating(),
-                pageable
-        ).map(courseRatingMapper::toDto);
+                after != null ? after.intKey() : null,
+                after != null ? after.getId() : null,
+                request.getLimit() + 1
+        );
+        return KeysetCursor.window(ratings, request.getLimit(), CourseRating::getRating, CourseRating::getId,
+                page -> page.stream().map(courseRatingMapper::toDto).toList());
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = {CacheConstants.RATING_COUNTS, CacheConstants.ENROLLMENT_COUNTS}, allEntries = true)
     public void deleteCourseRating(Long id) {
-        var currentUser = userSecurityUtils.getCurrentUser();
+        Long currentUserId = userSecurityUtils.getCurrentUserId();
 
         if (!courseRatingRepository.existsById(id)) {
             throw new IllegalArgumentException("Rating not found");
@@ -131,7 +171,7 @@ public class CourseRatingServiceImpl implements ICourseRatingService {
 
         CourseRating courseRatingToDelete = courseRatingRepository.findById(id).get();
 
-        if (!currentUser.getId().equals(courseRatingToDelete.getUser().getId())) {
+        if (!currentUserId.equals(courseRatingToDelete.getUser().getId())) {
             throw new ForbiddenException("User is not the owner of this rating");
         }
 
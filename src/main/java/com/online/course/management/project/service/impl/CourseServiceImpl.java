@@ -1,25 +1,36 @@
 package com.online.course.management.project.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.online.course.management.project.constants.CacheConstants;
 import com.online.course.management.project.dto.CourseDTOS;
+import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.entity.Category;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.User;
 import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.enums.TextSearchMode;
+import com.online.course.management.project.event.CourseChangedEvent;
 import com.online.course.management.project.exception.business.InvalidRequestException;
 import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.CourseMapper;
 import com.online.course.management.project.repository.ICourseRepository;
 import com.online.course.management.project.repository.IUserRepository;
 import com.online.course.management.project.service.interfaces.ICourseService;
+import com.online.course.management.project.utils.course.CourseAutocompleteIndex;
+import com.online.course.management.project.utils.course.CourseFacetIndex;
 import com.online.course.management.project.utils.course.CourseServiceUtils;
+import com.online.course.management.project.utils.pagination.KeysetCursor;
+import com.online.course.management.project.utils.pagination.SearchCounter;
+import com.online.course.management.project.utils.search.FullTextQuery;
+import com.online.course.management.project.utils.search.PrefixIndex;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,23 +46,33 @@ public class CourseServiceImpl implements ICourseService {
     private final IUserRepository userRepository;
     private final CourseMapper courseMapper;
     private final CourseServiceUtils courseServiceUtils;
-
+    private final ApplicationEventPublisher eventPublisher;
+    private final SearchCounter searchCounter;
+    private final CourseFacetIndex courseFacetIndex;
+    private final CourseAutocompleteIndex courseAutocompleteIndex;
 
     @Autowired
     public CourseServiceImpl(
             ICourseRepository courseRepository,
             IUserRepository userRepository,
             CourseMapper courseMapper,
-            CourseServiceUtils courseServiceUtils) {
+            CourseServiceUtils courseServiceUtils,
+            ApplicationEventPublisher eventPublisher,
+            SearchCounter searchCounter,
+            CourseFacetIndex courseFacetIndex,
+            CourseAutocompleteIndex courseAutocompleteIndex) {
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
         this.courseMapper = courseMapper;
         this.courseServiceUtils = courseServiceUtils;
+        this.eventPublisher = eventPublisher;
+        this.searchCounter = searchCounter;
+        this.courseFacetIndex = courseFacetIndex;
+        this.courseAutocompleteIndex = courseAutocompleteIndex;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "courses", allEntries = true)
     public CourseDTOS.CourseDetailsResponseDto createCourse(CourseDTOS.CreateCourseRequestDTO request) {
         log.info("Creating new course with title: {}", request.getTitle());
 
@@ -75,12 +96,12 @@ public class CourseServiceImpl implements ICourseService {
         }
 
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(savedCourse.getId()));
         return courseMapper.toDto(savedCourse);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "courses", key = "#id")
     public CourseDTOS.CourseDetailsResponseDto updateCourse(Long id, CourseDTOS.UpdateCourseRequestDTO request) {
         log.info("Updating course with id: {}", id);
 
@@ -115,12 +136,12 @@ public class CourseServiceImpl implements ICourseService {
         }
 
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
         return courseMapper.toDto(updatedCourse);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "courses", key = "#id")
     public void archiveCourse(Long id) {
         log.info("Archiving course with id: {}", id);
         Course course = courseServiceUtils.getCourseWithValidation(id);
@@ -132,11 +153,11 @@ public class CourseServiceImpl implements ICourseService {
         courseRepository.archiveCourse(id);
         courseRepository.archiveFollowingChapters(id);
         courseRepository.archiveFollowingLessons(id);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "courses", key = "#id")
     public void unarchiveCourse(Long id) {
         log.info("Unarchiving course with id: {}", id);
 
@@ -149,11 +170,12 @@ public class CourseServiceImpl implements ICourseService {
         courseRepository.unarchiveCourse(id);
         courseRepository.unarchiveFollowingChapters(id);
         courseRepository.unarchiveFollowingLessons(id);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "courses", key = "#id")
+    @Cacheable(value = CacheConstants.COURSES, key = "#id", sync = true)
     public CourseDTOS.CourseDetailsResponseDto getCourseById(Long id) {
         log.info("Fetching course with id: {}", id);
         Course course = courseServiceUtils.GetCourseWithoutValidation(id);
@@ -167,6 +189,12 @@ public class CourseServiceImpl implements ICourseService {
             Pageable pageable) {
         log.info("Searching courses with criteria: {}", request);
 
+        // FULLTEXT mode: a term with no indexable word keeps its LIKE; with no term left it is the CONTAINS search
+        boolean fullText = request.getSearchMode() == TextSearchMode.FULLTEXT;
+        String titleMatch = fullText ? FullTextQuery.booleanMode(request.getTitle()) : FullTextQuery.NONE;
+        String instructorMatch = fullText ? FullTextQuery.booleanMode(request.getInstructorName()) : FullTextQuery.NONE;
+        boolean ranked = !titleMatch.equals(FullTextQuery.NONE) || !instructorMatch.equals(FullTextQuery.NONE);
+
         // Validate and create sort if provided in request
         if (request.getSort() != null && !request.getSort().isEmpty()) {
             courseServiceUtils.validateSortFields(request.getSort());
@@ -176,15 +204,112 @@ public class CourseServiceImpl implements ICourseService {
                     courseServiceUtils.createSort(request.getSort())
             );
         } else {
-            // Use default sort if none provided
+            // Use relevance, or the default sort, if none provided
             pageable = PageRequest.of(
                     pageable.getPageNumber(),
                     pageable.getPageSize(),
-                    courseServiceUtils.handleCreateDefaultSort()
+                    ranked ? courseServiceUtils.createRelevanceSort() : courseServiceUtils.handleCreateDefaultSort()
             );
         }
 
-        return courseRepository.searchCourses(
+        if (ranked) {
+            return searchCoursesFullText(request, titleMatch, instructorMatch, pageable);
+        }
+
+        String title = request.getTitle();
+        String status = request.getStatus() != null ? request.getStatus().name() : null;
+        String instructorName = request.getInstructorName();
+        LocalDateTime fromDate = request.getFromDate();
+        LocalDateTime toDate = request.getToDate();
+        Set<Long> categoryIds = request.getCategoryIds();
+        Boolean includeArchived = request.getIncludeArchived();
+
+        Slice<CourseDTOS.CourseDetailsResponseDto> courses = courseRepository.searchCourses(
+                title, status, instructorName, fromDate, toDate, categoryIds, includeArchived, pageable
+        ).map(courseMapper::toDto);
+
+        return searchCounter.page(courses, request.getCountMode(), CacheConstants.COURSE_COUNTS,
+                SearchCounter.key(title, status, instructorName, fromDate, toDate, categoryIds, includeArchived),
+                () -> courseRepository.countCourses(
+                        title, status, instructorName, fromDate, toDate, categoryIds, includeArchived),
+                cap -> courseRepository.countCoursesUpTo(
+                        title, status, instructorName, fromDate, toDate, categoryIds, includeArchived, cap));
+    }
+
+    private Page<CourseDTOS.CourseDetailsResponseDto> searchCoursesFullText(
+            CourseDTOS.SearchCourseRequestDTO request,
+            String titleMatch,
+            String instructorMatch,
+            Pageable pageable) {
+        String titleLike = FullTextQuery.likeFallback(request.getTitle(), titleMatch);
+        String instructorLike = FullTextQuery.likeFallback(request.getInstructorName(), instructorMatch);
+        String status = request.getStatus() != null ? request.getStatus().name() : null;
+        LocalDateTime fromDate = request.getFromDate();
+        LocalDateTime toDate = request.getToDate();
+        Set<Long> categoryIds = request.getCategoryIds();
+        Boolean includeArchived = request.getIncludeArchived();
+
+        Slice<CourseDTOS.CourseDetailsResponseDto> courses = courseRepository.searchCoursesFullText(
+                titleMatch, titleLike, status, instructorMatch, instructorLike,
+                fromDate, toDate, categoryIds, includeArchived, pageable
+        ).map(courseMapper::toDto);
+
+        return searchCounter.page(courses, request.getCountMode(), CacheConstants.COURSE_COUNTS,
+                SearchCounter.key(titleMatch, titleLike, status, instructorMatch, instructorLike,
+                        fromDate, toDate, categoryIds, includeArchived),
+                () -> courseRepository.countCoursesFullText(titleMatch, titleLike, status, instructorMatch,
+                        instructorLike, fromDate, toDate, categoryIds, includeArchived),
+                cap -> courseRepository.countCoursesFullTextUpTo(titleMatch, titleLike, status, instructorMatch,
+                        instructorLike, fromDate, toDate, categoryIds, includeArchived, cap));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CourseDTOS.FacetedSearchCourseResponseDTO searchCoursesFaceted(
+            CourseDTOS.FacetedSearchCourseRequestDTO request) {
+        log.info("Faceted course search with criteria: {}", request);
+        Pageable pageable = request.toPageable();
+
+        // The index filters, pages and counts; only the courses of the page are loaded
+        CourseFacetIndex.Result result = courseFacetIndex.search(
+                request, (int) pageable.getOffset(), pageable.getPageSize());
+        Map<Long, CourseDTOS.CourseDetailsResponseDto> coursesById = result.ids().isEmpty()
+                ? Map.of()
+                : courseRepository.findAllWithDetailsByIdIn(result.ids()).stream()
+                .collect(Collectors.toMap(Course::getId, courseMapper::toDto));
+        List<CourseDTOS.CourseDetailsResponseDto> courses = result.ids().stream()
+                .map(coursesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new CourseDTOS.FacetedSearchCourseResponseDTO(
+                new PaginationDto.PaginationResponseDto<>(
+                        courses, pageable.getPageNumber() + 1, pageable.getPageSize(), result.total()),
+                result.facets()
+        );
+    }
+
+    @Override
+    public CourseDTOS.AutocompleteResponseDTO autocomplete(CourseDTOS.AutocompleteRequestDTO request) {
+        // Called on every keystroke, so answered from memory without a transaction
+        CourseAutocompleteIndex.Suggestions suggestions =
+                courseAutocompleteIndex.complete(request.getQuery(), request.getLimit());
+        return new CourseDTOS.AutocompleteResponseDTO(
+                toSuggestions(suggestions.courses()),
+                toSuggestions(suggestions.categories()),
+                toSuggestions(suggestions.instructors())
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationDto.CursorResponseDto<CourseDTOS.CourseDetailsResponseDto> scrollCourses(
+            CourseDTOS.SearchCourseRequestDTO request) {
+        log.info("Scrolling courses with criteria: {}", request);
+        KeysetCursor.rejectCustomSort(request.getSort());
+        KeysetCursor after = KeysetCursor.decode(request.getCursor());
+
+        List<Course> courses = courseRepository.scrollCourses(
                 request.getTitle(),
                 request.getStatus() != null ? request.getStatus().name() : null,
                 request.getInstructorName(),
@@ -192,8 +317,12 @@ public class CourseServiceImpl implements ICourseService {
                 request.getToDate(),
                 request.getCategoryIds(),
                 request.getIncludeArchived(),
-                pageable
-        ).map(courseMapper::toDto);
+                after != null ? after.dateTimeKey() : null,
+                after != null ? after.getId() : null,
+                request.getLimit() + 1
+        );
+        return KeysetCursor.window(courses, request.getLimit(), Course::getCreatedAt, Course::getId,
+                page -> page.stream().map(courseMapper::toDto).toList());
     }
 
     @Override
@@ -240,7 +369,7 @@ public class CourseServiceImpl implements ICourseService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "latestCourses", key = "#limit")
+    @Cacheable(value = CacheConstants.LATEST_COURSES, key = "#limit", sync = true)
     public List<CourseDTOS.CourseDetailsResponseDto> getLatestCourses(int limit) {
         log.info("Fetching latest {} courses", limit);
         return courseRepository.findLatestCourses(limit)
@@ -248,4 +377,10 @@ public class CourseServiceImpl implements ICourseService {
                 .map(courseMapper::toDto)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    private static List<CourseDTOS.AutocompleteSuggestionDTO> toSuggestions(List<PrefixIndex.Entry> entries) {
+        return entries.stream()
+                .map(entry -> new CourseDTOS.AutocompleteSuggestionDTO(entry.id(), entry.label(), entry.popularity()))
+                .toList();
+    }
+}
@@ -1,29 +1,42 @@
 package com.online.course.management.project.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.online.course.management.project.constants.CacheConstants;
 import com.online.course.management.project.dto.LessonDTOs;
+import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.entity.Chapter;
 import com.online.course.management.project.entity.Lesson;
 import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.event.LessonChangedEvent;
 import com.online.course.management.project.exception.business.InvalidRequestException;
 import com.online.course.management.project.mapper.LessonMapper;
 import com.online.course.management.project.repository.ILessonRepository;
 import com.online.course.management.project.service.interfaces.ILessonService;
 import com.online.course.management.project.utils.chapter.ChapterServiceUtils;
+import com.online.course.management.project.utils.lesson.LessonSearchIndex;
 import com.online.course.management.project.utils.lesson.LessonServiceUtils;
+import com.online.course.management.project.utils.pagination.KeysetCursor;
+import com.online.course.management.project.utils.pagination.SearchCounter;
+import com.online.course.management.project.utils.usercourse.EnrollmentProgressRecounter;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -33,13 +46,21 @@ public class LessonServiceImpl implements ILessonService {
     private final LessonMapper lessonMapper;
     private final LessonServiceUtils lessonServiceUtils;
     private final ChapterServiceUtils chapterServiceUtils;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SearchCounter searchCounter;
+    private final LessonSearchIndex lessonSearchIndex;
+    private final EnrollmentProgressRecounter enrollmentProgressRecounter;
 
     @Autowired
-    public LessonServiceImpl(ILessonRepository lessonRepository, LessonMapper lessonMapper, LessonServiceUtils lessonServiceUtils, ChapterServiceUtils chapterServiceUtils) {
+    public LessonServiceImpl(ILessonRepository lessonRepository, LessonMapper lessonMapper, LessonServiceUtils lessonServiceUtils, ChapterServiceUtils chapterServiceUtils, ApplicationEventPublisher eventPublisher, SearchCounter searchCounter, LessonSearchIndex lessonSearchIndex, EnrollmentProgressRecounter enrollmentProgressRecounter) {
         this.lessonRepository = lessonRepository;
         this.lessonMapper = lessonMapper;
         this.lessonServiceUtils = lessonServiceUtils;
         this.chapterServiceUtils = chapterServiceUtils;
+        this.eventPublisher = eventPublisher;
+        this.searchCounter = searchCounter;
+        this.lessonSearchIndex = lessonSearchIndex;
+        this.enrollmentProgressRecounter = enrollmentProgressRecounter;
     }
 
 
@@ -67,6 +88,8 @@ public class LessonServiceImpl implements ILessonService {
         lessonToCreate.setChapter(chapter);
 
         Lesson savedLesson = lessonRepository.save(lessonToCreate);
+        enrollmentProgressRecounter.lessonsAdded(List.of(chapter.getCourse().getId()));
+        eventPublisher.publishEvent(new LessonChangedEvent(List.of(chapter.getId())));
         return lessonMapper.toDto(savedLesson);
     }
 
@@ -103,6 +126,8 @@ public class LessonServiceImpl implements ILessonService {
         chapter.setLessons(lessons);
 
         List<Lesson> savedLessons = lessonRepository.saveAll(lessons);
+        enrollmentProgressRecounter.lessonsAdded(List.of(chapter.getCourse().getId()));
+        eventPublisher.publishEvent(new LessonChangedEvent(List.of(chapter.getId())));
 
         return savedLessons.stream().map(lessonMapper::toDto).toList();
     }
@@ -145,6 +170,7 @@ public class LessonServiceImpl implements ILessonService {
         lessonMapper.updateLessonFromDto(request, lessonToUpdate);
 
         Lesson savedLesson = lessonRepository.save(lessonToUpdate);
+        eventPublisher.publishEvent(new LessonChangedEvent(List.of(lessonToUpdate.getChapter().getId())));
         return lessonMapper.toDto(savedLesson);
     }
 
@@ -214,6 +240,7 @@ public class LessonServiceImpl implements ILessonService {
         }
 
         List<Lesson> savedLessons = lessonRepository.saveAll(lessonsToUpdate);
+        publishLessonsChanged(lessonsToUpdate);
 
         return savedLessons.stream().map(lessonMapper::toDto).toList();
     }
@@ -231,6 +258,9 @@ public class LessonServiceImpl implements ILessonService {
         }
 
         lessonRepository.batchSoftDeleteLessons(List.of(id));
+        enrollmentProgressRecounter.lessonsRemovedOrRestored(
+                List.of(lessonToDelete.getChapter().getCourse().getId()), List.of(id));
+        eventPublisher.publishEvent(new LessonChangedEvent(List.of(lessonToDelete.getChapter().getId())));
 
         log.info("Deleted lesson with ID: {}", id);
     }
@@ -249,6 +279,8 @@ public class LessonServiceImpl implements ILessonService {
         }
 
         lessonRepository.batchSoftDeleteLessons(ids);
+        enrollmentProgressRecounter.lessonsRemovedOrRestored(courseIdsOf(lessonsToDelete), ids);
+        publishLessonsChanged(lessonsToDelete);
 
         log.info("Successfully deleted {} lessons", ids.size());
     }
@@ -266,6 +298,9 @@ public class LessonServiceImpl implements ILessonService {
         }
 
         lessonRepository.batchRestoreLessons(List.of(id));
+        enrollmentProgressRecounter.lessonsRemovedOrRestored(
+                List.of(lessonToRestore.getChapter().getCourse().getId()), List.of(id));
+        eventPublisher.publishEvent(new LessonChangedEvent(List.of(lessonToRestore.getChapter().getId())));
 
         log.info("Restored lesson with ID: {}", id);
     }
@@ -284,6 +319,8 @@ public class LessonServiceImpl implements ILessonService {
         }
 
         lessonRepository.batchRestoreLessons(ids);
+        enrollmentProgressRecounter.lessonsRemovedOrRestored(courseIdsOf(lessonsToRestore), ids);
+        publishLessonsChanged(lessonsToRestore);
 
         log.info("Successfully restored {} lessons", ids.size());
     }
@@ -293,6 +330,10 @@ public class LessonServiceImpl implements ILessonService {
     public Page<LessonDTOs.LessonDetailResponseDto> searchLessons(LessonDTOs.LessonSearchDTO request) {
         log.info("Searching lessons with criteria: {}", request);
 
+        if (request.getQuery() != null && !request.getQuery().isBlank()) {
+            return searchLessonIndex(request);
+        }
+
         Pageable pageable = null;
 
         // Validate and create sort if provided
@@ -310,16 +351,67 @@ public class LessonServiceImpl implements ILessonService {
         List<Long> courseIds = request.getCourseIds() != null ? request.getCourseIds() : Collections.emptyList();
         List<Long> chapterIds = request.getChapterIds() != null ? request.getChapterIds() : Collections.emptyList();
 
-        return lessonRepository.searchLessons(
+        String title = request.getTitle();
+        String status = request.getStatus() != null ? request.getStatus().name() : null;
+        String type = request.getType() != null ? request.getType().name() : null;
+        LocalDateTime fromDate = request.getFromDate();
+        LocalDateTime toDate = request.getToDate();
+
+        Slice<LessonDTOs.LessonDetailResponseDto> lessons = lessonRepository.searchLessons(
+                title, status, courseIds, chapterIds, type, fromDate, toDate, pageable
+        ).map(lessonMapper::toDetailDto);
+
+        return searchCounter.page(lessons, request.getCountMode(), CacheConstants.LESSON_COUNTS,
+                SearchCounter.key(title, status, courseIds, chapterIds, type, fromDate, toDate),
+                () -> lessonRepository.countLessons(title, status, courseIds, chapterIds, type, fromDate, toDate),
+                cap -> lessonRepository.countLessonsUpTo(title, status, courseIds, chapterIds, type, fromDate, toDate, cap));
+    }
+
+    // Full-text search: the index ranks and pages the ids, then only the lessons of the page are loaded
+    private Page<LessonDTOs.LessonDetailResponseDto> searchLessonIndex(LessonDTOs.LessonSearchDTO request) {
+        if (request.getSort() != null && !request.getSort().isEmpty()) {
+            throw new InvalidRequestException("Sorting is not supported with query, lessons are ordered by relevance");
+        }
+        Pageable pageable = PageRequest.of(request.getPage() - 1, request.getLimit());
+
+        LessonSearchIndex.Hits hits = lessonSearchIndex.search(
+                request, (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+
+        Map<Long, Lesson> lessonsById = lessonRepository.findAllWithChapterAndCourseByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(Lesson::getId, Function.identity()));
+        // A lesson deleted or archived since the index was last updated is left out
+        List<LessonDTOs.LessonDetailResponseDto> lessons = hits.ids().stream()
+                .map(lessonsById::get)
+                .filter(Objects::nonNull)
+                .map(lessonMapper::toDetailDto)
+                .toList();
+        return new PageImpl<>(lessons, pageable, hits.total());
+    }
+
+    @Override
+    @Transactional
+    public PaginationDto.CursorResponseDto<LessonDTOs.LessonDetailResponseDto> scrollLessons(LessonDTOs.LessonSearchDTO request) {
+        log.info("Scrolling lessons with criteria: {}", request);
+        KeysetCursor.rejectCustomSort(request.getSort());
+        KeysetCursor after = KeysetCursor.decode(request.getCursor());
+
+        List<Lesson> lessons = lessonRepository.scrollLessons(
                 request.getTitle(),
                 request.getStatus() != null ? request.getStatus().name() : null,
-                courseIds,
-                chapterIds,
+                request.getCourseIds() != null ? request.getCourseIds() : Collections.emptyList(),
+                request.getChapterIds() != null ? request.getChapterIds() : Collections.emptyList(),
                 request.getType() != null ? request.getType().name() : null,
                 request.getFromDate(),
                 request.getToDate(),
-                pageable
-        ).map(lessonMapper::toDetailDto);
+                after != null ? after.dateTimeKey() : null,
+                after != null ? after.getId() : null,
+                request.getLimit() + 1
+        );
+        return KeysetCursor.window(lessons, request.getLimit(), Lesson::getCreatedAt, Lesson::getId,
+                page -> page.stream().map(lessonMapper::toDetailDto).toList());
     }
 
     @Override
@@ -335,7 +427,17 @@ public class LessonServiceImpl implements ILessonService {
         chapterServiceUtils.validateChapterAccess(chapter);
 
         lessonRepository.reorderLessons(chapterId);
+        eventPublisher.publishEvent(new LessonChangedEvent(List.of(chapterId)));
 
         log.info("Lessons reordered successfully");
     }
+
+    private void publishLessonsChanged(List<Lesson> lessons) {
+        List<Long> chapterIds = lessons.stream().map(lesson -> lesson.getChapter().getId()).distinct().toList();
+        eventPublisher.publishEvent(new LessonChangedEvent(chapterIds));
+    }
+
+    private static List<Long> courseIdsOf(List<Lesson> lessons) {
+        return lessons.stream().map(lesson -> lesson.getChapter().getCourse().getId()).distinct().toList();
+    }
 }
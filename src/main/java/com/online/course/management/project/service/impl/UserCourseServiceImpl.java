@@ -1,29 +1,42 @@
 package com.online.course.management.project.service.impl;
 
+import com.online.course.management.project.config.ProgressProperties;
+import com.online.course.management.project.constants.CacheConstants;
 import com.online.course.management.project.dto.UserCourseDTOs;
+import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.User;
 import com.online.course.management.project.entity.UserCourse;
 import com.online.course.management.project.enums.EnrollmentStatus;
+import com.online.course.management.project.enums.ProgressStore;
 import com.online.course.management.project.exception.business.ForbiddenException;
 import com.online.course.management.project.exception.business.InvalidRequestException;
 import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.UserCourseMapper;
 import com.online.course.management.project.repository.ICourseRepository;
+import com.online.course.management.project.repository.ILessonRepository;
 import com.online.course.management.project.repository.IUserCourseRepository;
+import com.online.course.management.project.repository.IUserLessonProgressRepository;
 import com.online.course.management.project.repository.IUserRepository;
 import com.online.course.management.project.service.interfaces.IUserCourseService;
 import com.online.course.management.project.utils.user.UserSecurityUtils;
+import com.online.course.management.project.utils.pagination.KeysetCursor;
+import com.online.course.management.project.utils.pagination.SearchCounter;
 import com.online.course.management.project.utils.usercourse.UserCourseServiceUtils;
+import com.online.course.management.project.utils.userlessonprogress.CourseLessonIndex;
+import com.online.course.management.project.utils.userlessonprogress.LessonProgressBitmap;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,27 +45,42 @@ import java.util.Optional;
 public class UserCourseServiceImpl implements IUserCourseService {
 
     private final IUserCourseRepository userCourseRepository;
+    private final IUserLessonProgressRepository userLessonProgressRepository;
+    private final ILessonRepository lessonRepository;
     private final IUserRepository userRepository;
     private final ICourseRepository courseRepository;
     private final UserCourseMapper userCourseMapper;
     private final UserCourseServiceUtils userCourseServiceUtils;
     private final UserSecurityUtils userSecurityUtils;
+    private final SearchCounter searchCounter;
+    private final ProgressProperties progressProperties;
 
+    // "lazy" creates progress rows when a lesson is first started, "eager" creates one per lesson on enrollment
+    @Value("${progress.materialization:lazy}")
+    private String progressMaterialization;
 
     @Autowired
     public UserCourseServiceImpl(
             IUserCourseRepository userCourseRepository,
+            IUserLessonProgressRepository userLessonProgressRepository,
+            ILessonRepository lessonRepository,
             IUserRepository IUserRepository,
             ICourseRepository courseRepository,
             UserCourseMapper userCourseMapper,
             UserCourseServiceUtils userCourseServiceUtils,
-            UserSecurityUtils userSecurityUtils) {
+            UserSecurityUtils userSecurityUtils,
+            SearchCounter searchCounter,
+            ProgressProperties progressProperties) {
         this.userCourseRepository = userCourseRepository;
+        this.userLessonProgressRepository = userLessonProgressRepository;
+        this.lessonRepository = lessonRepository;
         this.userRepository = IUserRepository;
         this.courseRepository = courseRepository;
         this.userCourseMapper = userCourseMapper;
         this.userCourseServiceUtils = userCourseServiceUtils;
         this.userSecurityUtils = userSecurityUtils;
+        this.searchCounter = searchCounter;
+        this.progressProperties = progressProperties;
     }
 
 
@@ -60,11 +88,11 @@ public class UserCourseServiceImpl implements IUserCourseService {
     @Transactional
     public UserCourseDTOs.UserCourseResponseDto enrollInCourse(UserCourseDTOs.UserCourseRequestDTO request) {
 
-        var currentUser = userSecurityUtils.getCurrentUser();
+        Long currentUserId = userSecurityUtils.getCurrentUserId();
 
-        userCourseServiceUtils.validateEnrollment(currentUser.getId(), request.getCourseId());
+        userCourseServiceUtils.validateEnrollment(currentUserId, request.getCourseId());
 
-        Optional<User> requestUser = userRepository.findById(currentUser.getId());
+        Optional<User> requestUser = userRepository.findById(currentUserId);
         Optional<Course> requestCourse = courseRepository.findById(request.getCourseId());
 
         if (requestUser.isEmpty()) {
@@ -72,9 +100,15 @@ public class UserCourseServiceImpl implements IUserCourseService {
         }
         // Convert payload request to entity
         UserCourse convertedUserCourse = userCourseMapper.toEntity(requestUser.get(), requestCourse.get());
+        convertedUserCourse.setTotalLessons(userCourseRepository.countEnrollableLessons(request.getCourseId()));
 
         // Save the entity
         UserCourse savedUserCourse = userCourseRepository.save(convertedUserCourse);
+        searchCounter.evictScope(CacheConstants.ENROLLMENT_COUNTS, currentUserId);
+
+        if ("eager".equalsIgnoreCase(progressMaterialization)) {
+            userLessonProgressRepository.insertNotStartedProgress(currentUserId, request.getCourseId());
+        }
 
         return userCourseMapper.toDto(savedUserCourse);
     }
@@ -83,9 +117,9 @@ public class UserCourseServiceImpl implements IUserCourseService {
     @Transactional
     public UserCourseDTOs.UserCourseResponseDto getEnrollmentDetails(Long courseId) {
 
-        var currentUser = userSecurityUtils.getCurrentUser();
+        Long currentUserId = userSecurityUtils.getCurrentUserId();
 
-        var userCourse = userCourseRepository.findByUserIdAndCourseId(currentUser.getId(), courseId);
+        var userCourse = userCourseRepository.findByUserIdAndCourseId(currentUserId, courseId);
 
         if (userCourse == null) {
             throw new ResourceNotFoundException("User or course not found");
@@ -99,7 +133,7 @@ public class UserCourseServiceImpl implements IUserCourseService {
     public Page<UserCourseDTOs.UserCourseResponseDto> searchUserEnrollments(UserCourseDTOs.UserCourseSearchDTO request) {
         log.info("Searching chapters with criteria: {}", request);
 
-        var currentUser = userSecurityUtils.getCurrentUser();
+        Long currentUserId = userSecurityUtils.getCurrentUserId();
 
         // Validate and create sort if provided
         if (request.getSort() != null) {
@@ -111,8 +145,41 @@ public class UserCourseServiceImpl implements IUserCourseService {
 
         log.info("Searching user enrollments with criteria: {}", request);
 
-        Page<UserCourse> userCoursesPage = userCourseRepository.searchUserEnrollments(
-                currentUser.getId(),
+        String name = request.getName();
+        String status = request.getStatus() != null ? request.getStatus().name() : null;
+        String instructorName = request.getInstructorName();
+        LocalDateTime fromDate = request.getFromDate();
+        LocalDateTime toDate = request.getToDate();
+        Double minRating = request.getMinRating();
+        Double maxRating = request.getMaxRating();
+        Integer totalLessons = request.getTotalLessons();
+
+        Slice<UserCourse> userCoursesSlice = userCourseRepository.searchUserEnrollments(currentUserId,
+                name, status, instructorName, fromDate, toDate, minRating, maxRating, totalLessons, pageable);
+
+        List<UserCourseDTOs.UserCourseResponseDto> userCourseListDtos = userCourseMapper.toDtoList(userCoursesSlice.getContent());
+
+        log.info(userCourseListDtos.toString());
+
+        return searchCounter.page(new SliceImpl<>(userCourseListDtos, pageable, userCoursesSlice.hasNext()),
+                request.getCountMode(), CacheConstants.ENROLLMENT_COUNTS, currentUserId,
+                SearchCounter.key(name, status, instructorName, fromDate, toDate, minRating, maxRating, totalLessons),
+                () -> userCourseRepository.countUserEnrollments(currentUserId,
+                        name, status, instructorName, fromDate, toDate, minRating, maxRating, totalLessons),
+                cap -> userCourseRepository.countUserEnrollmentsUpTo(currentUserId,
+                        name, status, instructorName, fromDate, toDate, minRating, maxRating, totalLessons, cap));
+    }
+
+    @Override
+    @Transactional
+    public PaginationDto.CursorResponseDto<UserCourseDTOs.UserCourseResponseDto> scrollUserEnrollments(
+            UserCourseDTOs.UserCourseSearchDTO request) {
+        log.info("Scrolling user enrollments with criteria: {}", request);
+        KeysetCursor.rejectCustomSort(request.getSort());
+        KeysetCursor after = KeysetCursor.decode(request.getCursor());
+
+        List<UserCourse> userCourses = userCourseRepository.scrollUserEnrollments(
+                userSecurityUtils.getCurrentUserId(),
                 request.getName(),
                 request.getStatus() != null ? request.getStatus().name() : null,
                 request.getInstructorName(),
@@ -121,27 +188,26 @@ public class UserCourseServiceImpl implements IUserCourseService {
                 request.getMinRating(),
                 request.getMaxRating(),
                 request.getTotalLessons(),
-                pageable);
-
-        List<UserCourseDTOs.UserCourseResponseDto> userCourseListDtos = userCoursesPage.getContent().stream().map(userCourseMapper::toDto).toList();
-
-        log.info(userCourseListDtos.toString());
-
-        return new PageImpl<>(userCourseListDtos, pageable, userCoursesPage.getTotalElements());
+                after != null ? after.dateTimeKey() : null,
+                after != null ? after.getId() : null,
+                request.getLimit() + 1
+        );
+        return KeysetCursor.window(userCourses, request.getLimit(), UserCourse::getEnrollmentDate, UserCourse::getId,
+                userCourseMapper::toDtoList);
     }
 
     @Override
     @Transactional
     public void dropEnrollment(Long courseId) {
-        var currentUser = userSecurityUtils.getCurrentUser();
+        Long currentUserId = userSecurityUtils.getCurrentUserId();
 
-        var userCourse = userCourseRepository.findByUserIdAndCourseId(currentUser.getId(), courseId);
+        var userCourse = userCourseRepository.findByUserIdAndCourseId(currentUserId, courseId);
 
         if (userCourse == null) {
             throw new ResourceNotFoundException("User or course not found");
         }
 
-        if (!currentUser.getId().equals(userCourse.getUser().getId()) && !userSecurityUtils.isAdmin()) {
+        if (!currentUserId.equals(userCourse.getUser().getId()) && !userSecurityUtils.isAdmin()) {
             throw new ForbiddenException("You don't have permission to drop this course");
         }
 
@@ -153,23 +219,25 @@ public class UserCourseServiceImpl implements IUserCourseService {
             throw new InvalidRequestException("Course is already dropped");
         }
 
-        userCourseRepository.dropRelevantProgress(currentUser.getId(), courseId);
+        userCourseRepository.dropRelevantProgress(currentUserId, courseId);
+        userCourseRepository.dropEnrollmentCounters(currentUserId, courseId);
+        searchCounter.evictScope(CacheConstants.ENROLLMENT_COUNTS, currentUserId);
 
-        log.info("User {} dropped from course {}", currentUser.getId(), courseId);
+        log.info("User {} dropped from course {}", currentUserId, courseId);
     }
 
     @Override
     @Transactional
     public void resumeEnrollment(Long courseId) {
-        var currentUser = userSecurityUtils.getCurrentUser();
+        Long currentUserId = userSecurityUtils.getCurrentUserId();
 
-        var userCourse = userCourseRepository.findByUserIdAndCourseId(currentUser.getId(), courseId);
+        var userCourse = userCourseRepository.findByUserIdAndCourseId(currentUserId, courseId);
 
         if (userCourse == null) {
             throw new ResourceNotFoundException("User or course not found");
         }
 
-        if (!currentUser.getId().equals(userCourse.getUser().getId()) && !userSecurityUtils.isAdmin()) {
+        if (!currentUserId.equals(userCourse.getUser().getId()) && !userSecurityUtils.isAdmin()) {
             throw new ForbiddenException("You don't have permission to resume this course");
         }
 
@@ -177,8 +245,19 @@ public class UserCourseServiceImpl implements IUserCourseService {
             throw new InvalidRequestException("Cannot resume course");
         }
 
-        userCourseRepository.resumeRelevantProgress(currentUser.getId(), courseId);
+        if (progressProperties.getStore() == ProgressStore.BITMAP) {
+            // No progress rows to recount; only lessons that are still active count, as on every bitmap update
+            CourseLessonIndex index = CourseLessonIndex.of(lessonRepository.findCourseLessonSlots(courseId));
+            LessonProgressBitmap bitmap = LessonProgressBitmap.decode(
+                    userCourse.getCompletedLessonsBitmap(), userCourse.getInProgressLessonsBitmap());
+            userCourseRepository.resumeEnrollmentCountersFromBitmaps(currentUserId, courseId,
+                    index.countActive(bitmap.inProgress()), index.countActive(bitmap.completed()));
+        } else {
+            userCourseRepository.resumeRelevantProgress(currentUserId, courseId);
+            userCourseRepository.resumeEnrollmentCounters(currentUserId, courseId);
+        }
+        searchCounter.evictScope(CacheConstants.ENROLLMENT_COUNTS, currentUserId);
 
-        log.info("User {} resumed from course {}", currentUser.getId(), courseId);
+        log.info("User {} resumed from course {}", currentUserId, courseId);
     }
 }
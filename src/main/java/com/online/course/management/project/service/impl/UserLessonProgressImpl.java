@@ -1,31 +1,56 @@
 package com.online.course.management.project.service.impl;
 
+import com.online.course.management.project.config.ConditionalOnProgressStore;
+import com.online.course.management.project.constants.CacheConstants;
 import com.online.course.management.project.dto.UserLessonProgressDtos;
 import com.online.course.management.project.entity.UserLessonProgress;
 import com.online.course.management.project.enums.ProgressStatus;
+import com.online.course.management.project.enums.ProgressStore;
 import com.online.course.management.project.exception.business.InvalidRequestException;
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.UserLessonProgressMapper;
+import com.online.course.management.project.repository.IUserCourseRepository;
 import com.online.course.management.project.repository.IUserLessonProgressRepository;
 import com.online.course.management.project.service.interfaces.IUserLessonProgressService;
+import com.online.course.management.project.utils.course.CourseOutline;
+import com.online.course.management.project.utils.course.CourseOutlineSnapshots;
+import com.online.course.management.project.utils.pagination.SearchCounter;
 import com.online.course.management.project.utils.user.UserSecurityUtils;
+import com.online.course.management.project.utils.userlessonprogress.CourseProgressRollups;
+import com.online.course.management.project.utils.userlessonprogress.LessonProgressBatchValidator;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@ConditionalOnProgressStore(ProgressStore.ROWS)
 public class UserLessonProgressImpl implements IUserLessonProgressService {
 
     private final IUserLessonProgressRepository userLessonProgressRepository;
+    private final IUserCourseRepository userCourseRepository;
     private final UserLessonProgressMapper userLessonProgressMapper;
     private final UserSecurityUtils userSecurityUtils;
+    private final LessonProgressBatchValidator lessonProgressBatchValidator;
+    private final SearchCounter searchCounter;
+    private final CourseOutlineSnapshots courseOutlineSnapshots;
 
     @Autowired
-    public UserLessonProgressImpl(IUserLessonProgressRepository userLessonProgressRepository, UserLessonProgressMapper userLessonProgressMapper, UserSecurityUtils userSecurityUtils) {
+    public UserLessonProgressImpl(IUserLessonProgressRepository userLessonProgressRepository, IUserCourseRepository userCourseRepository, UserLessonProgressMapper userLessonProgressMapper, UserSecurityUtils userSecurityUtils, LessonProgressBatchValidator lessonProgressBatchValidator, SearchCounter searchCounter, CourseOutlineSnapshots courseOutlineSnapshots) {
         this.userLessonProgressRepository = userLessonProgressRepository;
+        this.userCourseRepository = userCourseRepository;
         this.userLessonProgressMapper = userLessonProgressMapper;
         this.userSecurityUtils = userSecurityUtils;
+        this.lessonProgressBatchValidator = lessonProgressBatchValidator;
+        this.searchCounter = searchCounter;
+        this.courseOutlineSnapshots = courseOutlineSnapshots;
     }
 
 
@@ -33,10 +58,22 @@ public class UserLessonProgressImpl implements IUserLessonProgressService {
     @Transactional
     public UserLessonProgressDtos.LessonProgressResponseDTO startLearningLesson(UserLessonProgressDtos.UpdateStatusLessonProgressDTO request) {
 
-        UserLessonProgress userLessonProgressToStart = userLessonProgressRepository.
-                findById(request.getId()).orElseThrow(() -> new RuntimeException("Lesson progress not found"));
+        UserLessonProgress userLessonProgressToStart;
+        if (request.getId() != null) {
+            userLessonProgressToStart = userLessonProgressRepository.
+                    findById(request.getId()).orElseThrow(() -> new RuntimeException("Lesson progress not found"));
+        } else {
+            Long currentUserId = userSecurityUtils.getCurrentUserId();
+            Optional<UserLessonProgress> touchedProgress = userLessonProgressRepository.findByUserIdAndLessonId(currentUserId, request.getLessonId());
+
+            // Untouched lessons have no row yet, they are implicitly NOT_STARTED
+            if (touchedProgress.isEmpty()) {
+                return startUntouchedLesson(currentUserId, request.getLessonId());
+            }
+            userLessonProgressToStart = touchedProgress.get();
+        }
 
-        if (!userSecurityUtils.isAdmin() && !userLessonProgressToStart.getUser().getId().equals(userSecurityUtils.getCurrentUser().getId())) {
+        if (!userSecurityUtils.isAdmin() && !userLessonProgressToStart.getUser().getId().equals(userSecurityUtils.getCurrentUserId())) {
             throw new InvalidRequestException("You don't have permission to start this lesson");
         }
 
@@ -53,16 +90,27 @@ public class UserLessonProgressImpl implements IUserLessonProgressService {
 
         UserLessonProgress savedUserLessonProgress = userLessonProgressRepository.save(userLessonProgressToStart);
 
+        // NOT_STARTED and DROPPED lessons are not counted, so starting one only adds to the in-progress counter
+        applyProgressDelta(
+                savedUserLessonProgress.getUser().getId(), savedUserLessonProgress.getCourse().getId(), 1, 0);
+
         return userLessonProgressMapper.toDto(savedUserLessonProgress);
     }
 
     @Override
     @Transactional
     public UserLessonProgressDtos.LessonProgressResponseDTO completeLearningLesson(UserLessonProgressDtos.UpdateStatusLessonProgressDTO request) {
-        UserLessonProgress userLessonProgressToStart = userLessonProgressRepository.
-                findById(request.getId()).orElseThrow(() -> new RuntimeException("Lesson progress not found"));
+        UserLessonProgress userLessonProgressToStart;
+        if (request.getId() != null) {
+            userLessonProgressToStart = userLessonProgressRepository.
+                    findById(request.getId()).orElseThrow(() -> new RuntimeException("Lesson progress not found"));
+        } else {
+            userLessonProgressToStart = userLessonProgressRepository
+                    .findByUserIdAndLessonId(userSecurityUtils.getCurrentUserId(), request.getLessonId())
+                    .orElseThrow(() -> new InvalidRequestException("You must start the lesson before completing it"));
+        }
 
-        if (!userSecurityUtils.isAdmin() && !userLessonProgressToStart.getUser().getId().equals(userSecurityUtils.getCurrentUser().getId())) {
+        if (!userSecurityUtils.isAdmin() && !userLessonProgressToStart.getUser().getId().equals(userSecurityUtils.getCurrentUserId())) {
             throw new InvalidRequestException("You don't have permission to complete this lesson");
         }
 
@@ -80,6 +128,68 @@ public class UserLessonProgressImpl implements IUserLessonProgressService {
 
         UserLessonProgress savedUserLessonProgress = userLessonProgressRepository.save(userLessonProgressToStart);
 
+        applyProgressDelta(
+                savedUserLessonProgress.getUser().getId(), savedUserLessonProgress.getCourse().getId(), -1, 1);
+
         return userLessonProgressMapper.toDto(savedUserLessonProgress);
     }
+
+    @Override
+    @Transactional
+    public UserLessonProgressDtos.CourseProgressResponseDTO getCourseProgress(Long courseId) {
+        Long currentUserId = userSecurityUtils.getCurrentUserId();
+
+        if (!userCourseRepository.existsByUserIdAndCourseId(currentUserId, courseId)) {
+            throw new ResourceNotFoundException("User or course not found");
+        }
+
+        // The outline snapshot gives the active lessons in order, so only the touched lessons are read
+        CourseOutline outline = courseOutlineSnapshots.get(courseId);
+        Map<Long, IUserLessonProgressRepository.LessonProgressView> touched = userLessonProgressRepository
+                .findCourseLessonProgress(currentUserId, courseId).stream()
+                .collect(Collectors.toMap(IUserLessonProgressRepository.LessonProgressView::getLessonId, Function.identity()));
+
+        List<UserLessonProgressDtos.LessonProgressResponseDTO> lessons = new ArrayList<>(outline.activeLessonCount());
+        for (CourseOutline.ChapterNode chapter : outline.getChapters()) {
+            for (CourseOutline.LessonNode lesson : chapter.getLessons()) {
+                var progress = touched.get(lesson.getId());
+                UserLessonProgressDtos.LessonProgressResponseDTO dto = progress != null
+                        ? userLessonProgressMapper.toDto(progress)
+                        : notStartedLesson(courseId, lesson.getId());
+                dto.setChapterId(chapter.getId().intValue());
+                lessons.add(dto);
+            }
+        }
+
+        return CourseProgressRollups.fromLessons(courseId, lessons);
+    }
+
+    private static UserLessonProgressDtos.LessonProgressResponseDTO notStartedLesson(Long courseId, Long lessonId) {
+        return UserLessonProgressDtos.LessonProgressResponseDTO.builder()
+                .courseId(courseId.intValue())
+                .lessonId(lessonId.intValue())
+                .status(ProgressStatus.NOT_STARTED.name())
+                .build();
+    }
+
+    private UserLessonProgressDtos.LessonProgressResponseDTO startUntouchedLesson(Long userId, Long lessonId) {
+        // The insert only matches active lessons of an active enrollment; the validator is only paid for on rejection
+        if (userLessonProgressRepository.insertStartedProgress(userId, lessonId) == 0) {
+            lessonProgressBatchValidator.validate(userId, List.of(lessonId));
+            throw new InvalidRequestException("User must be enrolled in the course before tracking progress");
+        }
+
+        UserLessonProgress startedProgress = userLessonProgressRepository.findByUserIdAndLessonId(userId, lessonId)
+                .orElseThrow(() -> new RuntimeException("Lesson progress not found"));
+
+        applyProgressDelta(userId, startedProgress.getCourse().getId(), 1, 0);
+
+        return userLessonProgressMapper.toDto(startedProgress);
+    }
+
+    // Enrollment searches only match the user's own enrollments, so only their counts can change
+    private void applyProgressDelta(Long userId, Long courseId, int inProgressDelta, int completedDelta) {
+        userCourseRepository.applyProgressDelta(userId, courseId, inProgressDelta, completedDelta);
+        searchCounter.evictScope(CacheConstants.ENROLLMENT_COUNTS, userId);
+    }
 }
@@ -1,22 +1,31 @@
 package com.online.course.management.project.service.impl;
 
+import com.online.course.management.project.constants.CacheConstants;
 import com.online.course.management.project.dto.UserDTOs;
 import com.online.course.management.project.entity.Role;
 import com.online.course.management.project.entity.User;
+import com.online.course.management.project.enums.CountMode;
 import com.online.course.management.project.enums.RoleType;
+import com.online.course.management.project.enums.UserStatus;
+import com.online.course.management.project.event.UserChangedEvent;
 import com.online.course.management.project.exception.business.ForbiddenException;
 import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.UserMapper;
 import com.online.course.management.project.repository.IRoleRepository;
 import com.online.course.management.project.repository.IUserRepository;
+import com.online.course.management.project.security.TokenRevocationRegistry;
 import com.online.course.management.project.service.interfaces.IUserService;
+import com.online.course.management.project.utils.pagination.SearchCounter;
 import com.online.course.management.project.utils.user.UserServiceUtils;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -36,18 +45,25 @@ public class UserServiceImpl implements IUserService {
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
     private final UserServiceUtils userServiceUtils;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final SearchCounter searchCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserServiceImpl(IUserRepository userRepository, IRoleRepository roleRepository, PasswordEncoder passwordEncoder, UserMapper userMapper, UserServiceUtils userServiceUtils) {
+    public UserServiceImpl(IUserRepository userRepository, IRoleRepository roleRepository, PasswordEncoder passwordEncoder, UserMapper userMapper, UserServiceUtils userServiceUtils, TokenRevocationRegistry tokenRevocationRegistry, SearchCounter searchCounter, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.userMapper = userMapper;
         this.userServiceUtils = userServiceUtils;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.searchCounter = searchCounter;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = CacheConstants.USER_COUNTS, allEntries = true)
     public UserDTOs.UserResponseDto registerUser(UserDTOs.UserRegistrationDto registrationDto) {
         log.info("Registering new user with email: {}", registrationDto.getEmail());
         userServiceUtils.validateNewUser(registrationDto);
@@ -62,6 +78,7 @@ public class UserServiceImpl implements IUserService {
 
     @Override
     @Transactional
+    @CacheEvict(value = CacheConstants.USER_COUNTS, allEntries = true)
     public UserDTOs.UserResponseDto updateUserProfile(Long userId, UserDTOs.UpdateProfileDto updateProfileDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -78,6 +95,7 @@ public class UserServiceImpl implements IUserService {
         }
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId()));
         return userMapper.toDto(updatedUser);
     }
 
@@ -136,7 +154,11 @@ public class UserServiceImpl implements IUserService {
             user.addRole(role);
         }
 
+        // Tokens still carry the old roles, so they must not be accepted anymore
+        user.setTokenVersion(user.getTokenVersion() + 1);
         User savedUser = userRepository.save(user);
+        tokenRevocationRegistry.revoke(savedUser.getId(), savedUser.getTokenVersion());
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
 
         // Log the roles after saving
         Set<String> updatedRoles = savedUser.getUserRoles().stream()
@@ -147,33 +169,41 @@ public class UserServiceImpl implements IUserService {
         return updatedRoles;
     }
 
-    /**
-     * @param pageable
-     * @return
-     */
     @Override
-    public Page<UserDTOs.UserWithRolesResponseDto> getAllUsers(Pageable pageable) {
-        Page<User> users = userRepository.findAll(pageable);
-        return users.map(userMapper::toUserWithRolesDto);
+    public Page<UserDTOs.UserWithRolesResponseDto> getAllUsers(Pageable pageable, CountMode countMode) {
+        return searchUsers(new UserDTOs.UserSearchRequestDto(), pageable, countMode);
     }
 
 
     @Override
-    public Page<UserDTOs.UserWithRolesResponseDto> searchUsers(UserDTOs.UserSearchRequestDto searchUsersPayload, Pageable pageable) {
-        Specification<User> querySpecification = userServiceUtils.createSpecification(searchUsersPayload);
+    public Page<UserDTOs.UserWithRolesResponseDto> searchUsers(UserDTOs.UserSearchRequestDto searchUsersPayload, Pageable pageable, CountMode countMode) {
+        // Empty filters are ignored, as in UserServiceUtils.createSpecification
+        String username = emptyToNull(searchUsersPayload.getUsername());
+        String email = emptyToNull(searchUsersPayload.getEmail());
+        String realName = emptyToNull(searchUsersPayload.getRealName());
+        String status = searchUsersPayload.getStatus() != null && !searchUsersPayload.getStatus().isEmpty()
+                ? UserStatus.valueOf(searchUsersPayload.getStatus().toUpperCase()).name()
+                : null;
+        LocalDateTime fromDate = searchUsersPayload.getFromDate();
+        LocalDateTime toDate = searchUsersPayload.getToDate();
+
+        Slice<UserDTOs.UserWithRolesResponseDto> users = userRepository.searchUsers(
+                username, email, realName, status, fromDate, toDate, pageable
+        ).map(userMapper::toUserWithRolesDto);
+
+        return searchCounter.page(users, countMode, CacheConstants.USER_COUNTS,
+                SearchCounter.key(username, email, realName, status, fromDate, toDate),
+                () -> countUsers(searchUsersPayload),
+                cap -> userRepository.countUsersUpTo(username, email, realName, status, fromDate, toDate, cap));
+    }
 
-        Page<User> users = userRepository.findAll(querySpecification, pageable);
-        return users.map(userMapper::toUserWithRolesDto);
+    private long countUsers(UserDTOs.UserSearchRequestDto searchUsersPayload) {
+        Specification<User> querySpecification = userServiceUtils.createSpecification(searchUsersPayload);
+        return userRepository.count(querySpecification);
     }
 
-    @Override
-    public long countUsers(Optional<UserDTOs.UserSearchRequestDto> searchUsersPayload) {
-        if (searchUsersPayload.isPresent()) {
-            Specification<User> querySpecification = userServiceUtils.createSpecification(searchUsersPayload.get());
-            return userRepository.count(querySpecification);
-        } else {
-            return userRepository.count();
-        }
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
     }
 
     @Override
@@ -195,10 +225,15 @@ public class UserServiceImpl implements IUserService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "users", key = "#user.id")
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "#user.id"),
+            @CacheEvict(value = CacheConstants.USER_COUNTS, allEntries = true)
+    })
     public User updateUser(User user) {
         log.info("Updating user with id: {}", user.getId());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+        return savedUser;
     }
 
     @Override
@@ -213,7 +248,10 @@ public class UserServiceImpl implements IUserService {
             }
 
             user.setDeletedAt(LocalDateTime.now());
+            user.setTokenVersion(user.getTokenVersion() + 1);
             userRepository.save(user);
+            tokenRevocationRegistry.revoke(user.getId(), user.getTokenVersion());
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         });
     }
 
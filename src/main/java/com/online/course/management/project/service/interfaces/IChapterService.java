@@ -1,6 +1,7 @@
 package com.online.course.management.project.service.interfaces;
 
 import com.online.course.management.project.dto.ChapterDTOs;
+import com.online.course.management.project.dto.PaginationDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -36,5 +37,7 @@ public interface IChapterService {
             Pageable pageable
     );
 
+    PaginationDto.CursorResponseDto<ChapterDTOs.ChapterResponseDto> scrollChapters(ChapterDTOs.ChapterSearchDTO request);
+
     void reorderChapters(Long courseId);
 }
\ No newline at end of file
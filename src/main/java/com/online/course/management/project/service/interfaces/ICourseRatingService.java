@@ -1,6 +1,7 @@
 package com.online.course.management.project.service.interfaces;
 
 import com.online.course.management.project.dto.CourseRatingDTOs;
+import com.online.course.management.project.dto.PaginationDto;
 import org.springframework.data.domain.Page;
 
 public interface ICourseRatingService {
@@ -11,6 +12,8 @@ public interface ICourseRatingService {
 
     Page<CourseRatingDTOs.CourseRatingResponseDTO> getCourseRatings(CourseRatingDTOs.CourseRatingSearchDTO request);
 
+    PaginationDto.CursorResponseDto<CourseRatingDTOs.CourseRatingResponseDTO> scrollCourseRatings(CourseRatingDTOs.CourseRatingSearchDTO request);
+
     void deleteCourseRating(Long id);
 
     CourseRatingDTOs.RatingDistributionDTO getCourseRatingDistribution(Long id);
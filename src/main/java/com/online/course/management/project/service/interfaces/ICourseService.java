@@ -1,6 +1,7 @@
 package com.online.course.management.project.service.interfaces;
 
 import com.online.course.management.project.dto.CourseDTOS;
+import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.enums.CourseStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -40,6 +41,15 @@ public interface ICourseService {
      */
     Page<CourseDTOS.CourseDetailsResponseDto> searchCourses(CourseDTOS.SearchCourseRequestDTO request, Pageable pageable);
 
+    CourseDTOS.FacetedSearchCourseResponseDTO searchCoursesFaceted(CourseDTOS.FacetedSearchCourseRequestDTO request);
+
+    /**
+     * Completes a prefix of course titles, category names and instructor names from memory
+     */
+    CourseDTOS.AutocompleteResponseDTO autocomplete(CourseDTOS.AutocompleteRequestDTO request);
+
+    PaginationDto.CursorResponseDto<CourseDTOS.CourseDetailsResponseDto> scrollCourses(CourseDTOS.SearchCourseRequestDTO request);
+
     /**
      * Gets courses by instructor with pagination
      */
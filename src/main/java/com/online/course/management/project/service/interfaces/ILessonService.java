@@ -1,6 +1,7 @@
 package com.online.course.management.project.service.interfaces;
 
 import com.online.course.management.project.dto.LessonDTOs;
+import com.online.course.management.project.dto.PaginationDto;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -25,5 +26,7 @@ public interface ILessonService {
 
     Page<LessonDTOs.LessonDetailResponseDto> searchLessons(LessonDTOs.LessonSearchDTO request);
 
+    PaginationDto.CursorResponseDto<LessonDTOs.LessonDetailResponseDto> scrollLessons(LessonDTOs.LessonSearchDTO request);
+
     void reorderLessons(Long chapterId);
 }
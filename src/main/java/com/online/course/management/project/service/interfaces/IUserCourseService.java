@@ -1,6 +1,7 @@
 package com.online.course.management.project.service.interfaces;
 
 import com.online.course.management.project.dto.UserCourseDTOs;
+import com.online.course.management.project.dto.PaginationDto;
 import org.springframework.data.domain.Page;
 
 public interface IUserCourseService {
@@ -13,6 +14,10 @@ public interface IUserCourseService {
             UserCourseDTOs.UserCourseSearchDTO searchRequest
     );
 
+    PaginationDto.CursorResponseDto<UserCourseDTOs.UserCourseResponseDto> scrollUserEnrollments(
+            UserCourseDTOs.UserCourseSearchDTO searchRequest
+    );
+
     void dropEnrollment(Long courseId);
 
     void resumeEnrollment(Long courseId);
@@ -7,4 +7,6 @@ public interface IUserLessonProgressService {
     UserLessonProgressDtos.LessonProgressResponseDTO startLearningLesson(UserLessonProgressDtos.UpdateStatusLessonProgressDTO request);
 
     UserLessonProgressDtos.LessonProgressResponseDTO completeLearningLesson(UserLessonProgressDtos.UpdateStatusLessonProgressDTO request);
+
+    UserLessonProgressDtos.CourseProgressResponseDTO getCourseProgress(Long courseId);
 }
@@ -2,6 +2,7 @@ package com.online.course.management.project.service.interfaces;
 
 import com.online.course.management.project.dto.UserDTOs;
 import com.online.course.management.project.entity.User;
+import com.online.course.management.project.enums.CountMode;
 import com.online.course.management.project.enums.RoleType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -31,12 +32,11 @@ public interface IUserService {
 
     Set<String> updateUserRoles(Long userId, Set<RoleType> roleNames, Long currentUserId);
 
-    Page<UserDTOs.UserWithRolesResponseDto> getAllUsers(Pageable pageable);
+    Page<UserDTOs.UserWithRolesResponseDto> getAllUsers(Pageable pageable, CountMode countMode);
 
     Page<UserDTOs.UserWithRolesResponseDto> searchUsers(
             UserDTOs.UserSearchRequestDto searchUsersPayload,
-            Pageable pageable
+            Pageable pageable,
+            CountMode countMode
     );
-
-    long countUsers(Optional<UserDTOs.UserSearchRequestDto> searchUsersPayload);
 }
@@ -0,0 +1,149 @@
+package com.online.course.management.project.utils.cache;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.event.CategoryChangedEvent;
+import com.online.course.management.project.event.ChapterChangedEvent;
+import com.online.course.management.project.event.CourseChangedEvent;
+import com.online.course.management.project.event.LessonChangedEvent;
+import com.online.course.management.project.event.UserChangedEvent;
+import com.online.course.management.project.repository.IChapterRepository;
+import com.online.course.management.project.repository.ICourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evicts the cache entries a domain change affects. It runs where the change is published, inside its transaction,
+ * so the {@link TwoLevelCacheManager} collects the evictions with the others of the transaction and writes them to
+ * the outbox as it commits; the local entries are only dropped after the commit, so a concurrent reader cannot put
+ * the old value back.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationListener {
+
+    private final CacheManager cacheManager;
+    private final IChapterRepository chapterRepository;
+    private final ICourseRepository courseRepository;
+
+    @Autowired
+    public CacheInvalidationListener(CacheManager cacheManager, IChapterRepository chapterRepository,
+                                     ICourseRepository courseRepository) {
+        this.cacheManager = cacheManager;
+        this.chapterRepository = chapterRepository;
+        this.courseRepository = courseRepository;
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        log.debug("Evicting caches for course {}", event.getCourseId());
+        evict(CacheConstants.COURSES, event.getCourseId());
+        evict(CacheConstants.COURSE_RESPONSES, event.getCourseId());
+        evictCourseOutline(event.getCourseId());
+        clear(CacheConstants.LATEST_COURSES);
+        clear(CacheConstants.COURSE_COUNTS);
+        // Enrollment searches filter on the course title and instructor
+        clear(CacheConstants.ENROLLMENT_COUNTS);
+        // Chapter views embed the course title and status
+        evictChapters(chapterRepository.findChapterIdsByCourseId(event.getCourseId()));
+    }
+
+    @EventListener
+    public void onChapterChanged(ChapterChangedEvent event) {
+        log.debug("Evicting caches for chapters {} of course {}", event.getChapterIds(), event.getCourseId());
+        evictCourseOutline(event.getCourseId());
+        // Deleting a chapter deletes its lessons too
+        clear(CacheConstants.CHAPTER_COUNTS);
+        clear(CacheConstants.LESSON_COUNTS);
+        // Enrollments are recounted against the remaining lessons, which can change their status
+        clear(CacheConstants.ENROLLMENT_COUNTS);
+        if (event.getChapterIds().isEmpty()) {
+            evictChapters(chapterRepository.findChapterIdsByCourseId(event.getCourseId()));
+        } else {
+            evictChapters(event.getChapterIds());
+        }
+    }
+
+    @EventListener
+    public void onLessonChanged(LessonChangedEvent event) {
+        log.debug("Evicting caches for lessons of chapters {}", event.getChapterIds());
+        // Both chapter views count or list the lessons
+        evictChapters(event.getChapterIds());
+        clear(CacheConstants.LESSON_COUNTS);
+        // Enrollments are recounted against the new lesson total, which can change their status
+        clear(CacheConstants.ENROLLMENT_COUNTS);
+        if (!event.getChapterIds().isEmpty()) {
+            chapterRepository.findCourseIdsByChapterIds(event.getChapterIds())
+                    .forEach(this::evictCourseOutline);
+        }
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        log.debug("Evicting caches for category {}", event.getCategoryId());
+        evict(CacheConstants.CATEGORIES, event.getCategoryId());
+        // Course views embed category names; a category spans too many courses to evict them one by one
+        clear(CacheConstants.COURSES);
+        clear(CacheConstants.COURSE_RESPONSES);
+        clear(CacheConstants.LATEST_COURSES);
+        clear(CacheConstants.COURSE_COUNTS);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        // Course views embed their instructor's name, email and roles; other users appear in no cached view
+        List<Long> courseIds = courseRepository.findCourseIdsByInstructorId(event.getUserId());
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        log.debug("Evicting caches for courses {} of instructor {}", courseIds, event.getUserId());
+        for (Long courseId : courseIds) {
+            evict(CacheConstants.COURSES, courseId);
+            evict(CacheConstants.COURSE_RESPONSES, courseId);
+        }
+        clear(CacheConstants.LATEST_COURSES);
+        // Course and enrollment searches filter on the instructor
+        clear(CacheConstants.COURSE_COUNTS);
+        clear(CacheConstants.ENROLLMENT_COUNTS);
+    }
+
+    private void evictChapters(Collection<Long> chapterIds) {
+        // The serialized responses use the same keys as the chapter views they were built from
+        for (String cacheName : new String[]{CacheConstants.CHAPTERS, CacheConstants.CHAPTER_RESPONSES}) {
+            Cache chapters = cacheManager.getCache(cacheName);
+            if (chapters == null) {
+                continue;
+            }
+            for (Long chapterId : chapterIds) {
+                chapters.evict(chapterId);
+                chapters.evict(CacheConstants.CHAPTER_DETAIL_KEY_PREFIX + chapterId);
+            }
+        }
+    }
+
+    private void evictCourseOutline(Long courseId) {
+        evict(CacheConstants.COURSE_OUTLINES, courseId);
+        // The chapter list of a course is served from its outline
+        evict(CacheConstants.CHAPTER_RESPONSES, CacheConstants.COURSE_CHAPTERS_KEY_PREFIX + courseId);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.online.course.management.project.utils.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * The cache_invalidations table: evictions are appended in the transaction of the change that caused them,
+ * and every node reads the rows it has not seen yet, by id, to evict the same keys locally.
+ * Keys are stored with their type so a Long id and the String "5" stay distinct; other key types clear the
+ * whole cache on the other nodes.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationOutbox {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_NODE_ID_LENGTH = 64;
+    // Rows per INSERT and ids per IN list, well below the placeholder limits of the driver
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private static final String SELECT_INVALIDATIONS = """
+            SELECT id, cache_name, cache_key, origin_node, created_at
+            FROM cache_invalidations
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+
+    @Autowired
+    public CacheInvalidationOutbox(JdbcTemplate jdbcTemplate, @Value("${cache.invalidation.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        String id = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.nodeId = id.length() > MAX_NODE_ID_LENGTH ? id.substring(0, MAX_NODE_ID_LENGTH) : id;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Records an eviction of a key, or of the whole cache when key is null. Inside a transaction the rows are
+     * collected, deduplicated, and written in one statement when it commits; a null key makes the other keys of
+     * its cache redundant. Rows must be appended before the transaction starts committing, as a synchronization
+     * registered from another one's beforeCommit is not called back; once the collected rows are written, later
+     * ones are written as they come.
+     */
+    public void append(String cacheName, Object key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(Map.of(cacheName, Collections.singleton(key)));
+            return;
+        }
+        PendingRows pending = (PendingRows) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRows();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        if (pending.written) {
+            write(Map.of(cacheName, Collections.singleton(key)));
+        } else {
+            pending.add(cacheName, key);
+        }
+    }
+
+    // A key other nodes cannot decode also evicts the whole cache there
+    private void write(Map<String, ? extends Collection<?>> keysByCache) {
+        List<Object[]> rows = new ArrayList<>();
+        keysByCache.forEach((cacheName, keys) -> {
+            Set<String> encodedKeys = new LinkedHashSet<>();
+            for (Object key : keys) {
+                encodedKeys.add(key != null ? encodeKey(key) : null);
+            }
+            if (encodedKeys.contains(null)) {
+                rows.add(new Object[]{cacheName, null, nodeId});
+            } else {
+                encodedKeys.forEach(encodedKey -> rows.add(new Object[]{cacheName, encodedKey, nodeId}));
+            }
+        });
+
+        for (int from = 0; from < rows.size(); from += MAX_BATCH_SIZE) {
+            List<Object[]> batch = rows.subList(from, Math.min(rows.size(), from + MAX_BATCH_SIZE));
+            jdbcTemplate.update(
+                    "INSERT INTO cache_invalidations (cache_name, cache_key, origin_node) VALUES "
+                            + String.join(", ", Collections.nCopies(batch.size(), "(?, ?, ?)")),
+                    batch.stream().flatMap(Arrays::stream).toArray());
+        }
+    }
+
+    public long findLastId() {
+        Long lastId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cache_invalidations", Long.class);
+        return lastId != null ? lastId : 0;
+    }
+
+    public List<Invalidation> findAfter(long afterId) {
+        return jdbcTemplate.query(SELECT_INVALIDATIONS + "WHERE id > ? ORDER BY id", this::mapInvalidation, afterId);
+    }
+
+    public List<Invalidation> findByIds(Collection<Long> ids) {
+        List<Long> idList = List.copyOf(ids);
+        List<Invalidation> invalidations = new ArrayList<>();
+        for (int from = 0; from < idList.size(); from += MAX_BATCH_SIZE) {
+            List<Long> batch = idList.subList(from, Math.min(idList.size(), from + MAX_BATCH_SIZE));
+            invalidations.addAll(jdbcTemplate.query(
+                    SELECT_INVALIDATIONS + "WHERE id IN (" + String.join(", ", Collections.nCopies(batch.size(), "?"))
+                            + ") ORDER BY id",
+                    this::mapInvalidation, batch.toArray()));
+        }
+        return invalidations;
+    }
+
+    /**
+     * Current time of the database, which stamps the rows, so retention does not depend on the clock of a node.
+     */
+    /**
+     * Returns the rows of one name created since the given database time, oldest first.
+     */
+    public List<Invalidation> findCreatedSince(String cacheName, Timestamp since) {
+        return jdbcTemplate.query(SELECT_INVALIDATIONS + "WHERE cache_name = ? AND created_at >= ? ORDER BY id",
+                this::mapInvalidation, cacheName, since);
+    }
+
+    public Timestamp currentTime() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP(3)", Timestamp.class);
+    }
+
+    public int deleteOlderThan(Duration retention) {
+        Timestamp cutoff = new Timestamp(currentTime().getTime() - retention.toMillis());
+        return jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?", cutoff);
+    }
+
+    private Invalidation mapInvalidation(ResultSet rs, int rowNum) throws SQLException {
+        return new Invalidation(
+                rs.getLong("id"),
+                rs.getString("cache_name"),
+                decodeKey(rs.getString("cache_key")),
+                rs.getString("origin_node"),
+                rs.getTimestamp("created_at"));
+    }
+
+    static String encodeKey(Object key) {
+        String encoded;
+        if (key instanceof Long value) {
+            encoded = "L:" + value;
+        } else if (key instanceof Integer value) {
+            encoded = "I:" + value;
+        } else if (key instanceof String value) {
+            encoded = "S:" + value;
+        } else {
+            log.debug("Key type {} is not portable, other nodes will clear the whole cache", key.getClass().getName());
+            return null;
+        }
+        return encoded.length() <= MAX_KEY_LENGTH ? encoded : null;
+    }
+
+    static Object decodeKey(String encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        String value = encoded.substring(2);
+        return switch (encoded.charAt(0)) {
+            case 'L' -> Long.valueOf(value);
+            case 'I' -> Integer.valueOf(value);
+            default -> value;
+        };
+    }
+
+    private static String defaultNodeId() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + suffix;
+        } catch (UnknownHostException e) {
+            return "node-" + suffix;
+        }
+    }
+
+    /**
+     * The rows of one transaction, keys by cache in append order; a null key stands for the whole cache.
+     */
+    private final class PendingRows implements TransactionSynchronization {
+
+        private final Map<String, Set<Object>> keysByCache = new LinkedHashMap<>();
+        private boolean written;
+
+        private void add(String cacheName, Object key) {
+            Set<Object> keys = keysByCache.computeIfAbsent(cacheName, name -> new LinkedHashSet<>());
+            if (keys.contains(null)) {
+                return;
+            }
+            if (key == null) {
+                keys.clear();
+            }
+            keys.add(key);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(keysByCache);
+            written = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!written) {
+                log.warn("Invalidations of {} were appended while the transaction committed and never written",
+                        keysByCache.keySet());
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(CacheInvalidationOutbox.this);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Invalidation {
+        private final long id;
+        private final String cacheName;
+        // Null when the whole cache is invalidated
+        private final Object key;
+        private final String originNode;
+        private final Timestamp createdAt;
+    }
+}
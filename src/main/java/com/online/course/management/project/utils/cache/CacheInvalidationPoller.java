@@ -0,0 +1,109 @@
+package com.online.course.management.project.utils.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies evictions written by other nodes to the local caches, or hands them to the
+ * {@link RemoteInvalidationHandler} of their name.
+ * Rows are read by id. A row becomes visible when its transaction commits, which can be after rows with higher ids,
+ * so the ids skipped over are kept as gaps and looked up again on every poll until their row shows up. Ids of rolled
+ * back rows never do; a gap is given up once it is older than the retention, when its row would be deleted anyway.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationPoller {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final CacheInvalidationOutbox outbox;
+    private final Map<String, RemoteInvalidationHandler> handlers;
+    private final Duration retention;
+
+    // Ids below lastId not seen yet, with when they were first skipped
+    private final Map<Long, Instant> gaps = new HashMap<>();
+    private Long lastId;
+
+    @Autowired
+    public CacheInvalidationPoller(TwoLevelCacheManager cacheManager,
+                                   CacheInvalidationOutbox outbox,
+                                   List<RemoteInvalidationHandler> handlers,
+                                   @Value("${cache.invalidation.retention:1h}") Duration retention) {
+        this.cacheManager = cacheManager;
+        this.outbox = outbox;
+        this.handlers = handlers.stream()
+                .collect(Collectors.toMap(RemoteInvalidationHandler::getName, Function.identity()));
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval:1000}")
+    public synchronized void poll() {
+        if (lastId == null) {
+            // Local caches start empty, so only changes from now on matter
+            lastId = outbox.findLastId();
+            return;
+        }
+        Instant now = Instant.now();
+        List<CacheInvalidationOutbox.Invalidation> invalidations = new ArrayList<>(outbox.findAfter(lastId));
+        if (!gaps.isEmpty()) {
+            invalidations.addAll(outbox.findByIds(gaps.keySet()));
+        }
+
+        int applied = 0;
+        for (CacheInvalidationOutbox.Invalidation invalidation : invalidations) {
+            long id = invalidation.getId();
+            if (id > lastId) {
+                // With an empty table at start, the ids below the first row went to rows deleted before then
+                for (long skipped = lastId + 1; skipped < id && lastId > 0; skipped++) {
+                    gaps.put(skipped, now);
+                }
+                lastId = id;
+            } else {
+                gaps.remove(id);
+            }
+            if (!outbox.getNodeId().equals(invalidation.getOriginNode())) {
+                apply(invalidation);
+                applied++;
+            }
+        }
+        Instant expired = now.minus(retention);
+        gaps.values().removeIf(skippedAt -> skippedAt.isBefore(expired));
+
+        if (applied > 0) {
+            log.debug("Applied {} cache invalidations from other nodes", applied);
+        }
+    }
+
+    private void apply(CacheInvalidationOutbox.Invalidation invalidation) {
+        RemoteInvalidationHandler handler = handlers.get(invalidation.getCacheName());
+        if (handler == null) {
+            cacheManager.evictLocally(invalidation.getCacheName(), invalidation.getKey());
+            return;
+        }
+        // One failing handler must not hold back the rows behind it
+        try {
+            handler.invalidate(invalidation.getKey());
+        } catch (RuntimeException e) {
+            log.warn("Could not apply invalidation {} of {}", invalidation.getId(), invalidation.getCacheName(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.cleanup-interval:600000}")
+    public void deleteExpired() {
+        int deleted = outbox.deleteOlderThan(retention);
+        if (deleted > 0) {
+            log.debug("Deleted {} expired cache invalidations", deleted);
+        }
+    }
+}
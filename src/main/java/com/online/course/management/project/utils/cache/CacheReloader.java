@@ -0,0 +1,15 @@
+package com.online.course.management.project.utils.cache;
+
+/**
+ * Recomputes entries of one cache so it can refresh them in the background (cache.specs[name].refresh-after-write)
+ * instead of letting a request wait on an expired entry.
+ */
+public interface CacheReloader {
+
+    String getCacheName();
+
+    /**
+     * The current value for a key, as the cached method would return it.
+     */
+    Object reload(Object key);
+}
@@ -0,0 +1,138 @@
+package com.online.course.management.project.utils.cache;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.dto.CourseDTOS;
+import com.online.course.management.project.entity.Category;
+import com.online.course.management.project.entity.Course;
+import com.online.course.management.project.mapper.CategoryMapper;
+import com.online.course.management.project.mapper.CourseMapper;
+import com.online.course.management.project.repository.ICategoryRepository;
+import com.online.course.management.project.repository.ICourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Fills the courses, latestCourses and categories caches with what the service methods would have cached:
+ * the courses that were hottest when the previous run shut down, the latest courses for the common limits,
+ * and every category. Courses are loaded with two statements and categories with one.
+ */
+@Component
+@Slf4j
+public class CacheWarmer {
+
+    private final ICourseRepository courseRepository;
+    private final ICategoryRepository categoryRepository;
+    private final CourseMapper courseMapper;
+    private final CategoryMapper categoryMapper;
+    private final CacheManager cacheManager;
+    private final HotKeyFile hotKeyFile;
+    private final int hotCourseCount;
+    private final int[] latestCourseLimits;
+
+    @Autowired
+    public CacheWarmer(ICourseRepository courseRepository,
+                       ICategoryRepository categoryRepository,
+                       CourseMapper courseMapper,
+                       CategoryMapper categoryMapper,
+                       CacheManager cacheManager,
+                       HotKeyFile hotKeyFile,
+                       @Value("${cache.warmup.hot-course-count:200}") int hotCourseCount,
+                       @Value("${cache.warmup.latest-course-limits:10}") int[] latestCourseLimits) {
+        this.courseRepository = courseRepository;
+        this.categoryRepository = categoryRepository;
+        this.courseMapper = courseMapper;
+        this.categoryMapper = categoryMapper;
+        this.cacheManager = cacheManager;
+        this.hotKeyFile = hotKeyFile;
+        this.hotCourseCount = hotCourseCount;
+        this.latestCourseLimits = latestCourseLimits;
+    }
+
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        long started = System.nanoTime();
+        int courses = warmCourses();
+        int categories = warmCategories();
+        log.info("Warmed caches with {} courses and {} categories in {} ms",
+                courses, categories, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Saves the ids of the most-accessed courses, as ranked by the access frequency Caffeine keeps for eviction.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void saveHotKeys() {
+        List<Long> hotKeys = hottestCourseIds();
+        if (!hotKeys.isEmpty()) {
+            hotKeyFile.write(hotKeys);
+            log.info("Saved {} hot course ids for the next warm-up", hotKeys.size());
+        }
+    }
+
+    private int warmCourses() {
+        int maxLimit = Arrays.stream(latestCourseLimits).max().orElse(0);
+        List<Long> latestIds = maxLimit > 0
+                ? courseRepository.findLatestCourses(maxLimit).stream().map(Course::getId).toList()
+                : List.of();
+
+        Set<Long> ids = new LinkedHashSet<>(latestIds);
+        hotKeyFile.read().stream().limit(hotCourseCount).forEach(ids::add);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // The latest courses are popular too, so they are cached individually as well
+        Map<Long, CourseDTOS.CourseDetailsResponseDto> coursesById = courseRepository.findAllWithDetailsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Course::getId, courseMapper::toDto));
+        Cache coursesCache = cacheManager.getCache(CacheConstants.COURSES);
+        coursesById.forEach(coursesCache::putIfAbsent);
+
+        // Each latest list is a prefix of the longest one, as the query orders by creation time
+        Cache latestCache = cacheManager.getCache(CacheConstants.LATEST_COURSES);
+        List<CourseDTOS.CourseDetailsResponseDto> latest = latestIds.stream()
+                .map(coursesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        for (int limit : latestCourseLimits) {
+            latestCache.putIfAbsent(limit, new ArrayList<>(latest.subList(0, Math.min(limit, latest.size()))));
+        }
+        return coursesById.size();
+    }
+
+    private int warmCategories() {
+        Cache categoriesCache = cacheManager.getCache(CacheConstants.CATEGORIES);
+        List<Category> categories = categoryRepository.findAllWithCourses();
+        for (Category category : categories) {
+            categoriesCache.putIfAbsent(category.getId(), categoryMapper.toDto(category));
+        }
+        return categories.size();
+    }
+
+    private List<Long> hottestCourseIds() {
+        Cache cache = cacheManager.getCache(CacheConstants.COURSES);
+        if (cache instanceof TwoLevelCacheManager.OutboxEvictingCache outboxEvictingCache) {
+            cache = outboxEvictingCache.getLocalCache();
+        }
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            return List.of();
+        }
+        return caffeineCache.getNativeCache().policy().eviction()
+                .map(eviction -> eviction.hottest(hotCourseCount).keySet().stream()
+                        .filter(Long.class::isInstance)
+                        .map(Long.class::cast)
+                        .toList())
+                .orElse(List.of());
+    }
+}
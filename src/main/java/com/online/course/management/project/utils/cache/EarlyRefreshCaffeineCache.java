@@ -0,0 +1,71 @@
+package com.online.course.management.project.utils.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Caffeine cache that refreshes hot entries shortly before they expire, so a popular key is reloaded in the
+ * background by one reader instead of expiring and being missed by every reader at once.
+ * <p>
+ * Uses probabilistic early expiration (XFetch): on each hit the entry is refreshed when
+ * {@code age + delta * beta * -ln(random) >= expireAfterWrite}, where delta is the average load time of the cache.
+ * The chance grows as expiry nears and with the cost of a load; beta above 1 refreshes earlier. Refreshes go
+ * through the {@link CacheReloader} of the cache; Caffeine runs at most one per key and drops its result if the
+ * entry is evicted meanwhile.
+ */
+public class EarlyRefreshCaffeineCache extends CaffeineCache {
+
+    private final LoadingCache<Object, Object> loadingCache;
+    private final long expireAfterWriteNanos;
+    private final double beta;
+    private final DoubleSupplier random;
+
+    public EarlyRefreshCaffeineCache(String name, LoadingCache<Object, Object> cache, boolean allowNullValues,
+                                     Duration expireAfterWrite, double beta) {
+        this(name, cache, allowNullValues, expireAfterWrite, beta, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    EarlyRefreshCaffeineCache(String name, LoadingCache<Object, Object> cache, boolean allowNullValues,
+                              Duration expireAfterWrite, double beta, DoubleSupplier random) {
+        super(name, cache, allowNullValues);
+        this.loadingCache = cache;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.beta = beta;
+        this.random = random;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value != null) {
+            refreshIfDue(key);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        T value = super.get(key, valueLoader);
+        refreshIfDue(key);
+        return value;
+    }
+
+    private void refreshIfDue(Object key) {
+        loadingCache.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .filter(age -> isDue(age.toNanos()))
+                .ifPresent(age -> loadingCache.refresh(key));
+    }
+
+    boolean isDue(long ageNanos) {
+        double delta = loadingCache.stats().averageLoadPenalty();
+        // 1 - nextDouble() lies in (0, 1], so the logarithm is finite
+        double gap = delta * beta * -Math.log(1.0 - random.getAsDouble());
+        return ageNanos + gap >= expireAfterWriteNanos;
+    }
+}
@@ -0,0 +1,59 @@
+package com.online.course.management.project.utils.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Local file holding the ids of the most-accessed courses, one per line, written at shutdown and read by the
+ * next start to know which courses to warm. A missing or unreadable file just means nothing to warm.
+ */
+@Component
+@Slf4j
+public class HotKeyFile {
+
+    private final Path file;
+
+    @Autowired
+    public HotKeyFile(@Value("${cache.warmup.hot-keys-file:cache-warmup/hot-courses.txt}") Path file) {
+        this.file = file;
+    }
+
+    public List<Long> read() {
+        if (!Files.isReadable(file)) {
+            return List.of();
+        }
+        try (var lines = Files.lines(file)) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .map(Long::valueOf)
+                    .toList();
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable hot key file {}: {}", file, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Replaces the file atomically, so a crash while writing leaves the previous list in place.
+     */
+    public void write(Collection<Long> keys) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.write(temp, keys.stream().map(String::valueOf).toList());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not save hot key file {}: {}", file, e.getMessage());
+        }
+    }
+}
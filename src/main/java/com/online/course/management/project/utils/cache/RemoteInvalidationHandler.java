@@ -0,0 +1,16 @@
+package com.online.course.management.project.utils.cache;
+
+/**
+ * In-memory state other than a cache that every node keeps and that is invalidated through the
+ * {@link CacheInvalidationOutbox}: rows written under {@link #getName()} by other nodes are handed to
+ * {@link #invalidate(Object)} instead of evicting a cache.
+ */
+public interface RemoteInvalidationHandler {
+
+    String getName();
+
+    /**
+     * Re-reads the state of the key, or all of it when key is null.
+     */
+    void invalidate(Object key);
+}
@@ -0,0 +1,52 @@
+package com.online.course.management.project.utils.cache;
+
+import lombok.Getter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.time.Instant;
+
+/**
+ * A response body already serialized to UTF-8 JSON, with a strong ETag computed from those bytes when the
+ * entry is built. The body is shared by every request that hits the cache and must not be modified.
+ */
+@Getter
+public final class SerializedResponse {
+
+    private final byte[] body;
+    private final String eTag;
+    // When the content was last known to change, null when unknown
+    private final Instant lastModified;
+
+    private SerializedResponse(byte[] body, String eTag, Instant lastModified) {
+        this.body = body;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public static SerializedResponse of(byte[] body) {
+        return of(body, null);
+    }
+
+    public static SerializedResponse of(byte[] body, Instant lastModified) {
+        // Same digest as Spring's ShallowEtagHeaderFilter, but computed once per content version
+        return new SerializedResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", lastModified);
+    }
+
+    /**
+     * A 200 response writing the bytes as they are. For GET and HEAD requests Spring answers 304 instead when
+     * If-None-Match or If-Modified-Since match the ETag or Last-Modified set here.
+     */
+    public ResponseEntity<byte[]> toResponseEntity(CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .cacheControl(cacheControl);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder.body(body);
+    }
+}
@@ -0,0 +1,64 @@
+package com.online.course.management.project.utils.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Keeps response bodies serialized with the application ObjectMapper in a cache, so a hit costs neither
+ * loading, mapping nor serialization. An entry is one content version: it lives until the
+ * CacheInvalidationListener evicts it because the content changed, and the next read serializes again.
+ * <p>
+ * Last-Modified is the time the entry was built. The responses embed rows whose changes do not touch the
+ * updated_at of the entity they are about, such as lesson counts, category names or the instructor, so only
+ * the eviction that follows such a change tells when the content last changed.
+ */
+@Component
+@Slf4j
+public class SerializedResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public SerializedResponseCache(ObjectMapper objectMapper, CacheManager cacheManager) {
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Returns the cached body for the key, loading and serializing it on a miss. Exceptions thrown by the
+     * loader, such as ResourceNotFoundException, are rethrown as they are and nothing is cached.
+     */
+    public <T> SerializedResponse get(String cacheName, Object key, Supplier<T> loader) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName),
+                "Cache '" + cacheName + "' is not configured");
+        try {
+            return cache.get(key, () -> serialize(key, loader.get()));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private SerializedResponse serialize(Object key, Object value) {
+        try {
+            SerializedResponse response = SerializedResponse.of(objectMapper.writeValueAsBytes(value), Instant.now());
+            log.debug("Serialized response {} into {} bytes", key, response.getBody().length);
+            return response;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.online.course.management.project.utils.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Weigher;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Weighs a cache entry by the size of its value serialized as JSON, so caches can be budgeted in bytes.
+ * Values that cannot be serialized count as {@link #FALLBACK_WEIGHT}; a {@link SerializedResponse} already is the
+ * serialized value and weighs the length of its body.
+ */
+@Slf4j
+public class SerializedSizeWeigher implements Weigher<Object, Object> {
+
+    static final int FALLBACK_WEIGHT = 1024;
+
+    private final ObjectMapper objectMapper;
+
+    public SerializedSizeWeigher(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        if (value instanceof SerializedResponse response) {
+            return response.getBody().length;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value).length;
+        } catch (JsonProcessingException e) {
+            log.debug("Could not weigh cache value of type {}: {}", value.getClass().getName(), e.getMessage());
+            return FALLBACK_WEIGHT;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.online.course.management.project.utils.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local caches (L1) whose evictions are shared with the other nodes through the {@link CacheInvalidationOutbox}.
+ * An eviction inside a transaction is written to the outbox with the other rows of that transaction, and applied
+ * locally once it commits; a rolled back change evicts nothing anywhere. Other nodes apply it when the
+ * {@link CacheInvalidationPoller} next runs.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager localCacheManager;
+    private final CacheInvalidationOutbox outbox;
+    private final Map<String, OutboxEvictingCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager localCacheManager, CacheInvalidationOutbox outbox) {
+        this.localCacheManager = localCacheManager;
+        this.outbox = outbox;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        OutboxEvictingCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache localCache = localCacheManager.getCache(name);
+        return localCache != null
+                ? caches.computeIfAbsent(name, key -> new OutboxEvictingCache(localCache, this))
+                : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return localCacheManager.getCacheNames();
+    }
+
+    /**
+     * Applies an eviction received from another node to the local cache only.
+     */
+    public void evictLocally(String cacheName, Object key) {
+        Cache localCache = localCacheManager.getCache(cacheName);
+        if (localCache == null) {
+            return;
+        }
+        if (key == null) {
+            localCache.clear();
+        } else {
+            localCache.evict(key);
+        }
+    }
+
+    /**
+     * Evicts a key, or the whole cache when key is null, on every node. Returns false when the eviction waits for
+     * the current transaction to commit.
+     */
+    boolean evict(Cache localCache, Object key) {
+        outbox.append(localCache.getName(), key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return evictLocally(localCache, key);
+        }
+        PendingEvictions pending = (PendingEvictions) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvictions(this);
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(localCache, key);
+        return false;
+    }
+
+    private static boolean evictLocally(Cache localCache, Object key) {
+        if (key == null) {
+            return localCache.invalidate();
+        }
+        return localCache.evictIfPresent(key);
+    }
+
+    /**
+     * Reads and writes go to the local cache; evictions also go to the outbox.
+     */
+    public static class OutboxEvictingCache implements Cache {
+
+        private final Cache localCache;
+        private final TwoLevelCacheManager cacheManager;
+
+        OutboxEvictingCache(Cache localCache, TwoLevelCacheManager cacheManager) {
+            this.localCache = localCache;
+            this.cacheManager = cacheManager;
+        }
+
+        public Cache getLocalCache() {
+            return localCache;
+        }
+
+        @Override
+        public String getName() {
+            return localCache.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return localCache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return localCache.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return localCache.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return localCache.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            localCache.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return localCache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            cacheManager.evict(localCache, key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return cacheManager.evict(localCache, key);
+        }
+
+        @Override
+        public void clear() {
+            cacheManager.evict(localCache, null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            return cacheManager.evict(localCache, null);
+        }
+    }
+
+    /**
+     * The local evictions of one transaction, deduplicated: a cleared cache drops the keys evicted from it.
+     */
+    private static final class PendingEvictions implements TransactionSynchronization {
+
+        private final TwoLevelCacheManager cacheManager;
+        // Keys by cache, in eviction order; a null key stands for the whole cache
+        private final Map<Cache, Set<Object>> evictions = new LinkedHashMap<>();
+
+        private PendingEvictions(TwoLevelCacheManager cacheManager) {
+            this.cacheManager = cacheManager;
+        }
+
+        private void add(Cache localCache, Object key) {
+            Set<Object> keys = evictions.computeIfAbsent(localCache, cache -> new LinkedHashSet<>());
+            if (keys.contains(null)) {
+                return;
+            }
+            if (key == null) {
+                keys.clear();
+            }
+            keys.add(key);
+        }
+
+        @Override
+        public void afterCommit() {
+            evictions.forEach((cache, keys) -> keys.forEach(key -> evictLocally(cache, key)));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(cacheManager);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.online.course.management.project.utils.chapter;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.service.interfaces.IChapterService;
+import com.online.course.management.project.utils.cache.SerializedResponse;
+import com.online.course.management.project.utils.cache.SerializedResponseCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves the chapter read responses as UTF-8 JSON bytes from the chapterResponses cache, keyed like the
+ * chapters cache plus a course key for the chapter list of a course.
+ */
+@Component
+public class ChapterResponseCache {
+
+    private final IChapterService chapterService;
+    private final SerializedResponseCache serializedResponseCache;
+
+    @Autowired
+    public ChapterResponseCache(IChapterService chapterService, SerializedResponseCache serializedResponseCache) {
+        this.chapterService = chapterService;
+        this.serializedResponseCache = serializedResponseCache;
+    }
+
+    public SerializedResponse getChapter(Long id) {
+        return serializedResponseCache.get(CacheConstants.CHAPTER_RESPONSES, id,
+                () -> chapterService.getChapterById(id));
+    }
+
+    public SerializedResponse getChapterWithLessons(Long id) {
+        return serializedResponseCache.get(CacheConstants.CHAPTER_RESPONSES,
+                CacheConstants.CHAPTER_DETAIL_KEY_PREFIX + id,
+                () -> chapterService.getChapterWithLessons(id));
+    }
+
+    public SerializedResponse getCourseChapters(Long courseId) {
+        return serializedResponseCache.get(CacheConstants.CHAPTER_RESPONSES,
+                CacheConstants.COURSE_CHAPTERS_KEY_PREFIX + courseId,
+                () -> chapterService.getAllChaptersByCourseId(courseId));
+    }
+}
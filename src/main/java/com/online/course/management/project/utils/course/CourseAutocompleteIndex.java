@@ -0,0 +1,212 @@
+package com.online.course.management.project.utils.course;
+
+import com.online.course.management.project.repository.ICourseRepository;
+import com.online.course.management.project.utils.search.PrefixIndex;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory type-ahead over the titles of the courses that are not archived and the names of their categories and
+ * instructors, one {@link PrefixIndex} each. A course ranks by its enrollments that have not been dropped, a
+ * category or instructor by the sum of those of its courses.
+ * <p>
+ * Deleted categories and instructors are not suggested. The index is loaded at startup and kept current by the
+ * {@link com.online.course.management.project.utils.search.SearchIndexRefresher} with the changes of every node.
+ * Enrollments do not raise events, so popularity only moves when a course changes or on a rebuild.
+ */
+@Component
+@Slf4j
+public class CourseAutocompleteIndex {
+
+    private final ICourseRepository courseRepository;
+
+    // Readers complete under the read lock; writes are serialized by the monitor and hold the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final PrefixIndex courseTitles = new PrefixIndex();
+    private final PrefixIndex categoryNames = new PrefixIndex();
+    private final PrefixIndex instructorNames = new PrefixIndex();
+    private final Map<Long, CourseFacts> courses = new HashMap<>();
+    private final Map<Long, Group> categories = new HashMap<>();
+    private final Map<Long, Group> instructors = new HashMap<>();
+
+    @Autowired
+    public CourseAutocompleteIndex(ICourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    /**
+     * Replaces the index with every course in the database that is not archived.
+     */
+    public synchronized int rebuild() {
+        long started = System.nanoTime();
+        List<ICourseRepository.CourseAutocompleteRow> rows = courseRepository.findCourseAutocompleteRows();
+
+        lock.writeLock().lock();
+        try {
+            courseTitles.clear();
+            categoryNames.clear();
+            instructorNames.clear();
+            courses.clear();
+            categories.clear();
+            instructors.clear();
+            addAll(rows);
+            List.copyOf(categories.keySet()).forEach(categoryId -> rank(categoryNames, categories, categoryId));
+            List.copyOf(instructors.keySet()).forEach(instructorId -> rank(instructorNames, instructors, instructorId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Built the course autocomplete index with {} courses in {} ms",
+                courses.size(), (System.nanoTime() - started) / 1_000_000);
+        return courses.size();
+    }
+
+    /**
+     * Re-reads the given courses, dropping those that no longer exist or are archived.
+     */
+    public synchronized void refreshCourses(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        List<ICourseRepository.CourseAutocompleteRow> rows =
+                courseRepository.findCourseAutocompleteRowsByIdIn(courseIds);
+
+        lock.writeLock().lock();
+        try {
+            Set<Long> touchedCategories = new HashSet<>();
+            Set<Long> touchedInstructors = new HashSet<>();
+            for (Long courseId : courseIds) {
+                CourseFacts facts = courses.remove(courseId);
+                if (facts != null) {
+                    courseTitles.remove(courseId);
+                    leave(categories, facts.categoryIds(), courseId, touchedCategories);
+                    leave(instructors, facts.instructorIds(), courseId, touchedInstructors);
+                }
+            }
+            addAll(rows).forEach(facts -> {
+                touchedCategories.addAll(facts.categoryIds());
+                touchedInstructors.addAll(facts.instructorIds());
+            });
+            touchedCategories.forEach(categoryId -> rank(categoryNames, categories, categoryId));
+            touchedInstructors.forEach(instructorId -> rank(instructorNames, instructors, instructorId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-reads the courses linked to a category, which picks up its new name, its deletion or its restore. The
+     * links outlive the deletion, so a restored category finds its courses again.
+     */
+    public synchronized void refreshCategory(Long categoryId) {
+        refreshCourses(courseRepository.findCourseIdsByCategoryId(categoryId));
+    }
+
+    /**
+     * Re-reads the courses taught by a user, which picks up the instructor's new name or deletion.
+     */
+    public synchronized void refreshInstructor(Long instructorId) {
+        refreshCourses(courseRepository.findCourseIdsByInstructorId(instructorId));
+    }
+
+    /**
+     * Returns up to limit course titles, category names and instructor names with a word starting with the query.
+     */
+    public Suggestions complete(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return new Suggestions(
+                    courseTitles.complete(query, limit),
+                    categoryNames.complete(query, limit),
+                    instructorNames.complete(query, limit)
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Adds the courses of the rows and returns their facts; the groups they joined still have to be ranked
+    private List<CourseFacts> addAll(List<ICourseRepository.CourseAutocompleteRow> rows) {
+        Map<Long, List<ICourseRepository.CourseAutocompleteRow>> rowsByCourse = rows.stream()
+                .collect(Collectors.groupingBy(ICourseRepository.CourseAutocompleteRow::getCourseId,
+                        LinkedHashMap::new, Collectors.toList()));
+
+        List<CourseFacts> added = new ArrayList<>(rowsByCourse.size());
+        rowsByCourse.forEach((courseId, courseRows) -> {
+            ICourseRepository.CourseAutocompleteRow first = courseRows.get(0);
+            Set<Long> categoryIds = new HashSet<>();
+            for (ICourseRepository.CourseAutocompleteRow row : courseRows) {
+                if (row.getCategoryId() != null) {
+                    categoryIds.add(row.getCategoryId());
+                    join(categories, row.getCategoryId(), row.getCategoryName(), courseId);
+                }
+            }
+            Set<Long> instructorIds = first.getInstructorId() != null ? Set.of(first.getInstructorId()) : Set.of();
+            if (first.getInstructorId() != null) {
+                join(instructors, first.getInstructorId(), first.getInstructorName(), courseId);
+            }
+
+            long enrollments = first.getEnrollments() != null ? first.getEnrollments() : 0;
+            CourseFacts facts = new CourseFacts(enrollments, categoryIds, instructorIds);
+            courses.put(courseId, facts);
+            courseTitles.put(courseId, first.getTitle(), enrollments);
+            added.add(facts);
+        });
+        return added;
+    }
+
+    private static void join(Map<Long, Group> groups, Long groupId, String name, Long courseId) {
+        Group group = groups.computeIfAbsent(groupId, id -> new Group());
+        group.setName(name);
+        group.getCourseIds().add(courseId);
+    }
+
+    private static void leave(Map<Long, Group> groups, Set<Long> groupIds, Long courseId, Set<Long> touched) {
+        for (Long groupId : groupIds) {
+            Group group = groups.get(groupId);
+            if (group != null) {
+                group.getCourseIds().remove(courseId);
+                touched.add(groupId);
+            }
+        }
+    }
+
+    // Puts a group back into its prefix index with the popularity of its current courses, or drops it without any
+    private void rank(PrefixIndex index, Map<Long, Group> groups, Long groupId) {
+        Group group = groups.get(groupId);
+        if (group == null || group.getCourseIds().isEmpty()) {
+            groups.remove(groupId);
+            index.remove(groupId);
+            return;
+        }
+        long popularity = group.getCourseIds().stream()
+                .mapToLong(courseId -> courses.get(courseId).enrollments())
+                .sum();
+        index.put(groupId, group.getName(), popularity);
+    }
+
+    public record Suggestions(List<PrefixIndex.Entry> courses,
+                              List<PrefixIndex.Entry> categories,
+                              List<PrefixIndex.Entry> instructors) {
+    }
+
+    private record CourseFacts(long enrollments, Set<Long> categoryIds, Set<Long> instructorIds) {
+    }
+
+    // A category or instructor with the courses it is suggested for; the name follows the latest row read
+    @Getter
+    @Setter
+    private static final class Group {
+        private final Set<Long> courseIds = new HashSet<>();
+        private String name;
+    }
+}
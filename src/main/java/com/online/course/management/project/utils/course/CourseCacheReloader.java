@@ -0,0 +1,35 @@
+package com.online.course.management.project.utils.course;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.mapper.CourseMapper;
+import com.online.course.management.project.utils.cache.CacheReloader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Refreshes the courses cache, keyed by course id, the same way CourseServiceImpl.getCourseById loads it.
+ */
+@Component
+public class CourseCacheReloader implements CacheReloader {
+
+    private final CourseServiceUtils courseServiceUtils;
+    private final CourseMapper courseMapper;
+
+    @Autowired
+    public CourseCacheReloader(CourseServiceUtils courseServiceUtils, CourseMapper courseMapper) {
+        this.courseServiceUtils = courseServiceUtils;
+        this.courseMapper = courseMapper;
+    }
+
+    @Override
+    public String getCacheName() {
+        return CacheConstants.COURSES;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Object reload(Object key) {
+        return courseMapper.toDto(courseServiceUtils.GetCourseWithoutValidation((Long) key));
+    }
+}
@@ -0,0 +1,278 @@
+package com.online.course.management.project.utils.course;
+
+import com.online.course.management.project.dto.CourseDTOS;
+import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.repository.ICourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory facet index of the course catalog: a Roaring bitmap of course ids per category, status, instructor
+ * and creation month. A faceted search is a handful of bitmap ORs and ANDs, and each facet count a single AND
+ * cardinality, so results and counts come back without touching the database.
+ * <p>
+ * Course ids are stored as ints, which the auto-increment ids of the courses table stay well within. The index
+ * is loaded at startup and kept current by the {@link com.online.course.management.project.utils.search.SearchIndexRefresher}
+ * with the changes of every node.
+ */
+@Component
+@Slf4j
+public class CourseFacetIndex {
+
+    private static final Comparator<CourseDTOS.FacetCountDTO> BY_COUNT_THEN_LABEL =
+            Comparator.comparingLong(CourseDTOS.FacetCountDTO::getCount).reversed()
+                    .thenComparing(facet -> facet.getLabel() != null ? facet.getLabel() : "");
+
+    private final ICourseRepository courseRepository;
+
+    // Readers evaluate searches under the read lock; writes are serialized by the monitor and hold the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, CourseFacts> courses = new HashMap<>();
+    private final RoaringBitmap allCourses = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<CourseStatus, RoaringBitmap> byStatus = new EnumMap<>(CourseStatus.class);
+    private final Map<Long, RoaringBitmap> byInstructor = new HashMap<>();
+    private final Map<YearMonth, RoaringBitmap> byCreatedMonth = new HashMap<>();
+    private final Map<Long, String> categoryNames = new HashMap<>();
+    private final Map<Long, String> instructorNames = new HashMap<>();
+
+    @Autowired
+    public CourseFacetIndex(ICourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    /**
+     * Replaces the index with every course in the database.
+     */
+    public synchronized int rebuild() {
+        long started = System.nanoTime();
+        List<ICourseRepository.CourseFacetRow> rows = courseRepository.findCourseFacetRows();
+
+        lock.writeLock().lock();
+        try {
+            courses.clear();
+            allCourses.clear();
+            byCategory.clear();
+            byStatus.clear();
+            byInstructor.clear();
+            byCreatedMonth.clear();
+            categoryNames.clear();
+            instructorNames.clear();
+            addAll(rows);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Built the course facet index with {} courses in {} ms",
+                courses.size(), (System.nanoTime() - started) / 1_000_000);
+        return courses.size();
+    }
+
+    /**
+     * Re-reads the given courses, dropping those that no longer exist.
+     */
+    public synchronized void refreshCourses(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        List<ICourseRepository.CourseFacetRow> rows = courseRepository.findCourseFacetRowsByIdIn(courseIds);
+
+        lock.writeLock().lock();
+        try {
+            courseIds.forEach(courseId -> remove(Math.toIntExact(courseId)));
+            addAll(rows);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-reads the courses of a category, which picks up its new name. Courses only join or leave a category
+     * through a course change, which refreshes them itself.
+     */
+    public synchronized void refreshCategory(Long categoryId) {
+        List<Long> courseIds;
+        lock.readLock().lock();
+        try {
+            RoaringBitmap category = byCategory.get(categoryId);
+            courseIds = category != null ? category.stream().mapToObj(Long::valueOf).toList() : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+        refreshCourses(courseIds);
+    }
+
+    /**
+     * Re-reads the courses taught by a user, which picks up the instructor's new name.
+     */
+    public synchronized void refreshInstructor(Long instructorId) {
+        refreshCourses(courseRepository.findCourseIdsByInstructorId(instructorId));
+    }
+
+    /**
+     * Returns the ids of the matching courses from offset on, newest first, their number and the facet counts.
+     */
+    public Result search(CourseDTOS.FacetedSearchCourseRequestDTO request, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            // Like searchCourses, archived courses only match with includeArchived, whatever the statuses
+            RoaringBitmap archived = byStatus.getOrDefault(CourseStatus.ARCHIVED, new RoaringBitmap());
+            RoaringBitmap base = Boolean.TRUE.equals(request.getIncludeArchived())
+                    ? allCourses
+                    : RoaringBitmap.andNot(allCourses, archived);
+            RoaringBitmap categories = anyOf(byCategory, request.getCategoryIds());
+            RoaringBitmap statuses = anyOf(byStatus, request.getStatuses());
+            RoaringBitmap instructors = anyOf(byInstructor, request.getInstructorIds());
+            RoaringBitmap months = anyOf(byCreatedMonth, request.getCreatedMonths());
+
+            RoaringBitmap matches = allOf(base, categories, statuses, instructors, months);
+            int total = matches.getCardinality();
+            // Ids grow with creation time, so the highest ids are the newest courses
+            List<Long> ids = new ArrayList<>();
+            for (int i = offset; i < Math.min(total, offset + limit); i++) {
+                ids.add((long) matches.select(total - 1 - i));
+            }
+
+            CourseDTOS.CourseFacetsDTO facets = new CourseDTOS.CourseFacetsDTO(
+                    counts(byCategory, allOf(base, statuses, instructors, months), request.getCategoryIds(),
+                            categoryNames::get, BY_COUNT_THEN_LABEL),
+                    counts(byStatus, allOf(base, categories, instructors, months), request.getStatuses(),
+                            CourseStatus::name, Comparator.comparing(facet -> CourseStatus.valueOf(facet.getValue()))),
+                    counts(byInstructor, allOf(base, categories, statuses, months), request.getInstructorIds(),
+                            instructorNames::get, BY_COUNT_THEN_LABEL),
+                    counts(byCreatedMonth, allOf(base, categories, statuses, instructors), request.getCreatedMonths(),
+                            YearMonth::toString, Comparator.comparing(CourseDTOS.FacetCountDTO::getValue).reversed())
+            );
+            return new Result(ids, total, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addAll(List<ICourseRepository.CourseFacetRow> rows) {
+        Map<Long, List<ICourseRepository.CourseFacetRow>> rowsByCourse = rows.stream()
+                .collect(Collectors.groupingBy(ICourseRepository.CourseFacetRow::getCourseId,
+                        LinkedHashMap::new, Collectors.toList()));
+
+        rowsByCourse.forEach((courseId, courseRows) -> {
+            ICourseRepository.CourseFacetRow first = courseRows.get(0);
+            Set<Long> categoryIds = new HashSet<>();
+            for (ICourseRepository.CourseFacetRow row : courseRows) {
+                if (row.getCategoryId() != null) {
+                    categoryIds.add(row.getCategoryId());
+                    categoryNames.put(row.getCategoryId(), row.getCategoryName());
+                }
+            }
+            if (first.getInstructorId() != null) {
+                instructorNames.put(first.getInstructorId(), first.getInstructorName());
+            }
+
+            CourseFacts facts = new CourseFacts(
+                    CourseStatus.valueOf(first.getStatus()),
+                    first.getInstructorId(),
+                    YearMonth.from(first.getCreatedAt()),
+                    categoryIds
+            );
+            int id = Math.toIntExact(courseId);
+            courses.put(id, facts);
+            allCourses.add(id);
+            bitmap(byStatus, facts.status()).add(id);
+            bitmap(byCreatedMonth, facts.createdMonth()).add(id);
+            if (facts.instructorId() != null) {
+                bitmap(byInstructor, facts.instructorId()).add(id);
+            }
+            facts.categoryIds().forEach(categoryId -> bitmap(byCategory, categoryId).add(id));
+        });
+    }
+
+    private void remove(int id) {
+        CourseFacts facts = courses.remove(id);
+        if (facts == null) {
+            return;
+        }
+        allCourses.remove(id);
+        unset(byStatus, facts.status(), id);
+        unset(byCreatedMonth, facts.createdMonth(), id);
+        if (facts.instructorId() != null && unset(byInstructor, facts.instructorId(), id)) {
+            instructorNames.remove(facts.instructorId());
+        }
+        for (Long categoryId : facts.categoryIds()) {
+            if (unset(byCategory, categoryId, id)) {
+                categoryNames.remove(categoryId);
+            }
+        }
+    }
+
+    private static <K> RoaringBitmap bitmap(Map<K, RoaringBitmap> facet, K value) {
+        return facet.computeIfAbsent(value, key -> new RoaringBitmap());
+    }
+
+    // Returns whether the value is left without courses, in which case it is dropped
+    private static <K> boolean unset(Map<K, RoaringBitmap> facet, K value, int id) {
+        RoaringBitmap courseIds = facet.get(value);
+        if (courseIds == null) {
+            return false;
+        }
+        courseIds.remove(id);
+        if (courseIds.isEmpty()) {
+            facet.remove(value);
+            return true;
+        }
+        return false;
+    }
+
+    // The courses with any of the values, or null when the facet does not filter
+    private static <K> RoaringBitmap anyOf(Map<K, RoaringBitmap> facet, Set<K> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return FastAggregation.or(values.stream()
+                .map(facet::get)
+                .filter(Objects::nonNull)
+                .iterator());
+    }
+
+    private static RoaringBitmap allOf(RoaringBitmap base, RoaringBitmap... filters) {
+        RoaringBitmap result = base.clone();
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    // Values with matches are listed, and selected values even without
+    private static <K> List<CourseDTOS.FacetCountDTO> counts(Map<K, RoaringBitmap> facet,
+                                                             RoaringBitmap candidates,
+                                                             Set<K> selected,
+                                                             Function<K, String> label,
+                                                             Comparator<CourseDTOS.FacetCountDTO> order) {
+        List<CourseDTOS.FacetCountDTO> counts = new ArrayList<>();
+        facet.forEach((value, courseIds) -> {
+            long count = RoaringBitmap.andCardinality(candidates, courseIds);
+            if (count > 0 || (selected != null && selected.contains(value))) {
+                counts.add(new CourseDTOS.FacetCountDTO(value.toString(), label.apply(value), count));
+            }
+        });
+        counts.sort(order);
+        return counts;
+    }
+
+    public record Result(List<Long> ids, long total, CourseDTOS.CourseFacetsDTO facets) {
+    }
+
+    private record CourseFacts(CourseStatus status, Long instructorId, YearMonth createdMonth, Set<Long> categoryIds) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.online.course.management.project.utils.course;
+
+import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.enums.LessonType;
+import com.online.course.management.project.repository.IChapterRepository;
+import com.online.course.management.project.repository.ILessonRepository;
+import com.online.course.management.project.utils.userlessonprogress.CourseLessonIndex;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Immutable outline of one course: its active chapters in order, each with its active lessons in order,
+ * plus the lesson slot index of the bitmap progress store. Built once per content version by
+ * {@link CourseOutlineSnapshots} and shared by every reader, so nothing in it may be modified.
+ */
+@Getter
+public class CourseOutline {
+
+    private static final Comparator<ChapterNode> CHAPTER_ORDER =
+            Comparator.comparingInt(ChapterNode::getOrder).thenComparingLong(ChapterNode::getId);
+    private static final Comparator<LessonNode> LESSON_ORDER =
+            Comparator.comparingInt(LessonNode::getOrder).thenComparingLong(LessonNode::getId);
+
+    private final Long courseId;
+    private final String courseTitle;
+    private final CourseStatus courseStatus;
+    private final List<ChapterNode> chapters;
+    private final CourseLessonIndex lessonIndex;
+
+    private CourseOutline(Long courseId, String courseTitle, CourseStatus courseStatus,
+                          List<ChapterNode> chapters, CourseLessonIndex lessonIndex) {
+        this.courseId = courseId;
+        this.courseTitle = courseTitle;
+        this.courseStatus = courseStatus;
+        this.chapters = chapters;
+        this.lessonIndex = lessonIndex;
+    }
+
+    /**
+     * Builds the outline from the rows of {@link IChapterRepository#findCourseOutlineRows}, which must not be empty.
+     */
+    public static CourseOutline of(List<IChapterRepository.CourseOutlineRow> rows) {
+        IChapterRepository.CourseOutlineRow first = rows.get(0);
+
+        Map<Long, IChapterRepository.CourseOutlineRow> activeChapters = new HashMap<>();
+        Map<Long, List<LessonNode>> lessonsByChapter = new HashMap<>();
+        List<ILessonRepository.LessonSlotView> lessonSlots = new ArrayList<>(rows.size());
+
+        for (IChapterRepository.CourseOutlineRow row : rows) {
+            if (row.getChapterId() == null) {
+                continue;
+            }
+            if (row.getLessonId() != null) {
+                lessonSlots.add(row);
+            }
+            if (row.getChapterActive() == null || row.getChapterActive() != 1) {
+                continue;
+            }
+            activeChapters.putIfAbsent(row.getChapterId(), row);
+            List<LessonNode> lessons = lessonsByChapter.computeIfAbsent(row.getChapterId(), id -> new ArrayList<>());
+            if (row.getLessonId() != null && row.getActive() != null && row.getActive() == 1) {
+                lessons.add(new LessonNode(
+                        row.getLessonId(),
+                        row.getLessonTitle(),
+                        LessonType.valueOf(row.getLessonType()),
+                        row.getLessonOrder(),
+                        CourseStatus.valueOf(row.getLessonStatus())));
+            }
+        }
+
+        List<ChapterNode> chapters = activeChapters.values().stream()
+                .map(row -> {
+                    List<LessonNode> lessons = lessonsByChapter.get(row.getChapterId());
+                    lessons.sort(LESSON_ORDER);
+                    return new ChapterNode(
+                            row.getChapterId(),
+                            row.getChapterTitle(),
+                            row.getChapterDescription(),
+                            row.getChapterOrder(),
+                            CourseStatus.valueOf(row.getChapterStatus()),
+                            row.getChapterCreatedAt(),
+                            row.getChapterUpdatedAt(),
+                            List.copyOf(lessons));
+                })
+                .sorted(CHAPTER_ORDER)
+                .toList();
+
+        return new CourseOutline(
+                first.getCourseId(),
+                first.getCourseTitle(),
+                CourseStatus.valueOf(first.getCourseStatus()),
+                chapters,
+                CourseLessonIndex.of(lessonSlots));
+    }
+
+    public int activeLessonCount() {
+        return lessonIndex.activeLessonCount();
+    }
+
+    @Getter
+    public static class ChapterNode {
+        private final Long id;
+        private final String title;
+        private final String description;
+        private final int order;
+        private final CourseStatus status;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+        private final List<LessonNode> lessons;
+
+        private ChapterNode(Long id, String title, String description, int order, CourseStatus status,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, List<LessonNode> lessons) {
+            this.id = id;
+            this.title = title;
+            this.description = description;
+            this.order = order;
+            this.status = status;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+            this.lessons = lessons;
+        }
+    }
+
+    @Getter
+    public static class LessonNode {
+        private final Long id;
+        private final String title;
+        private final LessonType type;
+        private final int order;
+        private final CourseStatus status;
+
+        private LessonNode(Long id, String title, LessonType type, int order, CourseStatus status) {
+            this.id = id;
+            this.title = title;
+            this.type = type;
+            this.order = order;
+            this.status = status;
+        }
+    }
+}
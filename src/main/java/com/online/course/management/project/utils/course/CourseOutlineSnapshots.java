@@ -0,0 +1,59 @@
+package com.online.course.management.project.utils.course;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
+import com.online.course.management.project.repository.IChapterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Serves {@link CourseOutline} snapshots from the courseOutlines cache. A snapshot is built with a single query
+ * the first time a course is read and kept until the CacheInvalidationListener evicts it because the course,
+ * one of its chapters or one of its lessons changed; concurrent first reads of a course share one build.
+ */
+@Component
+@Slf4j
+public class CourseOutlineSnapshots {
+
+    private final IChapterRepository chapterRepository;
+    private final Cache outlines;
+
+    @Autowired
+    public CourseOutlineSnapshots(IChapterRepository chapterRepository, CacheManager cacheManager) {
+        this.chapterRepository = chapterRepository;
+        this.outlines = Objects.requireNonNull(cacheManager.getCache(CacheConstants.COURSE_OUTLINES),
+                "Cache '" + CacheConstants.COURSE_OUTLINES + "' is not configured");
+    }
+
+    /**
+     * Returns the outline of a course, throwing ResourceNotFoundException when the course does not exist.
+     */
+    public CourseOutline get(Long courseId) {
+        try {
+            return outlines.get(courseId, () -> build(courseId));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CourseOutline build(Long courseId) {
+        List<IChapterRepository.CourseOutlineRow> rows = chapterRepository.findCourseOutlineRows(courseId);
+        if (rows.isEmpty()) {
+            // Thrown rather than cached, so a missing course is not remembered
+            throw new ResourceNotFoundException("Course not found");
+        }
+        CourseOutline outline = CourseOutline.of(rows);
+        log.debug("Built outline of course {} with {} chapters and {} lessons",
+                courseId, outline.getChapters().size(), outline.activeLessonCount());
+        return outline;
+    }
+}
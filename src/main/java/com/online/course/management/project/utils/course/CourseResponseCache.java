@@ -0,0 +1,47 @@
+package com.online.course.management.project.utils.course;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.service.interfaces.ICourseService;
+import com.online.course.management.project.utils.cache.SerializedResponse;
+import com.online.course.management.project.utils.cache.SerializedResponseCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves the getCourseById response body as UTF-8 JSON bytes from the courseResponses cache. The bytes are
+ * serialized once per content version of a course, which lasts until the CacheInvalidationListener evicts the
+ * entry together with the courses entry, so a hit skips mapping and serialization entirely.
+ */
+@Component
+public class CourseResponseCache {
+
+    private final ICourseService courseService;
+    private final SerializedResponseCache serializedResponseCache;
+    private final boolean enabled;
+
+    @Autowired
+    public CourseResponseCache(ICourseService courseService,
+                               SerializedResponseCache serializedResponseCache,
+                               @Value("${course.response-cache.enabled:false}") boolean enabled) {
+        this.courseService = courseService;
+        this.serializedResponseCache = serializedResponseCache;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether the POST getCourseById endpoint serves cached bytes; the GET endpoint always does.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the serialized course, throwing ResourceNotFoundException when the course does not exist.
+     */
+    public SerializedResponse get(Long courseId) {
+        // Usually a courses cache hit, so a miss here costs one serialization
+        return serializedResponseCache.get(CacheConstants.COURSE_RESPONSES, courseId,
+                () -> courseService.getCourseById(courseId));
+    }
+}
@@ -13,7 +13,8 @@ import com.online.course.management.project.exception.business.ResourceNotFoundE
 import com.online.course.management.project.repository.ICategoryRepository;
 import com.online.course.management.project.repository.ICourseRepository;
 import com.online.course.management.project.repository.IUserRepository;
-import com.online.course.management.project.security.CustomUserDetails;
+import com.online.course.management.project.security.RoleMask;
+import com.online.course.management.project.utils.user.CurrentUserHolder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
@@ -33,18 +34,26 @@ public class CourseServiceUtils {
     private final IUserRepository userRepository;
     private final ICourseRepository courseRepository;
     private final ICategoryRepository categoryRepository;
+    private final CurrentUserHolder currentUserHolder;
 
     @Autowired
-    public CourseServiceUtils(IUserRepository userRepository, ICourseRepository courseRepository, ICategoryRepository categoryRepository) {
+    public CourseServiceUtils(IUserRepository userRepository, ICourseRepository courseRepository, ICategoryRepository categoryRepository, CurrentUserHolder currentUserHolder) {
         this.userRepository = userRepository;
         this.courseRepository = courseRepository;
         this.categoryRepository = categoryRepository;
+        this.currentUserHolder = currentUserHolder;
     }
 
     public Sort handleCreateDefaultSort() {
         return Sort.by(Sort.Direction.DESC, DEFAULT_SORT_FIELD);
     }
 
+    // Best FULLTEXT matches first, newest first among equal scores. The parentheses keep the relevance alias from
+    // being qualified with the table alias like a column
+    public Sort createRelevanceSort() {
+        return JpaSort.unsafe(Sort.Direction.DESC, "(relevance)").and(handleCreateDefaultSort());
+    }
+
     private void validateInstructorRole(User user) {
         boolean isInstructor = user.getUserRoles().stream()
                 .anyMatch(role -> role.getRole().getName() == RoleType.INSTRUCTOR);
@@ -54,9 +63,7 @@ public class CourseServiceUtils {
     }
 
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        return userDetails.getUser();
+        return currentUserHolder.getUser();
     }
 
     public User determineInstructor(Long instructorId) {
@@ -72,8 +79,7 @@ public class CourseServiceUtils {
 
     private boolean hasAdminRole() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        return (RoleMask.ofAuthentication(authentication) & RoleMask.ADMIN) != 0;
     }
 
     public void validateCourseAccess(Course course) {
@@ -83,7 +89,7 @@ public class CourseServiceUtils {
     }
 
     private boolean isInstructor(Course course) {
-        return course.getInstructor().getId().equals(getCurrentUser().getId());
+        return course.getInstructor().getId().equals(currentUserHolder.getUserId());
     }
 
     public Course getCourseWithValidation(Long id) {
@@ -0,0 +1,41 @@
+package com.online.course.management.project.utils.course;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.mapper.CourseMapper;
+import com.online.course.management.project.repository.ICourseRepository;
+import com.online.course.management.project.utils.cache.CacheReloader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Collectors;
+
+/**
+ * Refreshes the latestCourses cache, keyed by limit, the same way CourseServiceImpl.getLatestCourses loads it.
+ */
+@Component
+public class LatestCoursesCacheReloader implements CacheReloader {
+
+    private final ICourseRepository courseRepository;
+    private final CourseMapper courseMapper;
+
+    @Autowired
+    public LatestCoursesCacheReloader(ICourseRepository courseRepository, CourseMapper courseMapper) {
+        this.courseRepository = courseRepository;
+        this.courseMapper = courseMapper;
+    }
+
+    @Override
+    public String getCacheName() {
+        return CacheConstants.LATEST_COURSES;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Object reload(Object key) {
+        return courseRepository.findLatestCourses((Integer) key)
+                .stream()
+                .map(courseMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,381 @@
+package com.online.course.management.project.utils.lesson;
+
+import com.online.course.management.project.dto.LessonDTOs;
+import com.online.course.management.project.repository.ILessonRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * On-disk Lucene index of the lessons searchLessons can return, over their title and content and the titles of
+ * their chapter and course, with the search filters as exact fields. It only stores lesson ids: a search returns
+ * the ids of a page in relevance order and the caller loads those lessons, so the content column is never scanned.
+ * <p>
+ * Changes are queued per chapter or course and applied by {@link #refresh()} off the request thread, replacing every
+ * document of that scope with what the database now holds, so deleted lessons drop out too. Searches see them as
+ * soon as they are applied; they are only written to disk by {@link #commit()}, which records when in the commit so
+ * a restart can replay what came after. A rebuild streams the whole table into a fresh index; searches keep seeing
+ * the previous one until it is committed, and scopes changed meanwhile are re-read last.
+ */
+@Component
+@Slf4j
+public class LessonSearchIndex {
+
+    static final String ID = "id";
+    static final String CHAPTER_ID = "chapterId";
+    static final String COURSE_ID = "courseId";
+    static final String STATUS = "status";
+    static final String TYPE = "type";
+    static final String CREATED_AT = "createdAt";
+    static final String TITLE = "title";
+    static final String CONTENT = "content";
+    static final String CHAPTER_TITLE = "chapterTitle";
+    static final String COURSE_TITLE = "courseTitle";
+
+    // Commit data key of the epoch millis the index was committed at
+    private static final String COMMITTED_AT_KEY = "committedAt";
+
+    // A match in the lesson title counts most, one in its chapter or course title more than one in the content
+    private static final Map<String, Float> TEXT_FIELD_WEIGHTS = Map.of(
+            TITLE, 3f,
+            CHAPTER_TITLE, 1.5f,
+            COURSE_TITLE, 1.5f,
+            CONTENT, 1f
+    );
+
+    private final ILessonRepository lessonRepository;
+    private final Path path;
+    private final Analyzer analyzer = new LessonAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    // Scopes changed since the last refresh, by field, guarded by itself
+    private final Map<String, Set<Long>> pending = new HashMap<>();
+    // Scopes changed while a rebuild scans the table, by field; null when no rebuild is running
+    private Map<String, Set<Long>> changedDuringRebuild;
+
+    @Autowired
+    public LessonSearchIndex(ILessonRepository lessonRepository,
+                             @Value("${search.lesson-index.path:lesson-index}") Path path) {
+        this.lessonRepository = lessonRepository;
+        this.path = path;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(path);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        searcherManager.close();
+        if (changedDuringRebuild != null) {
+            writer.rollback();
+        } else {
+            if (writer.hasUncommittedChanges()) {
+                writeCommit();
+            }
+            writer.close();
+        }
+        directory.close();
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    /**
+     * Returns when the index on disk was last committed, or null when that is unknown.
+     */
+    public Instant getCommittedAt() {
+        for (Map.Entry<String, String> data : writer.getLiveCommitData()) {
+            if (COMMITTED_AT_KEY.equals(data.getKey())) {
+                return Instant.ofEpochMilli(Long.parseLong(data.getValue()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the index with every lesson in the database, read as one streamed result set.
+     */
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                throw new IllegalStateException("A lesson index rebuild is already running");
+            }
+            changedDuringRebuild = new HashMap<>();
+        }
+
+        long started = System.nanoTime();
+        int lessons = 0;
+        try {
+            writer.deleteAll();
+            try (Stream<ILessonRepository.LessonIndexRow> rows = lessonRepository.streamLessonIndexRows()) {
+                for (Iterator<ILessonRepository.LessonIndexRow> it = rows.iterator(); it.hasNext(); ) {
+                    writer.addDocument(toDocument(it.next()));
+                    lessons++;
+                }
+            }
+            synchronized (this) {
+                for (Map.Entry<String, Set<Long>> changed : changedDuringRebuild.entrySet()) {
+                    replace(changed.getKey(), changed.getValue());
+                }
+                changedDuringRebuild = null;
+                writeCommit();
+                searcherManager.maybeRefresh();
+            }
+        } catch (IOException | RuntimeException e) {
+            discardRebuild();
+            throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+        }
+
+        log.info("Rebuilt the lesson search index with {} lessons in {} ms",
+                lessons, (System.nanoTime() - started) / 1_000_000);
+        return lessons;
+    }
+
+    public void reindexChapters(Collection<Long> chapterIds) {
+        reindex(CHAPTER_ID, chapterIds);
+    }
+
+    public void reindexCourse(Long courseId) {
+        reindex(COURSE_ID, List.of(courseId));
+    }
+
+    /**
+     * Re-reads the scopes queued since the last call and makes them searchable, without committing them. Scopes
+     * that could not be read are queued again.
+     */
+    @Scheduled(fixedDelayString = "${search.lesson-index.refresh-interval:1000}")
+    public synchronized void refresh() {
+        Map<String, Set<Long>> changed;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            changed = new HashMap<>(pending);
+            pending.clear();
+        }
+        if (changedDuringRebuild != null) {
+            changed.forEach((scope, ids) ->
+                    changedDuringRebuild.computeIfAbsent(scope, key -> new HashSet<>()).addAll(ids));
+            return;
+        }
+        try {
+            for (Map.Entry<String, Set<Long>> scope : changed.entrySet()) {
+                replace(scope.getKey(), List.copyOf(scope.getValue()));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not refresh the lesson search index, retrying", e);
+            changed.forEach(this::reindex);
+        }
+    }
+
+    /**
+     * Writes the applied changes to disk. Skipped while a rebuild runs, as that would commit a half-built index.
+     */
+    @Scheduled(fixedDelayString = "${search.lesson-index.commit-interval:60000}")
+    public synchronized void commit() {
+        if (changedDuringRebuild != null || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writeCommit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the ids of the matching lessons from offset on, best match first, and the number of matches.
+     */
+    public Hits search(LessonDTOs.LessonSearchDTO request, int offset, int limit) {
+        Query query = toQuery(request);
+        IndexSearcher searcher;
+        try {
+            searcher = searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            TopDocs top = searcher.search(query, offset + limit);
+            // Hits are only counted exactly up to a threshold, past which the count has to be asked for
+            long total = top.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                    ? top.totalHits.value
+                    : searcher.count(query);
+
+            StoredFields storedFields = searcher.storedFields();
+            List<Long> ids = new ArrayList<>();
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ids.add(Long.valueOf(storedFields.document(top.scoreDocs[i].doc, Set.of(ID)).get(ID)));
+            }
+            return new Hits(ids, total);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                searcherManager.release(searcher);
+            } catch (IOException e) {
+                log.warn("Could not release a lesson index searcher", e);
+            }
+        }
+    }
+
+    private void reindex(String scope, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        synchronized (pending) {
+            pending.computeIfAbsent(scope, key -> new HashSet<>()).addAll(ids);
+        }
+    }
+
+    private void replace(String scope, Collection<Long> ids) throws IOException {
+        List<ILessonRepository.LessonIndexRow> rows = CHAPTER_ID.equals(scope)
+                ? lessonRepository.findLessonIndexRowsByChapterIds(ids)
+                : lessonRepository.findLessonIndexRowsByCourseIds(ids);
+        writer.deleteDocuments(ids.stream().map(id -> new Term(scope, id.toString())).toArray(Term[]::new));
+        for (ILessonRepository.LessonIndexRow row : rows) {
+            writer.addDocument(toDocument(row));
+        }
+    }
+
+    private void writeCommit() throws IOException {
+        writer.setLiveCommitData(Map.of(COMMITTED_AT_KEY, Long.toString(System.currentTimeMillis())).entrySet());
+        writer.commit();
+    }
+
+    // Drops the half-built index by reopening the writer on the last commit
+    private synchronized void discardRebuild() {
+        changedDuringRebuild = null;
+        try {
+            searcherManager.close();
+            writer.rollback();
+            directory.close();
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Document toDocument(ILessonRepository.LessonIndexRow row) {
+        Document document = new Document();
+        document.add(new StringField(ID, row.getLessonId().toString(), Field.Store.YES));
+        document.add(new StringField(CHAPTER_ID, row.getChapterId().toString(), Field.Store.NO));
+        document.add(new StringField(COURSE_ID, row.getCourseId().toString(), Field.Store.NO));
+        document.add(new StringField(STATUS, row.getStatus(), Field.Store.NO));
+        document.add(new StringField(TYPE, row.getType(), Field.Store.NO));
+        document.add(new LongPoint(CREATED_AT, toMillis(row.getCreatedAt())));
+        document.add(new TextField(TITLE, row.getTitle(), Field.Store.NO));
+        document.add(new TextField(CHAPTER_TITLE, row.getChapterTitle(), Field.Store.NO));
+        document.add(new TextField(COURSE_TITLE, row.getCourseTitle(), Field.Store.NO));
+        if (row.getContent() != null) {
+            document.add(new TextField(CONTENT, row.getContent(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    private Query toQuery(LessonDTOs.LessonSearchDTO request) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parse(TEXT_FIELD_WEIGHTS, request.getQuery()), BooleanClause.Occur.MUST);
+
+        // The filters of searchLessons, except that title matches words rather than a substring
+        if (request.getTitle() != null && !request.getTitle().isBlank()) {
+            query.add(parse(Map.of(TITLE, 1f), request.getTitle()), BooleanClause.Occur.FILTER);
+        }
+        if (request.getStatus() != null) {
+            query.add(new TermQuery(new Term(STATUS, request.getStatus().name())), BooleanClause.Occur.FILTER);
+        }
+        if (request.getType() != null) {
+            query.add(new TermQuery(new Term(TYPE, request.getType().name())), BooleanClause.Occur.FILTER);
+        }
+        if (request.getCourseIds() != null && !request.getCourseIds().isEmpty()) {
+            query.add(anyOf(COURSE_ID, request.getCourseIds()), BooleanClause.Occur.FILTER);
+        }
+        if (request.getChapterIds() != null && !request.getChapterIds().isEmpty()) {
+            query.add(anyOf(CHAPTER_ID, request.getChapterIds()), BooleanClause.Occur.FILTER);
+        }
+        if (request.getFromDate() != null || request.getToDate() != null) {
+            query.add(LongPoint.newRangeQuery(CREATED_AT,
+                    request.getFromDate() != null ? toMillis(request.getFromDate()) : Long.MIN_VALUE,
+                    request.getToDate() != null ? toMillis(request.getToDate()) : Long.MAX_VALUE
+            ), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    // Every word is required; user input cannot make the simple syntax fail, at worst it matches nothing
+    private Query parse(Map<String, Float> weights, String text) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, weights);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(text);
+    }
+
+    private static Query anyOf(String field, Collection<Long> ids) {
+        return new TermInSetQuery(field, ids.stream().map(id -> new BytesRef(id.toString())).toList());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public record Hits(List<Long> ids, long total) {
+    }
+
+    /**
+     * Standard tokenization, lower-cased and folded to ASCII so that "tieng viet" also finds "Tiếng Việt".
+     */
+    private static final class LessonAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            return new TokenStreamComponents(tokenizer, normalize(fieldName, tokenizer));
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.online.course.management.project.utils.pagination;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A search page whose total may only be a lower bound: an estimated count stops at the threshold, in which
+ * case the total is the threshold and there are more matches than that.
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean totalCapped;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalCapped) {
+        super(content, pageable, total);
+        this.totalCapped = totalCapped;
+    }
+
+    public boolean isTotalCapped() {
+        return totalCapped;
+    }
+}
@@ -0,0 +1,101 @@
+package com.online.course.management.project.utils.pagination;
+
+import com.online.course.management.project.dto.PaginationDto;
+import com.online.course.management.project.exception.business.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Continuation token of the keyset-paginated searches: the sort key and id of the last row of a window,
+ * Base64url encoded so clients treat it as opaque. The next window starts strictly after that (key, id) pair in
+ * the fixed order of the search, with id breaking ties, so with an index on the order every window costs the
+ * same as the first one.
+ */
+public final class KeysetCursor {
+
+    // The id goes last, as a date key contains colons of its own
+    private static final char SEPARATOR = '|';
+
+    private final String key;
+    private final long id;
+
+    private KeysetCursor(String key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static String encode(Object key, Long id) {
+        String raw = key + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token sent back by a client, returning null for the first window.
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDateTime dateTimeKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public int intKey() {
+        try {
+            return Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * The scroll endpoints walk one fixed order per search, the one its index covers.
+     */
+    public static void rejectCustomSort(Map<String, String> sort) {
+        if (sort != null && !sort.isEmpty()) {
+            throw new InvalidRequestException("Sorting is not supported with cursor pagination");
+        }
+    }
+
+    /**
+     * Builds a window from rows fetched with a limit one above the requested one, the extra row only telling
+     * whether another window follows. The mapper converts the rows of the window in one go, so it can batch.
+     */
+    public static <E, D> PaginationDto.CursorResponseDto<D> window(List<E> rows,
+                                                                   int limit,
+                                                                   Function<E, Object> sortKey,
+                                                                   Function<E, Long> id,
+                                                                   Function<List<E>, List<D>> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            E last = page.get(page.size() - 1);
+            nextCursor = encode(sortKey.apply(last), id.apply(last));
+        }
+        return new PaginationDto.CursorResponseDto<>(mapper.apply(page), limit, nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,118 @@
+package com.online.course.management.project.utils.pagination;
+
+import com.online.course.management.project.enums.CountMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Turns a search {@link Slice}, fetched without a count query, into a page with the total the client asked for:
+ * <ul>
+ *     <li>EXACT counts on every request;</li>
+ *     <li>CACHED reuses the exact count of the same filters until it expires or a write to the searched table
+ *     clears its cache; the counts of a search confined to one scope, such as the enrollments of one user, are
+ *     kept together under it so that a write of that scope only evicts them;</li>
+ *     <li>ESTIMATED counts at most estimate-threshold matches and reports "more than" beyond that.</li>
+ * </ul>
+ * A page that is not full already tells the total, so it is never counted.
+ */
+@Component
+public class SearchCounter {
+
+    private final CacheManager cacheManager;
+    private final CountMode defaultMode;
+    private final int estimateThreshold;
+
+    @Autowired
+    public SearchCounter(CacheManager cacheManager,
+                         @Value("${search.count.default-mode:CACHED}") CountMode defaultMode,
+                         @Value("${search.count.estimate-threshold:10000}") int estimateThreshold) {
+        this.cacheManager = cacheManager;
+        this.defaultMode = defaultMode;
+        this.estimateThreshold = estimateThreshold;
+    }
+
+    /**
+     * @param cacheName  cache of the CACHED counts of the searched table
+     * @param filterKey  the normalized filters, see {@link #key(Object...)}
+     * @param count      exact count of the filters
+     * @param countUpTo  count of the filters that stops after the given number of matches
+     */
+    public <T> CountedPage<T> page(Slice<T> slice, CountMode mode, String cacheName, List<Object> filterKey,
+                                   LongSupplier count, LongUnaryOperator countUpTo) {
+        return page(slice, mode, cacheName, null, filterKey, count, countUpTo);
+    }
+
+    /**
+     * @param scope  key the CACHED counts of a scoped search are kept under, see {@link #evictScope(String, Object)};
+     *               null when the search is not scoped
+     */
+    public <T> CountedPage<T> page(Slice<T> slice, CountMode mode, String cacheName, Object scope,
+                                   List<Object> filterKey, LongSupplier count, LongUnaryOperator countUpTo) {
+        Pageable pageable = slice.getPageable();
+        List<T> content = slice.getContent();
+        if (!slice.hasNext() && (!content.isEmpty() || pageable.isUnpaged() || pageable.getOffset() == 0)) {
+            long total = pageable.isPaged() ? pageable.getOffset() + content.size() : content.size();
+            return new CountedPage<>(content, pageable, total, false);
+        }
+
+        switch (mode != null ? mode : defaultMode) {
+            case EXACT:
+                return new CountedPage<>(content, pageable, count.getAsLong(), false);
+            case ESTIMATED:
+                long counted = countUpTo.applyAsLong(estimateThreshold + 1L);
+                return counted > estimateThreshold
+                        ? new CountedPage<>(content, pageable, estimateThreshold, true)
+                        : new CountedPage<>(content, pageable, counted, false);
+            default:
+                Cache cache = cacheManager.getCache(cacheName);
+                long total = cache != null ? cachedCount(cache, scope, filterKey, count) : count.getAsLong();
+                return new CountedPage<>(content, pageable, total, false);
+        }
+    }
+
+    /**
+     * Evicts the CACHED counts of every search of a scope.
+     */
+    public void evictScope(String cacheName, Object scope) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(scope);
+        }
+    }
+
+    /**
+     * Builds the cache key of a set of filters so that equivalent searches share a count: text filters match
+     * case-insensitively and id lists match in any order, so both are normalized.
+     */
+    public static List<Object> key(Object... filters) {
+        List<Object> key = new ArrayList<>(filters.length);
+        for (Object filter : filters) {
+            if (filter instanceof String text) {
+                key.add(text.toLowerCase(Locale.ROOT));
+            } else if (filter instanceof Collection<?> ids) {
+                key.add(new TreeSet<>(ids));
+            } else {
+                key.add(filter);
+            }
+        }
+        return key;
+    }
+
+    private static long cachedCount(Cache cache, Object scope, List<Object> filterKey, LongSupplier count) {
+        if (scope == null) {
+            return cache.get(filterKey, count::getAsLong);
+        }
+        Map<List<Object>, Long> scopeCounts = cache.get(scope, ConcurrentHashMap<List<Object>, Long>::new);
+        return scopeCounts.computeIfAbsent(filterKey, key -> count.getAsLong());
+    }
+}
@@ -0,0 +1,66 @@
+package com.online.course.management.project.utils.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a free-text search term into a MySQL boolean-mode FULLTEXT query: every word is required and the last one
+ * is matched as a prefix, so a term typed so far ("java spr") already finds "Java Spring Boot". Words shorter than
+ * the index token size and InnoDB's default stopwords are never indexed, so requiring them would match nothing; they
+ * are dropped, and when no word is left the caller falls back to LIKE.
+ */
+public final class FullTextQuery {
+
+    // Bound in place of a term that is not searched by FULLTEXT; AGAINST needs a string and scores '' as 0
+    public static final String NONE = "";
+
+    // innodb_ft_min_token_size default
+    static final int MIN_TOKEN_SIZE = 3;
+
+    // INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD, used while innodb_ft_enable_stopword is on and no list is set
+    static final Set<String> STOPWORDS = Set.of(
+            "a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en", "for", "from", "how", "i", "in",
+            "is", "it", "la", "of", "on", "or", "that", "the", "this", "to", "was", "what", "when", "where", "who",
+            "will", "with", "und", "www");
+
+    // Anything but letters and digits separates words, which also strips the boolean-mode operators
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Returns the boolean-mode query for a term, or NONE when the term has no word that can be indexed.
+     */
+    public static String booleanMode(String term) {
+        if (term == null) {
+            return NONE;
+        }
+        List<String> words = Arrays.stream(WORD_SEPARATOR.split(term.trim()))
+                .filter(word -> word.length() >= MIN_TOKEN_SIZE)
+                .filter(word -> !STOPWORDS.contains(word.toLowerCase(Locale.ROOT)))
+                .toList();
+        if (words.isEmpty()) {
+            return NONE;
+        }
+
+        StringBuilder query = new StringBuilder();
+        for (String word : words) {
+            if (!query.isEmpty()) {
+                query.append(' ');
+            }
+            query.append('+').append(word);
+        }
+        return query.append('*').toString();
+    }
+
+    /**
+     * Returns the term for the LIKE fallback: the term itself when it cannot be searched by FULLTEXT, else null.
+     */
+    public static String likeFallback(String term, String booleanMode) {
+        return NONE.equals(booleanMode) && term != null && !term.isBlank() ? term : null;
+    }
+}
@@ -0,0 +1,214 @@
+package com.online.course.management.project.utils.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Completion trie over normalized labels. Every label is reachable from the start of each of its words, and each
+ * node keeps the most popular entries below it, so completing a prefix is a walk down as many nodes as the prefix
+ * has characters followed by a copy of at most {@link #MAX_SUGGESTIONS} entries, whatever the number of labels.
+ * <p>
+ * Keys are cut at {@link #MAX_KEY_LENGTH} characters to bound the trie's depth; a longer prefix is completed by
+ * filtering the few labels under its first characters. Not thread-safe: callers guard it with their own lock.
+ */
+public final class PrefixIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    static final int MAX_KEY_LENGTH = 32;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Most popular first, then alphabetical, so equally popular entries come back in a stable order
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::popularity).reversed()
+            .thenComparing(Entry::key)
+            .thenComparingLong(Entry::id);
+
+    private final Node root = new Node();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    /**
+     * Adds or replaces the entry of an id. A label without letters or digits cannot be completed and is left out.
+     */
+    public void put(long id, String label, long popularity) {
+        remove(id);
+        String key = normalize(label);
+        if (key.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(id, label, key, popularity);
+        entries.put(id, entry);
+        for (String suffix : wordSuffixes(key)) {
+            Deque<Node> path = path(suffix, true);
+            path.peekLast().entries.add(entry);
+            rerank(path);
+        }
+    }
+
+    public void remove(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String suffix : wordSuffixes(entry.key())) {
+            Deque<Node> path = path(suffix, false);
+            path.peekLast().entries.remove(entry);
+            rerank(path);
+            prune(path, suffix);
+        }
+    }
+
+    public void clear() {
+        root.children.clear();
+        root.top = NO_ENTRIES;
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns up to limit entries with a word starting with the prefix, most popular first.
+     */
+    public List<Entry> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        int count = Math.min(limit, MAX_SUGGESTIONS);
+        if (key.isEmpty() || count <= 0) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int i = 0; i < Math.min(key.length(), MAX_KEY_LENGTH) && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        if (key.length() <= MAX_KEY_LENGTH) {
+            return List.of(Arrays.copyOf(node.top, Math.min(count, node.top.length)));
+        }
+
+        Set<Entry> candidates = new HashSet<>();
+        collect(node, candidates);
+        return candidates.stream()
+                .filter(entry -> entry.key().startsWith(key) || entry.key().contains(" " + key))
+                .sorted(RANKING)
+                .limit(count)
+                .toList();
+    }
+
+    /**
+     * Lower-cases the text, strips accents and turns every run of other characters into a single space, so that
+     * "Tiếng  Việt!" and "tieng viet" complete the same labels.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+    }
+
+    // The key from the start of each word, cut to the trie's depth; duplicates would only rank an entry twice
+    private static Set<String> wordSuffixes(String key) {
+        Set<String> suffixes = new LinkedHashSet<>();
+        int start = 0;
+        while (true) {
+            suffixes.add(key.substring(start, Math.min(key.length(), start + MAX_KEY_LENGTH)));
+            int space = key.indexOf(' ', start);
+            if (space < 0) {
+                return suffixes;
+            }
+            start = space + 1;
+        }
+    }
+
+    private Deque<Node> path(String suffix, boolean create) {
+        Deque<Node> path = new ArrayDeque<>(suffix.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < suffix.length(); i++) {
+            node = create
+                    ? node.children.computeIfAbsent(suffix.charAt(i), c -> new Node())
+                    : node.children.get(suffix.charAt(i));
+            path.add(node);
+        }
+        return path;
+    }
+
+    // Recomputes the best entries of the nodes on the path, deepest first, until one comes out unchanged: the nodes
+    // above only see the change through that node's best entries
+    private static void rerank(Deque<Node> path) {
+        Iterator<Node> bottomUp = path.descendingIterator();
+        while (bottomUp.hasNext()) {
+            Node node = bottomUp.next();
+            Entry[] top = best(node);
+            if (Arrays.equals(top, node.top)) {
+                return;
+            }
+            node.top = top;
+        }
+    }
+
+    private static Entry[] best(Node node) {
+        List<Entry> candidates = new ArrayList<>(MAX_SUGGESTIONS * (node.children.size() + 1));
+        Iterator<Entry> own = node.entries.iterator();
+        for (int i = 0; i < MAX_SUGGESTIONS && own.hasNext(); i++) {
+            candidates.add(own.next());
+        }
+        for (Node child : node.children.values()) {
+            Collections.addAll(candidates, child.top);
+        }
+        candidates.sort(RANKING);
+
+        // An entry reached through several of its words sorts next to itself
+        Entry[] top = new Entry[Math.min(MAX_SUGGESTIONS, candidates.size())];
+        int size = 0;
+        for (int i = 0; i < candidates.size() && size < top.length; i++) {
+            if (size == 0 || !candidates.get(i).equals(top[size - 1])) {
+                top[size++] = candidates.get(i);
+            }
+        }
+        return size == top.length ? top : Arrays.copyOf(top, size);
+    }
+
+    // Drops the nodes the removal left without entries below them
+    private static void prune(Deque<Node> path, String suffix) {
+        Iterator<Node> bottomUp = path.descendingIterator();
+        Node child = bottomUp.next();
+        for (int i = suffix.length() - 1; i >= 0 && child.isEmpty(); i--) {
+            Node parent = bottomUp.next();
+            parent.children.remove(suffix.charAt(i));
+            child = parent;
+        }
+    }
+
+    private static void collect(Node node, Set<Entry> into) {
+        into.addAll(node.entries);
+        node.children.values().forEach(child -> collect(child, into));
+    }
+
+    /**
+     * A completable label: the id it stands for, the label as given and its normalized form.
+     */
+    public record Entry(long id, String label, String key, long popularity) {
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        // Entries whose key ends here, ranked, as many titles can end in the same words
+        private final NavigableSet<Entry> entries = new TreeSet<>(RANKING);
+        private Entry[] top = NO_ENTRIES;
+
+        private boolean isEmpty() {
+            return children.isEmpty() && entries.isEmpty();
+        }
+    }
+}
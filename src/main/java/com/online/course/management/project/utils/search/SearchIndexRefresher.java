@@ -0,0 +1,154 @@
+package com.online.course.management.project.utils.search;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.event.CategoryChangedEvent;
+import com.online.course.management.project.event.ChapterChangedEvent;
+import com.online.course.management.project.event.CourseChangedEvent;
+import com.online.course.management.project.event.LessonChangedEvent;
+import com.online.course.management.project.event.UserChangedEvent;
+import com.online.course.management.project.utils.cache.CacheInvalidationOutbox;
+import com.online.course.management.project.utils.cache.RemoteInvalidationHandler;
+import com.online.course.management.project.utils.course.CourseAutocompleteIndex;
+import com.online.course.management.project.utils.course.CourseFacetIndex;
+import com.online.course.management.project.utils.lesson.LessonSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Brings the lesson, course facet and course autocomplete indexes of every node up to date with a change. It runs
+ * where the change is published, inside its transaction: the changed scope is written to the outbox with the other
+ * rows of the transaction, applied to this node's indexes once it commits, so they never hold rolled back data, and
+ * applied by the other nodes when their {@link com.online.course.management.project.utils.cache.CacheInvalidationPoller}
+ * reads it.
+ * <p>
+ * Course and chapter titles are indexed with every lesson, so their changes re-index the lessons below them. The
+ * course indexes re-read the courses of a changed category or instructor, which carry its name.
+ */
+@Component
+@Slf4j
+public class SearchIndexRefresher implements RemoteInvalidationHandler {
+
+    // Outbox keys are a scope prefix followed by its id
+    private static final String COURSE = "course:";
+    private static final String CHAPTER = "chapter:";
+    private static final String CATEGORY = "category:";
+    private static final String INSTRUCTOR = "instructor:";
+
+    private final LessonSearchIndex lessonSearchIndex;
+    private final CourseFacetIndex courseFacetIndex;
+    private final CourseAutocompleteIndex courseAutocompleteIndex;
+    private final CacheInvalidationOutbox outbox;
+
+    @Autowired
+    public SearchIndexRefresher(LessonSearchIndex lessonSearchIndex, CourseFacetIndex courseFacetIndex,
+                                CourseAutocompleteIndex courseAutocompleteIndex, CacheInvalidationOutbox outbox) {
+        this.lessonSearchIndex = lessonSearchIndex;
+        this.courseFacetIndex = courseFacetIndex;
+        this.courseAutocompleteIndex = courseAutocompleteIndex;
+        this.outbox = outbox;
+    }
+
+    @EventListener
+    public void onLessonChanged(LessonChangedEvent event) {
+        event.getChapterIds().forEach(chapterId -> publish(CHAPTER + chapterId));
+    }
+
+    @EventListener
+    public void onChapterChanged(ChapterChangedEvent event) {
+        if (event.getChapterIds().isEmpty()) {
+            publish(COURSE + event.getCourseId());
+        } else {
+            event.getChapterIds().forEach(chapterId -> publish(CHAPTER + chapterId));
+        }
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        publish(COURSE + event.getCourseId());
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        publish(CATEGORY + event.getCategoryId());
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        publish(INSTRUCTOR + event.getUserId());
+    }
+
+    @Override
+    public String getName() {
+        return CacheConstants.SEARCH_INDEXES;
+    }
+
+    @Override
+    public void invalidate(Object key) {
+        if (key == null) {
+            update("lesson search", lessonSearchIndex::rebuild);
+            update("course facet", courseFacetIndex::rebuild);
+            update("course autocomplete", courseAutocompleteIndex::rebuild);
+            return;
+        }
+        reindexLessons(key);
+        String scope = key.toString();
+        if (scope.startsWith(COURSE)) {
+            List<Long> courseIds = List.of(id(scope, COURSE));
+            update("course facet", () -> courseFacetIndex.refreshCourses(courseIds));
+            update("course autocomplete", () -> courseAutocompleteIndex.refreshCourses(courseIds));
+        } else if (scope.startsWith(CATEGORY)) {
+            Long categoryId = id(scope, CATEGORY);
+            update("course facet", () -> courseFacetIndex.refreshCategory(categoryId));
+            update("course autocomplete", () -> courseAutocompleteIndex.refreshCategory(categoryId));
+        } else if (scope.startsWith(INSTRUCTOR)) {
+            Long instructorId = id(scope, INSTRUCTOR);
+            update("course facet", () -> courseFacetIndex.refreshInstructor(instructorId));
+            update("course autocomplete", () -> courseAutocompleteIndex.refreshInstructor(instructorId));
+        }
+    }
+
+    /**
+     * Queues the lessons of an outbox key for re-indexing; used to replay the outbox into the lesson index.
+     */
+    public void reindexLessons(Object key) {
+        String scope = key.toString();
+        if (scope.startsWith(CHAPTER)) {
+            lessonSearchIndex.reindexChapters(List.of(id(scope, CHAPTER)));
+        } else if (scope.startsWith(COURSE)) {
+            lessonSearchIndex.reindexCourse(id(scope, COURSE));
+        }
+    }
+
+    private void publish(String key) {
+        outbox.append(getName(), key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(key);
+            }
+        });
+    }
+
+    private static Long id(String scope, String prefix) {
+        return Long.valueOf(scope.substring(prefix.length()));
+    }
+
+    // The change itself has committed, so a failure only leaves that index stale until it is rebuilt
+    private void update(String index, Runnable refresh) {
+        try {
+            refresh.run();
+        } catch (RuntimeException e) {
+            log.warn("Could not update the {} index", index, e);
+        }
+    }
+}
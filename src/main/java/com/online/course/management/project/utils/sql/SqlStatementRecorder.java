@@ -0,0 +1,92 @@
+package com.online.course.management.project.utils.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Listens to the proxied data source and adds every statement and fetched row to the stats of the calling
+ * thread. Threads that have not called {@link #start()} are not recorded.
+ */
+public class SqlStatementRecorder implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String STARTED_AT = "sqlStatementRecorder.startedAt";
+
+    private final ThreadLocal<SqlStatementStats> currentStats = new ThreadLocal<>();
+
+    public SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        currentStats.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stats recorded so far on this thread, or null when recording was not started.
+     */
+    public SqlStatementStats current() {
+        return currentStats.get();
+    }
+
+    public SqlStatementStats stop() {
+        SqlStatementStats stats = currentStats.get();
+        currentStats.remove();
+        return stats;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (currentStats.get() != null) {
+            execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = currentStats.get();
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        if (stats == null || startedAt == null) {
+            return;
+        }
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        stats.recordStatement(sql, System.nanoTime() - startedAt, affectedRows(execInfo.getResult()));
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        // Rows read are counted as the result set is walked, since a query only reports its cursor
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            SqlStatementStats stats = currentStats.get();
+            if (stats != null) {
+                stats.recordRowRead();
+            }
+        }
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return 0;
+    }
+}
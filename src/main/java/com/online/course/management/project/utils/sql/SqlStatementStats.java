@@ -0,0 +1,48 @@
+package com.online.course.management.project.utils.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC work done by one thread since recording started: statements executed, rows read or written,
+ * time spent in the driver, and how often each distinct statement ran. Owned by a single thread.
+ */
+public class SqlStatementStats {
+
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    void recordStatement(String sql, long elapsedNanos, long affectedRows) {
+        statements++;
+        jdbcNanos += elapsedNanos;
+        rows += affectedRows;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void recordRowRead() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * The statement executed most often, the usual signature of an N+1 load, or null when nothing ran.
+     */
+    public Map.Entry<String, Integer> getMostRepeatedStatement() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
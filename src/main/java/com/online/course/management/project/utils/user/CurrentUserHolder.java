@@ -0,0 +1,57 @@
+package com.online.course.management.project.utils.user;
+
+import com.online.course.management.project.entity.User;
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
+import com.online.course.management.project.repository.IUserRepository;
+import com.online.course.management.project.security.CustomUserDetails;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Current user of the request. The principal answers id and role questions without touching the database,
+ * and the {@link User} entity is loaded at most once per request, then kept as a request attribute.
+ * Outside of a web request (scheduled jobs, tests) the entity is loaded on every call.
+ */
+@Component
+public class CurrentUserHolder {
+
+    private static final String CURRENT_USER_ATTRIBUTE = CurrentUserHolder.class.getName() + ".user";
+
+    private final IUserRepository userRepository;
+
+    @Autowired
+    public CurrentUserHolder(IUserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public CustomUserDetails getPrincipal() {
+        return (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    public Long getUserId() {
+        return getPrincipal().getId();
+    }
+
+    public User getUser() {
+        Long userId = getUserId();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        if (requestAttributes != null) {
+            Object cached = requestAttributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached instanceof User user && userId.equals(user.getId())) {
+                return user;
+            }
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
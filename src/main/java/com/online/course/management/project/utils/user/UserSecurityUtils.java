@@ -1,39 +1,38 @@
 package com.online.course.management.project.utils.user;
 
 import com.online.course.management.project.entity.User;
-import com.online.course.management.project.exception.business.ResourceNotFoundException;
-import com.online.course.management.project.exception.business.UnauthorizedException;
-import com.online.course.management.project.repository.IUserRepository;
 import com.online.course.management.project.security.CustomUserDetails;
+import com.online.course.management.project.security.RoleMask;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 @Component
 public class UserSecurityUtils {
 
-    private final IUserRepository userRepository;
+    private final CurrentUserHolder currentUserHolder;
 
     @Autowired
-    public UserSecurityUtils(IUserRepository userRepository) {
-        this.userRepository = userRepository;
+    public UserSecurityUtils(CurrentUserHolder currentUserHolder) {
+        this.currentUserHolder = currentUserHolder;
     }
 
     public CustomUserDetails getCurrentUserDetails() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return currentUserHolder.getPrincipal();
+    }
 
-        return (CustomUserDetails) authentication.getPrincipal();
+    /**
+     * Id of the current user, read from the principal without loading the user.
+     */
+    public Long getCurrentUserId() {
+        return currentUserHolder.getUserId();
     }
 
     public User getCurrentUser() {
-        CustomUserDetails userDetails = getCurrentUserDetails();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return currentUserHolder.getUser();
     }
 
     public boolean isAdmin() {
-        return getCurrentUserDetails().getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        return (RoleMask.ofAuthentication(SecurityContextHolder.getContext().getAuthentication()) & RoleMask.ADMIN) != 0;
     }
 }
@@ -0,0 +1,120 @@
+package com.online.course.management.project.utils.usercourse;
+
+import com.online.course.management.project.config.ProgressProperties;
+import com.online.course.management.project.entity.UserCourse;
+import com.online.course.management.project.enums.ProgressStore;
+import com.online.course.management.project.repository.ILessonRepository;
+import com.online.course.management.project.repository.IUserCourseRepository;
+import com.online.course.management.project.utils.userlessonprogress.CourseLessonIndex;
+import com.online.course.management.project.utils.userlessonprogress.LessonProgressBitmap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the lesson total, counters and status stored on enrollments in line with the lessons of their course.
+ * Lesson and chapter services call it in the transaction that adds, deletes or restores lessons, so an enrollment
+ * never reads as completed against a lesson count that is no longer true.
+ */
+@Component
+@Slf4j
+public class EnrollmentProgressRecounter {
+
+    private final IUserCourseRepository userCourseRepository;
+    private final ILessonRepository lessonRepository;
+    private final ProgressProperties progressProperties;
+
+    @Autowired
+    public EnrollmentProgressRecounter(IUserCourseRepository userCourseRepository, ILessonRepository lessonRepository,
+                                       ProgressProperties progressProperties) {
+        this.userCourseRepository = userCourseRepository;
+        this.lessonRepository = lessonRepository;
+        this.progressProperties = progressProperties;
+    }
+
+    /**
+     * Moves the lesson total of the enrollments of the given courses after lessons were added to them. New lessons
+     * carry no progress yet, so no counter changes.
+     */
+    public void lessonsAdded(Collection<Long> courseIds) {
+        courseIds.forEach(this::updateTotalLessons);
+    }
+
+    /**
+     * Re-derives the enrollments of the given courses after the given lessons were deleted or restored.
+     */
+    public void lessonsRemovedOrRestored(Collection<Long> courseIds, Collection<Long> lessonIds) {
+        if (courseIds.isEmpty() || lessonIds.isEmpty()) {
+            return;
+        }
+        if (progressProperties.getStore() == ProgressStore.ROWS) {
+            courseIds.forEach(this::updateTotalLessons);
+            userCourseRepository.recountProgressOnLessons(lessonIds);
+            log.debug("Recounted enrollment progress on lessons {}", lessonIds);
+            return;
+        }
+        recountBitmaps(courseIds, (index, slot) -> lessonIds.contains(index.lessonIdAt(slot)));
+    }
+
+    /**
+     * Re-derives the enrollments of the given courses after the given chapters were deleted or restored.
+     */
+    public void chaptersRemovedOrRestored(Collection<Long> courseIds, Collection<Long> chapterIds) {
+        if (courseIds.isEmpty() || chapterIds.isEmpty()) {
+            return;
+        }
+        if (progressProperties.getStore() == ProgressStore.ROWS) {
+            courseIds.forEach(this::updateTotalLessons);
+            userCourseRepository.recountProgressOnChapters(chapterIds);
+            log.debug("Recounted enrollment progress on chapters {}", chapterIds);
+            return;
+        }
+        recountBitmaps(courseIds, (index, slot) -> chapterIds.contains(index.chapterIdAt(slot)));
+    }
+
+    // Counted once per course, so the update itself carries no subquery per enrollment
+    private void updateTotalLessons(Long courseId) {
+        userCourseRepository.updateTotalLessons(courseId, userCourseRepository.countEnrollableLessons(courseId));
+    }
+
+    private void recountBitmaps(Collection<Long> courseIds, BiPredicate<CourseLessonIndex, Integer> changed) {
+        // Lock first, so a progress update either commits before the recount or reads the new lessons after it
+        Map<Long, List<UserCourse>> enrollmentsByCourse = userCourseRepository.findActiveByCourseIdInForUpdate(courseIds)
+                .stream()
+                .collect(Collectors.groupingBy(userCourse -> userCourse.getCourse().getId()));
+        courseIds.forEach(this::updateTotalLessons);
+
+        int recounted = 0;
+        for (Map.Entry<Long, List<UserCourse>> entry : enrollmentsByCourse.entrySet()) {
+            CourseLessonIndex index = CourseLessonIndex.of(lessonRepository.findCourseLessonSlots(entry.getKey()));
+            BitSet changedSlots = new BitSet();
+            for (int slot = 0; slot < index.slotCount(); slot++) {
+                if (changed.test(index, slot)) {
+                    changedSlots.set(slot);
+                }
+            }
+            for (UserCourse userCourse : entry.getValue()) {
+                LessonProgressBitmap bitmap = LessonProgressBitmap.decode(
+                        userCourse.getCompletedLessonsBitmap(), userCourse.getInProgressLessonsBitmap());
+                if (!changedSlots.intersects(bitmap.completed()) && !changedSlots.intersects(bitmap.inProgress())) {
+                    continue;
+                }
+                userCourseRepository.applyProgressBitmaps(
+                        userCourse.getId(),
+                        bitmap.encodeCompleted(),
+                        bitmap.encodeInProgress(),
+                        index.countActive(bitmap.inProgress()),
+                        index.countActive(bitmap.completed()));
+                recounted++;
+            }
+        }
+        log.debug("Recounted the bitsets of {} enrollments in courses {}", recounted, courseIds);
+    }
+}
@@ -0,0 +1,69 @@
+package com.online.course.management.project.utils.usercourse;
+
+import com.online.course.management.project.dto.UserCourseDTOs;
+import com.online.course.management.project.entity.UserCourse;
+import com.online.course.management.project.repository.IUserCourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads enrollment statistics for a whole page of enrollments with a fixed number of grouped queries,
+ * so the cost of mapping a page does not grow with the page size.
+ */
+@Component
+@Slf4j
+public class UserCourseStatisticsLoader {
+
+    private final IUserCourseRepository userCourseRepository;
+
+    @Autowired
+    public UserCourseStatisticsLoader(IUserCourseRepository userCourseRepository) {
+        this.userCourseRepository = userCourseRepository;
+    }
+
+    /**
+     * Returns the statistics of every given enrollment, keyed by enrollment id.
+     */
+    public Map<Long, UserCourseDTOs.EnrollmentStatisticsDTO> load(List<UserCourse> userCourses) {
+        if (userCourses.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<Long> courseIds = userCourses.stream().map(uc -> uc.getCourse().getId()).collect(Collectors.toSet());
+
+        Map<Long, Integer> totalLessons = new HashMap<>();
+        for (var total : userCourseRepository.getTotalLessonsByCourseIds(courseIds)) {
+            totalLessons.put(total.getCourseId(), total.getTotalLessons());
+        }
+
+        Map<Long, Double> averageRatings = new HashMap<>();
+        for (var rating : userCourseRepository.getAverageRatingsByCourseIds(courseIds)) {
+            averageRatings.put(rating.getCourseId(), rating.getAverageRating());
+        }
+
+        log.debug("Loaded statistics for {} enrollments across {} courses", userCourses.size(), courseIds.size());
+
+        Map<Long, UserCourseDTOs.EnrollmentStatisticsDTO> statistics = new HashMap<>();
+        for (UserCourse userCourse : userCourses) {
+            Long courseId = userCourse.getCourse().getId();
+
+            // Lesson progress counts come from the counters maintained on the enrollment itself
+            statistics.put(userCourse.getId(), UserCourseDTOs.EnrollmentStatisticsDTO.builder()
+                    .processingLessons(userCourse.getInProgressCount())
+                    .completedLessons(userCourse.getCompletedCount())
+                    .trackedLessons(userCourse.getTotalLessons())
+                    .totalLessons(totalLessons.getOrDefault(courseId, 0))
+                    .averageRating(averageRatings.getOrDefault(courseId, 0.0))
+                    .build());
+        }
+
+        return statistics;
+    }
+}
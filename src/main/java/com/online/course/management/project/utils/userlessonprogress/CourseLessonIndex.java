@@ -0,0 +1,130 @@
+package com.online.course.management.project.utils.userlessonprogress;
+
+import com.online.course.management.project.repository.ILessonRepository;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Maps the lessons of one course to the bit slots used by {@link LessonProgressBitmap}.
+ * Slots follow lesson creation order (ascending id) and are never reused, while the outline order
+ * (chapter order, then lesson order) is kept separately for rollups and "next lesson" lookups.
+ * Instances are shared through CourseOutline snapshots, so callers must not modify the bitsets they are given.
+ */
+public class CourseLessonIndex {
+
+    private final long[] lessonIds;
+    private final long[] chapterIds;
+    private final BitSet activeSlots;
+    private final int[] outlineOrder;
+    private final Map<Long, Integer> slotsByLessonId;
+    private final Map<Long, BitSet> chapterSlots;
+
+    private CourseLessonIndex(long[] lessonIds, long[] chapterIds, BitSet activeSlots, int[] outlineOrder,
+                              Map<Long, Integer> slotsByLessonId, Map<Long, BitSet> chapterSlots) {
+        this.lessonIds = lessonIds;
+        this.chapterIds = chapterIds;
+        this.activeSlots = activeSlots;
+        this.outlineOrder = outlineOrder;
+        this.slotsByLessonId = slotsByLessonId;
+        this.chapterSlots = chapterSlots;
+    }
+
+    /**
+     * Builds the index from the lesson rows of a course, which must be ordered by lesson id.
+     */
+    public static CourseLessonIndex of(List<ILessonRepository.LessonSlotView> lessons) {
+        int size = lessons.size();
+        long[] lessonIds = new long[size];
+        long[] chapterIds = new long[size];
+        BitSet activeSlots = new BitSet(size);
+        Map<Long, Integer> slotsByLessonId = new HashMap<>(size * 2);
+
+        for (int slot = 0; slot < size; slot++) {
+            ILessonRepository.LessonSlotView lesson = lessons.get(slot);
+            lessonIds[slot] = lesson.getLessonId();
+            chapterIds[slot] = lesson.getChapterId();
+            slotsByLessonId.put(lesson.getLessonId(), slot);
+            if (lesson.getActive() != null && lesson.getActive() == 1) {
+                activeSlots.set(slot);
+            }
+        }
+
+        int[] outlineOrder = activeSlots.stream()
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(slot -> lessons.get(slot).getChapterOrder())
+                        .thenComparingLong(slot -> lessons.get(slot).getChapterId())
+                        .thenComparingInt(slot -> lessons.get(slot).getLessonOrder())
+                        .thenComparingLong(slot -> lessons.get(slot).getLessonId()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        Map<Long, BitSet> chapterSlots = new LinkedHashMap<>();
+        for (int slot : outlineOrder) {
+            chapterSlots.computeIfAbsent(chapterIds[slot], chapterId -> new BitSet(size)).set(slot);
+        }
+
+        return new CourseLessonIndex(lessonIds, chapterIds, activeSlots, outlineOrder,
+                slotsByLessonId, Collections.unmodifiableMap(chapterSlots));
+    }
+
+    /**
+     * Returns the slot of a lesson, or -1 when the lesson does not belong to the course.
+     */
+    public int slotOf(Long lessonId) {
+        return slotsByLessonId.getOrDefault(lessonId, -1);
+    }
+
+    public boolean isActive(int slot) {
+        return activeSlots.get(slot);
+    }
+
+    public long lessonIdAt(int slot) {
+        return lessonIds[slot];
+    }
+
+    public long chapterIdAt(int slot) {
+        return chapterIds[slot];
+    }
+
+    // Slots of every lesson, active or not
+    public int slotCount() {
+        return lessonIds.length;
+    }
+
+    public int activeLessonCount() {
+        return outlineOrder.length;
+    }
+
+    /**
+     * Number of active lessons among the given slots.
+     */
+    public int countActive(BitSet slots) {
+        BitSet activeOnly = (BitSet) slots.clone();
+        activeOnly.and(activeSlots);
+        return activeOnly.cardinality();
+    }
+
+    /**
+     * Active slots of every chapter, in outline order of the chapters.
+     */
+    public Map<Long, BitSet> chapterSlots() {
+        return chapterSlots;
+    }
+
+    public IntStream outlineSlots() {
+        return Arrays.stream(outlineOrder);
+    }
+
+    /**
+     * First active lesson in outline order that is not completed, or null when the course is finished.
+     */
+    public Long nextLessonId(BitSet completed) {
+        for (int slot : outlineOrder) {
+            if (!completed.get(slot)) {
+                return lessonIds[slot];
+            }
+        }
+        return null;
+    }
+}
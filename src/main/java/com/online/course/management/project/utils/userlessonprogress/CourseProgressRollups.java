@@ -0,0 +1,125 @@
+package com.online.course.management.project.utils.userlessonprogress;
+
+import com.online.course.management.project.dto.UserLessonProgressDtos;
+import com.online.course.management.project.enums.ProgressStatus;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds course progress summaries (completion, per-chapter rollups, next lesson) for both progress stores.
+ */
+public class CourseProgressRollups {
+
+    /**
+     * Row store: scans the progress of every lesson, which must be given in outline order.
+     */
+    public static UserLessonProgressDtos.CourseProgressResponseDTO fromLessons(
+            Long courseId, List<UserLessonProgressDtos.LessonProgressResponseDTO> lessons) {
+        int notStartedLessons = 0;
+        int inProgressLessons = 0;
+        int completedLessons = 0;
+        Long nextLessonId = null;
+        Map<Integer, int[]> chapterCounts = new LinkedHashMap<>();
+
+        for (UserLessonProgressDtos.LessonProgressResponseDTO lesson : lessons) {
+            int[] chapterCount = chapterCounts.computeIfAbsent(lesson.getChapterId(), chapterId -> new int[2]);
+            chapterCount[0]++;
+
+            if (ProgressStatus.COMPLETED.name().equals(lesson.getStatus())) {
+                completedLessons++;
+                chapterCount[1]++;
+                continue;
+            }
+
+            if (ProgressStatus.IN_PROGRESS.name().equals(lesson.getStatus())) {
+                inProgressLessons++;
+            } else if (ProgressStatus.NOT_STARTED.name().equals(lesson.getStatus())) {
+                notStartedLessons++;
+            }
+            if (nextLessonId == null && lesson.getLessonId() != null) {
+                nextLessonId = lesson.getLessonId().longValue();
+            }
+        }
+
+        List<UserLessonProgressDtos.ChapterProgressDTO> chapters = new ArrayList<>(chapterCounts.size());
+        chapterCounts.forEach((chapterId, counts) -> chapters.add(UserLessonProgressDtos.ChapterProgressDTO.builder()
+                .chapterId(chapterId != null ? chapterId.longValue() : null)
+                .totalLessons(counts[0])
+                .completedLessons(counts[1])
+                .completionPercentage(completionPercentage(counts[1], counts[0]))
+                .build()));
+
+        return UserLessonProgressDtos.CourseProgressResponseDTO.builder()
+                .courseId(courseId)
+                .totalLessons(lessons.size())
+                .notStartedLessons(notStartedLessons)
+                .inProgressLessons(inProgressLessons)
+                .completedLessons(completedLessons)
+                .completionPercentage(completionPercentage(completedLessons, lessons.size()))
+                .nextLessonId(nextLessonId)
+                .chapters(chapters)
+                .lessons(lessons)
+                .build();
+    }
+
+    /**
+     * Bitmap store: every figure is a cardinality of the progress bitsets masked by the course index.
+     * Per-lesson entries are only built when requested.
+     */
+    public static UserLessonProgressDtos.CourseProgressResponseDTO fromBitmap(
+            Long courseId, CourseLessonIndex index, LessonProgressBitmap bitmap, boolean includeLessons) {
+        int totalLessons = index.activeLessonCount();
+        int completedLessons = index.countActive(bitmap.completed());
+        int inProgressLessons = index.countActive(bitmap.inProgress());
+
+        List<UserLessonProgressDtos.ChapterProgressDTO> chapters = new ArrayList<>(index.chapterSlots().size());
+        for (Map.Entry<Long, BitSet> chapter : index.chapterSlots().entrySet()) {
+            BitSet chapterCompleted = (BitSet) chapter.getValue().clone();
+            chapterCompleted.and(bitmap.completed());
+
+            int chapterTotal = chapter.getValue().cardinality();
+            int chapterCompletedCount = chapterCompleted.cardinality();
+            chapters.add(UserLessonProgressDtos.ChapterProgressDTO.builder()
+                    .chapterId(chapter.getKey())
+                    .totalLessons(chapterTotal)
+                    .completedLessons(chapterCompletedCount)
+                    .completionPercentage(completionPercentage(chapterCompletedCount, chapterTotal))
+                    .build());
+        }
+
+        List<UserLessonProgressDtos.LessonProgressResponseDTO> lessons = null;
+        if (includeLessons) {
+            lessons = index.outlineSlots()
+                    .mapToObj(slot -> UserLessonProgressDtos.LessonProgressResponseDTO.builder()
+                            .courseId(courseId.intValue())
+                            .chapterId((int) index.chapterIdAt(slot))
+                            .lessonId((int) index.lessonIdAt(slot))
+                            .status(bitmap.statusOf(slot).name())
+                            .build())
+                    .toList();
+        }
+
+        return UserLessonProgressDtos.CourseProgressResponseDTO.builder()
+                .courseId(courseId)
+                .totalLessons(totalLessons)
+                .notStartedLessons(totalLessons - completedLessons - inProgressLessons)
+                .inProgressLessons(inProgressLessons)
+                .completedLessons(completedLessons)
+                .completionPercentage(completionPercentage(completedLessons, totalLessons))
+                .nextLessonId(index.nextLessonId(bitmap.completed()))
+                .chapters(chapters)
+                .lessons(lessons)
+                .build();
+    }
+
+    public static double completionPercentage(int completed, int total) {
+        if (total == 0) {
+            return 0.0;
+        }
+        return Math.round(completed * 10000.0 / total) / 100.0;
+    }
+}
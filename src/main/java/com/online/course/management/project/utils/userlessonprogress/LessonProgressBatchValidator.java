@@ -0,0 +1,48 @@
+package com.online.course.management.project.utils.userlessonprogress;
+
+import com.online.course.management.project.exception.business.InvalidRequestException;
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
+import com.online.course.management.project.repository.IUserLessonProgressRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checks that a learner may track progress on a batch of lessons: every lesson exists and is active,
+ * and the learner holds an active enrollment in the lesson's course. The whole batch is checked with one query.
+ */
+@Component
+public class LessonProgressBatchValidator {
+
+    private final IUserLessonProgressRepository userLessonProgressRepository;
+
+    @Autowired
+    public LessonProgressBatchValidator(IUserLessonProgressRepository userLessonProgressRepository) {
+        this.userLessonProgressRepository = userLessonProgressRepository;
+    }
+
+    public void validate(Long userId, Collection<Long> lessonIds) {
+        if (lessonIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, IUserLessonProgressRepository.LessonTrackingView> trackingByLessonId = new HashMap<>();
+        for (var tracking : userLessonProgressRepository.findLessonTracking(userId, lessonIds)) {
+            trackingByLessonId.put(tracking.getLessonId(), tracking);
+        }
+
+        for (Long lessonId : lessonIds) {
+            var tracking = trackingByLessonId.get(lessonId);
+            if (tracking == null || tracking.getActive() != 1) {
+                throw new ResourceNotFoundException("Lesson not found");
+            }
+
+            if (tracking.getEnrolled() != 1) {
+                throw new InvalidRequestException("User must be enrolled in the course before tracking progress");
+            }
+        }
+    }
+}
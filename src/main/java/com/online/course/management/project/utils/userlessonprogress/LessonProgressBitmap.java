@@ -0,0 +1,76 @@
+package com.online.course.management.project.utils.userlessonprogress;
+
+import com.online.course.management.project.enums.ProgressStatus;
+
+import java.util.BitSet;
+
+/**
+ * Progress of one enrollment as two bitsets over the lesson slots of a {@link CourseLessonIndex}.
+ * A slot set in neither bitset is NOT_STARTED.
+ */
+public class LessonProgressBitmap {
+
+    /**
+     * Slots a bitset can address: the progress columns of user_courses are VARBINARY(2048).
+     */
+    public static final int MAX_SLOTS = 2048 * Byte.SIZE;
+
+    private final BitSet completed;
+    private final BitSet inProgress;
+
+    private LessonProgressBitmap(BitSet completed, BitSet inProgress) {
+        this.completed = completed;
+        this.inProgress = inProgress;
+    }
+
+    public static LessonProgressBitmap decode(byte[] completed, byte[] inProgress) {
+        return new LessonProgressBitmap(
+                completed != null ? BitSet.valueOf(completed) : new BitSet(),
+                inProgress != null ? BitSet.valueOf(inProgress) : new BitSet());
+    }
+
+    public ProgressStatus statusOf(int slot) {
+        if (completed.get(slot)) {
+            return ProgressStatus.COMPLETED;
+        }
+        if (inProgress.get(slot)) {
+            return ProgressStatus.IN_PROGRESS;
+        }
+        return ProgressStatus.NOT_STARTED;
+    }
+
+    public void markInProgress(int slot) {
+        checkSlot(slot);
+        completed.clear(slot);
+        inProgress.set(slot);
+    }
+
+    public void markCompleted(int slot) {
+        checkSlot(slot);
+        inProgress.clear(slot);
+        completed.set(slot);
+    }
+
+    // Views are shared with the bitmap, callers must not modify them
+    public BitSet completed() {
+        return completed;
+    }
+
+    public BitSet inProgress() {
+        return inProgress;
+    }
+
+    public byte[] encodeCompleted() {
+        return completed.toByteArray();
+    }
+
+    public byte[] encodeInProgress() {
+        return inProgress.toByteArray();
+    }
+
+    private static void checkSlot(int slot) {
+        if (slot < 0 || slot >= MAX_SLOTS) {
+            throw new IllegalArgumentException("Lesson slot " + slot + " is outside the " + MAX_SLOTS + " a bitmap can hold");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+-- Replace the recounting trigger with counters maintained by the application.
+-- trg_update_course_status_after_progress rescanned every progress row of the enrollment
+-- on each single lesson update; the counters below are adjusted by deltas instead.
+DROP TRIGGER IF EXISTS trg_update_course_status_after_progress;
+
+ALTER TABLE user_courses
+    ADD COLUMN completed_count   INT NOT NULL DEFAULT 0,
+    ADD COLUMN in_progress_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN total_lessons     INT NOT NULL DEFAULT 0;
+
+-- Backfill the counters using the same rules the trigger applied
+UPDATE user_courses uc
+    LEFT JOIN (SELECT ulp.user_id,
+                      ulp.course_id,
+                      COUNT(CASE WHEN ulp.status = 'COMPLETED' THEN 1 END)   AS completed_count,
+                      COUNT(CASE WHEN ulp.status = 'IN_PROGRESS' THEN 1 END) AS in_progress_count,
+                      COUNT(DISTINCT l.id)                                   AS total_lessons
+               FROM user_lesson_progress ulp
+                        JOIN lessons l ON ulp.lesson_id = l.id
+                        JOIN chapters ch ON l.chapter_id = ch.id
+               WHERE l.deleted_at IS NULL
+                 AND ch.deleted_at IS NULL
+               GROUP BY ulp.user_id, ulp.course_id) progress
+    ON progress.user_id = uc.user_id AND progress.course_id = uc.course_id
+SET uc.completed_count   = COALESCE(progress.completed_count, 0),
+    uc.in_progress_count = COALESCE(progress.in_progress_count, 0),
+    uc.total_lessons     = COALESCE(progress.total_lessons, 0);
@@ -0,0 +1,12 @@
+-- Progress rows are now created when a learner first touches a lesson.
+-- A lesson without a row is implicitly NOT_STARTED, so the enrollment fan-out is no longer needed.
+DROP TRIGGER IF EXISTS trg_update_insert_user_lesson_progress_after_enrollment;
+
+-- Collapse the rows the fan-out created for lessons nobody has opened yet
+DELETE
+FROM user_lesson_progress
+WHERE status = 'NOT_STARTED'
+  AND last_accessed_at IS NULL;
+
+-- Supports looking up a learner's progress row for a single lesson
+CREATE INDEX idx_user_lesson_progress_user_lesson ON user_lesson_progress (user_id, lesson_id);
@@ -0,0 +1,6 @@
+-- Compact progress store: one bit per lesson slot of the course, used when progress.store=bitmap.
+-- A lesson's slot is its rank by id among all lessons ever created in the course, so slots never shift
+-- when lessons are reordered or soft deleted. 2048 bytes cover 16384 lessons per course.
+ALTER TABLE user_courses
+    ADD COLUMN completed_lessons_bitmap   VARBINARY(2048) NULL,
+    ADD COLUMN in_progress_lessons_bitmap VARBINARY(2048) NULL;
@@ -0,0 +1,4 @@
+-- The enrollment and lesson-chapter-course checks ran two SELECTs per inserted progress row.
+-- Progress rows are now inserted with INSERT ... SELECT statements that join the enrollment, lesson and chapter,
+-- and rejected batches are diagnosed by LessonProgressBatchValidator with one join query.
+DROP TRIGGER IF EXISTS trg_verify_enrollment_and_lesson;
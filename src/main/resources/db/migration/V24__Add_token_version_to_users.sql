@@ -0,0 +1,3 @@
+-- Bumped whenever a user's roles or status change; JWTs carry the version they were issued with
+ALTER TABLE users
+    ADD COLUMN token_version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+-- Cache evictions written in the transaction of the change that caused them.
+-- Every node polls recent rows and evicts the same keys from its local cache; a NULL key clears the cache.
+CREATE TABLE cache_invalidations
+(
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cache_name  VARCHAR(64)  NOT NULL,
+    cache_key   VARCHAR(255) NULL,
+    origin_node VARCHAR(64)  NOT NULL,
+    created_at  TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations (created_at);
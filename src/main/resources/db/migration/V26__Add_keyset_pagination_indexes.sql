@@ -0,0 +1,16 @@
+-- V26__Add_keyset_pagination_indexes.sql
+
+-- Indexes walked by the keyset (search-scroll) queries. InnoDB appends the primary key to every secondary
+-- index, so each of them is ordered by (sort key, id), the tie-break the cursors use.
+
+-- Courses and lessons are scrolled newest first
+CREATE INDEX idx_courses_created_at ON courses (created_at);
+CREATE INDEX idx_lessons_created_at ON lessons (created_at);
+
+-- Enrollments are always scrolled for one user, latest enrollment first
+CREATE INDEX idx_user_courses_user_enrollment_date ON user_courses (user_id, enrollment_date);
+
+-- Ratings are always scrolled for one course, lowest rating first
+CREATE INDEX idx_course_ratings_course_rating ON course_ratings (course_id, rating);
+
+-- Chapters are scrolled by order_number, which idx_chapters_order already covers
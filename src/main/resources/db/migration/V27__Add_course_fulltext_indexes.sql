@@ -0,0 +1,10 @@
+-- V27__Add_course_fulltext_indexes.sql
+
+-- FULLTEXT indexes behind the FULLTEXT mode of the course search, which replaces the leading-wildcard LIKE on the
+-- course title and instructor name. The first FULLTEXT index on an InnoDB table rebuilds it to add FTS_DOC_ID.
+
+-- The title term is matched against the title and the description
+CREATE FULLTEXT INDEX ft_courses_title_description ON courses (title, description);
+
+-- The instructor term is matched against the instructor's real name
+CREATE FULLTEXT INDEX ft_users_real_name ON users (real_name);
@@ -0,0 +1,83 @@
+package com.online.course.management.project.aspect;
+
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
+import com.online.course.management.project.service.impl.CourseServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoggingAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private MethodSignature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoggingAspect loggingAspect;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        loggingAspect = new LoggingAspect(meterRegistry);
+
+        Method method = Arrays.stream(CourseServiceImpl.class.getDeclaredMethods())
+                .filter(m -> m.getName().equals("getCourseById"))
+                .findFirst()
+                .orElseThrow();
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getMethod()).thenReturn(method);
+        when(signature.getDeclaringTypeName()).thenReturn(CourseServiceImpl.class.getName());
+        when(signature.getDeclaringType()).thenReturn(CourseServiceImpl.class);
+    }
+
+    @Test
+    void logMethodExecution_RecordsLatencyPerMethod() throws Throwable {
+        // Arrange
+        when(joinPoint.proceed()).thenReturn("result");
+
+        // Act
+        Object first = loggingAspect.logMethodExecution(joinPoint);
+        loggingAspect.logMethodExecution(joinPoint);
+
+        // Assert
+        assertEquals("result", first);
+        Timer timer = meterRegistry.get(LoggingAspect.DURATION_METRIC)
+                .tag("layer", "service")
+                .tag("class", "CourseServiceImpl")
+                .tag("method", "getCourseById")
+                .timer();
+        assertEquals(2, timer.count());
+        assertEquals(1, meterRegistry.find(LoggingAspect.DURATION_METRIC).timers().size());
+    }
+
+    @Test
+    void logMethodExecution_Failure_CountsErrorByExceptionType() throws Throwable {
+        // Arrange
+        when(joinPoint.proceed()).thenThrow(new ResourceNotFoundException("Course not found"));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> loggingAspect.logMethodExecution(joinPoint));
+        Counter errors = meterRegistry.get(LoggingAspect.ERRORS_METRIC)
+                .tag("method", "getCourseById")
+                .tag("exception", "ResourceNotFoundException")
+                .counter();
+        assertEquals(1, errors.count());
+        assertEquals(1, meterRegistry.get(LoggingAspect.DURATION_METRIC).timer().count());
+    }
+}
@@ -0,0 +1,97 @@
+package com.online.course.management.project.benchmark;
+
+import com.online.course.management.project.utils.search.PrefixIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares completing a typed prefix from the trie with scanning every normalized title for a word starting with
+ * it, the in-memory equivalent of the LIKE query the search box used to send per keystroke, and measures the
+ * incremental update a course change costs. Titles are drawn from a small vocabulary so that prefixes share nodes
+ * the way real course titles do.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.online.course.management.project.benchmark.AutocompleteBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutocompleteBenchmark {
+
+    private static final String[] WORDS = {
+            "java", "spring", "boot", "kotlin", "python", "data", "science", "machine", "learning", "web",
+            "react", "angular", "design", "patterns", "cloud", "devops", "docker", "kubernetes", "security",
+            "testing", "advanced", "beginner", "complete", "guide", "mastering", "tiếng", "việt", "cơ", "bản"
+    };
+    private static final String[] PREFIXES = {"j", "spr", "mach", "kube", "tieng v", "complete guide t", "zz"};
+    private static final int LIMIT = 5;
+
+    @Param({"1000", "50000"})
+    private int courseCount;
+
+    private PrefixIndex index;
+    private List<PrefixIndex.Entry> titles;
+    private long nextUpdate;
+    private int nextPrefix;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new PrefixIndex();
+        titles = new ArrayList<>(courseCount);
+        for (long id = 1; id <= courseCount; id++) {
+            StringBuilder title = new StringBuilder();
+            for (int word = 2 + random.nextInt(4); word > 0; word--) {
+                title.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            long popularity = random.nextInt(10_000);
+            index.put(id, title.toString(), popularity);
+            titles.add(new PrefixIndex.Entry(id, title.toString(), PrefixIndex.normalize(title.toString()), popularity));
+        }
+    }
+
+    @Benchmark
+    public List<PrefixIndex.Entry> trie() {
+        return index.complete(nextPrefix(), LIMIT);
+    }
+
+    @Benchmark
+    public List<PrefixIndex.Entry> scan() {
+        String key = PrefixIndex.normalize(nextPrefix());
+        return titles.stream()
+                .filter(entry -> entry.key().startsWith(key) || entry.key().contains(" " + key))
+                .sorted(Comparator.comparingLong(PrefixIndex.Entry::popularity).reversed())
+                .limit(LIMIT)
+                .toList();
+    }
+
+    @Benchmark
+    public int update() {
+        long id = nextUpdate++ % courseCount + 1;
+        PrefixIndex.Entry entry = titles.get((int) id - 1);
+        index.put(id, entry.label(), entry.popularity() + nextUpdate % 7);
+        return index.size();
+    }
+
+    private String nextPrefix() {
+        nextPrefix = (nextPrefix + 1) % PREFIXES.length;
+        return PREFIXES[nextPrefix];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AutocompleteBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
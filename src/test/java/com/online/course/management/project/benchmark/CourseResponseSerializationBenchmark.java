@@ -0,0 +1,92 @@
+package com.online.course.management.project.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.online.course.management.project.dto.CourseDTOS;
+import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.utils.cache.SerializedResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a getCourseById body on a courses cache hit: serializing the cached DTO with the application's
+ * ObjectMapper against copying the bytes held by the courseResponses cache. Runs with the GC profiler, whose
+ * gc.alloc.rate.norm column is the allocation per request.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.online.course.management.project.benchmark.CourseResponseSerializationBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CourseDTOS.CourseDetailsResponseDto course;
+    private SerializedResponse cached;
+    private ByteArrayOutputStream responseBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same settings as JacksonConfig
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        CourseDTOS.InstructorDetailsDto instructor = new CourseDTOS.InstructorDetailsDto();
+        instructor.setId(7L);
+        instructor.setUsername("instructor");
+        instructor.setEmail("instructor@example.com");
+        instructor.setRealName("Jane Instructor");
+        instructor.setRoles(Set.of("USER", "INSTRUCTOR"));
+
+        course = new CourseDTOS.CourseDetailsResponseDto();
+        course.setId(1L);
+        course.setTitle("Building REST APIs with Spring Boot");
+        course.setDescription("From controllers and validation to caching, security and deployment. ".repeat(4));
+        course.setStatus(CourseStatus.PUBLISHED);
+        course.setInstructor(instructor);
+        course.setCategoryNames(Set.of("Java", "Spring", "Backend", "Web"));
+        course.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 30));
+        course.setUpdatedAt(LocalDateTime.of(2024, 3, 2, 17, 5));
+
+        cached = SerializedResponse.of(objectMapper.writeValueAsBytes(course));
+        responseBody = new ByteArrayOutputStream(cached.getBody().length * 2);
+    }
+
+    @Benchmark
+    public int serializePerRequest() throws IOException {
+        responseBody.reset();
+        objectMapper.writeValue(responseBody, course);
+        return responseBody.size();
+    }
+
+    @Benchmark
+    public int writeCachedBytes() throws IOException {
+        responseBody.reset();
+        responseBody.write(cached.getBody());
+        return responseBody.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CourseResponseSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.online.course.management.project.benchmark;
+
+import com.online.course.management.project.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token verification cost of the authentication filter.
+ * <ul>
+ *     <li>legacyThreeParses: the previous filter, three parses with a parser built from the string secret each time</li>
+ *     <li>singleParse: one verification with the pre-decoded key and shared parser, i.e. a claims cache miss</li>
+ *     <li>cachedClaims: the steady state, a token already verified on this node</li>
+ * </ul>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.online.course.management.project.benchmark.JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "tfHDo2eVbfqEZFAjEisFcgGpdyUuB7OrmqkW2J++4CY=";
+
+    private JwtUtil jwtUtil;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaximumSize", 10_000L);
+        jwtUtil.init();
+        // Same shared parser JwtUtil uses on a cache miss
+        parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build();
+        token = jwtUtil.generateToken(new User("benchmark", "password", List.of()));
+        jwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public String legacyThreeParses() {
+        Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token);
+        Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody().getExpiration();
+        return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims cachedClaims() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.online.course.management.project.benchmark;
+
+import com.online.course.management.project.dto.UserLessonProgressDtos;
+import com.online.course.management.project.enums.ProgressStatus;
+import com.online.course.management.project.repository.ILessonRepository;
+import com.online.course.management.project.utils.userlessonprogress.CourseLessonIndex;
+import com.online.course.management.project.utils.userlessonprogress.CourseProgressRollups;
+import com.online.course.management.project.utils.userlessonprogress.LessonProgressBitmap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the course progress summary of the row store (scan of one progress entry per lesson)
+ * with the bitmap store (decode two bitsets, then cardinalities). Only the in-JVM work is measured,
+ * the database side is a single row fetch for the bitmap store against one row per lesson for the row store.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.online.course.management.project.benchmark.ProgressStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgressStoreBenchmark {
+
+    private static final int LESSONS_PER_CHAPTER = 10;
+
+    @Param({"50", "400"})
+    private int lessonCount;
+
+    private List<UserLessonProgressDtos.LessonProgressResponseDTO> lessonRows;
+    private CourseLessonIndex index;
+    private byte[] completedBitmap;
+    private byte[] inProgressBitmap;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<ILessonRepository.LessonSlotView> slots = new ArrayList<>(lessonCount);
+        lessonRows = new ArrayList<>(lessonCount);
+        LessonProgressBitmap bitmap = LessonProgressBitmap.decode(null, null);
+
+        for (int slot = 0; slot < lessonCount; slot++) {
+            long lessonId = slot + 1L;
+            long chapterId = slot / LESSONS_PER_CHAPTER + 1L;
+            int lessonOrder = slot % LESSONS_PER_CHAPTER + 1;
+            slots.add(slotView(lessonId, chapterId, lessonOrder));
+
+            ProgressStatus status = ProgressStatus.values()[random.nextInt(ProgressStatus.values().length)];
+            if (status == ProgressStatus.COMPLETED) {
+                bitmap.markCompleted(slot);
+            } else if (status == ProgressStatus.IN_PROGRESS) {
+                bitmap.markInProgress(slot);
+            }
+            lessonRows.add(UserLessonProgressDtos.LessonProgressResponseDTO.builder()
+                    .courseId(1)
+                    .chapterId((int) chapterId)
+                    .lessonId((int) lessonId)
+                    .status(status.name())
+                    .build());
+        }
+
+        index = CourseLessonIndex.of(slots);
+        completedBitmap = bitmap.encodeCompleted();
+        inProgressBitmap = bitmap.encodeInProgress();
+    }
+
+    @Benchmark
+    public UserLessonProgressDtos.CourseProgressResponseDTO rowScan() {
+        return CourseProgressRollups.fromLessons(1L, lessonRows);
+    }
+
+    @Benchmark
+    public UserLessonProgressDtos.CourseProgressResponseDTO bitmap() {
+        LessonProgressBitmap bitmap = LessonProgressBitmap.decode(completedBitmap, inProgressBitmap);
+        return CourseProgressRollups.fromBitmap(1L, index, bitmap, false);
+    }
+
+    private static ILessonRepository.LessonSlotView slotView(long lessonId, long chapterId, int lessonOrder) {
+        return new ILessonRepository.LessonSlotView() {
+            public Long getLessonId() { return lessonId; }
+            public Long getChapterId() { return chapterId; }
+            public Integer getChapterOrder() { return (int) chapterId; }
+            public Integer getLessonOrder() { return lessonOrder; }
+            public Integer getActive() { return 1; }
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProgressStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,75 @@
+package com.online.course.management.project.benchmark;
+
+import com.online.course.management.project.aspect.RoleAuthorizationAspect;
+import com.online.course.management.project.enums.UserStatus;
+import com.online.course.management.project.security.CustomUserDetails;
+import com.online.course.management.project.security.RequiredRole;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Role check of a @RequiredRole method under concurrent load: the previous per-call stream,
+ * String.replace and HashSet work against the cached required mask AND the principal mask.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.online.course.management.project.benchmark.RoleAuthorizationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RoleAuthorizationBenchmark {
+
+    private RoleAuthorizationAspect aspect;
+    private Method method;
+    private RequiredRole requiredRole;
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        aspect = new RoleAuthorizationAspect();
+        method = RoleAuthorizationBenchmark.class.getDeclaredMethod("protectedEndpoint");
+        requiredRole = method.getAnnotation(RequiredRole.class);
+
+        CustomUserDetails principal = new CustomUserDetails(1L, "instructor", UserStatus.ACTIVE, Set.of("USER", "INSTRUCTOR"), 0);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Benchmark
+    public boolean legacyStreamCheck() {
+        Set<String> userRoles = authentication.getAuthorities().stream()
+                .map(a -> a.getAuthority().replace("ROLE_", ""))
+                .collect(Collectors.toSet());
+
+        return Arrays.stream(requiredRole.value())
+                .anyMatch(userRoles::contains);
+    }
+
+    @Benchmark
+    public boolean cachedMaskCheck() {
+        return aspect.hasRequiredRole(method, requiredRole, authentication);
+    }
+
+    @RequiredRole({"ADMIN", "INSTRUCTOR"})
+    void protectedEndpoint() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoleAuthorizationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,152 @@
+package com.online.course.management.project.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.online.course.management.project.utils.cache.CacheReloader;
+import com.online.course.management.project.utils.cache.EarlyRefreshCaffeineCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private CacheSpecProperties properties;
+    private DefaultListableBeanFactory beanFactory;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheSpecProperties();
+        beanFactory = new DefaultListableBeanFactory();
+    }
+
+    @Test
+    void cacheManager_WeightedCache_EvictsByBytesAndRecordsStats() {
+        // Arrange
+        CacheSpecProperties.Spec spec = new CacheSpecProperties.Spec();
+        spec.setMaximumWeight(DataSize.ofBytes(64));
+        properties.getSpecs().put("courses", spec);
+        CacheManager cacheManager = buildCacheManager();
+        Cache<Object, Object> nativeCache = nativeCache(cacheManager, "courses");
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            cacheManager.getCache("courses").put(i, "a value of roughly twenty bytes");
+        }
+        cacheManager.getCache("courses").get(9);
+        cacheManager.getCache("courses").get(42);
+        nativeCache.cleanUp();
+
+        // Assert
+        assertTrue(nativeCache.estimatedSize() <= 2);
+        assertTrue(nativeCache.stats().evictionCount() > 0);
+        assertEquals(1, nativeCache.stats().missCount());
+    }
+
+    @Test
+    void cacheManager_RefreshAfterWrite_UsesReloader() {
+        // Arrange
+        CacheSpecProperties.Spec spec = new CacheSpecProperties.Spec();
+        spec.setRefreshAfterWrite(Duration.ofMinutes(5));
+        properties.getSpecs().put("latestCourses", spec);
+        beanFactory.registerSingleton("reloader", new CacheReloader() {
+            @Override
+            public String getCacheName() {
+                return "latestCourses";
+            }
+
+            @Override
+            public Object reload(Object key) {
+                return "loaded-" + key;
+            }
+        });
+
+        // Act
+        CacheManager cacheManager = buildCacheManager();
+
+        // Assert
+        Cache<Object, Object> nativeCache = nativeCache(cacheManager, "latestCourses");
+        assertInstanceOf(LoadingCache.class, nativeCache);
+        assertEquals("loaded-10", ((LoadingCache<Object, Object>) nativeCache).get(10));
+    }
+
+    @Test
+    void cacheManager_RefreshWithoutReloader_Fails() {
+        // Arrange
+        CacheSpecProperties.Spec spec = new CacheSpecProperties.Spec();
+        spec.setRefreshAfterWrite(Duration.ofMinutes(5));
+        properties.getSpecs().put("users", spec);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, this::buildCacheManager);
+    }
+
+    @Test
+    void cacheManager_EarlyRefresh_UsesEarlyRefreshCacheWithReloader() {
+        // Arrange
+        CacheSpecProperties.Spec spec = new CacheSpecProperties.Spec();
+        spec.setEarlyRefreshBeta(1.0);
+        properties.getSpecs().put("courses", spec);
+        beanFactory.registerSingleton("reloader", new CacheReloader() {
+            @Override
+            public String getCacheName() {
+                return "courses";
+            }
+
+            @Override
+            public Object reload(Object key) {
+                return "loaded-" + key;
+            }
+        });
+
+        // Act
+        CacheManager cacheManager = buildCacheManager();
+
+        // Assert
+        assertInstanceOf(EarlyRefreshCaffeineCache.class, cacheManager.getCache("courses"));
+        assertInstanceOf(LoadingCache.class, nativeCache(cacheManager, "courses"));
+        assertEquals("loaded-1", cacheManager.getCache("courses").get(1L).get());
+    }
+
+    @Test
+    void cacheManager_EarlyRefreshWithoutReloader_Fails() {
+        // Arrange
+        CacheSpecProperties.Spec spec = new CacheSpecProperties.Spec();
+        spec.setEarlyRefreshBeta(1.0);
+        properties.getSpecs().put("courses", spec);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, this::buildCacheManager);
+    }
+
+    @Test
+    void cacheManager_UnlistedCache_UsesDefaults() {
+        // Arrange
+        properties.getDefaults().setMaximumSize(1L);
+        CacheManager cacheManager = buildCacheManager();
+
+        // Act
+        cacheManager.getCache("other").put(1, "one");
+        cacheManager.getCache("other").put(2, "two");
+        Cache<Object, Object> nativeCache = nativeCache(cacheManager, "other");
+        nativeCache.cleanUp();
+
+        // Assert
+        assertEquals(1, nativeCache.estimatedSize());
+    }
+
+    private CacheManager buildCacheManager() {
+        return new CacheConfig().localCacheManager(properties, new ObjectMapper(), beanFactory.getBeanProvider(CacheReloader.class));
+    }
+
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
@@ -0,0 +1,164 @@
+package com.online.course.management.project.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.online.course.management.project.dto.CourseDTOS;
+import com.online.course.management.project.entity.Course;
+import com.online.course.management.project.mapper.CourseMapper;
+import com.online.course.management.project.repository.ICourseRepository;
+import com.online.course.management.project.repository.IUserRepository;
+import com.online.course.management.project.service.impl.CourseServiceImpl;
+import com.online.course.management.project.service.interfaces.ICourseService;
+import com.online.course.management.project.utils.cache.CacheInvalidationOutbox;
+import com.online.course.management.project.utils.cache.CacheReloader;
+import com.online.course.management.project.utils.cache.TwoLevelCacheManager;
+import com.online.course.management.project.utils.course.CourseAutocompleteIndex;
+import com.online.course.management.project.utils.course.CourseCacheReloader;
+import com.online.course.management.project.utils.course.CourseFacetIndex;
+import com.online.course.management.project.utils.course.CourseServiceUtils;
+import com.online.course.management.project.utils.pagination.SearchCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Concurrent misses on a cached service method must share one load.
+ */
+class CacheSingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private ICourseRepository courseRepository;
+    private CourseServiceUtils courseServiceUtils;
+    private CourseMapper courseMapper;
+    private AnnotationConfigApplicationContext context;
+    private ICourseService courseService;
+
+    private final CountDownLatch loadStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseLoad = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        courseRepository = mock(ICourseRepository.class);
+        courseServiceUtils = mock(CourseServiceUtils.class);
+        courseMapper = mock(CourseMapper.class);
+
+        context = new AnnotationConfigApplicationContext();
+        context.register(CachingConfig.class);
+        context.registerBean(CourseCacheReloader.class, () -> new CourseCacheReloader(courseServiceUtils, courseMapper));
+        context.registerBean(CourseServiceImpl.class, () -> new CourseServiceImpl(courseRepository,
+                mock(IUserRepository.class), courseMapper, courseServiceUtils, mock(ApplicationEventPublisher.class),
+                mock(SearchCounter.class), mock(CourseFacetIndex.class),
+                mock(CourseAutocompleteIndex.class)));
+        context.refresh();
+        courseService = context.getBean(ICourseService.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseLoad.countDown();
+        context.close();
+    }
+
+    @Test
+    void getCourseById_ConcurrentMisses_LoadOnce() throws Exception {
+        // Arrange
+        Course course = new Course();
+        course.setId(1L);
+        CourseDTOS.CourseDetailsResponseDto dto = new CourseDTOS.CourseDetailsResponseDto();
+        dto.setId(1L);
+        when(courseServiceUtils.GetCourseWithoutValidation(1L)).thenAnswer(invocation -> blockingLoad(course));
+        when(courseMapper.toDto(course)).thenReturn(dto);
+
+        // Act
+        List<CourseDTOS.CourseDetailsResponseDto> results = callConcurrently(() -> courseService.getCourseById(1L));
+
+        // Assert
+        verify(courseServiceUtils, times(1)).GetCourseWithoutValidation(1L);
+        results.forEach(result -> assertSame(dto, result));
+    }
+
+    @Test
+    void getLatestCourses_ConcurrentMisses_LoadOnce() throws Exception {
+        // Arrange
+        when(courseRepository.findLatestCourses(10)).thenAnswer(invocation -> blockingLoad(List.of()));
+
+        // Act
+        List<List<CourseDTOS.CourseDetailsResponseDto>> results = callConcurrently(() -> courseService.getLatestCourses(10));
+
+        // Assert
+        verify(courseRepository, times(1)).findLatestCourses(10);
+        assertEquals(CALLERS, results.size());
+    }
+
+    private <T> T blockingLoad(T value) throws InterruptedException {
+        loadStarted.countDown();
+        assertTrue(releaseLoad.await(10, TimeUnit.SECONDS));
+        return value;
+    }
+
+    private <T> List<T> callConcurrently(Supplier<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.get();
+                }));
+            }
+            start.countDown();
+
+            // Let the other callers reach the cache while the first load is still running
+            assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+            Thread.sleep(200);
+            releaseLoad.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfig {
+
+        @Bean
+        public CacheManager cacheManager(ObjectProvider<CacheReloader> cacheReloaders) {
+            // Same shape as the production courses and latestCourses specs
+            CacheSpecProperties properties = new CacheSpecProperties();
+            CacheSpecProperties.Spec courses = new CacheSpecProperties.Spec();
+            courses.setMaximumWeight(DataSize.ofMegabytes(1));
+            courses.setExpireAfterWrite(Duration.ofHours(6));
+            courses.setEarlyRefreshBeta(1.0);
+            properties.getSpecs().put("courses", courses);
+            properties.getSpecs().put("latestCourses", new CacheSpecProperties.Spec());
+
+            return new TwoLevelCacheManager(
+                    new CacheConfig().localCacheManager(properties, new ObjectMapper(), cacheReloaders),
+                    mock(CacheInvalidationOutbox.class));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.online.course.management.project.config;
+
+import com.online.course.management.project.utils.cache.CacheWarmer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupInitializerTest {
+
+    @Mock
+    private CacheWarmer cacheWarmer;
+
+    @Test
+    void run_WarmUpTooSlow_ReturnsAfterTimeout() {
+        // Arrange
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            neverReleased.await();
+            return null;
+        }).when(cacheWarmer).warmUp();
+        CacheWarmupInitializer initializer = new CacheWarmupInitializer(cacheWarmer, true, Duration.ofMillis(100));
+
+        // Act & Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> initializer.run());
+        verify(cacheWarmer).warmUp();
+    }
+
+    @Test
+    void run_WarmUpFails_DoesNotFailStartup() {
+        // Arrange
+        doThrow(new IllegalStateException("database unavailable")).when(cacheWarmer).warmUp();
+        CacheWarmupInitializer initializer = new CacheWarmupInitializer(cacheWarmer, true, Duration.ofSeconds(5));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> initializer.run());
+    }
+
+    @Test
+    void run_Disabled_SkipsWarmUp() {
+        // Arrange
+        CacheWarmupInitializer initializer = new CacheWarmupInitializer(cacheWarmer, false, Duration.ofSeconds(5));
+
+        // Act
+        initializer.run();
+
+        // Assert
+        verifyNoInteractions(cacheWarmer);
+    }
+}
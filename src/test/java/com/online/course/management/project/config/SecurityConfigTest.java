@@ -0,0 +1,128 @@
+package com.online.course.management.project.config;
+
+import com.online.course.management.project.controller.CourseController;
+import com.online.course.management.project.dto.CourseDTOS;
+import com.online.course.management.project.enums.UserStatus;
+import com.online.course.management.project.security.CustomUserDetails;
+import com.online.course.management.project.security.CustomUserDetailsService;
+import com.online.course.management.project.security.JwtAuthenticationEntryPoint;
+import com.online.course.management.project.security.JwtUtil;
+import com.online.course.management.project.security.TokenRevocationRegistry;
+import com.online.course.management.project.service.interfaces.ICourseService;
+import com.online.course.management.project.utils.course.CourseResponseCache;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs requests without a token through the real security filter chain and JWT filter, which the controller
+ * tests leave out.
+ */
+@WebMvcTest(CourseController.class)
+@Import({SecurityConfig.class, JwtAuthenticationEntryPoint.class})
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ICourseService courseService;
+
+    @MockBean
+    private CourseResponseCache courseResponseCache;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private CustomUserDetailsService userDetailsService;
+
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Test
+    void autocomplete_WithoutToken_IsServed() throws Exception {
+        // Arrange
+        when(courseService.autocomplete(any(CourseDTOS.AutocompleteRequestDTO.class))).thenReturn(
+                new CourseDTOS.AutocompleteResponseDTO(
+                        List.of(new CourseDTOS.AutocompleteSuggestionDTO(1L, "Java Basics", 12)), List.of(), List.of()));
+
+        // Act & Assert
+        // The JWT filter skips public paths by servlet path, which MockMvc leaves empty unless given
+        mockMvc.perform(get("/api/v1/courses/autocomplete").servletPath("/api/v1/courses/autocomplete")
+                        .param("query", "jav"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courses[0].label").value("Java Basics"));
+
+        verifyNoInteractions(jwtUtil);
+    }
+
+    @Test
+    void createCourse_WithoutToken_IsUnauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/courses/create").servletPath("/api/v1/courses/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    void prometheus_WithoutToken_IsUnauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").servletPath("/actuator/prometheus"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_AsNonAdmin_IsForbidden() throws Exception {
+        // Arrange
+        authenticateAsStudent("user-token");
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").servletPath("/actuator/prometheus")
+                        .header("Authorization", "Bearer user-token"))
+                .andDo(print())
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void metrics_AsNonAdmin_IsForbidden() throws Exception {
+        // Arrange
+        authenticateAsStudent("user-token");
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/metrics/jvm.memory.used").servletPath("/actuator/metrics/jvm.memory.used")
+                        .header("Authorization", "Bearer user-token"))
+                .andDo(print())
+                .andExpect(status().isForbidden());
+    }
+
+    private void authenticateAsStudent(String token) {
+        Claims claims = mock(Claims.class);
+        CustomUserDetails user = new CustomUserDetails(5L, "student", UserStatus.ACTIVE, Set.of("USER"), 0);
+        when(jwtUtil.verifyToken(token)).thenReturn(claims);
+        when(jwtUtil.toUserDetails(claims)).thenReturn(user);
+        when(claims.getSubject()).thenReturn("student");
+        when(userDetailsService.loadUserByUsername("student")).thenReturn(user);
+    }
+}
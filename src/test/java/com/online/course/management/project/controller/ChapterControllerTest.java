@@ -13,6 +13,8 @@ import com.online.course.management.project.exception.business.ResourceNotFoundE
 import com.online.course.management.project.filter.JwtAuthenticationFilter;
 import com.online.course.management.project.security.annotation.WithMockCustomUser;
 import com.online.course.management.project.service.interfaces.IChapterService;
+import com.online.course.management.project.utils.cache.SerializedResponse;
+import com.online.course.management.project.utils.chapter.ChapterResponseCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,6 +49,9 @@ class ChapterControllerTest {
     @MockBean
     private IChapterService chapterService;
 
+    @MockBean
+    private ChapterResponseCache chapterResponseCache;
+
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -322,6 +327,49 @@ class ChapterControllerTest {
         verify(chapterService).getAllChaptersByCourseId(1L);
     }
 
+    @Test
+    void getChapterDetailsWithLessons_Get_ReturnsCachedBytesWithETag() throws Exception {
+        // Arrange
+        SerializedResponse cached = SerializedResponse.of(objectMapper.writeValueAsBytes(testChapterDetailResponseDto));
+        when(chapterResponseCache.getChapterWithLessons(1L)).thenReturn(cached);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/chapters/1/details-with-lessons"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", cached.getETag()))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(jsonPath("$.title").value(testChapterDetailResponseDto.getTitle()));
+
+        verifyNoInteractions(chapterService);
+    }
+
+    @Test
+    void getChaptersByCourseId_GetWithMatchingETag_ReturnsNotModified() throws Exception {
+        // Arrange
+        SerializedResponse cached = SerializedResponse.of(
+                objectMapper.writeValueAsBytes(List.of(testChapterResponseDto)));
+        when(chapterResponseCache.getCourseChapters(1L)).thenReturn(cached);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/chapters/1/list").header("If-None-Match", cached.getETag()))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(chapterService);
+    }
+
+    @Test
+    void getChapterDetails_GetNotFound_ReturnsNotFound() throws Exception {
+        // Arrange
+        when(chapterResponseCache.getChapter(999L)).thenThrow(new ResourceNotFoundException("Chapter not found"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/chapters/999/details"))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockCustomUser(roles = {"ADMIN"})
     void bulkUpdateChapters_Success() throws Exception {
@@ -10,6 +10,8 @@ import com.online.course.management.project.exception.business.ResourceNotFoundE
 import com.online.course.management.project.filter.JwtAuthenticationFilter;
 import com.online.course.management.project.security.annotation.WithMockCustomUser;
 import com.online.course.management.project.service.interfaces.ICourseService;
+import com.online.course.management.project.utils.cache.SerializedResponse;
+import com.online.course.management.project.utils.course.CourseResponseCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +24,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -44,6 +47,9 @@ class CourseControllerTest {
     @MockBean
     private ICourseService courseService;
 
+    @MockBean
+    private CourseResponseCache courseResponseCache;
+
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -202,6 +208,81 @@ class CourseControllerTest {
         verify(courseService).getCourseById(1L);
     }
 
+    @Test
+    void getCourseById_ResponseCacheEnabled_WritesCachedBytesWithETag() throws Exception {
+        SerializedResponse cached = SerializedResponse.of(objectMapper.writeValueAsBytes(testCourseResponse));
+        when(courseResponseCache.isEnabled()).thenReturn(true);
+        when(courseResponseCache.get(1L)).thenReturn(cached);
+
+        mockMvc.perform(post("/api/v1/courses/1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", cached.getETag()))
+                .andExpect(content().bytes(cached.getBody()))
+                .andExpect(jsonPath("$.title").value(testCourseResponse.getTitle()));
+
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    void getCourse_ReturnsCachedBytesWithValidators() throws Exception {
+        SerializedResponse cached = SerializedResponse.of(objectMapper.writeValueAsBytes(testCourseResponse),
+                Instant.parse("2024-03-02T17:05:00Z"));
+        when(courseResponseCache.get(1L)).thenReturn(cached);
+
+        mockMvc.perform(get("/api/v1/courses/1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", cached.getETag()))
+                .andExpect(header().string("Last-Modified", "Sat, 02 Mar 2024 17:05:00 GMT"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.id").value(testCourseResponse.getId()));
+
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    void getCourse_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+        SerializedResponse cached = SerializedResponse.of(objectMapper.writeValueAsBytes(testCourseResponse));
+        when(courseResponseCache.get(1L)).thenReturn(cached);
+
+        mockMvc.perform(get("/api/v1/courses/1").header("If-None-Match", cached.getETag()))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getCourse_StaleIfNoneMatch_ReturnsBody() throws Exception {
+        SerializedResponse cached = SerializedResponse.of(objectMapper.writeValueAsBytes(testCourseResponse));
+        when(courseResponseCache.get(1L)).thenReturn(cached);
+
+        mockMvc.perform(get("/api/v1/courses/1").header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(cached.getBody()));
+    }
+
+    @Test
+    void searchCoursesByQuery_BindsQueryParameters() throws Exception {
+        var coursePage = new PageImpl<>(List.of(testCourseResponse), Pageable.ofSize(5), 1);
+        when(courseService.searchCourses(any(CourseDTOS.SearchCourseRequestDTO.class), any(Pageable.class)))
+                .thenReturn(coursePage);
+
+        mockMvc.perform(get("/api/v1/courses/search")
+                        .param("title", "Test")
+                        .param("page", "1")
+                        .param("limit", "5"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.limit").value(5));
+
+        verify(courseService).searchCourses(argThat(request -> "Test".equals(request.getTitle())),
+                eq(Pageable.ofSize(5)));
+    }
+
     @Test
     void getCourseById_NotFound() throws Exception {
         when(courseService.getCourseById(999L))
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.online.course.management.project.aspect.RoleAuthorizationAspect;
 import com.online.course.management.project.config.SecurityTestConfig;
 import com.online.course.management.project.dto.LessonDTOs;
+import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.entity.Chapter;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.Lesson;
@@ -319,6 +320,49 @@ class LessonControllerTest {
         verify(lessonService).searchLessons(any(LessonDTOs.LessonSearchDTO.class));
     }
 
+    @Test
+    void searchLessonsByQuery_BindsQueryParameters() throws Exception {
+        PageImpl<LessonDTOs.LessonDetailResponseDto> lessonPage = new PageImpl<>(
+                Collections.singletonList(testLessonDetailResponseDto), PageRequest.of(0, 10), 1);
+        when(lessonService.searchLessons(any(LessonDTOs.LessonSearchDTO.class))).thenReturn(lessonPage);
+
+        mockMvc.perform(get("/api/v1/lessons/search")
+                        .param("title", "Test")
+                        .param("courseIds", "1", "2")
+                        .param("type", "VIDEO"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(jsonPath("$.data", hasSize(1)));
+
+        verify(lessonService).searchLessons(argThat(request -> "Test".equals(request.getTitle())
+                && List.of(1L, 2L).equals(request.getCourseIds())
+                && request.getType() == LessonType.VIDEO));
+    }
+
+    @Test
+    void scrollLessons_ReturnsWindowWithNextCursor() throws Exception {
+        LessonDTOs.LessonSearchDTO searchRequest = new LessonDTOs.LessonSearchDTO();
+        searchRequest.setLimit(1);
+        searchRequest.setCursor("MjAyNC0wMy0wMlQxNzowNXw3");
+
+        when(lessonService.scrollLessons(any(LessonDTOs.LessonSearchDTO.class)))
+                .thenReturn(new PaginationDto.CursorResponseDto<>(
+                        Collections.singletonList(testLessonDetailResponseDto), 1, "next", true));
+
+        mockMvc.perform(post("/api/v1/lessons/search-scroll")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(searchRequest)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.total").doesNotExist());
+
+        verify(lessonService).scrollLessons(argThat(request -> "MjAyNC0wMy0wMlQxNzowNXw3".equals(request.getCursor())));
+    }
+
     @Test
     @WithMockCustomUser(roles = {"ADMIN"})
     void bulkUpdateLessons_Success() throws Exception {
@@ -9,6 +9,7 @@ import com.online.course.management.project.dto.UserDTOs;
 import com.online.course.management.project.entity.Role;
 import com.online.course.management.project.entity.User;
 import com.online.course.management.project.entity.UserRole;
+import com.online.course.management.project.enums.CountMode;
 import com.online.course.management.project.enums.RoleType;
 import com.online.course.management.project.enums.UserStatus;
 import com.online.course.management.project.filter.JwtAuthenticationFilter;
@@ -218,20 +219,20 @@ class UserControllerTest {
         List<UserDTOs.UserWithRolesResponseDto> users = Collections.singletonList(userWithRolesResponseDto);
         Page<UserDTOs.UserWithRolesResponseDto> page = new PageImpl<>(users);
 
-        when(userService.searchUsers(any(), any())).thenReturn(page);
-        when(userService.countUsers(any())).thenReturn(1L);
+        when(userService.searchUsers(any(), any(), any())).thenReturn(page);
 
         mockMvc.perform(get(UserConstants.BASE_PATH + UserConstants.SEARCH_PATH)
                         .param("username", "test")
                         .param("page", "1")
-                        .param("limit", "10"))
+                        .param("limit", "10")
+                        .param("countMode", "ESTIMATED"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data").isArray())
-                .andExpect(jsonPath("$.total").value(1));
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.totalCapped").value(false));
 
-        verify(userService).searchUsers(any(), any());
-        verify(userService).countUsers(any());
+        verify(userService).searchUsers(any(), any(), eq(CountMode.ESTIMATED));
     }
 
     @Test
@@ -23,6 +23,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -257,8 +258,64 @@ class UserLessonProgressControllerTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Validation failed"))
-                .andExpect(jsonPath("$.errors[0]").value("id: Lesson progress ID is required"));
+                .andExpect(jsonPath("$.errors[0]").value("progressReferenceValid: Either lesson progress ID or lesson ID is required"));
 
         verify(userLessonProgressService, never()).startLearningLesson(any());
     }
+
+    @Test
+    @WithMockCustomUser
+    void startLearningLesson_ByLessonId_Success() throws Exception {
+        updateStatusRequest.setId(null);
+        updateStatusRequest.setLessonId(1L);
+        when(userLessonProgressService.startLearningLesson(any()))
+                .thenReturn(progressResponse);
+
+        mockMvc.perform(post("/api/v1/user-lesson-progress/start-learning")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateStatusRequest)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lessonId").value(progressResponse.getLessonId()));
+
+        verify(userLessonProgressService).startLearningLesson(any());
+    }
+
+    @Test
+    @WithMockCustomUser
+    void getCourseProgress_Success() throws Exception {
+        UserLessonProgressDtos.CourseProgressResponseDTO courseProgress = UserLessonProgressDtos.CourseProgressResponseDTO.builder()
+                .courseId(1L)
+                .totalLessons(2)
+                .notStartedLessons(1)
+                .inProgressLessons(1)
+                .completedLessons(0)
+                .completionPercentage(0.0)
+                .lessons(List.of(progressResponse))
+                .build();
+        when(userLessonProgressService.getCourseProgress(1L)).thenReturn(courseProgress);
+
+        mockMvc.perform(post("/api/v1/user-lesson-progress/course-progress/1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalLessons").value(2))
+                .andExpect(jsonPath("$.notStartedLessons").value(1))
+                .andExpect(jsonPath("$.lessons[0].lessonId").value(progressResponse.getLessonId()));
+
+        verify(userLessonProgressService).getCourseProgress(1L);
+    }
+
+    @Test
+    @WithMockCustomUser
+    void getCourseProgress_NotEnrolled() throws Exception {
+        when(userLessonProgressService.getCourseProgress(1L))
+                .thenThrow(new ResourceNotFoundException("User or course not found"));
+
+        mockMvc.perform(post("/api/v1/user-lesson-progress/course-progress/1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("User or course not found"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.online.course.management.project.security;
+
+import com.online.course.management.project.entity.Role;
+import com.online.course.management.project.enums.RoleType;
+import com.online.course.management.project.enums.UserStatus;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "tfHDo2eVbfqEZFAjEisFcgGpdyUuB7OrmqkW2J++4CY=";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaximumSize", 100L);
+        jwtUtil.init();
+
+        userDetails = new User("testuser", "password", List.of());
+    }
+
+    @Test
+    void verifyToken_ValidToken_ReturnsClaims() {
+        // Arrange
+        String token = jwtUtil.generateToken(userDetails);
+
+        // Act
+        Claims claims = jwtUtil.verifyToken(token);
+
+        // Assert
+        assertEquals("testuser", claims.getSubject());
+        assertEquals("testuser", jwtUtil.extractUsername(token));
+        assertTrue(jwtUtil.validateToken(token));
+    }
+
+    @Test
+    void toUserDetails_TokenOfCustomUser_CarriesPrincipalClaims() {
+        // Arrange
+        com.online.course.management.project.entity.User user = new com.online.course.management.project.entity.User();
+        user.setId(7L);
+        user.setUsername("instructor");
+        user.setStatus(UserStatus.ACTIVE);
+        user.setTokenVersion(3);
+        Role role = new Role();
+        role.setName(RoleType.INSTRUCTOR);
+        user.addRole(role);
+        String token = jwtUtil.generateToken(new CustomUserDetails(user));
+
+        // Act
+        CustomUserDetails principal = jwtUtil.toUserDetails(jwtUtil.verifyToken(token));
+
+        // Assert
+        assertEquals(7L, principal.getId());
+        assertEquals("instructor", principal.getUsername());
+        assertEquals(UserStatus.ACTIVE, principal.getStatus());
+        assertEquals(3, principal.getTokenVersion());
+        assertNull(principal.getUser());
+        assertEquals(Set.of("ROLE_INSTRUCTOR"), principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void toUserDetails_TokenWithoutPrincipalClaims_ReturnsNull() {
+        // Arrange
+        String token = jwtUtil.generateToken(userDetails);
+
+        // Act & Assert
+        assertNull(jwtUtil.toUserDetails(jwtUtil.verifyToken(token)));
+    }
+
+    @Test
+    void verifyToken_SameToken_IsVerifiedOnce() {
+        // Arrange
+        String token = jwtUtil.generateToken(userDetails);
+
+        // Act
+        Claims first = jwtUtil.verifyToken(token);
+        Claims second = jwtUtil.verifyToken(token);
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void verifyToken_TokenSignedWithLegacyStringSecret_IsAccepted() {
+        // Arrange: tokens issued before the key was pre-decoded must stay valid; the old signWith(alg, String)
+        // base64-decoded the secret on every call into the same key bytes
+        String token = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act & Assert
+        assertEquals("testuser", jwtUtil.verifyToken(token).getSubject());
+    }
+
+    @Test
+    void verifyToken_ForeignSignature_ThrowsException() {
+        // Arrange
+        String token = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256))
+                .compact();
+
+        // Act & Assert
+        assertThrows(SignatureException.class, () -> jwtUtil.verifyToken(token));
+    }
+
+    @Test
+    void verifyToken_ExpiredToken_ThrowsException() {
+        // Arrange
+        String token = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verifyToken(token));
+    }
+}
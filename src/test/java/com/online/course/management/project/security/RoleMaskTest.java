@@ -0,0 +1,49 @@
+package com.online.course.management.project.security;
+
+import com.online.course.management.project.entity.User;
+import com.online.course.management.project.enums.RoleType;
+import com.online.course.management.project.enums.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleMaskTest {
+
+    @Test
+    void of_AcceptsNamesWithAndWithoutPrefix() {
+        // Act
+        int mask = RoleMask.of("ROLE_ADMIN", "INSTRUCTOR", "UNKNOWN");
+
+        // Assert
+        assertEquals(RoleMask.bit(RoleType.ADMIN) | RoleMask.bit(RoleType.INSTRUCTOR), mask);
+        assertEquals(0, mask & RoleMask.bit(RoleType.USER));
+    }
+
+    @Test
+    void ofAuthentication_UsesPrincipalMask() {
+        // Arrange
+        CustomUserDetails principal = new CustomUserDetails(1L, "instructor", UserStatus.ACTIVE, Set.of("INSTRUCTOR"), 0);
+        var authentication = new UsernamePasswordAuthenticationToken(principal, null, List.of());
+
+        // Act & Assert
+        assertEquals(RoleMask.bit(RoleType.INSTRUCTOR), RoleMask.ofAuthentication(authentication));
+    }
+
+    @Test
+    void ofAuthentication_PrincipalWithoutRoles_FallsBackToAuthorities() {
+        // Arrange
+        User user = new User();
+        user.setId(1L);
+        CustomUserDetails principal = new CustomUserDetails(user);
+        var authentication = new UsernamePasswordAuthenticationToken(principal, null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        // Act & Assert
+        assertEquals(RoleMask.ADMIN, RoleMask.ofAuthentication(authentication));
+    }
+}
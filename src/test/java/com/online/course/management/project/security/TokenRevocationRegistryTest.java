@@ -0,0 +1,102 @@
+package com.online.course.management.project.security;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.repository.IUserRepository;
+import com.online.course.management.project.utils.cache.CacheInvalidationOutbox;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationRegistryTest {
+
+    @Mock
+    private IUserRepository userRepository;
+
+    @Mock
+    private CacheInvalidationOutbox outbox;
+
+    @InjectMocks
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Test
+    void load_SeedsVersionsFromDatabase() {
+        // Arrange
+        when(userRepository.findRevokedTokenVersions()).thenReturn(List.of(tokenVersion(1L, 2)));
+
+        // Act
+        tokenRevocationRegistry.load();
+
+        // Assert
+        assertTrue(tokenRevocationRegistry.isRevoked(1L, 1));
+        assertFalse(tokenRevocationRegistry.isRevoked(1L, 2));
+        assertFalse(tokenRevocationRegistry.isRevoked(2L, 0));
+    }
+
+    @Test
+    void revoke_OutsideTransaction_TakesEffectImmediately() {
+        // Act
+        tokenRevocationRegistry.revoke(1L, 1);
+
+        // Assert
+        assertTrue(tokenRevocationRegistry.isRevoked(1L, 0));
+        assertFalse(tokenRevocationRegistry.isRevoked(1L, 1));
+    }
+
+    @Test
+    void revoke_SharesTheChangeThroughTheOutbox() {
+        // Act
+        tokenRevocationRegistry.revoke(1L, 1);
+
+        // Assert
+        verify(outbox).append(CacheConstants.TOKEN_VERSIONS, 1L);
+    }
+
+    @Test
+    void invalidate_RevokedOnAnotherNode_ReReadsTheVersion() {
+        // Arrange
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3));
+
+        // Act
+        tokenRevocationRegistry.invalidate(1L);
+
+        // Assert
+        assertTrue(tokenRevocationRegistry.isRevoked(1L, 2));
+        assertFalse(tokenRevocationRegistry.isRevoked(1L, 3));
+    }
+
+    @Test
+    void revoke_InsideTransaction_WaitsForCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            tokenRevocationRegistry.revoke(1L, 1);
+
+            // Assert
+            assertFalse(tokenRevocationRegistry.isRevoked(1L, 0));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertTrue(tokenRevocationRegistry.isRevoked(1L, 0));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private IUserRepository.UserTokenVersion tokenVersion(Long userId, int version) {
+        return new IUserRepository.UserTokenVersion() {
+            public Long getUserId() { return userId; }
+            public Integer getTokenVersion() { return version; }
+        };
+    }
+}
@@ -0,0 +1,242 @@
+package com.online.course.management.project.service.impl;
+
+import com.online.course.management.project.dto.UserLessonProgressDtos;
+import com.online.course.management.project.entity.Course;
+import com.online.course.management.project.entity.User;
+import com.online.course.management.project.entity.UserCourse;
+import com.online.course.management.project.enums.EnrollmentStatus;
+import com.online.course.management.project.exception.business.InvalidRequestException;
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
+import com.online.course.management.project.repository.ILessonRepository;
+import com.online.course.management.project.repository.IUserCourseRepository;
+import com.online.course.management.project.utils.course.CourseOutline;
+import com.online.course.management.project.utils.course.CourseOutlineSnapshots;
+import com.online.course.management.project.utils.pagination.SearchCounter;
+import com.online.course.management.project.utils.user.UserSecurityUtils;
+import com.online.course.management.project.utils.userlessonprogress.CourseLessonIndex;
+import com.online.course.management.project.utils.userlessonprogress.LessonProgressBitmap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BitmapUserLessonProgressImplTest {
+
+    @Mock
+    private IUserCourseRepository userCourseRepository;
+
+    @Mock
+    private ILessonRepository lessonRepository;
+
+    @Mock
+    private UserSecurityUtils userSecurityUtils;
+
+    @Mock
+    private CourseOutlineSnapshots courseOutlineSnapshots;
+
+    @Mock
+    private SearchCounter searchCounter;
+
+    @InjectMocks
+    private BitmapUserLessonProgressImpl userLessonProgressService;
+
+    private User testUser;
+    private UserCourse testUserCourse;
+    private UserLessonProgressDtos.UpdateStatusLessonProgressDTO updateStatusRequest;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+
+        Course testCourse = new Course();
+        testCourse.setId(5L);
+
+        testUserCourse = new UserCourse();
+        testUserCourse.setId(7L);
+        testUserCourse.setUser(testUser);
+        testUserCourse.setCourse(testCourse);
+        testUserCourse.setStatus(EnrollmentStatus.ENROLLED);
+
+        updateStatusRequest = new UserLessonProgressDtos.UpdateStatusLessonProgressDTO();
+        updateStatusRequest.setLessonId(11L);
+    }
+
+    @Test
+    void startLearningLesson_Success() {
+        // Arrange
+        stubLockedEnrollment();
+
+        // Act
+        UserLessonProgressDtos.LessonProgressResponseDTO result = userLessonProgressService.startLearningLesson(updateStatusRequest);
+
+        // Assert
+        assertEquals("IN_PROGRESS", result.getStatus());
+        assertEquals(11, result.getLessonId());
+        assertEquals(1, result.getChapterId());
+        verify(userCourseRepository).applyProgressBitmaps(eq(7L), eq(new byte[0]), eq(bits(1)), eq(1), eq(0));
+    }
+
+    @Test
+    void startLearningLesson_WithoutLessonId_ThrowsException() {
+        // Arrange
+        updateStatusRequest.setLessonId(null);
+        updateStatusRequest.setId(3L);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> userLessonProgressService.startLearningLesson(updateStatusRequest));
+        verifyNoInteractions(userCourseRepository);
+    }
+
+    @Test
+    void startLearningLesson_NotEnrolled_ThrowsException() {
+        // Arrange
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.findByUserIdAndLessonIdForUpdate(1L, 11L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> userLessonProgressService.startLearningLesson(updateStatusRequest));
+        assertEquals("User must be enrolled in the course before tracking progress", exception.getMessage());
+    }
+
+    @Test
+    void startLearningLesson_DroppedEnrollment_ThrowsException() {
+        // Arrange
+        testUserCourse.setStatus(EnrollmentStatus.DROPPED);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.findByUserIdAndLessonIdForUpdate(1L, 11L)).thenReturn(Optional.of(testUserCourse));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> userLessonProgressService.startLearningLesson(updateStatusRequest));
+        verify(userCourseRepository, never()).applyProgressBitmaps(anyLong(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void startLearningLesson_DeletedLesson_ThrowsException() {
+        // Arrange
+        updateStatusRequest.setLessonId(12L);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.findByUserIdAndLessonIdForUpdate(1L, 12L)).thenReturn(Optional.of(testUserCourse));
+        when(lessonRepository.findCourseLessonSlots(5L)).thenReturn(courseSlots());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> userLessonProgressService.startLearningLesson(updateStatusRequest));
+    }
+
+    @Test
+    void startLearningLesson_SlotBeyondTheBitmapCapacity_ThrowsException() {
+        // Arrange
+        List<ILessonRepository.LessonSlotView> slots = new ArrayList<>();
+        for (long lessonId = 1; lessonId <= LessonProgressBitmap.MAX_SLOTS + 1; lessonId++) {
+            slots.add(slot(lessonId, (int) lessonId));
+        }
+        updateStatusRequest.setLessonId((long) LessonProgressBitmap.MAX_SLOTS + 1);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.findByUserIdAndLessonIdForUpdate(1L, LessonProgressBitmap.MAX_SLOTS + 1L))
+                .thenReturn(Optional.of(testUserCourse));
+        when(lessonRepository.findCourseLessonSlots(5L)).thenReturn(slots);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> userLessonProgressService.startLearningLesson(updateStatusRequest));
+        verify(userCourseRepository, never()).applyProgressBitmaps(anyLong(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void completeLearningLesson_Success() {
+        // Arrange
+        testUserCourse.setInProgressLessonsBitmap(bits(1));
+        stubLockedEnrollment();
+
+        // Act
+        UserLessonProgressDtos.LessonProgressResponseDTO result = userLessonProgressService.completeLearningLesson(updateStatusRequest);
+
+        // Assert
+        assertEquals("COMPLETED", result.getStatus());
+        assertNotNull(result.getCompletionDate());
+        verify(userCourseRepository).applyProgressBitmaps(eq(7L), eq(bits(1)), eq(new byte[0]), eq(0), eq(1));
+    }
+
+    @Test
+    void completeLearningLesson_NotStarted_ThrowsException() {
+        // Arrange
+        stubLockedEnrollment();
+
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> userLessonProgressService.completeLearningLesson(updateStatusRequest));
+        assertEquals("You must start the lesson before completing it", exception.getMessage());
+    }
+
+    @Test
+    void getCourseProgress_Success() {
+        // Arrange
+        testUserCourse.setCompletedLessonsBitmap(bits(0));
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.findByUserIdAndCourseId(1L, 5L)).thenReturn(testUserCourse);
+        CourseOutline outline = mock(CourseOutline.class);
+        when(outline.getLessonIndex()).thenReturn(CourseLessonIndex.of(courseSlots()));
+        when(courseOutlineSnapshots.get(5L)).thenReturn(outline);
+
+        // Act
+        UserLessonProgressDtos.CourseProgressResponseDTO result = userLessonProgressService.getCourseProgress(5L);
+
+        // Assert
+        assertEquals(2, result.getTotalLessons());
+        assertEquals(1, result.getCompletedLessons());
+        assertEquals(50.0, result.getCompletionPercentage());
+        assertEquals(11L, result.getNextLessonId());
+        assertEquals(2, result.getLessons().size());
+        verifyNoInteractions(lessonRepository);
+    }
+
+    @Test
+    void getCourseProgress_NotEnrolled_ThrowsException() {
+        // Arrange
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.findByUserIdAndCourseId(1L, 5L)).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> userLessonProgressService.getCourseProgress(5L));
+        verifyNoInteractions(lessonRepository, courseOutlineSnapshots);
+    }
+
+    private void stubLockedEnrollment() {
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.findByUserIdAndLessonIdForUpdate(1L, 11L)).thenReturn(Optional.of(testUserCourse));
+        when(lessonRepository.findCourseLessonSlots(5L)).thenReturn(courseSlots());
+    }
+
+    // Lessons 10 and 11 are active, lesson 12 is soft-deleted
+    private List<ILessonRepository.LessonSlotView> courseSlots() {
+        return List.of(slot(10L, 1), slot(11L, 2), slot(12L, 3));
+    }
+
+    private ILessonRepository.LessonSlotView slot(Long lessonId, int lessonOrder) {
+        return new ILessonRepository.LessonSlotView() {
+            public Long getLessonId() { return lessonId; }
+            public Long getChapterId() { return 1L; }
+            public Integer getChapterOrder() { return 1; }
+            public Integer getLessonOrder() { return lessonOrder; }
+            public Integer getActive() { return lessonId == 12L ? 0 : 1; }
+        };
+    }
+
+    private byte[] bits(int slot) {
+        BitSet bitSet = new BitSet();
+        bitSet.set(slot);
+        return bitSet.toByteArray();
+    }
+}
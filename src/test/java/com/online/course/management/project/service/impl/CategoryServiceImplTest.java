@@ -2,6 +2,7 @@ package com.online.course.management.project.service.impl;
 
 import com.online.course.management.project.dto.CategoryDTOs;
 import com.online.course.management.project.entity.Category;
+import com.online.course.management.project.event.CategoryChangedEvent;
 import com.online.course.management.project.exception.business.ForbiddenException;
 import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.CategoryMapper;
@@ -18,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -44,6 +46,9 @@ public class CategoryServiceImplTest {
     @Mock
     private CategoryServiceUtils categoryServiceUtils;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -132,6 +137,8 @@ public class CategoryServiceImplTest {
         verify(categoryRepository).existsByName(updateCategoryDTO.getName());
         verify(categoryMapper).updateCategoryFromDto(updateCategoryDTO, testCategory);
         verify(categoryRepository).save(testCategory);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof CategoryChangedEvent changed && changed.getCategoryId().equals(1L)));
     }
 
     @Test
@@ -6,21 +6,30 @@ import com.online.course.management.project.entity.Chapter;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.Lesson;
 import com.online.course.management.project.entity.User;
+import com.online.course.management.project.enums.CountMode;
 import com.online.course.management.project.enums.CourseStatus;
 import com.online.course.management.project.enums.LessonType;
+import com.online.course.management.project.event.ChapterChangedEvent;
 import com.online.course.management.project.exception.business.ForbiddenException;
 import com.online.course.management.project.exception.business.InvalidRequestException;
 import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.ChapterMapper;
 import com.online.course.management.project.repository.IChapterRepository;
 import com.online.course.management.project.utils.chapter.ChapterServiceUtils;
+import com.online.course.management.project.utils.course.CourseOutline;
+import com.online.course.management.project.utils.course.CourseOutlineSnapshots;
 import com.online.course.management.project.utils.course.CourseServiceUtils;
+import com.online.course.management.project.utils.pagination.SearchCounter;
+import com.online.course.management.project.utils.usercourse.EnrollmentProgressRecounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.time.LocalDateTime;
@@ -46,6 +55,18 @@ class ChapterServiceImplTest {
     @Mock
     private CourseServiceUtils courseServiceUtils;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CourseOutlineSnapshots courseOutlineSnapshots;
+
+    @Mock
+    private EnrollmentProgressRecounter enrollmentProgressRecounter;
+
+    @Spy
+    private SearchCounter searchCounter = new SearchCounter(new ConcurrentMapCacheManager(), CountMode.EXACT, 10_000);
+
     @InjectMocks
     private ChapterServiceImpl chapterService;
 
@@ -167,6 +188,7 @@ class ChapterServiceImplTest {
         verify(chapterServiceUtils).validateChapterOrder(testCourse.getId(), createChapterRequest.getOrder());
         verify(chapterRepository).save(any(Chapter.class));
         verify(chapterMapper).toDetailDto(testChapter);
+        verify(enrollmentProgressRecounter).lessonsAdded(List.of(1L));
     }
 
     @Test
@@ -187,6 +209,7 @@ class ChapterServiceImplTest {
         assertNotNull(result);
         verify(chapterServiceUtils).validateBulkLessonsOrders(anyLong(), anyList());
         verify(chapterRepository).save(any(Chapter.class));
+        verify(enrollmentProgressRecounter).lessonsAdded(List.of(1L));
     }
 
     @Test
@@ -265,6 +288,7 @@ class ChapterServiceImplTest {
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(chapterRepository).batchSoftDeleteChapters(Collections.singletonList(1L));
         verify(chapterRepository).batchSoftDeleteLessonsChapters(Collections.singletonList(1L));
+        verify(enrollmentProgressRecounter).chaptersRemovedOrRestored(List.of(1L), List.of(1L));
     }
 
     @Test
@@ -328,6 +352,8 @@ class ChapterServiceImplTest {
         // Assert
         verify(courseServiceUtils).getCourseWithValidation(1L);
         verify(chapterRepository).reorderChapters(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof ChapterChangedEvent changed && changed.getCourseId().equals(1L) && changed.getChapterIds().isEmpty()));
     }
 
     @Test
@@ -352,6 +378,7 @@ class ChapterServiceImplTest {
         verify(courseServiceUtils).getCourseWithValidation(createChapterRequest.getCourseId());
         verify(chapterServiceUtils).validateBulkChapterOrders(eq(testCourse.getId()), anyList());
         verify(chapterRepository).saveAll(anyList());
+        verify(enrollmentProgressRecounter).lessonsAdded(List.of(1L));
     }
 
     @Test
@@ -407,6 +434,7 @@ class ChapterServiceImplTest {
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(chapterRepository).batchSoftDeleteChapters(chapterIds);
         verify(chapterRepository).batchSoftDeleteLessonsChapters(chapterIds);
+        verify(enrollmentProgressRecounter).chaptersRemovedOrRestored(List.of(1L), chapterIds);
     }
 
     @Test
@@ -424,6 +452,7 @@ class ChapterServiceImplTest {
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(chapterRepository).batchRestoreChapters(Collections.singletonList(1L));
         verify(chapterRepository).batchRestoreLessonsChapters(Collections.singletonList(1L));
+        verify(enrollmentProgressRecounter).chaptersRemovedOrRestored(List.of(1L), List.of(1L));
     }
 
     @Test
@@ -455,6 +484,7 @@ class ChapterServiceImplTest {
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(chapterRepository).batchRestoreChapters(chapterIds);
         verify(chapterRepository).batchRestoreLessonsChapters(chapterIds);
+        verify(enrollmentProgressRecounter).chaptersRemovedOrRestored(List.of(1L), chapterIds);
     }
 
     @Test
@@ -496,10 +526,11 @@ class ChapterServiceImplTest {
     @Test
     void getAllChaptersByCourseId_Success() {
         // Arrange
-        when(courseServiceUtils.GetCourseWithoutValidation(anyLong())).thenReturn(testCourse);
-        when(chapterRepository.findAllChaptersByCourseId(anyLong()))
-                .thenReturn(Collections.singletonList(testChapter));
-        when(chapterMapper.toDto(any(Chapter.class))).thenReturn(testChapterResponseDto);
+        CourseOutline outline = mock(CourseOutline.class);
+        CourseOutline.ChapterNode chapterNode = mock(CourseOutline.ChapterNode.class);
+        when(outline.getChapters()).thenReturn(List.of(chapterNode));
+        when(courseOutlineSnapshots.get(1L)).thenReturn(outline);
+        when(chapterMapper.toDto(outline, chapterNode)).thenReturn(testChapterResponseDto);
 
         // Act
         List<ChapterDTOs.ChapterResponseDto> result = chapterService.getAllChaptersByCourseId(1L);
@@ -509,9 +540,18 @@ class ChapterServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(testChapterResponseDto.getId(), result.get(0).getId());
 
-        verify(courseServiceUtils).GetCourseWithoutValidation(1L);
-        verify(chapterRepository).findAllChaptersByCourseId(1L);
-        verify(chapterMapper).toDto(testChapter);
+        verify(courseOutlineSnapshots).get(1L);
+        verifyNoInteractions(chapterRepository, courseServiceUtils);
+    }
+
+    @Test
+    void getAllChaptersByCourseId_CourseNotFound_ThrowsException() {
+        // Arrange
+        when(courseOutlineSnapshots.get(99L)).thenThrow(new ResourceNotFoundException("Course not found"));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> chapterService.getAllChaptersByCourseId(99L));
+        verifyNoInteractions(chapterMapper);
     }
 
     @Test
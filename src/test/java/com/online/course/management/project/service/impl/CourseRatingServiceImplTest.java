@@ -4,19 +4,23 @@ import com.online.course.management.project.dto.CourseRatingDTOs;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.CourseRating;
 import com.online.course.management.project.entity.User;
+import com.online.course.management.project.enums.CountMode;
 import com.online.course.management.project.exception.business.ForbiddenException;
 import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.CourseRatingMapper;
 import com.online.course.management.project.repository.ICourseRatingRepository;
 import com.online.course.management.project.repository.ICourseRepository;
 import com.online.course.management.project.utils.courserating.CourseRatingServiceUtils;
+import com.online.course.management.project.utils.pagination.SearchCounter;
 import com.online.course.management.project.utils.user.UserSecurityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -47,6 +51,9 @@ class CourseRatingServiceImplTest {
     @Mock
     private ICourseRepository courseRepository;
 
+    @Spy
+    private SearchCounter searchCounter = new SearchCounter(new ConcurrentMapCacheManager(), CountMode.EXACT, 10_000);
+
     @InjectMocks
     private CourseRatingServiceImpl courseRatingService;
 
@@ -108,6 +115,7 @@ class CourseRatingServiceImplTest {
     @Test
     void createCourseRating_Success() {
         // Arrange
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
         when(courseRatingRepository.existsByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(false);
         when(courseRepository.findById(anyLong())).thenReturn(Optional.of(testCourse));
@@ -130,7 +138,7 @@ class CourseRatingServiceImplTest {
     @Test
     void createCourseRating_AlreadyExists() {
         // Arrange
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(courseRatingRepository.existsByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(true);
 
         // Act & Assert
@@ -143,7 +151,7 @@ class CourseRatingServiceImplTest {
     @Test
     void updateCourseRating_Success() {
         // Arrange
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(courseRatingRepository.findByUserIdAndCourseIdAndId(anyLong(), anyLong(), anyLong()))
                 .thenReturn(Optional.of(testCourseRating));
         when(courseRatingRepository.save(any(CourseRating.class))).thenReturn(testCourseRating);
@@ -161,7 +169,7 @@ class CourseRatingServiceImplTest {
     @Test
     void updateCourseRating_NotFound() {
         // Arrange
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(courseRatingRepository.findByUserIdAndCourseIdAndId(anyLong(), anyLong(), anyLong()))
                 .thenReturn(Optional.empty());
 
@@ -202,7 +210,7 @@ class CourseRatingServiceImplTest {
     @Test
     void deleteCourseRating_Success() {
         // Arrange
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(courseRatingRepository.existsById(anyLong())).thenReturn(true);
         when(courseRatingRepository.findById(anyLong())).thenReturn(Optional.of(testCourseRating));
 
@@ -231,7 +239,7 @@ class CourseRatingServiceImplTest {
         User differentUser = new User();
         differentUser.setId(2L);
 
-        when(userSecurityUtils.getCurrentUser()).thenReturn(differentUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(differentUser.getId());
         when(courseRatingRepository.existsById(anyLong())).thenReturn(true);
         when(courseRatingRepository.findById(anyLong())).thenReturn(Optional.of(testCourseRating));
 
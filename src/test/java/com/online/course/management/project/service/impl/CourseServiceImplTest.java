@@ -6,20 +6,30 @@ import com.online.course.management.project.entity.Category;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.Role;
 import com.online.course.management.project.entity.User;
+import com.online.course.management.project.enums.CountMode;
 import com.online.course.management.project.enums.CourseStatus;
 import com.online.course.management.project.enums.RoleType;
+import com.online.course.management.project.enums.TextSearchMode;
+import com.online.course.management.project.event.CourseChangedEvent;
 import com.online.course.management.project.exception.business.InvalidRequestException;
 import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.CourseMapper;
 import com.online.course.management.project.repository.ICourseRepository;
 import com.online.course.management.project.repository.IUserRepository;
+import com.online.course.management.project.utils.course.CourseAutocompleteIndex;
+import com.online.course.management.project.utils.course.CourseFacetIndex;
 import com.online.course.management.project.utils.course.CourseServiceUtils;
+import com.online.course.management.project.utils.pagination.SearchCounter;
+import com.online.course.management.project.utils.search.PrefixIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.time.LocalDateTime;
@@ -46,6 +56,18 @@ public class CourseServiceImplTest {
     @Mock
     private CourseServiceUtils courseServiceUtils;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CourseFacetIndex courseFacetIndex;
+
+    @Mock
+    private CourseAutocompleteIndex courseAutocompleteIndex;
+
+    @Spy
+    private SearchCounter searchCounter = new SearchCounter(new ConcurrentMapCacheManager(), CountMode.EXACT, 10_000);
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
@@ -212,6 +234,8 @@ public class CourseServiceImplTest {
 
         // Assert
         verify(courseRepository).archiveCourse(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof CourseChangedEvent changed && changed.getCourseId().equals(1L)));
     }
 
     @Test
@@ -446,6 +470,112 @@ public class CourseServiceImplTest {
         );
     }
 
+    @Test
+    void searchCourses_FullTextMode_MatchesIndexedTermsByRelevance() {
+        // Arrange
+        CourseDTOS.SearchCourseRequestDTO searchRequest = new CourseDTOS.SearchCourseRequestDTO();
+        searchRequest.setTitle("java spr");
+        searchRequest.setInstructorName("Li");
+        searchRequest.setSearchMode(TextSearchMode.FULLTEXT);
+
+        Sort relevanceSort = Sort.by(Sort.Direction.DESC, "relevance");
+        when(courseServiceUtils.createRelevanceSort()).thenReturn(relevanceSort);
+        when(courseRepository.searchCoursesFullText(
+                eq("+java +spr*"), isNull(), any(), eq(""), eq("Li"), any(), any(), any(), any(),
+                any(Pageable.class)
+        )).thenReturn(new PageImpl<>(List.of(testCourse)));
+        when(courseMapper.toDto(any(Course.class))).thenReturn(testCourseResponseDto);
+
+        // Act
+        Page<CourseDTOS.CourseDetailsResponseDto> result = courseService.searchCourses(
+                searchRequest, searchRequest.toPageable());
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        verify(courseRepository).searchCoursesFullText(
+                any(), any(), any(), any(), any(), any(), any(), any(), any(),
+                argThat(pageable -> pageable.getSort().equals(relevanceSort))
+        );
+        verify(courseRepository, never()).searchCourses(
+                any(), any(), any(), any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void searchCourses_FullTextModeWithShortTerms_FallsBackToContainsSearch() {
+        // Arrange
+        CourseDTOS.SearchCourseRequestDTO searchRequest = new CourseDTOS.SearchCourseRequestDTO();
+        searchRequest.setTitle("c#");
+        searchRequest.setSearchMode(TextSearchMode.FULLTEXT);
+
+        when(courseServiceUtils.handleCreateDefaultSort()).thenReturn(Sort.by(Sort.Direction.DESC, "created_at"));
+        when(courseRepository.searchCourses(
+                eq("c#"), any(), any(), any(), any(), any(), any(), any(Pageable.class)
+        )).thenReturn(new PageImpl<>(List.of(testCourse)));
+        when(courseMapper.toDto(any(Course.class))).thenReturn(testCourseResponseDto);
+
+        // Act
+        Page<CourseDTOS.CourseDetailsResponseDto> result = courseService.searchCourses(
+                searchRequest, searchRequest.toPageable());
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        verify(courseServiceUtils, never()).createRelevanceSort();
+        verify(courseRepository, never()).searchCoursesFullText(
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void searchCoursesFaceted_LoadsThePageInIndexOrderWithItsFacets() {
+        // Arrange
+        CourseDTOS.FacetedSearchCourseRequestDTO searchRequest = new CourseDTOS.FacetedSearchCourseRequestDTO();
+        searchRequest.setCategoryIds(Set.of(1L));
+        searchRequest.setPage(2);
+        searchRequest.setLimit(2);
+
+        Course newerCourse = new Course();
+        newerCourse.setId(9L);
+        CourseDTOS.CourseDetailsResponseDto newerDto = new CourseDTOS.CourseDetailsResponseDto();
+        newerDto.setId(9L);
+        CourseDTOS.CourseFacetsDTO facets = new CourseDTOS.CourseFacetsDTO(
+                List.of(new CourseDTOS.FacetCountDTO("1", "Programming", 5)), List.of(), List.of(), List.of());
+
+        when(courseFacetIndex.search(searchRequest, 2, 2))
+                .thenReturn(new CourseFacetIndex.Result(List.of(9L, testCourse.getId()), 5, facets));
+        when(courseRepository.findAllWithDetailsByIdIn(List.of(9L, testCourse.getId())))
+                .thenReturn(List.of(testCourse, newerCourse));
+        when(courseMapper.toDto(testCourse)).thenReturn(testCourseResponseDto);
+        when(courseMapper.toDto(newerCourse)).thenReturn(newerDto);
+
+        // Act
+        CourseDTOS.FacetedSearchCourseResponseDTO result = courseService.searchCoursesFaceted(searchRequest);
+
+        // Assert
+        assertEquals(List.of(newerDto, testCourseResponseDto), result.getResults().getData());
+        assertEquals(2, result.getResults().getCurrentPage());
+        assertEquals(5, result.getResults().getTotal());
+        assertSame(facets, result.getFacets());
+    }
+
+    @Test
+    void autocomplete_MapsTheSuggestionsOfEachKind() {
+        // Arrange
+        CourseDTOS.AutocompleteRequestDTO request = new CourseDTOS.AutocompleteRequestDTO("jav", 3);
+        when(courseAutocompleteIndex.complete("jav", 3)).thenReturn(new CourseAutocompleteIndex.Suggestions(
+                List.of(new PrefixIndex.Entry(1L, "Java Basics", "java basics", 12)),
+                List.of(new PrefixIndex.Entry(4L, "Java", "java", 30)),
+                List.of()
+        ));
+
+        // Act
+        CourseDTOS.AutocompleteResponseDTO result = courseService.autocomplete(request);
+
+        // Assert
+        assertEquals(List.of(new CourseDTOS.AutocompleteSuggestionDTO(1L, "Java Basics", 12)), result.getCourses());
+        assertEquals(List.of(new CourseDTOS.AutocompleteSuggestionDTO(4L, "Java", 30)), result.getCategories());
+        assertTrue(result.getInstructors().isEmpty());
+        verifyNoInteractions(courseRepository);
+    }
+
     @Test
     void getCoursesByInstructor_Success() {
         // Arrange
@@ -1,25 +1,35 @@
 package com.online.course.management.project.service.impl;
 
 import com.online.course.management.project.dto.LessonDTOs;
+import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.entity.Chapter;
 import com.online.course.management.project.entity.Course;
 import com.online.course.management.project.entity.Lesson;
 import com.online.course.management.project.entity.User;
+import com.online.course.management.project.enums.CountMode;
 import com.online.course.management.project.enums.CourseStatus;
 import com.online.course.management.project.enums.LessonType;
+import com.online.course.management.project.event.LessonChangedEvent;
 import com.online.course.management.project.exception.business.ForbiddenException;
 import com.online.course.management.project.exception.business.InvalidRequestException;
 import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.LessonMapper;
 import com.online.course.management.project.repository.ILessonRepository;
 import com.online.course.management.project.utils.chapter.ChapterServiceUtils;
+import com.online.course.management.project.utils.lesson.LessonSearchIndex;
 import com.online.course.management.project.utils.lesson.LessonServiceUtils;
+import com.online.course.management.project.utils.pagination.KeysetCursor;
+import com.online.course.management.project.utils.pagination.SearchCounter;
+import com.online.course.management.project.utils.usercourse.EnrollmentProgressRecounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.time.LocalDateTime;
@@ -45,6 +55,18 @@ class LessonServiceImplTest {
     @Mock
     private ChapterServiceUtils chapterServiceUtils;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LessonSearchIndex lessonSearchIndex;
+
+    @Mock
+    private EnrollmentProgressRecounter enrollmentProgressRecounter;
+
+    @Spy
+    private SearchCounter searchCounter = new SearchCounter(new ConcurrentMapCacheManager(), CountMode.EXACT, 10_000);
+
     @InjectMocks
     private LessonServiceImpl lessonService;
 
@@ -156,6 +178,7 @@ class LessonServiceImplTest {
         assertEquals(testLessonResponseDto.getTitle(), result.getTitle());
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(lessonRepository).save(any(Lesson.class));
+        verify(enrollmentProgressRecounter).lessonsAdded(List.of(1L));
     }
 
     @Test
@@ -187,6 +210,8 @@ class LessonServiceImplTest {
         assertEquals(testLessonResponseDto.getId(), result.getId());
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(lessonRepository).save(testLesson);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof LessonChangedEvent changed && changed.getChapterIds().equals(List.of(testChapter.getId()))));
     }
 
     @Test
@@ -213,6 +238,7 @@ class LessonServiceImplTest {
         // Assert
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(lessonRepository).batchSoftDeleteLessons(Collections.singletonList(1L));
+        verify(enrollmentProgressRecounter).lessonsRemovedOrRestored(List.of(1L), List.of(1L));
     }
 
     @Test
@@ -268,6 +294,114 @@ class LessonServiceImplTest {
         );
     }
 
+    @Test
+    void searchLessons_WithQuery_LoadsTheIndexHitsInRankOrder() {
+        // Arrange
+        LessonDTOs.LessonSearchDTO searchRequest = new LessonDTOs.LessonSearchDTO();
+        searchRequest.setQuery("variables");
+        searchRequest.setPage(2);
+        searchRequest.setLimit(2);
+
+        Lesson otherLesson = new Lesson();
+        otherLesson.setId(2L);
+        LessonDTOs.LessonDetailResponseDto otherDto = new LessonDTOs.LessonDetailResponseDto();
+        otherDto.setId(2L);
+
+        // Lesson 3 was deleted after it was indexed
+        when(lessonSearchIndex.search(searchRequest, 2, 2))
+                .thenReturn(new LessonSearchIndex.Hits(List.of(2L, 3L, testLesson.getId()), 7));
+        when(lessonRepository.findAllWithChapterAndCourseByIdIn(List.of(2L, 3L, testLesson.getId())))
+                .thenReturn(List.of(testLesson, otherLesson));
+        when(lessonMapper.toDetailDto(testLesson)).thenReturn(testLessonDetailResponseDto);
+        when(lessonMapper.toDetailDto(otherLesson)).thenReturn(otherDto);
+
+        // Act
+        Page<LessonDTOs.LessonDetailResponseDto> result = lessonService.searchLessons(searchRequest);
+
+        // Assert
+        assertEquals(List.of(otherDto, testLessonDetailResponseDto), result.getContent());
+        assertEquals(7, result.getTotalElements());
+        verify(lessonRepository, never()).searchLessons(
+                any(), any(), any(), any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void searchLessons_WithQueryAndSort_ThrowsException() {
+        // Arrange
+        LessonDTOs.LessonSearchDTO searchRequest = new LessonDTOs.LessonSearchDTO();
+        searchRequest.setQuery("variables");
+        searchRequest.setSort(Map.of("title", "asc"));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> lessonService.searchLessons(searchRequest));
+        verifyNoInteractions(lessonSearchIndex);
+    }
+
+    @Test
+    void searchLessons_FullPage_CountsWithTheSameFilters() {
+        // Arrange
+        LessonDTOs.LessonSearchDTO searchRequest = new LessonDTOs.LessonSearchDTO();
+        searchRequest.setTitle("Test");
+        searchRequest.setType(LessonType.VIDEO);
+        searchRequest.setPage(2);
+        searchRequest.setLimit(1);
+
+        when(lessonServiceUtils.createLessonSortParams(any())).thenReturn(Sort.by(Sort.Direction.DESC, "created_at"));
+        when(lessonRepository.searchLessons(any(), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(testLesson), invocation.getArgument(7), true));
+        when(lessonMapper.toDetailDto(testLesson)).thenReturn(testLessonDetailResponseDto);
+        when(lessonRepository.countLessons("Test", null, List.of(), List.of(), "VIDEO", null, null)).thenReturn(25L);
+
+        // Act
+        Page<LessonDTOs.LessonDetailResponseDto> result = lessonService.searchLessons(searchRequest);
+
+        // Assert
+        assertEquals(25, result.getTotalElements());
+        assertEquals(25, result.getTotalPages());
+        verify(lessonRepository, never()).countLessonsUpTo(any(), any(), any(), any(), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void scrollLessons_WithCursor_SeeksPastItAndFetchesOneExtraRow() {
+        // Arrange
+        LocalDateTime lastCreatedAt = LocalDateTime.of(2024, 3, 2, 17, 5);
+        LessonDTOs.LessonSearchDTO searchRequest = new LessonDTOs.LessonSearchDTO();
+        searchRequest.setLimit(1);
+        searchRequest.setCursor(KeysetCursor.encode(lastCreatedAt, 7L));
+
+        Lesson older = new Lesson();
+        older.setId(6L);
+        older.setCreatedAt(lastCreatedAt.minusDays(1));
+        Lesson oldest = new Lesson();
+        oldest.setId(5L);
+        when(lessonRepository.scrollLessons(any(), any(), eq(List.of()), eq(List.of()), any(), any(), any(),
+                eq(lastCreatedAt), eq(7L), eq(2)))
+                .thenReturn(List.of(older, oldest));
+        when(lessonMapper.toDetailDto(older)).thenReturn(testLessonDetailResponseDto);
+
+        // Act
+        PaginationDto.CursorResponseDto<LessonDTOs.LessonDetailResponseDto> result = lessonService.scrollLessons(searchRequest);
+
+        // Assert
+        assertEquals(List.of(testLessonDetailResponseDto), result.getData());
+        assertTrue(result.isHasMore());
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(older.getCreatedAt(), next.dateTimeKey());
+        assertEquals(6L, next.getId());
+        verify(lessonMapper, never()).toDetailDto(oldest);
+    }
+
+    @Test
+    void scrollLessons_WithSort_ThrowsInvalidRequest() {
+        // Arrange
+        LessonDTOs.LessonSearchDTO searchRequest = new LessonDTOs.LessonSearchDTO();
+        searchRequest.setSort(Map.of("title", "asc"));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> lessonService.scrollLessons(searchRequest));
+        verifyNoInteractions(lessonRepository);
+    }
+
     @Test
     void bulkCreateLessons_Success() {
         // Arrange
@@ -292,6 +426,7 @@ class LessonServiceImplTest {
         assertEquals(testLessonResponseDto.getId(), result.get(0).getId());
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(lessonRepository).saveAll(anyList());
+        verify(enrollmentProgressRecounter).lessonsAdded(List.of(1L));
     }
 
     @Test
@@ -363,6 +498,7 @@ class LessonServiceImplTest {
         verify(lessonServiceUtils).validateBulkOperation(lessonIds);
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(lessonRepository).batchSoftDeleteLessons(lessonIds);
+        verify(enrollmentProgressRecounter).lessonsRemovedOrRestored(List.of(1L), lessonIds);
     }
 
     @Test
@@ -380,6 +516,7 @@ class LessonServiceImplTest {
         verify(lessonServiceUtils).validateBulkOperation(lessonIds);
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(lessonRepository).batchRestoreLessons(lessonIds);
+        verify(enrollmentProgressRecounter).lessonsRemovedOrRestored(List.of(1L), lessonIds);
     }
 
     @Test
@@ -395,6 +532,7 @@ class LessonServiceImplTest {
         // Assert
         verify(chapterServiceUtils).validateChapterAccess(testChapter);
         verify(lessonRepository).batchRestoreLessons(Collections.singletonList(1L));
+        verify(enrollmentProgressRecounter).lessonsRemovedOrRestored(List.of(1L), List.of(1L));
     }
 
     @Test
@@ -1,25 +1,35 @@
 package com.online.course.management.project.service.impl;
 
+import com.online.course.management.project.config.ProgressProperties;
+import com.online.course.management.project.dto.PaginationDto;
 import com.online.course.management.project.dto.UserCourseDTOs;
 import com.online.course.management.project.entity.*;
+import com.online.course.management.project.enums.CountMode;
 import com.online.course.management.project.enums.CourseStatus;
 import com.online.course.management.project.enums.EnrollmentStatus;
 import com.online.course.management.project.enums.ProgressStatus;
+import com.online.course.management.project.enums.ProgressStore;
 import com.online.course.management.project.enums.RoleType;
 import com.online.course.management.project.exception.business.InvalidRequestException;
 import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.UserCourseMapper;
 import com.online.course.management.project.repository.ICourseRepository;
+import com.online.course.management.project.repository.ILessonRepository;
 import com.online.course.management.project.repository.IUserCourseRepository;
+import com.online.course.management.project.repository.IUserLessonProgressRepository;
 import com.online.course.management.project.repository.IUserRepository;
+import com.online.course.management.project.utils.pagination.SearchCounter;
 import com.online.course.management.project.utils.user.UserSecurityUtils;
 import com.online.course.management.project.utils.usercourse.UserCourseServiceUtils;
+import com.online.course.management.project.utils.userlessonprogress.LessonProgressBitmap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -39,9 +49,15 @@ class UserCourseServiceImplTest {
     @Mock
     private IUserCourseRepository userCourseRepository;
 
+    @Mock
+    private IUserLessonProgressRepository userLessonProgressRepository;
+
     @Mock
     private ICourseRepository courseRepository;
 
+    @Mock
+    private ILessonRepository lessonRepository;
+
     @Mock
     private IUserRepository userRepository;
 
@@ -54,6 +70,12 @@ class UserCourseServiceImplTest {
     @Mock
     private UserCourseServiceUtils userCourseServiceUtils;
 
+    @Spy
+    private SearchCounter searchCounter = new SearchCounter(new ConcurrentMapCacheManager(), CountMode.EXACT, 10_000);
+
+    @Spy
+    private ProgressProperties progressProperties = new ProgressProperties();
+
     @InjectMocks
     private UserCourseServiceImpl userCourseService;
 
@@ -115,7 +137,7 @@ class UserCourseServiceImplTest {
     @Test
     void enrollInCourse_Success() {
         // Arrange
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(testUser));
         when(courseRepository.findById(anyLong())).thenReturn(Optional.of(testCourse));
         when(userCourseMapper.toEntity(any(User.class), any(Course.class))).thenReturn(testUserCourse);
@@ -139,7 +161,7 @@ class UserCourseServiceImplTest {
     @Test
     void enrollInCourse_AlreadyEnrolled_ThrowsException() {
         // Arrange
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         doThrow(new InvalidRequestException("User is already enrolled in this course"))
                 .when(userCourseServiceUtils).validateEnrollment(anyLong(), anyLong());
 
@@ -152,7 +174,7 @@ class UserCourseServiceImplTest {
     @Test
     void getEnrollmentDetails_Success() {
         // Arrange
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userCourseRepository.findByUserIdAndCourseId(anyLong(), anyLong()))
                 .thenReturn(testUserCourse);
         when(userCourseMapper.toDto(any(UserCourse.class)))
@@ -172,7 +194,7 @@ class UserCourseServiceImplTest {
     @Test
     void getEnrollmentDetails_NotFound_ThrowsException() {
         // Arrange
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userCourseRepository.findByUserIdAndCourseId(anyLong(), anyLong()))
                 .thenReturn(null);
 
@@ -193,15 +215,15 @@ class UserCourseServiceImplTest {
         List<UserCourse> userCourses = Collections.singletonList(testUserCourse);
         Page<UserCourse> userCoursePage = new PageImpl<>(userCourses);
 
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userCourseServiceUtils.createUserCourseSort(any()))
                 .thenReturn(Sort.by(Sort.Direction.DESC, "enrollment_date"));
         when(userCourseRepository.searchUserEnrollments(
                 eq(testUser.getId()),
                 any(), any(), any(), any(), any(), any(), any(), any(), any(PageRequest.class)))
                 .thenReturn(userCoursePage);
-        when(userCourseMapper.toDto(any(UserCourse.class)))
-                .thenReturn(testUserCourseResponseDto);
+        when(userCourseMapper.toDtoList(userCourses))
+                .thenReturn(List.of(testUserCourseResponseDto));
 
         // Act
         Page<UserCourseDTOs.UserCourseResponseDto> result =
@@ -211,12 +233,38 @@ class UserCourseServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(testUserCourseResponseDto.getId(), result.getContent().get(0).getId());
+        verify(userCourseMapper, never()).toDto(any(UserCourse.class));
+    }
+
+    @Test
+    void scrollUserEnrollments_FirstWindow_ScopesToCurrentUser() {
+        // Arrange
+        UserCourseDTOs.UserCourseSearchDTO searchRequest = new UserCourseDTOs.UserCourseSearchDTO();
+        searchRequest.setLimit(10);
+        testUserCourse.setEnrollmentDate(LocalDateTime.of(2024, 3, 2, 17, 5));
+
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.scrollUserEnrollments(
+                eq(testUser.getId()),
+                any(), any(), any(), any(), any(), any(), any(), any(), isNull(), isNull(), eq(11)))
+                .thenReturn(List.of(testUserCourse));
+        when(userCourseMapper.toDtoList(List.of(testUserCourse)))
+                .thenReturn(List.of(testUserCourseResponseDto));
+
+        // Act
+        PaginationDto.CursorResponseDto<UserCourseDTOs.UserCourseResponseDto> result =
+                userCourseService.scrollUserEnrollments(searchRequest);
+
+        // Assert
+        assertEquals(List.of(testUserCourseResponseDto), result.getData());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
     }
 
     @Test
     void dropEnrollment_Success() {
         // Arrange
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userCourseRepository.findByUserIdAndCourseId(anyLong(), anyLong()))
                 .thenReturn(testUserCourse);
         doNothing().when(userCourseRepository)
@@ -227,13 +275,14 @@ class UserCourseServiceImplTest {
 
         // Assert
         verify(userCourseRepository).dropRelevantProgress(testUser.getId(), testCourse.getId());
+        verify(userCourseRepository).dropEnrollmentCounters(testUser.getId(), testCourse.getId());
     }
 
     @Test
     void dropEnrollment_CompletedCourse_ThrowsException() {
         // Arrange
         testUserCourse.setStatus(EnrollmentStatus.COMPLETED);
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userCourseRepository.findByUserIdAndCourseId(anyLong(), anyLong()))
                 .thenReturn(testUserCourse);
 
@@ -247,7 +296,7 @@ class UserCourseServiceImplTest {
     void resumeEnrollment_Success() {
         // Arrange
         testUserCourse.setStatus(EnrollmentStatus.DROPPED);
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userCourseRepository.findByUserIdAndCourseId(anyLong(), anyLong()))
                 .thenReturn(testUserCourse);
         doNothing().when(userCourseRepository)
@@ -258,13 +307,41 @@ class UserCourseServiceImplTest {
 
         // Assert
         verify(userCourseRepository).resumeRelevantProgress(testUser.getId(), testCourse.getId());
+        verify(userCourseRepository).resumeEnrollmentCounters(testUser.getId(), testCourse.getId());
+    }
+
+    @Test
+    void resumeEnrollment_BitmapStore_RederivesCountersFromTheBitmaps() {
+        // Arrange
+        progressProperties.setStore(ProgressStore.BITMAP);
+        LessonProgressBitmap bitmap = LessonProgressBitmap.decode(null, null);
+        bitmap.markCompleted(0);
+        bitmap.markInProgress(1);
+        bitmap.markCompleted(2);
+        testUserCourse.setStatus(EnrollmentStatus.DROPPED);
+        testUserCourse.setCompletedLessonsBitmap(bitmap.encodeCompleted());
+        testUserCourse.setInProgressLessonsBitmap(bitmap.encodeInProgress());
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.findByUserIdAndCourseId(anyLong(), anyLong()))
+                .thenReturn(testUserCourse);
+        // The third lesson has been deleted since it was completed
+        when(lessonRepository.findCourseLessonSlots(testCourse.getId())).thenReturn(List.of(
+                slot(11L, true), slot(12L, true), slot(13L, false)));
+
+        // Act
+        userCourseService.resumeEnrollment(testCourse.getId());
+
+        // Assert
+        verify(userCourseRepository).resumeEnrollmentCountersFromBitmaps(testUser.getId(), testCourse.getId(), 1, 1);
+        verify(userCourseRepository, never()).resumeEnrollmentCounters(anyLong(), anyLong());
+        verify(userCourseRepository, never()).resumeRelevantProgress(anyLong(), anyLong());
     }
 
     @Test
     void resumeEnrollment_NotDropped_ThrowsException() {
         // Arrange
         testUserCourse.setStatus(EnrollmentStatus.ENROLLED);
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userCourseRepository.findByUserIdAndCourseId(anyLong(), anyLong()))
                 .thenReturn(testUserCourse);
 
@@ -273,4 +350,14 @@ class UserCourseServiceImplTest {
                 userCourseService.resumeEnrollment(testCourse.getId()));
         verify(userCourseRepository, never()).resumeRelevantProgress(anyLong(), anyLong());
     }
-}
\ No newline at end of file
+
+    private static ILessonRepository.LessonSlotView slot(long lessonId, boolean active) {
+        return new ILessonRepository.LessonSlotView() {
+            public Long getLessonId() { return lessonId; }
+            public Long getChapterId() { return 1L; }
+            public Integer getChapterOrder() { return 1; }
+            public Integer getLessonOrder() { return (int) lessonId; }
+            public Integer getActive() { return active ? 1 : 0; }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.online.course.management.project.service.impl;
 
+import com.online.course.management.project.constants.CacheConstants;
 import com.online.course.management.project.dto.UserLessonProgressDtos;
 import com.online.course.management.project.entity.*;
 import com.online.course.management.project.enums.CourseStatus;
@@ -7,9 +8,15 @@ import com.online.course.management.project.enums.LessonType;
 import com.online.course.management.project.enums.ProgressStatus;
 import com.online.course.management.project.enums.RoleType;
 import com.online.course.management.project.exception.business.InvalidRequestException;
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
 import com.online.course.management.project.mapper.UserLessonProgressMapper;
+import com.online.course.management.project.repository.IUserCourseRepository;
 import com.online.course.management.project.repository.IUserLessonProgressRepository;
+import com.online.course.management.project.utils.course.CourseOutline;
+import com.online.course.management.project.utils.course.CourseOutlineSnapshots;
+import com.online.course.management.project.utils.pagination.SearchCounter;
 import com.online.course.management.project.utils.user.UserSecurityUtils;
+import com.online.course.management.project.utils.userlessonprogress.LessonProgressBatchValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,10 +25,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,12 +40,24 @@ class UserLessonProgressImplTest {
     @Mock
     private IUserLessonProgressRepository userLessonProgressRepository;
 
+    @Mock
+    private IUserCourseRepository userCourseRepository;
+
     @Mock
     private UserLessonProgressMapper userLessonProgressMapper;
 
     @Mock
     private UserSecurityUtils userSecurityUtils;
 
+    @Mock
+    private LessonProgressBatchValidator lessonProgressBatchValidator;
+
+    @Mock
+    private SearchCounter searchCounter;
+
+    @Mock
+    private CourseOutlineSnapshots courseOutlineSnapshots;
+
     @InjectMocks
     private UserLessonProgressImpl userLessonProgressService;
 
@@ -112,7 +134,7 @@ class UserLessonProgressImplTest {
     void startLearningLesson_Success() {
         // Arrange
         when(userLessonProgressRepository.findById(anyLong())).thenReturn(Optional.of(testUserLessonProgress));
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userLessonProgressRepository.save(any(UserLessonProgress.class))).thenReturn(testUserLessonProgress);
         when(userLessonProgressMapper.toDto(any(UserLessonProgress.class))).thenReturn(testProgressResponseDto);
 
@@ -124,6 +146,7 @@ class UserLessonProgressImplTest {
         assertEquals(testProgressResponseDto.getId(), result.getId());
         verify(userLessonProgressRepository).save(any(UserLessonProgress.class));
         verify(userLessonProgressMapper).toDto(any(UserLessonProgress.class));
+        verify(userCourseRepository).applyProgressDelta(testUser.getId(), testCourse.getId(), 1, 0);
     }
 
     @Test
@@ -131,7 +154,7 @@ class UserLessonProgressImplTest {
         // Arrange
         testUserLessonProgress.setStatus(ProgressStatus.IN_PROGRESS);
         when(userLessonProgressRepository.findById(anyLong())).thenReturn(Optional.of(testUserLessonProgress));
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
 
         // Act & Assert
         assertThrows(InvalidRequestException.class,
@@ -144,7 +167,7 @@ class UserLessonProgressImplTest {
         // Arrange
         testUserLessonProgress.setStatus(ProgressStatus.COMPLETED);
         when(userLessonProgressRepository.findById(anyLong())).thenReturn(Optional.of(testUserLessonProgress));
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
 
         // Act & Assert
         assertThrows(InvalidRequestException.class,
@@ -160,7 +183,7 @@ class UserLessonProgressImplTest {
         differentUser.setUsername("differentUser");
 
         when(userLessonProgressRepository.findById(anyLong())).thenReturn(Optional.of(testUserLessonProgress));
-        when(userSecurityUtils.getCurrentUser()).thenReturn(differentUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(differentUser.getId());
         when(userSecurityUtils.isAdmin()).thenReturn(false);
 
         // Act & Assert
@@ -174,7 +197,7 @@ class UserLessonProgressImplTest {
         // Arrange
         testUserLessonProgress.setStatus(ProgressStatus.IN_PROGRESS);
         when(userLessonProgressRepository.findById(anyLong())).thenReturn(Optional.of(testUserLessonProgress));
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
         when(userLessonProgressRepository.save(any(UserLessonProgress.class))).thenReturn(testUserLessonProgress);
         when(userLessonProgressMapper.toDto(any(UserLessonProgress.class))).thenReturn(testProgressResponseDto);
 
@@ -186,6 +209,7 @@ class UserLessonProgressImplTest {
         assertEquals(testProgressResponseDto.getId(), result.getId());
         verify(userLessonProgressRepository).save(any(UserLessonProgress.class));
         verify(userLessonProgressMapper).toDto(any(UserLessonProgress.class));
+        verify(userCourseRepository).applyProgressDelta(testUser.getId(), testCourse.getId(), -1, 1);
     }
 
     @Test
@@ -193,7 +217,7 @@ class UserLessonProgressImplTest {
         // Arrange
         testUserLessonProgress.setStatus(ProgressStatus.NOT_STARTED);
         when(userLessonProgressRepository.findById(anyLong())).thenReturn(Optional.of(testUserLessonProgress));
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
 
         // Act & Assert
         assertThrows(InvalidRequestException.class,
@@ -206,7 +230,7 @@ class UserLessonProgressImplTest {
         // Arrange
         testUserLessonProgress.setStatus(ProgressStatus.COMPLETED);
         when(userLessonProgressRepository.findById(anyLong())).thenReturn(Optional.of(testUserLessonProgress));
-        when(userSecurityUtils.getCurrentUser()).thenReturn(testUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
 
         // Act & Assert
         assertThrows(InvalidRequestException.class,
@@ -223,7 +247,7 @@ class UserLessonProgressImplTest {
         differentUser.setUsername("differentUser");
 
         when(userLessonProgressRepository.findById(anyLong())).thenReturn(Optional.of(testUserLessonProgress));
-        when(userSecurityUtils.getCurrentUser()).thenReturn(differentUser);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(differentUser.getId());
         when(userSecurityUtils.isAdmin()).thenReturn(false);
 
         // Act & Assert
@@ -251,6 +275,8 @@ class UserLessonProgressImplTest {
         assertNotNull(result);
         assertEquals(testProgressResponseDto.getId(), result.getId());
         verify(userLessonProgressRepository).save(any(UserLessonProgress.class));
+        // The counts of the progress owner are evicted, not those of the admin or of everyone
+        verify(searchCounter).evictScope(CacheConstants.ENROLLMENT_COUNTS, testUser.getId());
     }
 
     @Test
@@ -296,4 +322,147 @@ class UserLessonProgressImplTest {
                 () -> userLessonProgressService.completeLearningLesson(updateStatusRequest));
         verify(userLessonProgressRepository, never()).save(any(UserLessonProgress.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void startLearningLesson_ByLessonId_UntouchedLesson_MaterializesProgress() {
+        // Arrange
+        UserLessonProgressDtos.UpdateStatusLessonProgressDTO request = UserLessonProgressDtos.UpdateStatusLessonProgressDTO.builder()
+                .lessonId(testLesson.getId())
+                .build();
+        testUserLessonProgress.setStatus(ProgressStatus.IN_PROGRESS);
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userLessonProgressRepository.findByUserIdAndLessonId(testUser.getId(), testLesson.getId()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(testUserLessonProgress));
+        when(userLessonProgressRepository.insertStartedProgress(testUser.getId(), testLesson.getId())).thenReturn(1);
+        when(userLessonProgressMapper.toDto(any(UserLessonProgress.class))).thenReturn(testProgressResponseDto);
+
+        // Act
+        UserLessonProgressDtos.LessonProgressResponseDTO result = userLessonProgressService.startLearningLesson(request);
+
+        // Assert
+        assertNotNull(result);
+        verify(userLessonProgressRepository).insertStartedProgress(testUser.getId(), testLesson.getId());
+        verify(userLessonProgressRepository, never()).save(any(UserLessonProgress.class));
+        verify(userCourseRepository).applyProgressDelta(testUser.getId(), testCourse.getId(), 1, 0);
+    }
+
+    @Test
+    void startLearningLesson_ByLessonId_NotEnrolled_ThrowsException() {
+        // Arrange
+        UserLessonProgressDtos.UpdateStatusLessonProgressDTO request = UserLessonProgressDtos.UpdateStatusLessonProgressDTO.builder()
+                .lessonId(testLesson.getId())
+                .build();
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userLessonProgressRepository.findByUserIdAndLessonId(testUser.getId(), testLesson.getId()))
+                .thenReturn(Optional.empty());
+        when(userLessonProgressRepository.insertStartedProgress(testUser.getId(), testLesson.getId())).thenReturn(0);
+
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> userLessonProgressService.startLearningLesson(request));
+        assertEquals("User must be enrolled in the course before tracking progress", exception.getMessage());
+        verify(lessonProgressBatchValidator).validate(testUser.getId(), List.of(testLesson.getId()));
+        verify(userCourseRepository, never()).applyProgressDelta(anyLong(), anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void startLearningLesson_ByLessonId_DeletedLesson_ThrowsException() {
+        // Arrange
+        UserLessonProgressDtos.UpdateStatusLessonProgressDTO request = UserLessonProgressDtos.UpdateStatusLessonProgressDTO.builder()
+                .lessonId(testLesson.getId())
+                .build();
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userLessonProgressRepository.findByUserIdAndLessonId(testUser.getId(), testLesson.getId()))
+                .thenReturn(Optional.empty());
+        when(userLessonProgressRepository.insertStartedProgress(testUser.getId(), testLesson.getId())).thenReturn(0);
+        doThrow(new ResourceNotFoundException("Lesson not found"))
+                .when(lessonProgressBatchValidator).validate(testUser.getId(), List.of(testLesson.getId()));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> userLessonProgressService.startLearningLesson(request));
+        verify(userCourseRepository, never()).applyProgressDelta(anyLong(), anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void completeLearningLesson_ByLessonId_UntouchedLesson_ThrowsException() {
+        // Arrange
+        UserLessonProgressDtos.UpdateStatusLessonProgressDTO request = UserLessonProgressDtos.UpdateStatusLessonProgressDTO.builder()
+                .lessonId(testLesson.getId())
+                .build();
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userLessonProgressRepository.findByUserIdAndLessonId(testUser.getId(), testLesson.getId()))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> userLessonProgressService.completeLearningLesson(request));
+        assertEquals("You must start the lesson before completing it", exception.getMessage());
+    }
+
+    @Test
+    void getCourseProgress_DerivesNotStartedLessons() {
+        // Arrange
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.existsByUserIdAndCourseId(testUser.getId(), testCourse.getId())).thenReturn(true);
+        CourseOutline outline = outlineWithLessons(testChapter.getId(), 11L, 12L, 13L);
+        when(courseOutlineSnapshots.get(testCourse.getId())).thenReturn(outline);
+        IUserLessonProgressRepository.LessonProgressView completed = progressView(11L);
+        IUserLessonProgressRepository.LessonProgressView inProgress = progressView(12L);
+        when(userLessonProgressRepository.findCourseLessonProgress(testUser.getId(), testCourse.getId()))
+                .thenReturn(List.of(inProgress, completed));
+        when(userLessonProgressMapper.toDto(completed)).thenReturn(lessonProgressWithStatus(ProgressStatus.COMPLETED));
+        when(userLessonProgressMapper.toDto(inProgress)).thenReturn(lessonProgressWithStatus(ProgressStatus.IN_PROGRESS));
+
+        // Act
+        UserLessonProgressDtos.CourseProgressResponseDTO result = userLessonProgressService.getCourseProgress(testCourse.getId());
+
+        // Assert
+        assertEquals(3, result.getTotalLessons());
+        assertEquals(1, result.getCompletedLessons());
+        assertEquals(1, result.getInProgressLessons());
+        assertEquals(1, result.getNotStartedLessons());
+        assertEquals(33.33, result.getCompletionPercentage());
+        // Untouched lessons come from the outline, in its order
+        assertEquals(13, result.getLessons().get(2).getLessonId());
+    }
+
+    @Test
+    void getCourseProgress_NotEnrolled_ThrowsException() {
+        // Arrange
+        when(userSecurityUtils.getCurrentUserId()).thenReturn(testUser.getId());
+        when(userCourseRepository.existsByUserIdAndCourseId(testUser.getId(), testCourse.getId())).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> userLessonProgressService.getCourseProgress(testCourse.getId()));
+        verify(userLessonProgressRepository, never()).findCourseLessonProgress(anyLong(), anyLong());
+    }
+
+    private static CourseOutline outlineWithLessons(Long chapterId, Long... lessonIds) {
+        List<CourseOutline.LessonNode> lessons = new ArrayList<>();
+        for (Long lessonId : lessonIds) {
+            CourseOutline.LessonNode lesson = mock(CourseOutline.LessonNode.class);
+            when(lesson.getId()).thenReturn(lessonId);
+            lessons.add(lesson);
+        }
+        CourseOutline.ChapterNode chapter = mock(CourseOutline.ChapterNode.class);
+        when(chapter.getId()).thenReturn(chapterId);
+        when(chapter.getLessons()).thenReturn(lessons);
+        CourseOutline outline = mock(CourseOutline.class);
+        when(outline.getChapters()).thenReturn(List.of(chapter));
+        return outline;
+    }
+
+    private static IUserLessonProgressRepository.LessonProgressView progressView(Long lessonId) {
+        IUserLessonProgressRepository.LessonProgressView view = mock(IUserLessonProgressRepository.LessonProgressView.class);
+        when(view.getLessonId()).thenReturn(lessonId);
+        return view;
+    }
+
+    private UserLessonProgressDtos.LessonProgressResponseDTO lessonProgressWithStatus(ProgressStatus status) {
+        UserLessonProgressDtos.LessonProgressResponseDTO dto = new UserLessonProgressDtos.LessonProgressResponseDTO();
+        dto.setStatus(status.name());
+        return dto;
+    }
+}
@@ -5,26 +5,38 @@ import com.online.course.management.project.dto.UserDTOs;
 import com.online.course.management.project.entity.Role;
 import com.online.course.management.project.entity.User;
 
+import com.online.course.management.project.enums.CountMode;
 import com.online.course.management.project.enums.RoleType;
 import com.online.course.management.project.enums.UserStatus;
+import com.online.course.management.project.event.UserChangedEvent;
 import com.online.course.management.project.exception.business.ForbiddenException;
 import com.online.course.management.project.exception.business.account.EmailAlreadyExistsException;
 import com.online.course.management.project.mapper.UserMapper;
 
 import com.online.course.management.project.repository.IRoleRepository;
 import com.online.course.management.project.repository.IUserRepository;
+import com.online.course.management.project.security.TokenRevocationRegistry;
+import com.online.course.management.project.utils.pagination.CountedPage;
+import com.online.course.management.project.utils.pagination.SearchCounter;
 import com.online.course.management.project.utils.user.UserServiceUtils;
 
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 
 
 import java.util.*;
@@ -45,6 +57,13 @@ public class UserServiceImplTest {
     private UserMapper userMapper;
     @Mock
     private UserServiceUtils userServiceUtils;
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SearchCounter searchCounter = new SearchCounter(new ConcurrentMapCacheManager(), CountMode.EXACT, 10_000);
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -208,7 +227,10 @@ public class UserServiceImplTest {
         assertEquals(2, result.size(), "Expected 2 roles, but got: " + result.size() + " roles: " + result);
         assertTrue(result.contains("USER"), "USER role is missing from the result");
         assertTrue(result.contains("INSTRUCTOR"), "INSTRUCTOR role is missing from the result");
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
         verify(userRepository).save(any(User.class));
+        assertEquals(1, normalUser.getTokenVersion());
+        verify(tokenRevocationRegistry).revoke(userId, 1);
     }
 
     @Test
@@ -220,13 +242,38 @@ public class UserServiceImplTest {
         user.setStatus(UserStatus.ACTIVE);
 
         Page<User> userPage = new PageImpl<>(Collections.singletonList(user));
-        when(userRepository.findAll(any(Pageable.class))).thenReturn(userPage);
+        when(userRepository.searchUsers(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(userPage);
         when(userMapper.toUserWithRolesDto(any(User.class))).thenReturn(new UserDTOs.UserWithRolesResponseDto());
 
-        Page<UserDTOs.UserWithRolesResponseDto> result = userService.getAllUsers(Pageable.unpaged());
+        Page<UserDTOs.UserWithRolesResponseDto> result = userService.getAllUsers(Pageable.unpaged(), null);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
+        // A page that is not full tells the total without counting
+        verify(userRepository, never()).count(ArgumentMatchers.<Specification<User>>any());
+    }
+
+    @Test
+    void searchUsers_FullPageEstimated_CountsUpToThreshold() {
+        UserDTOs.UserSearchRequestDto searchRequest = new UserDTOs.UserSearchRequestDto();
+        searchRequest.setUsername("");
+        searchRequest.setStatus("active");
+        Pageable pageable = PageRequest.of(0, 1);
+
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.searchUsers(isNull(), isNull(), isNull(), eq("ACTIVE"), isNull(), isNull(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(user), pageable, true));
+        when(userMapper.toUserWithRolesDto(user)).thenReturn(new UserDTOs.UserWithRolesResponseDto());
+        when(userRepository.countUsersUpTo(isNull(), isNull(), isNull(), eq("ACTIVE"), isNull(), isNull(), eq(10_001L)))
+                .thenReturn(10_001L);
+
+        Page<UserDTOs.UserWithRolesResponseDto> result = userService.searchUsers(searchRequest, pageable, CountMode.ESTIMATED);
+
+        assertEquals(10_000, result.getTotalElements());
+        assertTrue(((CountedPage<UserDTOs.UserWithRolesResponseDto>) result).isTotalCapped());
+        verify(userRepository, never()).count(ArgumentMatchers.<Specification<User>>any());
     }
 
     @Test
@@ -268,6 +315,8 @@ public class UserServiceImplTest {
 
         verify(userRepository).save(user);
         assertNotNull(user.getDeletedAt());
+        verify(tokenRevocationRegistry).revoke(1L, 1);
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
@@ -281,5 +330,6 @@ public class UserServiceImplTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(adminUser));
 
         assertThrows(ForbiddenException.class, () -> userService.softDeleteUser(1L));
+        verifyNoInteractions(eventPublisher);
     }
 }
@@ -0,0 +1,193 @@
+package com.online.course.management.project.utils.cache;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.event.CategoryChangedEvent;
+import com.online.course.management.project.event.ChapterChangedEvent;
+import com.online.course.management.project.event.CourseChangedEvent;
+import com.online.course.management.project.event.LessonChangedEvent;
+import com.online.course.management.project.event.UserChangedEvent;
+import com.online.course.management.project.repository.IChapterRepository;
+import com.online.course.management.project.repository.ICourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationListenerTest {
+
+    @Mock
+    private IChapterRepository chapterRepository;
+
+    @Mock
+    private ICourseRepository courseRepository;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        listener = new CacheInvalidationListener(cacheManager, chapterRepository, courseRepository);
+
+        cache(CacheConstants.COURSES).put(1L, "course 1");
+        cache(CacheConstants.COURSES).put(2L, "course 2");
+        cache(CacheConstants.LATEST_COURSES).put(10, "latest");
+        cache(CacheConstants.CHAPTERS).put(5L, "chapter 5");
+        cache(CacheConstants.CHAPTERS).put("detail-5", "chapter 5 with lessons");
+        cache(CacheConstants.CHAPTERS).put(6L, "chapter 6");
+        cache(CacheConstants.CATEGORIES).put(3L, "category 3");
+        cache(CacheConstants.COURSE_OUTLINES).put(1L, "outline 1");
+        cache(CacheConstants.COURSE_OUTLINES).put(2L, "outline 2");
+        cache(CacheConstants.COURSE_RESPONSES).put(1L, "json 1");
+        cache(CacheConstants.COURSE_RESPONSES).put(2L, "json 2");
+        cache(CacheConstants.CHAPTER_RESPONSES).put(5L, "chapter 5 json");
+        cache(CacheConstants.CHAPTER_RESPONSES).put("detail-5", "chapter 5 with lessons json");
+        cache(CacheConstants.CHAPTER_RESPONSES).put(6L, "chapter 6 json");
+        cache(CacheConstants.CHAPTER_RESPONSES).put("course-1", "course 1 chapters json");
+        cache(CacheConstants.CHAPTER_RESPONSES).put("course-2", "course 2 chapters json");
+        cache(CacheConstants.COURSE_COUNTS).put(List.of("java"), 12L);
+        cache(CacheConstants.CHAPTER_COUNTS).put(List.of("intro"), 3L);
+        cache(CacheConstants.LESSON_COUNTS).put(List.of("intro"), 7L);
+        cache(CacheConstants.ENROLLMENT_COUNTS).put(List.of(9L), 2L);
+    }
+
+    @Test
+    void onCourseChanged_EvictsCourseLatestAndItsChapters() {
+        // Arrange
+        when(chapterRepository.findChapterIdsByCourseId(1L)).thenReturn(List.of(5L));
+
+        // Act
+        listener.onCourseChanged(new CourseChangedEvent(1L));
+
+        // Assert
+        assertNull(cache(CacheConstants.COURSES).get(1L));
+        assertNotNull(cache(CacheConstants.COURSES).get(2L));
+        assertNull(cache(CacheConstants.LATEST_COURSES).get(10));
+        assertNull(cache(CacheConstants.CHAPTERS).get(5L));
+        assertNull(cache(CacheConstants.CHAPTERS).get("detail-5"));
+        assertNotNull(cache(CacheConstants.CHAPTERS).get(6L));
+        assertNull(cache(CacheConstants.COURSE_OUTLINES).get(1L));
+        assertNotNull(cache(CacheConstants.COURSE_OUTLINES).get(2L));
+        assertNull(cache(CacheConstants.COURSE_RESPONSES).get(1L));
+        assertNotNull(cache(CacheConstants.COURSE_RESPONSES).get(2L));
+        assertNull(cache(CacheConstants.CHAPTER_RESPONSES).get(5L));
+        assertNull(cache(CacheConstants.CHAPTER_RESPONSES).get("course-1"));
+        assertNotNull(cache(CacheConstants.CHAPTER_RESPONSES).get("course-2"));
+        assertNull(cache(CacheConstants.COURSE_COUNTS).get(List.of("java")));
+        assertNull(cache(CacheConstants.ENROLLMENT_COUNTS).get(List.of(9L)));
+        assertNotNull(cache(CacheConstants.LESSON_COUNTS).get(List.of("intro")));
+    }
+
+    @Test
+    void onChapterChanged_WithIds_EvictsOnlyThoseChapters() {
+        // Act
+        listener.onChapterChanged(new ChapterChangedEvent(1L, List.of(5L)));
+
+        // Assert
+        assertNull(cache(CacheConstants.CHAPTERS).get("detail-5"));
+        assertNotNull(cache(CacheConstants.CHAPTERS).get(6L));
+        assertNotNull(cache(CacheConstants.COURSES).get(1L));
+        assertNull(cache(CacheConstants.COURSE_OUTLINES).get(1L));
+        assertNull(cache(CacheConstants.CHAPTER_RESPONSES).get("detail-5"));
+        assertNotNull(cache(CacheConstants.CHAPTER_RESPONSES).get(6L));
+        assertNull(cache(CacheConstants.CHAPTER_RESPONSES).get("course-1"));
+        assertNull(cache(CacheConstants.CHAPTER_COUNTS).get(List.of("intro")));
+        assertNull(cache(CacheConstants.LESSON_COUNTS).get(List.of("intro")));
+        assertNotNull(cache(CacheConstants.COURSE_COUNTS).get(List.of("java")));
+        assertNull(cache(CacheConstants.ENROLLMENT_COUNTS).get(List.of(9L)));
+        verifyNoInteractions(chapterRepository);
+    }
+
+    @Test
+    void onChapterChanged_WholeCourse_LooksUpChapters() {
+        // Arrange
+        when(chapterRepository.findChapterIdsByCourseId(1L)).thenReturn(List.of(5L, 6L));
+
+        // Act
+        listener.onChapterChanged(ChapterChangedEvent.allOf(1L));
+
+        // Assert
+        assertNull(cache(CacheConstants.CHAPTERS).get(5L));
+        assertNull(cache(CacheConstants.CHAPTERS).get(6L));
+    }
+
+    @Test
+    void onLessonChanged_EvictsChapterViewsAndCourseOutline() {
+        // Arrange
+        when(chapterRepository.findCourseIdsByChapterIds(List.of(5L))).thenReturn(List.of(1L));
+
+        // Act
+        listener.onLessonChanged(new LessonChangedEvent(List.of(5L)));
+
+        // Assert
+        assertNull(cache(CacheConstants.CHAPTERS).get(5L));
+        assertNull(cache(CacheConstants.CHAPTERS).get("detail-5"));
+        assertNotNull(cache(CacheConstants.CHAPTERS).get(6L));
+        assertNull(cache(CacheConstants.COURSE_OUTLINES).get(1L));
+        assertNotNull(cache(CacheConstants.COURSE_OUTLINES).get(2L));
+        assertNull(cache(CacheConstants.LESSON_COUNTS).get(List.of("intro")));
+        assertNotNull(cache(CacheConstants.CHAPTER_COUNTS).get(List.of("intro")));
+        assertNull(cache(CacheConstants.ENROLLMENT_COUNTS).get(List.of(9L)));
+    }
+
+    @Test
+    void onCategoryChanged_EvictsCategoryAndCourseViews() {
+        // Act
+        listener.onCategoryChanged(new CategoryChangedEvent(3L));
+
+        // Assert
+        assertNull(cache(CacheConstants.CATEGORIES).get(3L));
+        assertNull(cache(CacheConstants.COURSES).get(2L));
+        assertNull(cache(CacheConstants.COURSE_RESPONSES).get(2L));
+        assertNull(cache(CacheConstants.LATEST_COURSES).get(10));
+        assertNotNull(cache(CacheConstants.CHAPTERS).get(5L));
+        assertNotNull(cache(CacheConstants.COURSE_OUTLINES).get(1L));
+        assertNull(cache(CacheConstants.COURSE_COUNTS).get(List.of("java")));
+    }
+
+    @Test
+    void onUserChanged_Instructor_EvictsTheirCourses() {
+        // Arrange
+        when(courseRepository.findCourseIdsByInstructorId(7L)).thenReturn(List.of(1L));
+
+        // Act
+        listener.onUserChanged(new UserChangedEvent(7L));
+
+        // Assert
+        assertNull(cache(CacheConstants.COURSES).get(1L));
+        assertNotNull(cache(CacheConstants.COURSES).get(2L));
+        assertNull(cache(CacheConstants.COURSE_RESPONSES).get(1L));
+        assertNotNull(cache(CacheConstants.COURSE_RESPONSES).get(2L));
+        assertNull(cache(CacheConstants.LATEST_COURSES).get(10));
+        assertNull(cache(CacheConstants.COURSE_COUNTS).get(List.of("java")));
+        assertNull(cache(CacheConstants.ENROLLMENT_COUNTS).get(List.of(9L)));
+        assertNotNull(cache(CacheConstants.COURSE_OUTLINES).get(1L));
+    }
+
+    @Test
+    void onUserChanged_NotAnInstructor_KeepsCourses() {
+        // Arrange
+        when(courseRepository.findCourseIdsByInstructorId(8L)).thenReturn(List.of());
+
+        // Act
+        listener.onUserChanged(new UserChangedEvent(8L));
+
+        // Assert
+        assertNotNull(cache(CacheConstants.COURSES).get(1L));
+        assertNotNull(cache(CacheConstants.LATEST_COURSES).get(10));
+        assertNotNull(cache(CacheConstants.COURSE_COUNTS).get(List.of("java")));
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
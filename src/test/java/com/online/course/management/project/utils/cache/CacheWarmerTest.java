@@ -0,0 +1,136 @@
+package com.online.course.management.project.utils.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.dto.CategoryDTOs;
+import com.online.course.management.project.dto.CourseDTOS;
+import com.online.course.management.project.entity.Category;
+import com.online.course.management.project.entity.Course;
+import com.online.course.management.project.mapper.CategoryMapper;
+import com.online.course.management.project.mapper.CourseMapper;
+import com.online.course.management.project.repository.ICategoryRepository;
+import com.online.course.management.project.repository.ICourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private ICourseRepository courseRepository;
+
+    @Mock
+    private ICategoryRepository categoryRepository;
+
+    @Mock
+    private CourseMapper courseMapper;
+
+    @Mock
+    private CategoryMapper categoryMapper;
+
+    @TempDir
+    private Path tempDir;
+
+    private CaffeineCacheManager cacheManager;
+    private HotKeyFile hotKeyFile;
+    private CacheWarmer cacheWarmer;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConstants.COURSES,
+                Caffeine.newBuilder().maximumSize(4).executor(Runnable::run).build());
+        hotKeyFile = new HotKeyFile(tempDir.resolve("warmup/hot-courses.txt"));
+        cacheWarmer = new CacheWarmer(courseRepository, categoryRepository, courseMapper, categoryMapper,
+                cacheManager, hotKeyFile, 200, new int[]{2, 10});
+    }
+
+    @Test
+    void warmUp_CachesHotCoursesLatestListsAndCategories() {
+        // Arrange
+        hotKeyFile.write(List.of(7L));
+        when(courseRepository.findLatestCourses(10)).thenReturn(List.of(course(3L), course(2L), course(1L)));
+        when(courseRepository.findAllWithDetailsByIdIn(Set.of(3L, 2L, 1L, 7L)))
+                .thenReturn(List.of(course(1L), course(2L), course(3L), course(7L)));
+        when(courseMapper.toDto(any(Course.class))).thenAnswer(invocation ->
+                CourseDTOS.CourseDetailsResponseDto.builder().id(invocation.<Course>getArgument(0).getId()).build());
+        Category category = new Category();
+        category.setId(4L);
+        CategoryDTOs.CategoryResponseDto categoryDto = new CategoryDTOs.CategoryResponseDto();
+        when(categoryRepository.findAllWithCourses()).thenReturn(List.of(category));
+        when(categoryMapper.toDto(category)).thenReturn(categoryDto);
+
+        // Act
+        cacheWarmer.warmUp();
+
+        // Assert
+        assertNotNull(cacheManager.getCache(CacheConstants.COURSES).get(7L));
+        assertNotNull(cacheManager.getCache(CacheConstants.COURSES).get(1L));
+        assertEquals(List.of(3L, 2L), latestIds(2));
+        assertEquals(List.of(3L, 2L, 1L), latestIds(10));
+        assertSame(categoryDto, cacheManager.getCache(CacheConstants.CATEGORIES).get(4L).get());
+    }
+
+    @Test
+    void warmUp_WithoutHotKeyFile_WarmsLatestCourses() {
+        // Arrange
+        when(courseRepository.findLatestCourses(10)).thenReturn(List.of(course(1L)));
+        when(courseRepository.findAllWithDetailsByIdIn(Set.of(1L))).thenReturn(List.of(course(1L)));
+        when(courseMapper.toDto(any(Course.class))).thenReturn(new CourseDTOS.CourseDetailsResponseDto());
+
+        // Act
+        cacheWarmer.warmUp();
+
+        // Assert
+        assertNotNull(cacheManager.getCache(CacheConstants.COURSES).get(1L));
+        verify(categoryRepository).findAllWithCourses();
+    }
+
+    @Test
+    void saveHotKeys_WritesMostAccessedCourseIdsFirst() {
+        // Arrange
+        CaffeineCache courses = (CaffeineCache) cacheManager.getCache(CacheConstants.COURSES);
+        courses.put(1L, "one");
+        courses.put(2L, "two");
+        courses.put(3L, "three");
+        for (int i = 0; i < 20; i++) {
+            courses.get(2L);
+        }
+        courses.getNativeCache().cleanUp();
+
+        // Act
+        cacheWarmer.saveHotKeys();
+
+        // Assert
+        List<Long> saved = hotKeyFile.read();
+        assertEquals(3, saved.size());
+        assertEquals(2L, saved.get(0));
+    }
+
+    private List<Long> latestIds(int limit) {
+        @SuppressWarnings("unchecked")
+        List<CourseDTOS.CourseDetailsResponseDto> latest = (List<CourseDTOS.CourseDetailsResponseDto>)
+                cacheManager.getCache(CacheConstants.LATEST_COURSES).get(limit).get();
+        return latest.stream().map(CourseDTOS.CourseDetailsResponseDto::getId).toList();
+    }
+
+    private static Course course(Long id) {
+        Course course = new Course();
+        course.setId(id);
+        return course;
+    }
+}
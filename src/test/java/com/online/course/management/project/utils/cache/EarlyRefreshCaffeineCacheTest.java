@@ -0,0 +1,83 @@
+package com.online.course.management.project.utils.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EarlyRefreshCaffeineCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final long LOAD_MILLIS = 20;
+    // -ln(1 - u) == 1, so an entry is due once it is within one average load time of expiry
+    private static final double UNIT_GAP = 1 - Math.exp(-1);
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private EarlyRefreshCaffeineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        LoadingCache<Object, Object> nativeCache = Caffeine.newBuilder()
+                .ticker(ticker::get)
+                .executor(Runnable::run)
+                .expireAfterWrite(TTL)
+                .recordStats()
+                .build(key -> {
+                    Thread.sleep(LOAD_MILLIS);
+                    return "value-" + key + "-" + loads.incrementAndGet();
+                });
+        cache = new EarlyRefreshCaffeineCache("courses", nativeCache, true, TTL, 1.0, () -> UNIT_GAP);
+    }
+
+    @Test
+    void get_FarFromExpiry_ServesCachedValue() {
+        // Arrange
+        cache.get(1L);
+        ticker.addAndGet(TTL.minusMinutes(1).toNanos());
+
+        // Act
+        Object value = cache.get(1L).get();
+
+        // Assert
+        assertEquals("value-1-1", value);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WithinLoadTimeOfExpiry_RefreshesInBackground() {
+        // Arrange
+        cache.get(1L);
+        ticker.addAndGet(TTL.minusMillis(LOAD_MILLIS / 2).toNanos());
+
+        // Act
+        Object servedValue = cache.get(1L).get();
+
+        // Assert
+        assertEquals("value-1-1", servedValue);
+        assertEquals(2, loads.get());
+        assertEquals("value-1-2", cache.getNativeCache().getIfPresent(1L));
+    }
+
+    @Test
+    void getWithLoader_WithinLoadTimeOfExpiry_RefreshesThroughReloader() {
+        // Arrange: a slow load of another key puts the average load time at about LOAD_MILLIS / 2
+        cache.get(2L);
+        cache.get(1L, () -> "from-method");
+        ticker.addAndGet(TTL.minusMillis(2).toNanos());
+
+        // Act
+        Object servedValue = cache.get(1L, () -> "from-method-again");
+
+        // Assert
+        assertEquals("from-method", servedValue);
+        assertEquals(2, loads.get());
+        assertEquals("value-1-2", cache.getNativeCache().getIfPresent(1L));
+    }
+}
@@ -0,0 +1,251 @@
+package com.online.course.management.project.utils.cache;
+
+import com.online.course.management.project.constants.CacheConstants;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Several nodes, each with its own local caches, sharing one database.
+ */
+class TwoLevelCacheManagerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private Node nodeA;
+    private Node nodeB;
+    private Node nodeC;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:outbox-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V25__Create_cache_invalidation_outbox.sql"))
+                .execute(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        nodeA = new Node("node-a");
+        nodeB = new Node("node-b");
+        nodeC = new Node("node-c");
+        pollAll();
+    }
+
+    @Test
+    void evict_InTransaction_ReachesOtherNodesAfterCommit() {
+        // Arrange
+        putEverywhere(CacheConstants.COURSES, 1L, "course 1");
+        putEverywhere(CacheConstants.COURSES, 2L, "course 2");
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            nodeA.cacheManager.getCache(CacheConstants.COURSES).evict(1L);
+            // Nothing is dropped before the change commits
+            assertNotNull(nodeA.cacheManager.getCache(CacheConstants.COURSES).get(1L));
+        });
+
+        // Assert
+        assertNull(nodeA.cacheManager.getCache(CacheConstants.COURSES).get(1L));
+        assertNotNull(nodeB.cacheManager.getCache(CacheConstants.COURSES).get(1L));
+
+        pollAll();
+
+        assertNull(nodeB.cacheManager.getCache(CacheConstants.COURSES).get(1L));
+        assertNull(nodeC.cacheManager.getCache(CacheConstants.COURSES).get(1L));
+        assertNotNull(nodeB.cacheManager.getCache(CacheConstants.COURSES).get(2L));
+    }
+
+    @Test
+    void evict_RolledBack_EvictsNothing() {
+        // Arrange
+        putEverywhere(CacheConstants.COURSES, 1L, "course 1");
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            nodeA.cacheManager.getCache(CacheConstants.COURSES).evict(1L);
+            status.setRollbackOnly();
+        });
+        pollAll();
+
+        // Assert
+        assertNotNull(nodeA.cacheManager.getCache(CacheConstants.COURSES).get(1L));
+        assertNotNull(nodeB.cacheManager.getCache(CacheConstants.COURSES).get(1L));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cache_invalidations", Integer.class));
+    }
+
+    @Test
+    void clearAndTypedKeys_ArePropagated() {
+        // Arrange
+        putEverywhere(CacheConstants.LATEST_COURSES, 10, "latest 10");
+        putEverywhere(CacheConstants.CHAPTERS, 5L, "chapter 5");
+        putEverywhere(CacheConstants.CHAPTERS, "detail-5", "chapter 5 with lessons");
+        putEverywhere(CacheConstants.CHAPTERS, 6L, "chapter 6");
+
+        // Act
+        nodeA.cacheManager.getCache(CacheConstants.LATEST_COURSES).clear();
+        nodeA.cacheManager.getCache(CacheConstants.CHAPTERS).evict(5L);
+        nodeA.cacheManager.getCache(CacheConstants.CHAPTERS).evict("detail-5");
+        pollAll();
+
+        // Assert
+        assertNull(nodeB.cacheManager.getCache(CacheConstants.LATEST_COURSES).get(10));
+        assertNull(nodeB.cacheManager.getCache(CacheConstants.CHAPTERS).get(5L));
+        assertNull(nodeB.cacheManager.getCache(CacheConstants.CHAPTERS).get("detail-5"));
+        assertNotNull(nodeB.cacheManager.getCache(CacheConstants.CHAPTERS).get(6L));
+    }
+
+    @Test
+    void evict_InTransaction_WritesDeduplicatedRowsOnce() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            nodeA.cacheManager.getCache(CacheConstants.COURSES).evict(1L);
+            nodeA.cacheManager.getCache(CacheConstants.COURSES).evict(1L);
+            nodeA.cacheManager.getCache(CacheConstants.COURSES).evict(2L);
+            nodeA.cacheManager.getCache(CacheConstants.CHAPTERS).evict(5L);
+            nodeA.cacheManager.getCache(CacheConstants.CHAPTERS).clear();
+            nodeA.cacheManager.getCache(CacheConstants.CHAPTERS).evict(6L);
+            // Nothing is written before the transaction commits
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cache_invalidations", Integer.class));
+        });
+
+        // Assert
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT CONCAT(cache_name, '=', COALESCE(cache_key, '*')) FROM cache_invalidations ORDER BY id",
+                String.class);
+        assertEquals(List.of(CacheConstants.COURSES + "=L:1", CacheConstants.COURSES + "=L:2",
+                CacheConstants.CHAPTERS + "=*"), rows);
+    }
+
+    @Test
+    void poll_RowCommittedAfterLaterRows_IsStillApplied() throws Exception {
+        // Arrange
+        putEverywhere(CacheConstants.COURSES, 1L, "course 1");
+        putEverywhere(CacheConstants.COURSES, 2L, "course 2");
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CacheInvalidationOutbox slowWriter = new CacheInvalidationOutbox(jdbcTemplate, "node-slow");
+        nodeA.cacheManager.getCache(CacheConstants.LATEST_COURSES).clear();
+        pollAll();
+
+        // A transaction takes its id, stamped long ago, and commits only after a later row
+        CompletableFuture<Void> slowTransaction = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    slowWriter.append(CacheConstants.COURSES, 1L);
+                    jdbcTemplate.update("UPDATE cache_invalidations SET created_at = TIMESTAMPADD(MINUTE, -10, created_at)");
+                    inserted.countDown();
+                    await(release);
+                }));
+        await(inserted);
+        nodeA.cacheManager.getCache(CacheConstants.COURSES).evict(2L);
+        pollAll();
+        assertNull(nodeB.cacheManager.getCache(CacheConstants.COURSES).get(2L));
+        assertNotNull(nodeB.cacheManager.getCache(CacheConstants.COURSES).get(1L));
+
+        // Act
+        release.countDown();
+        slowTransaction.get(10, TimeUnit.SECONDS);
+        pollAll();
+
+        // Assert
+        assertNull(nodeB.cacheManager.getCache(CacheConstants.COURSES).get(1L));
+        assertNull(nodeC.cacheManager.getCache(CacheConstants.COURSES).get(1L));
+    }
+
+    @Test
+    void poll_HandledName_GoesToTheHandlerInsteadOfACache() {
+        // Arrange
+        List<Object> received = new ArrayList<>();
+        RemoteInvalidationHandler handler = new RemoteInvalidationHandler() {
+            public String getName() { return CacheConstants.TOKEN_VERSIONS; }
+            public void invalidate(Object key) { received.add(key); }
+        };
+        CacheInvalidationOutbox outbox = new CacheInvalidationOutbox(jdbcTemplate, "node-d");
+        CacheInvalidationPoller poller = new CacheInvalidationPoller(
+                new TwoLevelCacheManager(new ConcurrentMapCacheManager(), outbox), outbox, List.of(handler),
+                Duration.ofHours(1));
+        poller.poll();
+
+        // Act
+        nodeA.cacheManager.getCache(CacheConstants.COURSES).evict(1L);
+        new CacheInvalidationOutbox(jdbcTemplate, "node-a").append(CacheConstants.TOKEN_VERSIONS, 7L);
+        poller.poll();
+
+        // Assert
+        assertEquals(List.of(7L), received);
+    }
+
+    @Test
+    void poll_AppliesEachInvalidationOnce() {
+        // Arrange
+        nodeA.cacheManager.getCache(CacheConstants.COURSES).evict(1L);
+        pollAll();
+        nodeB.cacheManager.getCache(CacheConstants.COURSES).put(1L, "reloaded");
+
+        // Act
+        nodeB.poller.poll();
+
+        // Assert
+        assertEquals("reloaded", nodeB.cacheManager.getCache(CacheConstants.COURSES).get(1L).get());
+    }
+
+    @Test
+    void deleteExpired_RemovesRowsPastRetention() {
+        // Arrange
+        nodeA.cacheManager.getCache(CacheConstants.COURSES).evict(1L);
+        jdbcTemplate.update("UPDATE cache_invalidations SET created_at = TIMESTAMPADD(HOUR, -2, created_at)");
+        nodeA.cacheManager.getCache(CacheConstants.COURSES).evict(2L);
+
+        // Act
+        nodeA.poller.deleteExpired();
+
+        // Assert
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cache_invalidations", Integer.class));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void putEverywhere(String cacheName, Object key, Object value) {
+        for (Node node : new Node[]{nodeA, nodeB, nodeC}) {
+            node.cacheManager.getCache(cacheName).put(key, value);
+        }
+    }
+
+    private void pollAll() {
+        nodeA.poller.poll();
+        nodeB.poller.poll();
+        nodeC.poller.poll();
+    }
+
+    private class Node {
+        private final TwoLevelCacheManager cacheManager;
+        private final CacheInvalidationPoller poller;
+
+        Node(String nodeId) {
+            CacheInvalidationOutbox outbox = new CacheInvalidationOutbox(jdbcTemplate, nodeId);
+            cacheManager = new TwoLevelCacheManager(new ConcurrentMapCacheManager(), outbox);
+            poller = new CacheInvalidationPoller(cacheManager, outbox, List.of(), Duration.ofHours(1));
+        }
+    }
+}
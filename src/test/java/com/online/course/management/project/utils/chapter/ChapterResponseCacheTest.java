@@ -0,0 +1,95 @@
+package com.online.course.management.project.utils.chapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.dto.ChapterDTOs;
+import com.online.course.management.project.dto.LessonDTOs;
+import com.online.course.management.project.service.interfaces.IChapterService;
+import com.online.course.management.project.utils.cache.SerializedResponse;
+import com.online.course.management.project.utils.cache.SerializedResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChapterResponseCacheTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2024, 1, 15, 9, 30);
+    private static final LocalDateTime LATER = LocalDateTime.of(2024, 3, 2, 17, 5);
+
+    @Mock
+    private IChapterService chapterService;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private ChapterResponseCache chapterResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConstants.CHAPTER_RESPONSES);
+        chapterResponseCache = new ChapterResponseCache(chapterService,
+                new SerializedResponseCache(new ObjectMapper().registerModule(new JavaTimeModule()), cacheManager));
+    }
+
+    @Test
+    void getChapterWithLessons_LastModifiedIsWhenTheEntryWasBuilt() {
+        // Arrange
+        ChapterDTOs.ChapterDetailResponseDto chapter = new ChapterDTOs.ChapterDetailResponseDto();
+        chapter.setId(5L);
+        chapter.setUpdatedAt(EARLIER);
+        LessonDTOs.LessonResponseDto lesson = new LessonDTOs.LessonResponseDto();
+        lesson.setUpdatedAt(LATER);
+        chapter.setLessons(List.of(lesson, new LessonDTOs.LessonResponseDto()));
+        when(chapterService.getChapterWithLessons(5L)).thenReturn(chapter);
+        Instant started = Instant.now();
+
+        // Act
+        SerializedResponse response = chapterResponseCache.getChapterWithLessons(5L);
+
+        // Assert
+        // A deleted lesson leaves the latest updated_at in the response unchanged, the eviction it causes does not
+        assertFalse(response.getLastModified().isBefore(started));
+        assertNotNull(cacheManager.getCache(CacheConstants.CHAPTER_RESPONSES).get("detail-5"));
+    }
+
+    @Test
+    void getCourseChapters_CachesUnderCourseKey() {
+        // Arrange
+        ChapterDTOs.ChapterResponseDto first = new ChapterDTOs.ChapterResponseDto();
+        first.setUpdatedAt(LATER);
+        ChapterDTOs.ChapterResponseDto second = new ChapterDTOs.ChapterResponseDto();
+        second.setUpdatedAt(EARLIER);
+        when(chapterService.getAllChaptersByCourseId(1L)).thenReturn(List.of(first, second));
+
+        // Act
+        SerializedResponse response = chapterResponseCache.getCourseChapters(1L);
+        chapterResponseCache.getCourseChapters(1L);
+
+        // Assert
+        assertSame(response, cacheManager.getCache(CacheConstants.CHAPTER_RESPONSES).get("course-1").get());
+        verify(chapterService, times(1)).getAllChaptersByCourseId(1L);
+    }
+
+    @Test
+    void getCourseChapters_NoChapters_CachesAnEmptyList() {
+        // Arrange
+        when(chapterService.getAllChaptersByCourseId(2L)).thenReturn(List.of());
+
+        // Act
+        SerializedResponse response = chapterResponseCache.getCourseChapters(2L);
+
+        // Assert
+        assertNotNull(response.getLastModified());
+        assertEquals("[]", new String(response.getBody()));
+    }
+}
@@ -0,0 +1,149 @@
+package com.online.course.management.project.utils.course;
+
+import com.online.course.management.project.repository.ICourseRepository;
+import com.online.course.management.project.utils.search.PrefixIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseAutocompleteIndexTest {
+
+    @Mock
+    private ICourseRepository courseRepository;
+
+    private CourseAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseAutocompleteIndex(courseRepository);
+
+        when(courseRepository.findCourseAutocompleteRows()).thenReturn(List.of(
+                row(1L, "Java Basics", 7L, "Jane Doe", 1L, "Java", 10),
+                row(1L, "Java Basics", 7L, "Jane Doe", 2L, "Backend", 10),
+                row(2L, "Spring Boot with Java", 8L, "John Smith", 1L, "Java", 30),
+                row(3L, "Javanese for Travellers", null, null, null, null, 5)
+        ));
+        assertEquals(3, index.rebuild());
+    }
+
+    @Test
+    void complete_RanksCoursesByEnrollmentsAndGroupsByTheirCourses() {
+        // Act
+        CourseAutocompleteIndex.Suggestions suggestions = index.complete("ja", 5);
+
+        // Assert
+        assertEquals(List.of(2L, 1L, 3L), ids(suggestions.courses()));
+        assertEquals(List.of(new PrefixIndex.Entry(1L, "Java", "java", 40)), suggestions.categories());
+        assertEquals(List.of(new PrefixIndex.Entry(7L, "Jane Doe", "jane doe", 10)), suggestions.instructors());
+    }
+
+    @Test
+    void refreshCourses_MovesTheCourseAndItsGroups() {
+        // Arrange
+        when(courseRepository.findCourseAutocompleteRowsByIdIn(List.of(1L))).thenReturn(List.of(
+                row(1L, "Kotlin Basics", 8L, "John Smith", 2L, "Backend", 50)
+        ));
+
+        // Act
+        index.refreshCourses(List.of(1L));
+
+        // Assert
+        assertEquals(List.of(1L), ids(index.complete("kot", 5).courses()));
+        assertEquals(List.of(2L, 3L), ids(index.complete("ja", 5).courses()));
+        assertEquals(List.of(new PrefixIndex.Entry(1L, "Java", "java", 30)), index.complete("java", 5).categories());
+        assertEquals(List.of(new PrefixIndex.Entry(2L, "Backend", "backend", 50)), index.complete("back", 5).categories());
+        assertEquals(List.of(8L), ids(index.complete("smith", 5).instructors()));
+        assertEquals(80, index.complete("smith", 5).instructors().get(0).popularity());
+        assertTrue(index.complete("jane", 5).instructors().isEmpty());
+    }
+
+    @Test
+    void refreshCourses_DropsArchivedOrDeletedCourses() {
+        // Arrange
+        when(courseRepository.findCourseAutocompleteRowsByIdIn(List.of(2L))).thenReturn(List.of());
+
+        // Act
+        index.refreshCourses(List.of(2L));
+
+        // Assert
+        assertEquals(List.of(1L, 3L), ids(index.complete("ja", 5).courses()));
+        assertEquals(10, index.complete("java", 5).categories().get(0).popularity());
+        assertTrue(index.complete("john", 5).instructors().isEmpty());
+    }
+
+    @Test
+    void refreshCategory_PicksUpTheNewName() {
+        // Arrange
+        when(courseRepository.findCourseIdsByCategoryId(2L)).thenReturn(List.of(1L));
+        when(courseRepository.findCourseAutocompleteRowsByIdIn(List.of(1L))).thenReturn(List.of(
+                row(1L, "Java Basics", 7L, "Jane Doe", 1L, "Java", 10),
+                row(1L, "Java Basics", 7L, "Jane Doe", 2L, "Server side", 10)
+        ));
+
+        // Act
+        index.refreshCategory(2L);
+
+        // Assert
+        assertEquals(List.of(2L), ids(index.complete("server", 5).categories()));
+        assertTrue(index.complete("backend", 5).categories().isEmpty());
+    }
+
+    @Test
+    void refreshCategory_DeletedThenRestored_LeavesAndReturns() {
+        // Arrange
+        when(courseRepository.findCourseIdsByCategoryId(1L)).thenReturn(List.of(1L, 2L));
+        // A deleted category joins as nulls
+        when(courseRepository.findCourseAutocompleteRowsByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                row(1L, "Java Basics", 7L, "Jane Doe", null, null, 10),
+                row(1L, "Java Basics", 7L, "Jane Doe", 2L, "Backend", 10),
+                row(2L, "Spring Boot with Java", 8L, "John Smith", null, null, 30)
+        )).thenReturn(List.of(
+                row(1L, "Java Basics", 7L, "Jane Doe", 1L, "Java", 10),
+                row(1L, "Java Basics", 7L, "Jane Doe", 2L, "Backend", 10),
+                row(2L, "Spring Boot with Java", 8L, "John Smith", 1L, "Java", 30)
+        ));
+
+        // Act
+        index.refreshCategory(1L);
+        List<PrefixIndex.Entry> afterDelete = index.complete("java", 5).categories();
+        index.refreshCategory(1L);
+        List<PrefixIndex.Entry> afterRestore = index.complete("java", 5).categories();
+
+        // Assert
+        assertTrue(afterDelete.isEmpty());
+        assertEquals(List.of(2L, 1L), ids(index.complete("ja", 5).courses().subList(0, 2)));
+        assertEquals(List.of(new PrefixIndex.Entry(1L, "Java", "java", 40)), afterRestore);
+    }
+
+    private static List<Long> ids(List<PrefixIndex.Entry> entries) {
+        return entries.stream().map(PrefixIndex.Entry::id).toList();
+    }
+
+    private static ICourseRepository.CourseAutocompleteRow row(Long courseId, String title, Long instructorId,
+                                                               String instructorName, Long categoryId,
+                                                               String categoryName, long enrollments) {
+        return new ICourseRepository.CourseAutocompleteRow() {
+            public Long getCourseId() { return courseId; }
+
+            public String getTitle() { return title; }
+
+            public Long getInstructorId() { return instructorId; }
+
+            public String getInstructorName() { return instructorName; }
+
+            public Long getCategoryId() { return categoryId; }
+
+            public String getCategoryName() { return categoryName; }
+
+            public Long getEnrollments() { return enrollments; }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package com.online.course.management.project.utils.course;
+
+import com.online.course.management.project.dto.CourseDTOS;
+import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.repository.ICourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseFacetIndexTest {
+
+    @Mock
+    private ICourseRepository courseRepository;
+
+    private CourseFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseFacetIndex(courseRepository);
+
+        when(courseRepository.findCourseFacetRows()).thenReturn(List.of(
+                row(1L, CourseStatus.PUBLISHED, 7L, "Alice", YearMonth.of(2024, 1), 1L, "Java"),
+                row(1L, CourseStatus.PUBLISHED, 7L, "Alice", YearMonth.of(2024, 1), 2L, "Backend"),
+                row(2L, CourseStatus.DRAFT, 7L, "Alice", YearMonth.of(2024, 2), 1L, "Java"),
+                row(3L, CourseStatus.PUBLISHED, 8L, "Bob", YearMonth.of(2024, 2), 2L, "Backend"),
+                row(4L, CourseStatus.ARCHIVED, 8L, "Bob", YearMonth.of(2024, 2), 1L, "Java"),
+                row(5L, CourseStatus.PUBLISHED, null, null, YearMonth.of(2024, 3), null, null)
+        ));
+        assertEquals(5, index.rebuild());
+    }
+
+    @Test
+    void search_WithoutFilters_ExcludesArchivedAndPagesNewestFirst() {
+        // Act
+        CourseFacetIndex.Result firstPage = index.search(new CourseDTOS.FacetedSearchCourseRequestDTO(), 0, 3);
+        CourseFacetIndex.Result secondPage = index.search(new CourseDTOS.FacetedSearchCourseRequestDTO(), 3, 3);
+
+        // Assert
+        assertEquals(List.of(5L, 3L, 2L), firstPage.ids());
+        assertEquals(List.of(1L), secondPage.ids());
+        assertEquals(4, firstPage.total());
+    }
+
+    @Test
+    void search_CombinesValuesOfAFacetWithOrAndFacetsWithAnd() {
+        // Arrange
+        CourseDTOS.FacetedSearchCourseRequestDTO request = new CourseDTOS.FacetedSearchCourseRequestDTO();
+        request.setCategoryIds(Set.of(1L, 2L));
+        request.setStatuses(Set.of(CourseStatus.PUBLISHED));
+
+        // Act
+        CourseFacetIndex.Result result = index.search(request, 0, 10);
+
+        // Assert
+        assertEquals(List.of(3L, 1L), result.ids());
+        assertEquals(2, result.total());
+    }
+
+    @Test
+    void search_CountsEachFacetUnderTheOtherFacetsFilters() {
+        // Arrange
+        CourseDTOS.FacetedSearchCourseRequestDTO request = new CourseDTOS.FacetedSearchCourseRequestDTO();
+        request.setCategoryIds(Set.of(1L));
+
+        // Act
+        CourseDTOS.CourseFacetsDTO facets = index.search(request, 0, 10).facets();
+
+        // Assert
+        assertEquals(List.of(
+                new CourseDTOS.FacetCountDTO("2", "Backend", 2),
+                new CourseDTOS.FacetCountDTO("1", "Java", 2)
+        ), facets.getCategories());
+        assertEquals(List.of(
+                new CourseDTOS.FacetCountDTO("DRAFT", "DRAFT", 1),
+                new CourseDTOS.FacetCountDTO("PUBLISHED", "PUBLISHED", 1)
+        ), facets.getStatuses());
+        assertEquals(List.of(new CourseDTOS.FacetCountDTO("7", "Alice", 2)), facets.getInstructors());
+        assertEquals(List.of(
+                new CourseDTOS.FacetCountDTO("2024-02", "2024-02", 1),
+                new CourseDTOS.FacetCountDTO("2024-01", "2024-01", 1)
+        ), facets.getCreatedMonths());
+    }
+
+    @Test
+    void search_MatchesArchivedCoursesOnlyWhenIncluded() {
+        // Arrange
+        CourseDTOS.FacetedSearchCourseRequestDTO request = new CourseDTOS.FacetedSearchCourseRequestDTO();
+        request.setStatuses(Set.of(CourseStatus.ARCHIVED));
+
+        // Act
+        CourseFacetIndex.Result excluded = index.search(request, 0, 10);
+        request.setIncludeArchived(true);
+        CourseFacetIndex.Result included = index.search(request, 0, 10);
+
+        // Assert
+        assertEquals(List.of(), excluded.ids());
+        assertTrue(excluded.facets().getStatuses().contains(new CourseDTOS.FacetCountDTO("ARCHIVED", "ARCHIVED", 0)));
+        assertEquals(List.of(4L), included.ids());
+    }
+
+    @Test
+    void refreshCourses_DropsCoursesThatNoLongerExist() {
+        // Arrange
+        when(courseRepository.findCourseFacetRowsByIdIn(List.of(3L))).thenReturn(List.of());
+
+        // Act
+        index.refreshCourses(List.of(3L));
+        CourseFacetIndex.Result result = index.search(new CourseDTOS.FacetedSearchCourseRequestDTO(), 0, 10);
+
+        // Assert
+        assertEquals(List.of(5L, 2L, 1L), result.ids());
+        assertTrue(result.facets().getInstructors().stream().noneMatch(facet -> facet.getValue().equals("8")));
+    }
+
+    @Test
+    void refreshCategory_PicksUpTheNewName() {
+        // Arrange
+        when(courseRepository.findCourseFacetRowsByIdIn(List.of(1L, 3L))).thenReturn(List.of(
+                row(1L, CourseStatus.PUBLISHED, 7L, "Alice", YearMonth.of(2024, 1), 1L, "Java"),
+                row(1L, CourseStatus.PUBLISHED, 7L, "Alice", YearMonth.of(2024, 1), 2L, "Server side"),
+                row(3L, CourseStatus.PUBLISHED, 8L, "Bob", YearMonth.of(2024, 2), 2L, "Server side")
+        ));
+
+        // Act
+        index.refreshCategory(2L);
+        CourseDTOS.CourseFacetsDTO facets = index.search(new CourseDTOS.FacetedSearchCourseRequestDTO(), 0, 10)
+                .facets();
+
+        // Assert
+        assertTrue(facets.getCategories().contains(new CourseDTOS.FacetCountDTO("2", "Server side", 2)));
+        verify(courseRepository).findCourseFacetRowsByIdIn(List.of(1L, 3L));
+    }
+
+    private static ICourseRepository.CourseFacetRow row(Long courseId, CourseStatus status, Long instructorId,
+                                                        String instructorName, YearMonth createdMonth,
+                                                        Long categoryId, String categoryName) {
+        return new ICourseRepository.CourseFacetRow() {
+            public Long getCourseId() { return courseId; }
+
+            public String getStatus() { return status.name(); }
+
+            public Long getInstructorId() { return instructorId; }
+
+            public String getInstructorName() { return instructorName; }
+
+            public LocalDateTime getCreatedAt() { return createdMonth.atDay(1).atTime(9, 0); }
+
+            public Long getCategoryId() { return categoryId; }
+
+            public String getCategoryName() { return categoryName; }
+        };
+    }
+}
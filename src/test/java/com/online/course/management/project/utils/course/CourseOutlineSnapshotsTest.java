@@ -0,0 +1,127 @@
+package com.online.course.management.project.utils.course;
+
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.enums.LessonType;
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
+import com.online.course.management.project.repository.IChapterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseOutlineSnapshotsTest {
+
+    @Mock
+    private IChapterRepository chapterRepository;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CourseOutlineSnapshots snapshots;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConstants.COURSE_OUTLINES);
+        snapshots = new CourseOutlineSnapshots(chapterRepository, cacheManager);
+    }
+
+    @Test
+    void get_BuildsOrderedOutlineOfActiveContent() {
+        // Arrange
+        when(chapterRepository.findCourseOutlineRows(1L)).thenReturn(List.of(
+                // Chapter 20 comes first by order; lesson 11 first within chapter 10 by order
+                row(10L, 2, true, 10L, 2, true),
+                row(10L, 2, true, 11L, 1, true),
+                row(10L, 2, true, 12L, 3, false),
+                row(20L, 1, true, 13L, 1, true),
+                row(30L, 3, false, 14L, 1, true),
+                row(40L, 4, true, null, null, true)));
+
+        // Act
+        CourseOutline outline = snapshots.get(1L);
+
+        // Assert
+        assertEquals("Course", outline.getCourseTitle());
+        assertEquals(CourseStatus.PUBLISHED, outline.getCourseStatus());
+        assertEquals(List.of(20L, 10L, 40L),
+                outline.getChapters().stream().map(CourseOutline.ChapterNode::getId).toList());
+        assertEquals(List.of(11L, 10L),
+                outline.getChapters().get(1).getLessons().stream().map(CourseOutline.LessonNode::getId).toList());
+        assertTrue(outline.getChapters().get(2).getLessons().isEmpty());
+        assertEquals(3, outline.activeLessonCount());
+        // Archived lessons keep their progress slot
+        assertEquals(2, outline.getLessonIndex().slotOf(12L));
+        assertFalse(outline.getLessonIndex().isActive(2));
+        assertThrows(UnsupportedOperationException.class, () -> outline.getChapters().clear());
+    }
+
+    @Test
+    void get_ServesRepeatedReadsFromSnapshot() {
+        // Arrange
+        when(chapterRepository.findCourseOutlineRows(1L)).thenReturn(List.of(row(10L, 1, true, 11L, 1, true)));
+
+        // Act
+        CourseOutline first = snapshots.get(1L);
+        CourseOutline second = snapshots.get(1L);
+
+        // Assert
+        assertSame(first, second);
+        verify(chapterRepository, times(1)).findCourseOutlineRows(1L);
+    }
+
+    @Test
+    void get_AfterEviction_RebuildsSnapshot() {
+        // Arrange
+        when(chapterRepository.findCourseOutlineRows(1L)).thenReturn(List.of(row(10L, 1, true, 11L, 1, true)));
+        CourseOutline first = snapshots.get(1L);
+
+        // Act
+        cacheManager.getCache(CacheConstants.COURSE_OUTLINES).evict(1L);
+        CourseOutline second = snapshots.get(1L);
+
+        // Assert
+        assertNotSame(first, second);
+        verify(chapterRepository, times(2)).findCourseOutlineRows(1L);
+    }
+
+    @Test
+    void get_CourseNotFound_ThrowsAndCachesNothing() {
+        // Arrange
+        when(chapterRepository.findCourseOutlineRows(99L)).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> snapshots.get(99L));
+        assertNull(cacheManager.getCache(CacheConstants.COURSE_OUTLINES).get(99L));
+    }
+
+    private IChapterRepository.CourseOutlineRow row(Long chapterId, int chapterOrder, boolean chapterActive,
+                                                    Long lessonId, Integer lessonOrder, boolean lessonActive) {
+        return new IChapterRepository.CourseOutlineRow() {
+            public Long getCourseId() { return 1L; }
+            public String getCourseTitle() { return "Course"; }
+            public String getCourseStatus() { return CourseStatus.PUBLISHED.name(); }
+            public Long getChapterId() { return chapterId; }
+            public String getChapterTitle() { return "Chapter " + chapterId; }
+            public String getChapterDescription() { return null; }
+            public Integer getChapterOrder() { return chapterOrder; }
+            public String getChapterStatus() { return CourseStatus.DRAFT.name(); }
+            public LocalDateTime getChapterCreatedAt() { return null; }
+            public LocalDateTime getChapterUpdatedAt() { return null; }
+            public Integer getChapterActive() { return chapterActive ? 1 : 0; }
+            public Long getLessonId() { return lessonId; }
+            public String getLessonTitle() { return lessonId != null ? "Lesson " + lessonId : null; }
+            public Integer getLessonOrder() { return lessonOrder; }
+            public String getLessonType() { return lessonId != null ? LessonType.VIDEO.name() : null; }
+            public String getLessonStatus() { return lessonId != null ? CourseStatus.DRAFT.name() : null; }
+            public Integer getActive() { return chapterActive && lessonActive ? 1 : 0; }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.online.course.management.project.utils.course;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.online.course.management.project.constants.CacheConstants;
+import com.online.course.management.project.dto.CourseDTOS;
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
+import com.online.course.management.project.service.interfaces.ICourseService;
+import com.online.course.management.project.utils.cache.SerializedResponse;
+import com.online.course.management.project.utils.cache.SerializedResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseResponseCacheTest {
+
+    @Mock
+    private ICourseService courseService;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CourseResponseCache courseResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConstants.COURSE_RESPONSES);
+        courseResponseCache = new CourseResponseCache(courseService,
+                new SerializedResponseCache(new ObjectMapper().registerModule(new JavaTimeModule()), cacheManager), true);
+    }
+
+    @Test
+    void get_SerializesOnceAndServesCachedBytes() {
+        // Arrange
+        CourseDTOS.CourseDetailsResponseDto course = new CourseDTOS.CourseDetailsResponseDto();
+        course.setId(1L);
+        course.setTitle("Java");
+        course.setUpdatedAt(LocalDateTime.of(2024, 3, 2, 17, 5));
+        when(courseService.getCourseById(1L)).thenReturn(course);
+        Instant started = Instant.now();
+
+        // Act
+        SerializedResponse first = courseResponseCache.get(1L);
+        SerializedResponse second = courseResponseCache.get(1L);
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(new String(first.getBody(), StandardCharsets.UTF_8).contains("\"title\":\"Java\""));
+        assertTrue(first.getETag().matches("\"[0-9a-f]{32}\""));
+        // The instructor and categories can change without touching the course's updated_at
+        assertFalse(first.getLastModified().isBefore(started));
+        verify(courseService, times(1)).getCourseById(1L);
+    }
+
+    @Test
+    void get_ChangedContent_GetsNewETag() {
+        // Arrange
+        CourseDTOS.CourseDetailsResponseDto before = new CourseDTOS.CourseDetailsResponseDto();
+        before.setTitle("Java");
+        CourseDTOS.CourseDetailsResponseDto after = new CourseDTOS.CourseDetailsResponseDto();
+        after.setTitle("Kotlin");
+        when(courseService.getCourseById(1L)).thenReturn(before, after);
+
+        // Act
+        String beforeETag = courseResponseCache.get(1L).getETag();
+        cacheManager.getCache(CacheConstants.COURSE_RESPONSES).evict(1L);
+        String afterETag = courseResponseCache.get(1L).getETag();
+
+        // Assert
+        assertNotEquals(beforeETag, afterETag);
+    }
+
+    @Test
+    void get_CourseNotFound_ThrowsAndCachesNothing() {
+        // Arrange
+        when(courseService.getCourseById(9L)).thenThrow(new ResourceNotFoundException("Course not found"));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> courseResponseCache.get(9L));
+        assertNull(cacheManager.getCache(CacheConstants.COURSE_RESPONSES).get(9L));
+    }
+}
@@ -0,0 +1,205 @@
+package com.online.course.management.project.utils.lesson;
+
+import com.online.course.management.project.dto.LessonDTOs;
+import com.online.course.management.project.enums.CourseStatus;
+import com.online.course.management.project.enums.LessonType;
+import com.online.course.management.project.repository.ILessonRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LessonSearchIndexTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Mock
+    private ILessonRepository lessonRepository;
+
+    @TempDir
+    private Path indexPath;
+
+    private LessonSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new LessonSearchIndex(lessonRepository, indexPath);
+        index.open();
+
+        when(lessonRepository.streamLessonIndexRows()).thenReturn(Stream.of(
+                row(1L, 10L, 100L, "Variables", "Declaring variables and constants in Java", "Basics", "Java"),
+                row(2L, 10L, 100L, "Loops", "for and while loops over collections", "Basics", "Java"),
+                row(3L, 20L, 200L, "Tiếng Việt cơ bản", "Bảng chữ cái", "Nhập môn", "Tiếng Việt")
+        ));
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void search_MatchesContentAndRanksTitleMatchesFirst() {
+        // Arrange
+        when(lessonRepository.findLessonIndexRowsByChapterIds(List.of(10L))).thenReturn(List.of(
+                row(1L, 10L, 100L, "Variables", "Variables hold values", "Basics", "Java"),
+                row(2L, 10L, 100L, "Loops", "Loop variables are declared in the header", "Basics", "Java")
+        ));
+        index.reindexChapters(List.of(10L));
+        index.refresh();
+
+        // Act
+        LessonSearchIndex.Hits hits = index.search(request("variables"), 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), hits.ids());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void search_FoldsDiacriticsAndMatchesCourseTitles() {
+        // Act
+        LessonSearchIndex.Hits hits = index.search(request("tieng viet"), 0, 10);
+
+        // Assert
+        assertEquals(List.of(3L), hits.ids());
+    }
+
+    @Test
+    void search_AppliesFiltersAndPages() {
+        // Arrange
+        LessonDTOs.LessonSearchDTO request = request("java");
+        request.setCourseIds(List.of(100L));
+        request.setStatus(CourseStatus.DRAFT);
+
+        // Act
+        LessonSearchIndex.Hits firstPage = index.search(request, 0, 1);
+        LessonSearchIndex.Hits secondPage = index.search(request, 1, 1);
+        request.setCourseIds(List.of(200L));
+        LessonSearchIndex.Hits otherCourse = index.search(request, 0, 10);
+
+        // Assert
+        assertEquals(2, firstPage.total());
+        assertEquals(1, firstPage.ids().size());
+        assertEquals(1, secondPage.ids().size());
+        assertNotEquals(firstPage.ids(), secondPage.ids());
+        assertTrue(otherCourse.ids().isEmpty());
+    }
+
+    @Test
+    void reindexChapters_DropsLessonsNoLongerInTheDatabase() {
+        // Arrange
+        when(lessonRepository.findLessonIndexRowsByChapterIds(List.of(10L))).thenReturn(List.of(
+                row(2L, 10L, 100L, "Loops", "for and while loops over collections", "Basics", "Java")
+        ));
+
+        // Act
+        index.reindexChapters(List.of(10L));
+        index.refresh();
+
+        // Assert
+        assertEquals(List.of(2L), index.search(request("java"), 0, 10).ids());
+    }
+
+    @Test
+    void reindexCourse_PicksUpRenamedCourse() {
+        // Arrange
+        when(lessonRepository.findLessonIndexRowsByCourseIds(List.of(200L))).thenReturn(List.of(
+                row(3L, 20L, 200L, "Tiếng Việt cơ bản", "Bảng chữ cái", "Nhập môn", "Vietnamese for beginners")
+        ));
+
+        // Act
+        index.reindexCourse(200L);
+        index.refresh();
+
+        // Assert
+        assertEquals(List.of(3L), index.search(request("beginners"), 0, 10).ids());
+    }
+
+    @Test
+    void reindexChapters_IsSearchableAfterRefreshAndKeptAcrossRestart() throws IOException {
+        // Arrange
+        when(lessonRepository.findLessonIndexRowsByChapterIds(List.of(10L))).thenReturn(List.of(
+                row(1L, 10L, 100L, "Generics", "Type parameters", "Basics", "Java")
+        ));
+        Instant rebuiltAt = index.getCommittedAt();
+
+        // Act
+        index.reindexChapters(List.of(10L));
+        List<Long> beforeRefresh = index.search(request("generics"), 0, 10).ids();
+        index.refresh();
+        List<Long> afterRefresh = index.search(request("generics"), 0, 10).ids();
+        index.close();
+        index.open();
+
+        // Assert
+        assertTrue(beforeRefresh.isEmpty());
+        assertEquals(List.of(1L), afterRefresh);
+        assertEquals(List.of(1L), index.search(request("generics"), 0, 10).ids());
+        assertNotNull(rebuiltAt);
+        assertFalse(index.getCommittedAt().isBefore(rebuiltAt));
+    }
+
+    @Test
+    void rebuild_ReplacesTheIndexAndKeepsItWhenTheScanFails() {
+        // Arrange
+        when(lessonRepository.streamLessonIndexRows())
+                .thenReturn(Stream.of(row(4L, 30L, 300L, "Spring", "Beans and contexts", "Core", "Spring")))
+                .thenThrow(new IllegalStateException("Connection lost"));
+
+        // Act
+        int rebuilt = index.rebuild();
+        assertThrows(IllegalStateException.class, () -> index.rebuild());
+
+        // Assert
+        assertEquals(1, rebuilt);
+        assertEquals(List.of(4L), index.search(request("beans"), 0, 10).ids());
+        assertTrue(index.search(request("java"), 0, 10).ids().isEmpty());
+    }
+
+    private static LessonDTOs.LessonSearchDTO request(String query) {
+        LessonDTOs.LessonSearchDTO request = new LessonDTOs.LessonSearchDTO();
+        request.setQuery(query);
+        return request;
+    }
+
+    private static ILessonRepository.LessonIndexRow row(Long lessonId, Long chapterId, Long courseId, String title,
+                                                        String content, String chapterTitle, String courseTitle) {
+        return new ILessonRepository.LessonIndexRow() {
+            public Long getLessonId() { return lessonId; }
+
+            public Long getChapterId() { return chapterId; }
+
+            public Long getCourseId() { return courseId; }
+
+            public String getTitle() { return title; }
+
+            public String getContent() { return content; }
+
+            public String getChapterTitle() { return chapterTitle; }
+
+            public String getCourseTitle() { return courseTitle; }
+
+            public String getStatus() { return CourseStatus.DRAFT.name(); }
+
+            public String getType() { return LessonType.TEXT.name(); }
+
+            public LocalDateTime getCreatedAt() { return CREATED_AT; }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.online.course.management.project.utils.pagination;
+
+import com.online.course.management.project.dto.PaginationDto;
+import com.online.course.management.project.exception.business.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeDecode_RoundTripsDateTimeKeyAndId() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 2, 17, 5, 0, 123_000_000);
+
+        // Act
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(createdAt, 42L));
+
+        // Assert
+        assertEquals(createdAt, cursor.dateTimeKey());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void decode_NoToken_StartsFromTheFirstWindow() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void decode_TamperedToken_ThrowsInvalidRequest() {
+        assertThrows(InvalidRequestException.class, () -> KeysetCursor.decode("not base64!"));
+        assertThrows(InvalidRequestException.class, () -> KeysetCursor.decode(KeysetCursor.encode(3, null)));
+        assertThrows(InvalidRequestException.class, () -> KeysetCursor.decode(KeysetCursor.encode("x", 1L)).intKey());
+    }
+
+    @Test
+    void window_MoreRowsThanLimit_ContinuesAfterLastReturnedRow() {
+        // Arrange
+        List<int[]> rows = List.of(new int[]{1, 10}, new int[]{1, 11}, new int[]{2, 12});
+
+        // Act
+        PaginationDto.CursorResponseDto<Integer> window = KeysetCursor.window(rows, 2,
+                row -> row[0], row -> (long) row[1], page -> page.stream().map(row -> row[1]).toList());
+
+        // Assert
+        assertEquals(List.of(10, 11), window.getData());
+        assertTrue(window.isHasMore());
+        KeysetCursor next = KeysetCursor.decode(window.getNextCursor());
+        assertEquals(1, next.intKey());
+        assertEquals(11L, next.getId());
+    }
+
+    @Test
+    void window_LastWindow_HasNoNextCursor() {
+        // Act
+        PaginationDto.CursorResponseDto<Integer> window = KeysetCursor.window(List.of(5), 2,
+                row -> row, Integer::longValue, Function.identity());
+
+        // Assert
+        assertEquals(List.of(5), window.getData());
+        assertFalse(window.isHasMore());
+        assertNull(window.getNextCursor());
+    }
+
+    @Test
+    void rejectCustomSort_WithSort_ThrowsInvalidRequest() {
+        assertDoesNotThrow(() -> KeysetCursor.rejectCustomSort(null));
+        assertThrows(InvalidRequestException.class, () -> KeysetCursor.rejectCustomSort(Map.of("title", "asc")));
+    }
+}
@@ -0,0 +1,145 @@
+package com.online.course.management.project.utils.pagination;
+
+import com.online.course.management.project.enums.CountMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchCounterTest {
+
+    private static final String CACHE = "testCounts";
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SearchCounter searchCounter;
+    private final AtomicInteger counts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        searchCounter = new SearchCounter(cacheManager, CountMode.CACHED, 100);
+    }
+
+    @Test
+    void page_LastPage_TotalFromContentWithoutCounting() {
+        // Arrange
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(3, 10), false);
+
+        // Act
+        CountedPage<String> page = searchCounter.page(slice, CountMode.EXACT, CACHE, List.of(), count(5), failingCountUpTo());
+
+        // Assert
+        assertEquals(32, page.getTotalElements());
+        assertEquals(0, counts.get());
+    }
+
+    @Test
+    void page_Exact_CountsEveryTime() {
+        // Act
+        searchCounter.page(fullSlice(), CountMode.EXACT, CACHE, List.of("x"), count(42), failingCountUpTo());
+        CountedPage<String> page = searchCounter.page(fullSlice(), CountMode.EXACT, CACHE, List.of("x"), count(42), failingCountUpTo());
+
+        // Assert
+        assertEquals(42, page.getTotalElements());
+        assertFalse(page.isTotalCapped());
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void page_DefaultCached_ReusesCountOfEquivalentFilters() {
+        // Act
+        searchCounter.page(fullSlice(), null, CACHE, SearchCounter.key("Java", Set.of(2L, 1L)), count(42), failingCountUpTo());
+        CountedPage<String> page = searchCounter.page(fullSlice(), null, CACHE,
+                SearchCounter.key("JAVA", Set.of(1L, 2L)), count(42), failingCountUpTo());
+
+        // Assert
+        assertEquals(42, page.getTotalElements());
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void evictScope_CountsAgainOnlyInThatScope() {
+        // Arrange
+        searchCounter.page(fullSlice(), CountMode.CACHED, CACHE, 1L, List.of("x"), count(42), failingCountUpTo());
+        searchCounter.page(fullSlice(), CountMode.CACHED, CACHE, 1L, List.of("y"), count(7), failingCountUpTo());
+        searchCounter.page(fullSlice(), CountMode.CACHED, CACHE, 2L, List.of("x"), count(13), failingCountUpTo());
+
+        // Act
+        searchCounter.evictScope(CACHE, 1L);
+        CountedPage<String> evicted = searchCounter.page(fullSlice(), CountMode.CACHED, CACHE, 1L, List.of("x"),
+                count(43), failingCountUpTo());
+        CountedPage<String> kept = searchCounter.page(fullSlice(), CountMode.CACHED, CACHE, 2L, List.of("x"),
+                count(14), failingCountUpTo());
+
+        // Assert
+        assertEquals(43, evicted.getTotalElements());
+        assertEquals(13, kept.getTotalElements());
+        assertEquals(4, counts.get());
+    }
+
+    @Test
+    void page_CachedAfterClear_CountsAgain() {
+        // Arrange
+        searchCounter.page(fullSlice(), CountMode.CACHED, CACHE, List.of("x"), count(42), failingCountUpTo());
+        cacheManager.getCache(CACHE).clear();
+
+        // Act
+        CountedPage<String> page = searchCounter.page(fullSlice(), CountMode.CACHED, CACHE, List.of("x"), count(43), failingCountUpTo());
+
+        // Assert
+        assertEquals(43, page.getTotalElements());
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void page_EstimatedOverThreshold_ReportsCappedTotal() {
+        // Act
+        CountedPage<String> page = searchCounter.page(fullSlice(), CountMode.ESTIMATED, CACHE, List.of(),
+                count(5), cap -> {
+                    assertEquals(101, cap);
+                    return cap;
+                });
+
+        // Assert
+        assertEquals(100, page.getTotalElements());
+        assertTrue(page.isTotalCapped());
+        assertEquals(0, counts.get());
+    }
+
+    @Test
+    void page_EstimatedUnderThreshold_ReportsExactTotal() {
+        // Act
+        CountedPage<String> page = searchCounter.page(fullSlice(), CountMode.ESTIMATED, CACHE, List.of(),
+                count(5), cap -> 57);
+
+        // Assert
+        assertEquals(57, page.getTotalElements());
+        assertFalse(page.isTotalCapped());
+    }
+
+    private static SliceImpl<String> fullSlice() {
+        Pageable pageable = PageRequest.of(0, 2);
+        return new SliceImpl<>(List.of("a", "b"), pageable, true);
+    }
+
+    private LongSupplier count(long total) {
+        return () -> {
+            counts.incrementAndGet();
+            return total;
+        };
+    }
+
+    private static LongUnaryOperator failingCountUpTo() {
+        return cap -> fail("Unexpected estimated count");
+    }
+}
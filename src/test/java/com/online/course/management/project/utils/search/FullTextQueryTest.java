@@ -0,0 +1,53 @@
+package com.online.course.management.project.utils.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FullTextQueryTest {
+
+    @Test
+    void booleanMode_RequiresEveryWordAndPrefixesTheLast() {
+        // Act
+        String query = FullTextQuery.booleanMode("  Java Spr ");
+
+        // Assert
+        assertEquals("+Java +Spr*", query);
+    }
+
+    @Test
+    void booleanMode_StripsOperatorsAndDropsShortWords() {
+        // Act
+        String query = FullTextQuery.booleanMode("intro to -java (\"spring\")*");
+
+        // Assert
+        assertEquals("+intro +java +spring*", query);
+    }
+
+    @Test
+    void booleanMode_DropsStopwords() {
+        // Act
+        String query = FullTextQuery.booleanMode("The history of Java and the web");
+
+        // Assert
+        assertEquals("+history +Java +and +web*", query);
+    }
+
+    @Test
+    void booleanMode_NoIndexableWord_ReturnsNone() {
+        // Act & Assert
+        assertEquals(FullTextQuery.NONE, FullTextQuery.booleanMode(null));
+        assertEquals(FullTextQuery.NONE, FullTextQuery.booleanMode("  "));
+        assertEquals(FullTextQuery.NONE, FullTextQuery.booleanMode("c#"));
+        assertEquals(FullTextQuery.NONE, FullTextQuery.booleanMode("What is the"));
+    }
+
+    @Test
+    void likeFallback_OnlyForTermsFullTextCannotSearch() {
+        // Act & Assert
+        assertEquals("c#", FullTextQuery.likeFallback("c#", FullTextQuery.booleanMode("c#")));
+        assertNull(FullTextQuery.likeFallback("java", FullTextQuery.booleanMode("java")));
+        assertNull(FullTextQuery.likeFallback(null, FullTextQuery.NONE));
+        assertNull(FullTextQuery.likeFallback(" ", FullTextQuery.NONE));
+    }
+}
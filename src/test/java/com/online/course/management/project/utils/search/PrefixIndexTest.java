@@ -0,0 +1,101 @@
+package com.online.course.management.project.utils.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        index.put(1L, "Java Basics", 10);
+        index.put(2L, "Advanced Java", 40);
+        index.put(3L, "JavaScript for the Web", 25);
+        index.put(4L, "Tiếng Việt cơ bản", 5);
+    }
+
+    @Test
+    void complete_MatchesTheStartOfAnyWordMostPopularFirst() {
+        // Act
+        List<PrefixIndex.Entry> entries = index.complete("JAV", 10);
+
+        // Assert
+        assertEquals(List.of(2L, 3L, 1L), ids(entries));
+        assertEquals("Advanced Java", entries.get(0).label());
+    }
+
+    @Test
+    void complete_SpansWordsAndStopsAtTheLimit() {
+        // Act & Assert
+        assertEquals(List.of(1L), ids(index.complete("java  bas", 10)));
+        assertEquals(List.of(2L), ids(index.complete("jav", 1)));
+        assertEquals(List.of(), ids(index.complete("ava", 10)));
+        assertEquals(List.of(), ids(index.complete(" !", 10)));
+    }
+
+    @Test
+    void complete_IgnoresCaseAndAccents() {
+        // Act & Assert
+        assertEquals(List.of(4L), ids(index.complete("tieng viet", 10)));
+        assertEquals(List.of(4L), ids(index.complete("VIỆT", 10)));
+    }
+
+    @Test
+    void put_ReplacesTheEntryAndReranks() {
+        // Act
+        index.put(1L, "Java Basics", 100);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), ids(index.complete("java", 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void remove_DropsTheEntryAndFallsBackToTheNextBest() {
+        // Act
+        index.remove(2L);
+
+        // Assert
+        assertEquals(List.of(3L, 1L), ids(index.complete("j", 10)));
+        assertEquals(List.of(), ids(index.complete("adv", 10)));
+    }
+
+    @Test
+    void complete_KeepsTheMostPopularBeyondTheTopOfEachNode() {
+        // Arrange
+        for (long id = 10; id < 10 + PrefixIndex.MAX_SUGGESTIONS * 2; id++) {
+            index.put(id, "Spring module " + id, id);
+        }
+
+        // Act
+        index.remove(10L + PrefixIndex.MAX_SUGGESTIONS * 2 - 1);
+        List<PrefixIndex.Entry> entries = index.complete("spring", PrefixIndex.MAX_SUGGESTIONS);
+
+        // Assert
+        assertEquals(PrefixIndex.MAX_SUGGESTIONS, entries.size());
+        assertEquals(28L, entries.get(0).id());
+        assertEquals(19L, entries.get(entries.size() - 1).id());
+    }
+
+    @Test
+    void complete_PrefixLongerThanTheKeys_FiltersTheLabelsUnderIt() {
+        // Arrange
+        String title = "Building Reactive Microservices With Spring Boot And Kotlin";
+        index.put(9L, title, 1);
+        index.put(10L, "Building Reactive Microservices With Quarkus", 2);
+
+        // Act & Assert
+        assertEquals(List.of(9L), ids(index.complete("reactive microservices with spring b", 10)));
+        assertEquals(List.of(10L, 9L), ids(index.complete("building reactive microservices with", 10)));
+    }
+
+    private static List<Long> ids(List<PrefixIndex.Entry> entries) {
+        return entries.stream().map(PrefixIndex.Entry::id).toList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.online.course.management.project.utils.sql;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Test support for pinning the number of statements an operation may run, so N+1 regressions fail a build
+ * instead of showing up as production latency. Needs the data source proxied by
+ * {@link com.online.course.management.project.config.SqlAccountingConfig}.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(SqlStatementRecorder recorder, int maxStatements, Supplier<T> action) {
+        recorder.start();
+        T result;
+        SqlStatementStats stats;
+        try {
+            result = action.get();
+        } finally {
+            stats = recorder.stop();
+        }
+        if (stats.getStatements() > maxStatements) {
+            Map.Entry<String, Integer> repeated = stats.getMostRepeatedStatement();
+            fail("Expected at most " + maxStatements + " statements but " + stats.getStatements() + " ran"
+                    + (repeated != null ? ", " + repeated.getValue() + " of them: " + repeated.getKey() : ""));
+        }
+        return result;
+    }
+
+    public static void assertMaxStatements(SqlStatementRecorder recorder, int maxStatements, Runnable action) {
+        assertMaxStatements(recorder, maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.online.course.management.project.utils.sql;
+
+import com.online.course.management.project.config.SqlAccountingConfig;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.online.course.management.project.utils.sql.SqlStatementAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementRecorderTest {
+
+    private SqlStatementRecorder recorder;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        recorder = new SqlStatementRecorder();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("sqlStatementRecorder", recorder);
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-recorder-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource = (DataSource) SqlAccountingConfig
+                .sqlAccountingDataSourcePostProcessor(beanFactory.getBeanProvider(SqlStatementRecorder.class))
+                .postProcessAfterInitialization(h2, "dataSource");
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE courses (id BIGINT PRIMARY KEY, title VARCHAR(100))");
+            statement.execute("INSERT INTO courses VALUES (1, 'Java'), (2, 'Spring'), (3, 'SQL')");
+        }
+    }
+
+    @Test
+    void start_CountsStatementsRowsAndTime() throws SQLException {
+        // Arrange
+        recorder.start();
+
+        // Act
+        List<String> titles = findTitles();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement update = connection.prepareStatement("UPDATE courses SET title = ? WHERE id > 1")) {
+            update.setString(1, "Renamed");
+            update.executeUpdate();
+        }
+        SqlStatementStats stats = recorder.stop();
+
+        // Assert
+        assertEquals(3, titles.size());
+        assertEquals(2, stats.getStatements());
+        assertEquals(5, stats.getRows());
+        assertTrue(stats.getJdbcNanos() > 0);
+        assertNull(recorder.current());
+    }
+
+    @Test
+    void withoutStart_RecordsNothing() throws SQLException {
+        // Act
+        findTitles();
+
+        // Assert
+        assertNull(recorder.current());
+    }
+
+    @Test
+    void assertMaxStatements_RepeatedLookups_FailsWithRepeatedStatement() {
+        // Act
+        AssertionError error = assertThrows(AssertionError.class, () -> assertMaxStatements(recorder, 2, () -> {
+            for (long id = 1; id <= 3; id++) {
+                findTitle(id);
+            }
+        }));
+
+        // Assert
+        assertTrue(error.getMessage().contains("but 3 ran"));
+        assertTrue(error.getMessage().contains("SELECT title FROM courses WHERE id = ?"));
+    }
+
+    @Test
+    void assertMaxStatements_WithinBudget_ReturnsResult() {
+        // Act
+        List<String> titles = assertMaxStatements(recorder, 1, this::findTitlesUnchecked);
+
+        // Assert
+        assertEquals(List.of("Java", "Spring", "SQL"), titles);
+    }
+
+    private List<String> findTitles() throws SQLException {
+        List<String> titles = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT title FROM courses ORDER BY id")) {
+            while (resultSet.next()) {
+                titles.add(resultSet.getString(1));
+            }
+        }
+        return titles;
+    }
+
+    private List<String> findTitlesUnchecked() {
+        try {
+            return findTitles();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void findTitle(long id) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT title FROM courses WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
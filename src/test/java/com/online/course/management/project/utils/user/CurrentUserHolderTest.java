@@ -0,0 +1,90 @@
+package com.online.course.management.project.utils.user;
+
+import com.online.course.management.project.entity.User;
+import com.online.course.management.project.enums.UserStatus;
+import com.online.course.management.project.repository.IUserRepository;
+import com.online.course.management.project.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserHolderTest {
+
+    @Mock
+    private IUserRepository userRepository;
+
+    @InjectMocks
+    private CurrentUserHolder currentUserHolder;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+
+        CustomUserDetails principal = new CustomUserDetails(1L, "testuser", UserStatus.ACTIVE, Set.of("USER"), 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getUserId_ReadsPrincipalWithoutQuery() {
+        // Act
+        Long userId = currentUserHolder.getUserId();
+
+        // Assert
+        assertEquals(1L, userId);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getUser_WithinRequest_LoadsOnce() {
+        // Arrange
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // Act
+        User first = currentUserHolder.getUser();
+        User second = currentUserHolder.getUser();
+
+        // Assert
+        assertSame(first, second);
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getUser_OutsideRequest_LoadsEveryTime() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // Act
+        currentUserHolder.getUser();
+        currentUserHolder.getUser();
+
+        // Assert
+        verify(userRepository, times(2)).findById(1L);
+    }
+}
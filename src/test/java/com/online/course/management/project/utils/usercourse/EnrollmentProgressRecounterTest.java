@@ -0,0 +1,146 @@
+package com.online.course.management.project.utils.usercourse;
+
+import com.online.course.management.project.config.ProgressProperties;
+import com.online.course.management.project.entity.Course;
+import com.online.course.management.project.enums.ProgressStore;
+import com.online.course.management.project.entity.UserCourse;
+import com.online.course.management.project.repository.ILessonRepository;
+import com.online.course.management.project.repository.IUserCourseRepository;
+import com.online.course.management.project.utils.userlessonprogress.LessonProgressBitmap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentProgressRecounterTest {
+
+    @Mock
+    private IUserCourseRepository userCourseRepository;
+
+    @Mock
+    private ILessonRepository lessonRepository;
+
+    private ProgressProperties progressProperties;
+
+    private EnrollmentProgressRecounter recounter;
+
+    @BeforeEach
+    void setUp() {
+        progressProperties = new ProgressProperties();
+        recounter = new EnrollmentProgressRecounter(userCourseRepository, lessonRepository, progressProperties);
+    }
+
+    @Test
+    void lessonsAdded_OnlyMovesTheLessonTotalOfEachCourse() {
+        // Arrange
+        when(userCourseRepository.countEnrollableLessons(1L)).thenReturn(4);
+        when(userCourseRepository.countEnrollableLessons(2L)).thenReturn(7);
+
+        // Act
+        recounter.lessonsAdded(List.of(1L, 2L));
+
+        // Assert
+        verify(userCourseRepository).updateTotalLessons(1L, 4);
+        verify(userCourseRepository).updateTotalLessons(2L, 7);
+        verify(userCourseRepository, never()).recountProgressOnLessons(anyCollection());
+        verifyNoInteractions(lessonRepository);
+    }
+
+    @Test
+    void lessonsRemovedOrRestored_RowStore_RecountsOnlyEnrollmentsWithProgressOnThem() {
+        // Arrange
+        when(userCourseRepository.countEnrollableLessons(1L)).thenReturn(2);
+
+        // Act
+        recounter.lessonsRemovedOrRestored(List.of(1L), List.of(13L));
+
+        // Assert
+        InOrder inOrder = inOrder(userCourseRepository);
+        inOrder.verify(userCourseRepository).updateTotalLessons(1L, 2);
+        inOrder.verify(userCourseRepository).recountProgressOnLessons(List.of(13L));
+        verify(userCourseRepository, never()).findActiveByCourseIdInForUpdate(anyCollection());
+        verifyNoInteractions(lessonRepository);
+    }
+
+    @Test
+    void chaptersRemovedOrRestored_RowStore_RecountsOnlyEnrollmentsWithProgressOnThem() {
+        // Arrange
+        when(userCourseRepository.countEnrollableLessons(1L)).thenReturn(0);
+
+        // Act
+        recounter.chaptersRemovedOrRestored(List.of(1L), List.of(3L));
+
+        // Assert
+        InOrder inOrder = inOrder(userCourseRepository);
+        inOrder.verify(userCourseRepository).updateTotalLessons(1L, 0);
+        inOrder.verify(userCourseRepository).recountProgressOnChapters(List.of(3L));
+        verifyNoInteractions(lessonRepository);
+    }
+
+    @Test
+    void lessonsRemovedOrRestored_NoLessons_DoesNothing() {
+        // Act
+        recounter.lessonsRemovedOrRestored(List.of(1L), List.of());
+
+        // Assert
+        verifyNoInteractions(userCourseRepository, lessonRepository);
+    }
+
+    @Test
+    void lessonsRemovedOrRestored_BitmapStore_LocksThenRecountsTheBitsetsHoldingTheLessons() {
+        // Arrange
+        progressProperties.setStore(ProgressStore.BITMAP);
+        LessonProgressBitmap bitmap = LessonProgressBitmap.decode(null, null);
+        bitmap.markCompleted(0);
+        bitmap.markInProgress(1);
+        bitmap.markCompleted(2);
+        LessonProgressBitmap untouched = LessonProgressBitmap.decode(null, null);
+        untouched.markCompleted(0);
+        when(userCourseRepository.findActiveByCourseIdInForUpdate(List.of(1L)))
+                .thenReturn(List.of(enrollment(5L, 1L, bitmap), enrollment(6L, 1L, untouched)));
+        when(userCourseRepository.countEnrollableLessons(1L)).thenReturn(2);
+        // The third lesson has just been deleted
+        when(lessonRepository.findCourseLessonSlots(1L)).thenReturn(List.of(
+                slot(11L, true), slot(12L, true), slot(13L, false)));
+
+        // Act
+        recounter.lessonsRemovedOrRestored(List.of(1L), List.of(13L));
+
+        // Assert
+        InOrder inOrder = inOrder(userCourseRepository);
+        inOrder.verify(userCourseRepository).findActiveByCourseIdInForUpdate(List.of(1L));
+        inOrder.verify(userCourseRepository).updateTotalLessons(1L, 2);
+        inOrder.verify(userCourseRepository).applyProgressBitmaps(eq(5L), any(), any(), eq(1), eq(1));
+        verify(userCourseRepository, never()).applyProgressBitmaps(eq(6L), any(), any(), anyInt(), anyInt());
+        verify(userCourseRepository, never()).recountProgressOnLessons(anyCollection());
+    }
+
+    private static UserCourse enrollment(Long id, Long courseId, LessonProgressBitmap bitmap) {
+        Course course = new Course();
+        course.setId(courseId);
+        UserCourse userCourse = new UserCourse();
+        userCourse.setId(id);
+        userCourse.setCourse(course);
+        userCourse.setCompletedLessonsBitmap(bitmap.encodeCompleted());
+        userCourse.setInProgressLessonsBitmap(bitmap.encodeInProgress());
+        return userCourse;
+    }
+
+    private static ILessonRepository.LessonSlotView slot(long lessonId, boolean active) {
+        return new ILessonRepository.LessonSlotView() {
+            public Long getLessonId() { return lessonId; }
+            public Long getChapterId() { return 1L; }
+            public Integer getChapterOrder() { return 1; }
+            public Integer getLessonOrder() { return (int) lessonId; }
+            public Integer getActive() { return active ? 1 : 0; }
+        };
+    }
+}
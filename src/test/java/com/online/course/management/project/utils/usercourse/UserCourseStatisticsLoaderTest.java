@@ -0,0 +1,128 @@
+package com.online.course.management.project.utils.usercourse;
+
+import com.online.course.management.project.dto.UserCourseDTOs;
+import com.online.course.management.project.entity.Course;
+import com.online.course.management.project.entity.User;
+import com.online.course.management.project.entity.UserCourse;
+import com.online.course.management.project.repository.IUserCourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCourseStatisticsLoaderTest {
+
+    @Mock
+    private IUserCourseRepository userCourseRepository;
+
+    @InjectMocks
+    private UserCourseStatisticsLoader userCourseStatisticsLoader;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void load_QueryCountIsConstantRegardlessOfPageSize(int pageSize) {
+        // Arrange
+        List<UserCourse> page = new ArrayList<>();
+        for (long i = 1; i <= pageSize; i++) {
+            page.add(createUserCourse(i, i));
+        }
+        when(userCourseRepository.getTotalLessonsByCourseIds(anyCollection())).thenReturn(List.of());
+        when(userCourseRepository.getAverageRatingsByCourseIds(anyCollection())).thenReturn(List.of());
+
+        // Act
+        Map<Long, UserCourseDTOs.EnrollmentStatisticsDTO> result = userCourseStatisticsLoader.load(page);
+
+        // Assert
+        assertEquals(pageSize, result.size());
+        verify(userCourseRepository, times(1)).getTotalLessonsByCourseIds(anyCollection());
+        verify(userCourseRepository, times(1)).getAverageRatingsByCourseIds(anyCollection());
+        verifyNoMoreInteractions(userCourseRepository);
+    }
+
+    @Test
+    void load_AssemblesStatisticsPerEnrollment() {
+        // Arrange
+        UserCourse started = createUserCourse(1L, 10L);
+        started.setInProgressCount(2);
+        started.setCompletedCount(3);
+        started.setTotalLessons(5);
+        List<UserCourse> page = List.of(started, createUserCourse(2L, 20L));
+        when(userCourseRepository.getTotalLessonsByCourseIds(anyCollection()))
+                .thenReturn(List.of(lessonTotal(10L, 6), lessonTotal(20L, 4)));
+        when(userCourseRepository.getAverageRatingsByCourseIds(anyCollection()))
+                .thenReturn(List.of(averageRating(20L, 4.5)));
+
+        // Act
+        Map<Long, UserCourseDTOs.EnrollmentStatisticsDTO> result = userCourseStatisticsLoader.load(page);
+
+        // Assert
+        UserCourseDTOs.EnrollmentStatisticsDTO first = result.get(1L);
+        assertEquals(2, first.getProcessingLessons());
+        assertEquals(3, first.getCompletedLessons());
+        assertEquals(5, first.getTrackedLessons());
+        assertEquals(6, first.getTotalLessons());
+        assertEquals(0.0, first.getAverageRating());
+
+        UserCourseDTOs.EnrollmentStatisticsDTO second = result.get(2L);
+        assertEquals(0, second.getProcessingLessons());
+        assertEquals(0, second.getTrackedLessons());
+        assertEquals(4, second.getTotalLessons());
+        assertEquals(4.5, second.getAverageRating());
+    }
+
+    @Test
+    void load_EmptyPage_RunsNoQueries() {
+        // Act
+        Map<Long, UserCourseDTOs.EnrollmentStatisticsDTO> result = userCourseStatisticsLoader.load(List.of());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(userCourseRepository);
+    }
+
+    private UserCourse createUserCourse(Long id, Long courseId) {
+        Course course = new Course();
+        course.setId(courseId);
+
+        UserCourse userCourse = new UserCourse();
+        userCourse.setId(id);
+        userCourse.setUser(testUser);
+        userCourse.setCourse(course);
+        return userCourse;
+    }
+
+    private IUserCourseRepository.CourseLessonTotal lessonTotal(Long courseId, int total) {
+        return new IUserCourseRepository.CourseLessonTotal() {
+            public Long getCourseId() { return courseId; }
+            public Integer getTotalLessons() { return total; }
+        };
+    }
+
+    private IUserCourseRepository.CourseAverageRating averageRating(Long courseId, double rating) {
+        return new IUserCourseRepository.CourseAverageRating() {
+            public Long getCourseId() { return courseId; }
+            public Double getAverageRating() { return rating; }
+        };
+    }
+}
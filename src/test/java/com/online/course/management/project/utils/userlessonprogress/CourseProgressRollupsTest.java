@@ -0,0 +1,137 @@
+package com.online.course.management.project.utils.userlessonprogress;
+
+import com.online.course.management.project.dto.UserLessonProgressDtos;
+import com.online.course.management.project.enums.ProgressStatus;
+import com.online.course.management.project.repository.ILessonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseProgressRollupsTest {
+
+    private CourseLessonIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Slots follow lesson id; lesson 13 was moved to the first chapter and lesson 14 is deleted
+        index = CourseLessonIndex.of(List.of(
+                slot(10L, 1L, 1, 1, true),
+                slot(11L, 1L, 1, 2, true),
+                slot(12L, 2L, 2, 1, true),
+                slot(13L, 1L, 1, 3, true),
+                slot(14L, 2L, 2, 2, false)));
+    }
+
+    @Test
+    void index_KeepsSlotsByIdAndOutlineByOrder() {
+        // Assert
+        assertEquals(3, index.slotOf(13L));
+        assertEquals(-1, index.slotOf(99L));
+        assertFalse(index.isActive(4));
+        assertEquals(4, index.activeLessonCount());
+        assertArrayEquals(new int[]{0, 1, 3, 2}, index.outlineSlots().toArray());
+        assertEquals(List.of(1L, 2L), List.copyOf(index.chapterSlots().keySet()));
+    }
+
+    @Test
+    void bitmap_RoundTripsThroughEncoding() {
+        // Arrange
+        LessonProgressBitmap bitmap = LessonProgressBitmap.decode(null, null);
+        bitmap.markInProgress(1);
+        bitmap.markInProgress(3);
+        bitmap.markCompleted(3);
+
+        // Act
+        LessonProgressBitmap decoded = LessonProgressBitmap.decode(bitmap.encodeCompleted(), bitmap.encodeInProgress());
+
+        // Assert
+        assertEquals(ProgressStatus.NOT_STARTED, decoded.statusOf(0));
+        assertEquals(ProgressStatus.IN_PROGRESS, decoded.statusOf(1));
+        assertEquals(ProgressStatus.COMPLETED, decoded.statusOf(3));
+    }
+
+    @Test
+    void fromBitmap_ComputesRollupsAndNextLesson() {
+        // Arrange
+        LessonProgressBitmap bitmap = LessonProgressBitmap.decode(null, null);
+        bitmap.markCompleted(0);
+        bitmap.markCompleted(1);
+        bitmap.markInProgress(3);
+        bitmap.markCompleted(4); // deleted lesson, must not be counted
+
+        // Act
+        UserLessonProgressDtos.CourseProgressResponseDTO result = CourseProgressRollups.fromBitmap(5L, index, bitmap, true);
+
+        // Assert
+        assertEquals(4, result.getTotalLessons());
+        assertEquals(2, result.getCompletedLessons());
+        assertEquals(1, result.getInProgressLessons());
+        assertEquals(1, result.getNotStartedLessons());
+        assertEquals(50.0, result.getCompletionPercentage());
+        assertEquals(13L, result.getNextLessonId());
+
+        assertEquals(2, result.getChapters().size());
+        assertEquals(66.67, result.getChapters().get(0).getCompletionPercentage());
+        assertEquals(0.0, result.getChapters().get(1).getCompletionPercentage());
+        assertEquals(List.of(10, 11, 13, 12), result.getLessons().stream()
+                .map(UserLessonProgressDtos.LessonProgressResponseDTO::getLessonId).toList());
+    }
+
+    @Test
+    void fromLessons_MatchesBitmapRollups() {
+        // Arrange
+        List<UserLessonProgressDtos.LessonProgressResponseDTO> lessons = List.of(
+                lesson(1, 10, ProgressStatus.COMPLETED),
+                lesson(1, 11, ProgressStatus.COMPLETED),
+                lesson(1, 13, ProgressStatus.IN_PROGRESS),
+                lesson(2, 12, ProgressStatus.NOT_STARTED));
+
+        // Act
+        UserLessonProgressDtos.CourseProgressResponseDTO result = CourseProgressRollups.fromLessons(5L, lessons);
+
+        // Assert
+        assertEquals(50.0, result.getCompletionPercentage());
+        assertEquals(13L, result.getNextLessonId());
+        assertEquals(66.67, result.getChapters().get(0).getCompletionPercentage());
+        assertEquals(1, result.getChapters().get(1).getTotalLessons());
+    }
+
+    @Test
+    void fromBitmap_AllCompleted_HasNoNextLesson() {
+        // Arrange
+        LessonProgressBitmap bitmap = LessonProgressBitmap.decode(null, null);
+        for (int slot = 0; slot < 4; slot++) {
+            bitmap.markCompleted(slot);
+        }
+
+        // Act
+        UserLessonProgressDtos.CourseProgressResponseDTO result = CourseProgressRollups.fromBitmap(5L, index, bitmap, false);
+
+        // Assert
+        assertEquals(100.0, result.getCompletionPercentage());
+        assertNull(result.getNextLessonId());
+        assertNull(result.getLessons());
+    }
+
+    private UserLessonProgressDtos.LessonProgressResponseDTO lesson(int chapterId, int lessonId, ProgressStatus status) {
+        return UserLessonProgressDtos.LessonProgressResponseDTO.builder()
+                .courseId(5)
+                .chapterId(chapterId)
+                .lessonId(lessonId)
+                .status(status.name())
+                .build();
+    }
+
+    private ILessonRepository.LessonSlotView slot(Long lessonId, Long chapterId, int chapterOrder, int lessonOrder, boolean active) {
+        return new ILessonRepository.LessonSlotView() {
+            public Long getLessonId() { return lessonId; }
+            public Long getChapterId() { return chapterId; }
+            public Integer getChapterOrder() { return chapterOrder; }
+            public Integer getLessonOrder() { return lessonOrder; }
+            public Integer getActive() { return active ? 1 : 0; }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.online.course.management.project.utils.userlessonprogress;
+
+import com.online.course.management.project.exception.business.InvalidRequestException;
+import com.online.course.management.project.exception.business.ResourceNotFoundException;
+import com.online.course.management.project.repository.IUserLessonProgressRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LessonProgressBatchValidatorTest {
+
+    @Mock
+    private IUserLessonProgressRepository userLessonProgressRepository;
+
+    @InjectMocks
+    private LessonProgressBatchValidator lessonProgressBatchValidator;
+
+    @Test
+    void validate_WholeBatchUsesOneQuery() {
+        // Arrange
+        List<Long> lessonIds = List.of(10L, 11L, 12L, 13L);
+        when(userLessonProgressRepository.findLessonTracking(1L, lessonIds)).thenReturn(List.of(
+                tracking(10L, 1, 1), tracking(11L, 1, 1), tracking(12L, 1, 1), tracking(13L, 1, 1)));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> lessonProgressBatchValidator.validate(1L, lessonIds));
+        verify(userLessonProgressRepository, times(1)).findLessonTracking(1L, lessonIds);
+    }
+
+    @Test
+    void validate_NotEnrolled_ThrowsException() {
+        // Arrange
+        List<Long> lessonIds = List.of(10L, 20L);
+        when(userLessonProgressRepository.findLessonTracking(1L, lessonIds))
+                .thenReturn(List.of(tracking(10L, 1, 1), tracking(20L, 1, 0)));
+
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> lessonProgressBatchValidator.validate(1L, lessonIds));
+        assertEquals("User must be enrolled in the course before tracking progress", exception.getMessage());
+    }
+
+    @Test
+    void validate_MissingOrDeletedLesson_ThrowsException() {
+        // Arrange
+        when(userLessonProgressRepository.findLessonTracking(1L, List.of(10L, 99L)))
+                .thenReturn(List.of(tracking(10L, 1, 1)));
+        when(userLessonProgressRepository.findLessonTracking(1L, List.of(11L)))
+                .thenReturn(List.of(tracking(11L, 0, 1)));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> lessonProgressBatchValidator.validate(1L, List.of(10L, 99L)));
+        assertThrows(ResourceNotFoundException.class, () -> lessonProgressBatchValidator.validate(1L, List.of(11L)));
+    }
+
+    @Test
+    void validate_EmptyBatch_RunsNoQuery() {
+        // Act
+        lessonProgressBatchValidator.validate(1L, List.of());
+
+        // Assert
+        verify(userLessonProgressRepository, never()).findLessonTracking(any(), anyCollection());
+    }
+
+    private IUserLessonProgressRepository.LessonTrackingView tracking(Long lessonId, int active, int enrolled) {
+        return new IUserLessonProgressRepository.LessonTrackingView() {
+            public Long getLessonId() { return lessonId; }
+            public Long getChapterId() { return 1L; }
+            public Long getCourseId() { return 5L; }
+            public Integer getActive() { return active; }
+            public Integer getEnrolled() { return enrolled; }
+        };
+    }
+}